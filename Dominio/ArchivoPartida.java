@@ -0,0 +1,345 @@
+package Dominio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Guarda y carga partidas completas en un formato binario versionado: la
+ * configuración de la {@link Juego}, la foto {@link EstadoNivel} del nivel
+ * (terreno, bloques, frutas, oleadas, enemigos con su estado interno,
+ * temporizador y estado del generador aleatorio) y lo grabado hasta ahora
+ * para la {@link Repeticion}, de modo que una partida cargada sigue igual
+ * que la original.
+ * <p>
+ * Una partida suelta se guarda con {@link #guardar(Juego, Path)} y se carga
+ * con {@link #cargar(Path)}, que lee el archivo mapeado en memoria. Para
+ * guardar miles de partidas simuladas, un {@code ArchivoPartida} abierto
+ * mapea una sola vez un archivo dividido en ranuras de tamaño fijo; guardar
+ * y cargar una ranura copia los arreglos de la foto en bloque desde y hacia
+ * el mapa, sin pasar por el sistema de archivos, y cuesta unos pocos
+ * microsegundos.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class ArchivoPartida implements AutoCloseable {
+
+    /**
+     * Versión del formato binario que se escribe. La versión 1 no guardaba
+     * el número de nivel y siempre corresponde al nivel 1.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Bytes {@code BDCG} con los que empieza toda partida guardada.
+     */
+    static final int MAGIA = 0x42444347;
+
+    private static final ModalidadJuego[] MODALIDADES = ModalidadJuego.values();
+
+    /**
+     * Bytes de la cabecera sin contar el sabor: magia, versión, semilla,
+     * modalidad, número de nivel, ticks por segundo, pausa y longitud del sabor.
+     */
+    private static final int CABECERA = Integer.BYTES + 1 + Long.BYTES + 1 + Integer.BYTES + Integer.BYTES + 1
+            + Integer.BYTES;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int ranuras;
+    private final int bytesPorRanura;
+
+    /**
+     * Foto reutilizada al guardar en ranuras, mientras los niveles sean compatibles.
+     */
+    private EstadoNivel estado;
+
+    /**
+     * Abre, o crea si no existe, un archivo de ranuras y lo mapea en
+     * memoria para lectura y escritura. Cada ranura empieza con la
+     * longitud de la partida guardada en ella, o 0 si está vacía.
+     *
+     * @param archivo        ruta del archivo.
+     * @param ranuras        número de ranuras.
+     * @param bytesPorRanura tamaño de cada ranura en bytes.
+     * @throws IOException si no se puede abrir o mapear el archivo.
+     * @throws IllegalArgumentException si las dimensiones no son válidas.
+     */
+    public ArchivoPartida(Path archivo, int ranuras, int bytesPorRanura) throws IOException {
+        if (ranuras <= 0 || bytesPorRanura <= Integer.BYTES
+                || (long) ranuras * bytesPorRanura > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Dimensiones de archivo no válidas: "
+                    + ranuras + " ranuras de " + bytesPorRanura + " bytes");
+        }
+        this.ranuras = ranuras;
+        this.bytesPorRanura = bytesPorRanura;
+        this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (long) ranuras * bytesPorRanura);
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda una partida en una ranura, reemplazando lo que hubiera.
+     *
+     * @param ranura índice de la ranura.
+     * @param juego  partida a guardar.
+     * @throws IllegalArgumentException si la ranura no existe o la partida no cabe.
+     */
+    public void guardar(int ranura, Juego juego) {
+        Nivel nivel = juego.getNivel();
+        if (estado == null || !estado.esCompatible(nivel)) {
+            estado = new EstadoNivel(nivel);
+        } else {
+            estado.capturar(nivel);
+        }
+        byte[] sabor = juego.getSaborHelado().getBytes(StandardCharsets.UTF_8);
+        int tamano = tamano(sabor, estado, juego.getGrabador());
+        if (tamano > bytesPorRanura - Integer.BYTES) {
+            throw new IllegalArgumentException("La partida ocupa " + tamano
+                    + " bytes y la ranura solo admite " + (bytesPorRanura - Integer.BYTES));
+        }
+        ByteBuffer zona = zona(ranura);
+        zona.putInt(0);
+        escribir(juego, sabor, estado, zona);
+        zona.putInt(0, tamano);
+    }
+
+    /**
+     * Carga la partida guardada en una ranura.
+     *
+     * @param ranura índice de la ranura.
+     * @return partida nueva en el estado guardado, o {@code null} si la ranura está vacía.
+     * @throws IllegalArgumentException si la ranura no existe o su contenido no es válido.
+     */
+    public Juego cargar(int ranura) {
+        ByteBuffer zona = zona(ranura);
+        int tamano = zona.getInt();
+        if (tamano == 0) {
+            return null;
+        }
+        if (tamano < 0 || tamano > zona.remaining()) {
+            throw new IllegalArgumentException("Ranura dañada: " + ranura);
+        }
+        zona.limit(Integer.BYTES + tamano);
+        return leer(zona);
+    }
+
+    /**
+     * Obtiene la cantidad de ranuras del archivo.
+     *
+     * @return número de ranuras.
+     */
+    public int getRanuras() {
+        return ranuras;
+    }
+
+    /**
+     * Obliga al sistema operativo a escribir en disco las ranuras modificadas.
+     */
+    public void forzar() {
+        mapa.force();
+    }
+
+    /**
+     * Cierra el canal del archivo. El mapa sigue siendo válido hasta que
+     * se recolecte, pero no debe volver a usarse.
+     *
+     * @throws IOException si falla el cierre.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Calcula los bytes que ocupa una partida guardada.
+     *
+     * @param juego partida.
+     * @return tamaño codificado en bytes.
+     */
+    public static int tamano(Juego juego) {
+        return tamano(juego.getSaborHelado().getBytes(StandardCharsets.UTF_8),
+                new EstadoNivel(juego.getNivel()), juego.getGrabador());
+    }
+
+    /**
+     * Escribe una partida completa a partir de la posición actual del buffer.
+     *
+     * @param juego  partida a guardar.
+     * @param salida buffer con al menos {@link #tamano(Juego)} bytes libres.
+     */
+    public static void escribir(Juego juego, ByteBuffer salida) {
+        escribir(juego, juego.getSaborHelado().getBytes(StandardCharsets.UTF_8),
+                new EstadoNivel(juego.getNivel()), salida);
+    }
+
+    /**
+     * Codifica una partida completa en un arreglo nuevo.
+     *
+     * @param juego partida a guardar.
+     * @return bytes de la partida, listos para escribirse en un archivo.
+     */
+    public static byte[] aBytes(Juego juego) {
+        ByteBuffer datos = ByteBuffer.allocate(tamano(juego));
+        escribir(juego, datos);
+        return datos.array();
+    }
+
+    /**
+     * Lee una partida escrita con {@link #escribir(Juego, ByteBuffer)}. La
+     * partida se recrea a partir de su semilla y luego se restaura sobre
+     * ella la foto del nivel, leída en bloque desde el buffer.
+     *
+     * @param entrada buffer posicionado al inicio de la partida.
+     * @return partida nueva en el estado guardado.
+     * @throws IllegalArgumentException si los datos no tienen el formato esperado.
+     */
+    public static Juego leer(ByteBuffer entrada) {
+        try {
+            if (entrada.getInt() != MAGIA) {
+                throw new IllegalArgumentException("No es una partida guardada");
+            }
+            int version = entrada.get();
+            if (version != 1 && version != VERSION) {
+                throw new IllegalArgumentException("Versión de partida no soportada: " + version);
+            }
+            long semilla = entrada.getLong();
+            int modalidad = entrada.get();
+            if (modalidad < 0 || modalidad >= MODALIDADES.length) {
+                throw new IllegalArgumentException("Modalidad desconocida: " + modalidad);
+            }
+            int numeroNivel = version == 1 ? 1 : entrada.getInt();
+            int ticksPorSegundo = entrada.getInt();
+            boolean pausado = entrada.get() != 0;
+            byte[] sabor = new byte[entrada.getInt()];
+            entrada.get(sabor);
+
+            Juego juego = new Juego(new String(sabor, StandardCharsets.UTF_8), MODALIDADES[modalidad],
+                    semilla, numeroNivel);
+            juego.setTicksPorSegundo(ticksPorSegundo);
+            EstadoNivel foto = new EstadoNivel(juego.getNivel());
+            foto.leer(entrada);
+            foto.restaurar(juego.getNivel());
+            juego.getGrabador().leer(entrada);
+            juego.setPausado(pausado);
+            return juego;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+                 | UncheckedIOException e) {
+            throw new IllegalArgumentException("Partida guardada incompleta o dañada", e);
+        }
+    }
+
+    /**
+     * Guarda una partida en un archivo, reemplazándolo si existe.
+     *
+     * @param juego   partida a guardar.
+     * @param archivo ruta del archivo.
+     * @throws IOException si falla la escritura.
+     */
+    public static void guardar(Juego juego, Path archivo) throws IOException {
+        ByteBuffer datos = ByteBuffer.allocate(tamano(juego));
+        escribir(juego, datos);
+        datos.flip();
+        try (FileChannel salida = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (datos.hasRemaining()) {
+                salida.write(datos);
+            }
+        }
+    }
+
+    /**
+     * Carga una partida de un archivo mapeado en memoria.
+     *
+     * @param archivo ruta del archivo.
+     * @return partida en el estado guardado.
+     * @throws IOException si falla la lectura.
+     * @throws IllegalArgumentException si el archivo no es una partida válida.
+     */
+    public static Juego cargar(Path archivo) throws IOException {
+        try (FileChannel entrada = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            return leer(entrada.map(FileChannel.MapMode.READ_ONLY, 0, entrada.size()));
+        }
+    }
+
+    private static int tamano(byte[] sabor, EstadoNivel foto, GrabadorRepeticion grabador) {
+        return CABECERA + sabor.length + foto.getTamanoCodificado() + grabador.getTamanoCodificado();
+    }
+
+    private static void escribir(Juego juego, byte[] sabor, EstadoNivel foto, ByteBuffer salida) {
+        salida.putInt(MAGIA);
+        salida.put((byte) VERSION);
+        salida.putLong(juego.getSemilla());
+        salida.put((byte) juego.getModalidad().ordinal());
+        salida.putInt(juego.getNumeroNivel());
+        salida.putInt(juego.getTicksPorSegundo());
+        salida.put((byte) (juego.isPausado() ? 1 : 0));
+        salida.putInt(sabor.length);
+        salida.put(sabor);
+        foto.escribir(salida);
+        juego.getGrabador().escribir(salida);
+    }
+
+    /**
+     * Obtiene una vista de la ranura con posición 0 al inicio de la ranura.
+     */
+    private ByteBuffer zona(int ranura) {
+        if (ranura < 0 || ranura >= ranuras) {
+            throw new IllegalArgumentException("Ranura inexistente: " + ranura);
+        }
+        return mapa.slice(ranura * bytesPorRanura, bytesPorRanura);
+    }
+
+    /**
+     * Mide cuánto cuesta guardar y cargar partidas simuladas en un archivo
+     * de ranuras: juega partidas máquina contra máquina y las guarda a
+     * mitad de camino, y luego las vuelve a cargar todas.
+     *
+     * @param args número de partidas (por defecto 2000).
+     * @throws IOException si falla el archivo temporal.
+     */
+    public static void main(String[] args) throws IOException {
+        int partidas = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        Juego[] juegos = new Juego[partidas];
+        for (int i = 0; i < partidas; i++) {
+            juegos[i] = new Juego("vainilla", ModalidadJuego.MvsM, i);
+            for (int tick = 0; tick < 200 && !juegos[i].isTerminado(); tick++) {
+                juegos[i].tick();
+            }
+        }
+        int bytesPorRanura = 4096;
+        Path archivo = Files.createTempFile("partidas", ".bdcg");
+        try (ArchivoPartida ranuras = new ArchivoPartida(archivo, partidas, bytesPorRanura)) {
+            for (int ronda = 0; ronda < 5; ronda++) {
+                long inicio = System.nanoTime();
+                for (int i = 0; i < partidas; i++) {
+                    ranuras.guardar(i, juegos[i]);
+                }
+                long guardado = System.nanoTime() - inicio;
+
+                inicio = System.nanoTime();
+                long puntaje = 0;
+                for (int i = 0; i < partidas; i++) {
+                    puntaje += ranuras.cargar(i).getNivel().getPuntajeActual();
+                }
+                long cargado = System.nanoTime() - inicio;
+                System.out.printf("Ronda %d: guardar %.2f us, cargar %.2f us por partida (%d bytes, puntaje %d)%n",
+                        ronda, guardado / 1e3 / partidas, cargado / 1e3 / partidas, tamano(juegos[0]), puntaje);
+            }
+            ranuras.forzar();
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+}
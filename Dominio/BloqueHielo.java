@@ -7,7 +7,7 @@ package Dominio;
  */
 public class BloqueHielo {
 
-    private Posicion posicion;
+    private final Posicion posicion;
     private boolean destruible;
 
     /**
@@ -0,0 +1,598 @@
+package Dominio;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bot de búsqueda de árbol Monte Carlo que puede controlar al helado o a
+ * uno de los enemigos.
+ * En cada decisión toma una foto del nivel y reparte la búsqueda entre varios
+ * hilos con paralelización en la raíz: cada hilo construye su propio árbol
+ * sobre su propia copia del nivel, que devuelve a la foto al empezar cada
+ * iteración, con su propio generador, hasta que se agota el presupuesto de
+ * milisegundos; después se suman las visitas de cada jugada de la raíz y se
+ * elige la más visitada. Como los hilos no comparten nada durante la
+ * búsqueda, los recorridos por segundo crecen con el número de núcleos.
+ * Cada nivel del árbol es un paso de IA. Los recorridos aleatorios avanzan
+ * la copia con una política voraz con algo de azar: el helado se acerca a la
+ * fruta activa más cercana y el enemigo controlado sigue el campo de flujo.
+ * Como el resultado depende del tiempo disponible, una partida jugada con
+ * este bot no es reproducible aunque tenga semilla.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class BotMonteCarlo implements ControlHelado, ControlEnemigos {
+
+    /**
+     * Bando que controla el bot.
+     */
+    public enum Rol {
+        /**
+         * Controla al helado y busca recolectar frutas sin ser atrapado.
+         */
+        HELADO,
+
+        /**
+         * Controla al enemigo más cercano al helado y busca atraparlo.
+         */
+        ENEMIGOS
+    }
+
+    /**
+     * Presupuesto por decisión por defecto, en milisegundos.
+     */
+    public static final long PRESUPUESTO_POR_DEFECTO_MS = 50;
+
+    /**
+     * Pasos de IA que simula cada recorrido aleatorio después del árbol.
+     */
+    public static final int PROFUNDIDAD_RECORRIDO = 24;
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /**
+     * Acciones posibles en cada nodo: las cuatro direcciones y esperar.
+     */
+    private static final int ACCIONES = DIRECCIONES.length + 1;
+    private static final int ESPERAR = DIRECCIONES.length;
+
+    private static final int MAX_NODOS = 1 << 15;
+    private static final int MAX_PROFUNDIDAD_ARBOL = 32;
+    private static final double EXPLORACION = 1.0;
+
+    /**
+     * Probabilidad de que la política de los recorridos elija al azar
+     * en lugar de la jugada voraz.
+     */
+    private static final double PROBABILIDAD_AZAR = 0.25;
+
+    private final Rol rol;
+    private final int hilos;
+    private final long presupuestoNanos;
+    private final ExecutorService trabajadores;
+    private final Trabajador[] arboles;
+
+    /**
+     * Foto del nivel real desde la que parte cada iteración de la búsqueda.
+     */
+    private EstadoNivel estadoRaiz;
+
+    private int enemigoControlado = -1;
+    private long rolloutsUltima;
+    private long nanosUltima;
+    private long rolloutsTotales;
+    private long nanosTotales;
+
+    /**
+     * Crea un bot que usa todos los núcleos disponibles y el presupuesto por defecto.
+     *
+     * @param rol     bando que controla el bot.
+     * @param semilla semilla de los generadores de los recorridos.
+     */
+    public BotMonteCarlo(Rol rol, long semilla) {
+        this(rol, Runtime.getRuntime().availableProcessors(), PRESUPUESTO_POR_DEFECTO_MS, semilla);
+    }
+
+    /**
+     * Crea un bot con el número de hilos y el presupuesto indicados.
+     *
+     * @param rol            bando que controla el bot.
+     * @param hilos          hilos que buscan en paralelo.
+     * @param presupuestoMs  milisegundos por decisión.
+     * @param semilla        semilla de los generadores de los recorridos.
+     */
+    public BotMonteCarlo(Rol rol, int hilos, long presupuestoMs, long semilla) {
+        if (hilos <= 0 || presupuestoMs <= 0) {
+            throw new IllegalArgumentException("Hilos y presupuesto deben ser positivos");
+        }
+        this.rol = rol;
+        this.hilos = hilos;
+        this.presupuestoNanos = presupuestoMs * 1_000_000L;
+        AtomicInteger contador = new AtomicInteger();
+        this.trabajadores = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "mcts-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        this.arboles = new Trabajador[hilos];
+        for (int i = 0; i < hilos; i++) {
+            arboles[i] = new Trabajador(rol, raiz.split());
+        }
+    }
+
+    /**
+     * Elige al enemigo más cercano al helado.
+     *
+     * @param nivel nivel en el que se encuentran los enemigos.
+     * @return índice del enemigo controlado, o -1 si el bot controla al helado.
+     */
+    @Override
+    public int getEnemigoControlado(Nivel nivel) {
+        if (rol != Rol.ENEMIGOS) {
+            return -1;
+        }
+        int helado = nivel.getHelado().getCelda();
+        int mejor = -1;
+        int mejorDistancia = Integer.MAX_VALUE;
+        for (int i = 0; i < nivel.getEnemigos().size(); i++) {
+            int distancia = Celda.distancia(helado, nivel.getEnemigos().get(i).getCelda());
+            if (distancia < mejorDistancia) {
+                mejorDistancia = distancia;
+                mejor = i;
+            }
+        }
+        enemigoControlado = mejor;
+        return mejor;
+    }
+
+    /**
+     * Busca durante el presupuesto y devuelve la jugada más visitada de la raíz.
+     *
+     * @param nivel nivel real; no se modifica.
+     * @return dirección elegida, o {@code null} para quedarse quieto.
+     */
+    @Override
+    public Direccion decidir(Nivel nivel) {
+        long inicio = System.nanoTime();
+        if (estadoRaiz == null || !estadoRaiz.esCompatible(nivel)) {
+            estadoRaiz = new EstadoNivel(nivel);
+        } else {
+            estadoRaiz.capturar(nivel);
+        }
+        int controlado = rol == Rol.ENEMIGOS ? enemigoControlado : -1;
+        int restantesRaiz = nivel.getFrutasRestantes();
+        long limite = inicio + presupuestoNanos;
+
+        List<Future<long[]>> resultados = new ArrayList<>(hilos);
+        for (Trabajador arbol : arboles) {
+            arbol.preparar(nivel, estadoRaiz);
+            resultados.add(trabajadores.submit(arbol.buscar(estadoRaiz, controlado, restantesRaiz, limite)));
+        }
+        long[] visitas = new long[ACCIONES];
+        long rollouts = 0;
+        for (Future<long[]> resultado : resultados) {
+            try {
+                long[] parcial = resultado.get();
+                for (int a = 0; a < ACCIONES; a++) {
+                    visitas[a] += parcial[a];
+                }
+                rollouts += parcial[ACCIONES];
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló un hilo de búsqueda", e.getCause());
+            }
+        }
+
+        nanosUltima = System.nanoTime() - inicio;
+        rolloutsUltima = rollouts;
+        nanosTotales += nanosUltima;
+        rolloutsTotales += rollouts;
+
+        int mejor = ESPERAR;
+        for (int a = 0; a < ACCIONES; a++) {
+            if (visitas[a] > visitas[mejor]) {
+                mejor = a;
+            }
+        }
+        return mejor == ESPERAR ? null : DIRECCIONES[mejor];
+    }
+
+    /**
+     * Obtiene los recorridos por segundo de la última decisión, sumando todos los hilos.
+     *
+     * @return recorridos por segundo, o 0 si aún no se ha decidido nada.
+     */
+    public double getRolloutsPorSegundo() {
+        return nanosUltima == 0 ? 0 : rolloutsUltima * 1e9 / nanosUltima;
+    }
+
+    /**
+     * Obtiene los recorridos por segundo promediados sobre todas las decisiones.
+     *
+     * @return recorridos por segundo acumulados.
+     */
+    public double getRolloutsPorSegundoPromedio() {
+        return nanosTotales == 0 ? 0 : rolloutsTotales * 1e9 / nanosTotales;
+    }
+
+    /**
+     * Obtiene los recorridos realizados en la última decisión.
+     *
+     * @return recorridos de la última decisión.
+     */
+    public long getRolloutsUltima() {
+        return rolloutsUltima;
+    }
+
+    /**
+     * Obtiene los recorridos realizados desde que se creó el bot.
+     *
+     * @return recorridos totales.
+     */
+    public long getRolloutsTotales() {
+        return rolloutsTotales;
+    }
+
+    /**
+     * Obtiene el número de hilos que buscan en paralelo, cada uno con su
+     * propio árbol.
+     *
+     * @return hilos de búsqueda.
+     */
+    public int getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Detiene los hilos de búsqueda. El bot no puede usarse después.
+     */
+    public void cerrar() {
+        trabajadores.shutdownNow();
+    }
+
+    /**
+     * Árbol de búsqueda de un hilo, guardado en arreglos paralelos que se
+     * reutilizan entre decisiones.
+     */
+    private static final class Trabajador {
+
+        private final Rol rol;
+        private final SplittableRandom azar;
+
+        /**
+         * Hijo de cada nodo por acción, en {@code nodo * ACCIONES + accion};
+         * 0 indica que la acción no se ha probado, ya que la raíz es el nodo 0.
+         */
+        private final int[] hijos = new int[MAX_NODOS * ACCIONES];
+        private final int[] visitas = new int[MAX_NODOS];
+        private final double[] valores = new double[MAX_NODOS];
+        private final int[] camino = new int[MAX_PROFUNDIDAD_ARBOL + 1];
+        private final int[] legales = new int[ACCIONES];
+        private int nodos;
+
+        private final AccionFija accion = new AccionFija();
+        private final Voraz voraz;
+
+        /**
+         * Nivel sobre el que se simula; se reutiliza mientras la estructura
+         * del nivel real no cambie.
+         */
+        private Nivel simulacion;
+
+        Trabajador(Rol rol, SplittableRandom azar) {
+            this.rol = rol;
+            this.azar = azar;
+            this.voraz = new Voraz(azar);
+        }
+
+        /**
+         * Crea la copia de simulación si aún no existe o si la foto ya no
+         * corresponde a su estructura. Se invoca desde el hilo que decide,
+         * antes de lanzar la búsqueda.
+         */
+        void preparar(Nivel nivel, EstadoNivel raiz) {
+            if (simulacion != null && raiz.esCompatible(simulacion)) {
+                return;
+            }
+            simulacion = new Nivel(nivel);
+            simulacion.setTicksPorSegundo(1);
+            simulacion.setControles(TipoControl.MAQUINA, TipoControl.MAQUINA);
+            configurar(simulacion);
+        }
+
+        Callable<long[]> buscar(EstadoNivel raiz, int controlado, int restantesRaiz, long limite) {
+            return () -> {
+                reiniciar();
+                accion.indice = controlado;
+                long rollouts = 0;
+                do {
+                    iterar(raiz, restantesRaiz);
+                    rollouts++;
+                } while (System.nanoTime() < limite);
+
+                long[] resultado = new long[ACCIONES + 1];
+                for (int a = 0; a < ACCIONES; a++) {
+                    int hijo = hijos[a];
+                    resultado[a] = hijo == 0 ? 0 : visitas[hijo];
+                }
+                resultado[ACCIONES] = rollouts;
+                return resultado;
+            };
+        }
+
+        private void reiniciar() {
+            Arrays.fill(hijos, 0, nodos * ACCIONES, 0);
+            nodos = 1;
+            visitas[0] = 0;
+            valores[0] = 0;
+        }
+
+        /**
+         * Selección, expansión, recorrido aleatorio y retropropagación
+         * sobre la copia de simulación devuelta a la foto de la raíz.
+         */
+        private void iterar(EstadoNivel raiz, int restantesRaiz) {
+            Nivel sim = simulacion;
+            raiz.restaurar(sim);
+
+            int nodo = 0;
+            int profundidad = 0;
+            camino[0] = 0;
+            while (!sim.isGanado() && !sim.isPerdido() && profundidad < MAX_PROFUNDIDAD_ARBOL) {
+                int cantidad = calcularLegales(sim);
+                int sinProbar = contarSinProbar(nodo, cantidad);
+                int a;
+                if (sinProbar > 0 && nodos < MAX_NODOS) {
+                    a = elegirSinProbar(nodo, cantidad, sinProbar);
+                    int hijo = nodos++;
+                    hijos[nodo * ACCIONES + a] = hijo;
+                    visitas[hijo] = 0;
+                    valores[hijo] = 0;
+                    aplicar(sim, a);
+                    camino[++profundidad] = hijo;
+                    break;
+                }
+                if (sinProbar > 0) {
+                    break;
+                }
+                a = elegirUcb(nodo, cantidad);
+                aplicar(sim, a);
+                nodo = hijos[nodo * ACCIONES + a];
+                camino[++profundidad] = nodo;
+            }
+
+            for (int paso = 0; paso < PROFUNDIDAD_RECORRIDO && !sim.isGanado() && !sim.isPerdido(); paso++) {
+                aplicar(sim, politica(sim));
+            }
+
+            double valor = valorHelado(sim, restantesRaiz);
+            if (rol == Rol.ENEMIGOS) {
+                valor = 1 - valor;
+            }
+            for (int i = 0; i <= profundidad; i++) {
+                visitas[camino[i]]++;
+                valores[camino[i]] += valor;
+            }
+        }
+
+        private void configurar(Nivel sim) {
+            if (rol == Rol.HELADO) {
+                sim.setControlMaquina(accion);
+            } else {
+                sim.setControlMaquina(voraz);
+                sim.setControlEnemigosMaquina(accion);
+            }
+        }
+
+        /**
+         * Avanza la simulación un paso de IA con la acción indicada para el
+         * bando del bot.
+         */
+        private void aplicar(Nivel sim, int a) {
+            accion.direccion = a == ESPERAR ? null : DIRECCIONES[a];
+            sim.actualizarUnTick();
+        }
+
+        /**
+         * Guarda en {@link #legales} las acciones posibles del bando del bot.
+         *
+         * @return cantidad de acciones legales.
+         */
+        private int calcularLegales(Nivel sim) {
+            int cantidad = 0;
+            for (Direccion d : DIRECCIONES) {
+                if (puedeMover(sim, d)) {
+                    legales[cantidad++] = d.ordinal();
+                }
+            }
+            legales[cantidad++] = ESPERAR;
+            return cantidad;
+        }
+
+        private boolean puedeMover(Nivel sim, Direccion d) {
+            if (rol == Rol.HELADO) {
+                return sim.puedeMoverHelado(d);
+            }
+            if (accion.indice < 0) {
+                return false;
+            }
+            MapaNivel mapa = sim.getMapa();
+            int celda = sim.getEnemigos().get(accion.indice).getCelda();
+            return mapa.estaLibre(mapa.indiceDe(celda) + mapa.desplazamiento(d));
+        }
+
+        private int contarSinProbar(int nodo, int cantidad) {
+            int sinProbar = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (hijos[nodo * ACCIONES + legales[i]] == 0) {
+                    sinProbar++;
+                }
+            }
+            return sinProbar;
+        }
+
+        private int elegirSinProbar(int nodo, int cantidad, int sinProbar) {
+            int elegida = azar.nextInt(sinProbar);
+            for (int i = 0; i < cantidad; i++) {
+                if (hijos[nodo * ACCIONES + legales[i]] == 0 && elegida-- == 0) {
+                    return legales[i];
+                }
+            }
+            return ESPERAR;
+        }
+
+        /**
+         * Elige entre las acciones legales la de mayor cota UCB1.
+         */
+        private int elegirUcb(int nodo, int cantidad) {
+            double logPadre = Math.log(Math.max(1, visitas[nodo]));
+            int mejor = ESPERAR;
+            double mejorCota = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < cantidad; i++) {
+                int hijo = hijos[nodo * ACCIONES + legales[i]];
+                double media = valores[hijo] / visitas[hijo];
+                double cota = media + EXPLORACION * Math.sqrt(logPadre / visitas[hijo]);
+                if (cota > mejorCota) {
+                    mejorCota = cota;
+                    mejor = legales[i];
+                }
+            }
+            return mejor;
+        }
+
+        /**
+         * Política de los recorridos aleatorios: jugada voraz del bando del
+         * bot, o una acción legal al azar con probabilidad {@link #PROBABILIDAD_AZAR}.
+         */
+        private int politica(Nivel sim) {
+            int cantidad = calcularLegales(sim);
+            if (azar.nextDouble() < PROBABILIDAD_AZAR) {
+                return legales[azar.nextInt(cantidad)];
+            }
+            Direccion d;
+            if (rol == Rol.ENEMIGOS && accion.indice < 0) {
+                d = null;
+            } else if (rol == Rol.HELADO) {
+                d = voraz.decidir(sim);
+            } else {
+                int celda = sim.getEnemigos().get(accion.indice).getCelda();
+                d = sim.getCampoFlujo().siguientePaso(sim.getMapa().indiceDe(celda));
+            }
+            return d == null ? ESPERAR : d.ordinal();
+        }
+
+        /**
+         * Valora el final de una simulación desde el punto de vista del
+         * helado: 0 si lo atraparon, 1 si ganó y, si no, la mitad por seguir
+         * con vida más una parte proporcional a las frutas recolectadas.
+         */
+        private static double valorHelado(Nivel sim, int restantesRaiz) {
+            if (sim.isPerdido()) {
+                return 0;
+            }
+            if (sim.isGanado()) {
+                return 1;
+            }
+            int recolectadas = restantesRaiz - sim.getFrutasRestantes();
+            return 0.5 + 0.5 * recolectadas / Math.max(1, restantesRaiz);
+        }
+    }
+
+    /**
+     * Control que repite la acción fijada por el árbol para el bando del bot.
+     */
+    private static final class AccionFija implements ControlHelado, ControlEnemigos {
+
+        private Direccion direccion;
+        private int indice = -1;
+
+        @Override
+        public int getEnemigoControlado(Nivel nivel) {
+            return indice;
+        }
+
+        @Override
+        public Direccion decidir(Nivel nivel) {
+            return direccion;
+        }
+    }
+
+    /**
+     * Control voraz del helado: da el paso libre que más lo acerca a la
+     * fruta activa más cercana, desempatando al azar.
+     */
+    private static final class Voraz implements ControlHelado {
+
+        private final SplittableRandom azar;
+
+        Voraz(SplittableRandom azar) {
+            this.azar = azar;
+        }
+
+        @Override
+        public Direccion decidir(Nivel nivel) {
+            int helado = nivel.getHelado().getCelda();
+            Direccion mejor = null;
+            int mejorDistancia = distanciaFrutaMasCercana(nivel, helado);
+            int empates = 0;
+            for (Direccion d : DIRECCIONES) {
+                if (!nivel.puedeMoverHelado(d)) {
+                    continue;
+                }
+                int distancia = distanciaFrutaMasCercana(nivel, Celda.vecina(helado, d));
+                if (distancia < mejorDistancia) {
+                    mejorDistancia = distancia;
+                    mejor = d;
+                    empates = 1;
+                } else if (distancia == mejorDistancia && mejor != null && azar.nextInt(++empates) == 0) {
+                    mejor = d;
+                }
+            }
+            return mejor;
+        }
+
+        private static int distanciaFrutaMasCercana(Nivel nivel, int celda) {
+            int mejor = Integer.MAX_VALUE;
+            List<Fruta> frutas = nivel.getFrutas();
+            for (int i = 0; i < frutas.size(); i++) {
+                Fruta f = frutas.get(i);
+                if (f.estaActiva() && !f.estaRecolectada()) {
+                    mejor = Math.min(mejor, Celda.distancia(celda, f.getPosicion().getCelda()));
+                }
+            }
+            return mejor;
+        }
+    }
+
+    /**
+     * Mide cómo escalan los recorridos por segundo con el número de hilos,
+     * decidiendo varias veces sobre el nivel 1 con cada cantidad de hilos.
+     *
+     * @param args no se utilizan.
+     */
+    public static void main(String[] args) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        for (int hilos = 1; ; hilos = Math.min(hilos * 2, nucleos)) {
+            BotMonteCarlo bot = new BotMonteCarlo(Rol.HELADO, hilos, 200, 42L);
+            Nivel nivel = new Nivel("vainilla", ModalidadJuego.MvsM, 42L);
+            for (int i = 0; i < 10; i++) {
+                bot.decidir(nivel);
+            }
+            System.out.printf("hilos=%d recorridos/s=%.0f%n", hilos, bot.getRolloutsPorSegundoPromedio());
+            bot.cerrar();
+            if (hilos == nucleos) {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package Dominio;
+
+/**
+ * Bucle de juego de paso fijo.
+ * Acumula el tiempo real transcurrido entre fotogramas y lo consume en
+ * ticks de simulación de duración constante, de modo que la simulación
+ * avanza al mismo ritmo sin importar la frecuencia de dibujo. Si un
+ * fotograma tarda demasiado, el número de ticks por llamada se limita y el
+ * tiempo sobrante se descarta, evitando la espiral de la muerte.
+ * No depende de Swing: el llamador decide cuándo invocar {@link #avanzar}.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class BucleTiempoFijo {
+
+    /**
+     * Máximo de ticks que se ejecutan en una sola llamada por defecto.
+     */
+    public static final int MAX_TICKS_POR_LLAMADA = 5;
+
+    private final int ticksPorSegundo;
+    private final long nanosPorTick;
+    private final int maxTicksPorLlamada;
+
+    private boolean iniciado;
+    private long ultimoInstante;
+    private long acumulador;
+    private long ticks;
+    private long tiempoDescartadoNanos;
+
+    /**
+     * Crea un bucle con la frecuencia de ticks indicada.
+     *
+     * @param ticksPorSegundo frecuencia de simulación, por ejemplo 30 o 60.
+     */
+    public BucleTiempoFijo(int ticksPorSegundo) {
+        this(ticksPorSegundo, MAX_TICKS_POR_LLAMADA);
+    }
+
+    /**
+     * Crea un bucle con la frecuencia de ticks y el límite por llamada indicados.
+     *
+     * @param ticksPorSegundo    frecuencia de simulación.
+     * @param maxTicksPorLlamada máximo de ticks ejecutados en una llamada.
+     */
+    public BucleTiempoFijo(int ticksPorSegundo, int maxTicksPorLlamada) {
+        if (ticksPorSegundo <= 0 || maxTicksPorLlamada <= 0) {
+            throw new IllegalArgumentException("La frecuencia y el límite deben ser positivos");
+        }
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.nanosPorTick = 1_000_000_000L / ticksPorSegundo;
+        this.maxTicksPorLlamada = maxTicksPorLlamada;
+    }
+
+    /**
+     * Consume el tiempo real transcurrido desde la llamada anterior,
+     * ejecutando tantos ticks de paso fijo como correspondan.
+     *
+     * @param ahoraNanos instante actual, por ejemplo {@link System#nanoTime()}.
+     * @param tick       acción que avanza la simulación un tick.
+     * @return número de ticks ejecutados.
+     */
+    public int avanzar(long ahoraNanos, Runnable tick) {
+        if (!iniciado) {
+            iniciado = true;
+            ultimoInstante = ahoraNanos;
+            return 0;
+        }
+        acumulador += ahoraNanos - ultimoInstante;
+        ultimoInstante = ahoraNanos;
+
+        int ejecutados = 0;
+        while (acumulador >= nanosPorTick && ejecutados < maxTicksPorLlamada) {
+            tick.run();
+            acumulador -= nanosPorTick;
+            ticks++;
+            ejecutados++;
+        }
+        if (acumulador >= nanosPorTick) {
+            long sobrante = acumulador - acumulador % nanosPorTick;
+            tiempoDescartadoNanos += sobrante;
+            acumulador -= sobrante;
+        }
+        return ejecutados;
+    }
+
+    /**
+     * Reinicia la referencia de tiempo, descartando el tiempo acumulado.
+     * Útil al reanudar tras una pausa larga.
+     */
+    public void reiniciarReloj() {
+        iniciado = false;
+        acumulador = 0;
+    }
+
+    /**
+     * Obtiene la fracción de tick acumulada aún no simulada, entre 0 y 1,
+     * útil para interpolar el dibujo entre dos estados.
+     *
+     * @return fracción de tick pendiente.
+     */
+    public double getAlfa() {
+        return (double) acumulador / nanosPorTick;
+    }
+
+    /**
+     * Obtiene el tiempo real que falta para completar el siguiente tick,
+     * útil para dormir el hilo que invoca {@link #avanzar}.
+     *
+     * @return nanosegundos hasta el siguiente tick.
+     */
+    public long getNanosHastaSiguienteTick() {
+        return nanosPorTick - acumulador;
+    }
+
+    /**
+     * Obtiene la frecuencia fija de la simulación.
+     *
+     * @return ticks por segundo.
+     */
+    public int getTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
+    /**
+     * Obtiene la duración de un tick.
+     *
+     * @return nanosegundos por tick.
+     */
+    public long getNanosPorTick() {
+        return nanosPorTick;
+    }
+
+    /**
+     * Obtiene el número total de ticks ejecutados por el bucle.
+     *
+     * @return ticks ejecutados.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Obtiene el tiempo de juego simulado por el bucle.
+     *
+     * @return tiempo de juego en nanosegundos.
+     */
+    public long getTiempoJuegoNanos() {
+        return ticks * nanosPorTick;
+    }
+
+    /**
+     * Obtiene el tiempo real descartado por sobrecarga.
+     *
+     * @return tiempo descartado en nanosegundos.
+     */
+    public long getTiempoDescartadoNanos() {
+        return tiempoDescartadoNanos;
+    }
+}
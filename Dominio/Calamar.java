@@ -0,0 +1,80 @@
+package Dominio;
+
+/**
+ * Enemigo del tipo calamar que persigue al helado.
+ * En cada paso avanza una celda por el camino más corto hacia el helado,
+ * leyendo la dirección del campo de flujo compartido del nivel en lugar de
+ * buscar el camino por su cuenta. Si no hay camino, se queda quieto.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class Calamar extends Enemigo {
+
+    /**
+     * Crea un calamar en la posición inicial indicada.
+     *
+     * @param posicionInicial posición inicial del calamar.
+     */
+    public Calamar(Posicion posicionInicial) {
+        super(posicionInicial);
+    }
+
+    private Calamar(Calamar otro) {
+        super(otro);
+    }
+
+    /**
+     * Crea una copia independiente del calamar.
+     *
+     * @return copia del calamar.
+     */
+    @Override
+    public Enemigo copiar() {
+        return new Calamar(this);
+    }
+
+    /**
+     * Obtiene el tipo del enemigo.
+     *
+     * @return {@link TipoEnemigo#CALAMAR}.
+     */
+    @Override
+    public TipoEnemigo getTipo() {
+        return TipoEnemigo.CALAMAR;
+    }
+
+    /**
+     * Avanza una celda hacia el helado siguiendo el campo de flujo del nivel.
+     *
+     * @param nivel nivel en el que se encuentra el calamar.
+     */
+    @Override
+    public void actualizar(Nivel nivel) {
+        int celda = getCelda();
+        Direccion paso = nivel.getCampoFlujo().siguientePaso(nivel.getMapa().indiceDe(celda));
+        if (paso != null) {
+            setCelda(Celda.vecina(celda, paso));
+        }
+    }
+
+    /**
+     * Predice las celdas del calamar siguiendo el campo de flujo hacia la
+     * posición actual del helado.
+     *
+     * @param nivel  nivel en el que se encuentra el calamar.
+     * @param celdas arreglo donde se escriben las coordenadas empaquetadas.
+     * @param pasos  número de pasos a predecir.
+     */
+    @Override
+    public void predecir(Nivel nivel, int[] celdas, int pasos) {
+        CampoFlujo campo = nivel.getCampoFlujo();
+        MapaNivel mapa = nivel.getMapa();
+        int celda = getCelda();
+        for (int i = 0; i < pasos; i++) {
+            Direccion paso = campo.siguientePaso(mapa.indiceDe(celda));
+            if (paso != null) {
+                celda = Celda.vecina(celda, paso);
+            }
+            celdas[i] = celda;
+        }
+    }
+}
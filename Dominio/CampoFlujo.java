@@ -0,0 +1,156 @@
+package Dominio;
+
+import java.util.Arrays;
+
+/**
+ * Campo de distancias hacia el helado compartido por todos los enemigos
+ * perseguidores de un nivel.
+ * Una única búsqueda en anchura desde la celda del helado recorre las celdas
+ * libres del mapa y guarda, para cada una, la distancia al helado y la
+ * dirección del primer paso del camino más corto. Así cada perseguidor
+ * decide su movimiento con una consulta al arreglo, sin importar cuántos haya.
+ * La búsqueda solo se repite cuando el helado cambia de celda o cambia la
+ * versión del mapa.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class CampoFlujo {
+
+    /**
+     * Distancia de las celdas desde las que no se puede llegar al helado.
+     */
+    public static final int INALCANZABLE = Integer.MAX_VALUE;
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /**
+     * Dirección opuesta a cada dirección, indexada por ordinal.
+     */
+    private static final Direccion[] OPUESTAS = {
+            Direccion.ABAJO, Direccion.ARRIBA, Direccion.DERECHA, Direccion.IZQUIERDA
+    };
+
+    /**
+     * Marca de celda sin paso en {@link #pasos}.
+     */
+    private static final byte SIN_PASO = -1;
+
+    private final MapaNivel mapa;
+    private final int[] desplazamientos;
+
+    /**
+     * Distancia al helado de cada celda del arreglo de terreno del mapa.
+     */
+    private final int[] distancias;
+
+    /**
+     * Ordinal de la dirección del primer paso hacia el helado desde cada
+     * celda, o {@link #SIN_PASO} si no hay camino o la celda es el objetivo.
+     */
+    private final byte[] pasos;
+
+    /**
+     * Cola de la búsqueda en anchura; cada celda entra una sola vez.
+     */
+    private final int[] cola;
+
+    private int objetivo = -1;
+    private int version = -1;
+    private long recalculos;
+
+    /**
+     * Crea un campo vacío para el mapa indicado.
+     *
+     * @param mapa mapa sobre el que se calculan las distancias.
+     */
+    public CampoFlujo(MapaNivel mapa) {
+        this.mapa = mapa;
+        int total = mapa.getTotalCeldas();
+        this.distancias = new int[total];
+        this.pasos = new byte[total];
+        this.cola = new int[total];
+        this.desplazamientos = new int[DIRECCIONES.length];
+        for (Direccion d : DIRECCIONES) {
+            desplazamientos[d.ordinal()] = mapa.desplazamiento(d);
+        }
+    }
+
+    /**
+     * Pone el campo al día con la celda del helado. Si ni el helado ni el
+     * mapa cambiaron desde la última vez, no hace nada.
+     *
+     * @param celdaObjetivo índice en el arreglo de terreno de la celda del helado.
+     * @return {@code true} si fue necesario repetir la búsqueda.
+     */
+    public boolean actualizar(int celdaObjetivo) {
+        if (celdaObjetivo == objetivo && mapa.getVersion() == version) {
+            return false;
+        }
+        objetivo = celdaObjetivo;
+        version = mapa.getVersion();
+        recalcular();
+        return true;
+    }
+
+    /**
+     * Obtiene la distancia en pasos desde una celda hasta el helado.
+     *
+     * @param celda índice de la celda en el arreglo de terreno.
+     * @return número de pasos, o {@link #INALCANZABLE}.
+     */
+    public int getDistancia(int celda) {
+        return distancias[celda];
+    }
+
+    /**
+     * Obtiene la dirección del primer paso del camino más corto
+     * desde una celda hasta el helado.
+     *
+     * @param celda índice de la celda en el arreglo de terreno.
+     * @return dirección a seguir, o {@code null} si la celda es la del helado
+     *         o no hay camino.
+     */
+    public Direccion siguientePaso(int celda) {
+        byte paso = pasos[celda];
+        return paso == SIN_PASO ? null : DIRECCIONES[paso];
+    }
+
+    /**
+     * Obtiene cuántas veces se ha repetido la búsqueda desde que se creó el campo.
+     *
+     * @return número de búsquedas realizadas.
+     */
+    public long getRecalculos() {
+        return recalculos;
+    }
+
+    /**
+     * Búsqueda en anchura desde el objetivo. Al descubrir una celda vecina
+     * desde la celda actual, el primer paso de la vecina es la dirección
+     * contraria a la que se siguió para llegar a ella.
+     * La celda del helado se usa como origen aunque no esté libre, pero el
+     * resto del recorrido solo atraviesa celdas libres.
+     */
+    private void recalcular() {
+        recalculos++;
+        Arrays.fill(distancias, INALCANZABLE);
+        Arrays.fill(pasos, SIN_PASO);
+
+        int inicio = 0;
+        int fin = 0;
+        distancias[objetivo] = 0;
+        cola[fin++] = objetivo;
+        while (inicio < fin) {
+            int actual = cola[inicio++];
+            int siguienteDistancia = distancias[actual] + 1;
+            for (int d = 0; d < desplazamientos.length; d++) {
+                int vecina = actual + desplazamientos[d];
+                if (distancias[vecina] != INALCANZABLE || !mapa.estaLibre(vecina)) {
+                    continue;
+                }
+                distancias[vecina] = siguienteDistancia;
+                pasos[vecina] = (byte) OPUESTAS[d].ordinal();
+                cola[fin++] = vecina;
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package Dominio;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Carga las definiciones de nivel de los archivos de texto
+ * {@code nivel<N>.txt}. La primera vez que se lee un archivo se compila a un
+ * archivo binario en la carpeta de caché, cuyo nombre lleva el resumen
+ * SHA-256 del texto; en los arranques siguientes basta con resumir el texto
+ * y leer el binario, sin volver a interpretarlo. Si el texto cambia, cambia
+ * su resumen y se compila de nuevo. Cada nivel cargado se guarda además en
+ * memoria, así que crear y reiniciar niveles no vuelve a tocar el disco.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class CargadorNiveles {
+
+    /**
+     * Carpeta de los niveles del juego.
+     */
+    public static final Path CARPETA = Path.of("recursos", "niveles");
+
+    /**
+     * Versión del formato compilado; cambiarla invalida todas las cachés.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Bytes {@code BDCN} con los que empieza todo nivel compilado.
+     */
+    static final int MAGIA = 0x4244434E;
+
+    private static final int BYTES_RESUMEN = 32;
+
+    private static final CargadorNiveles PREDETERMINADO = new CargadorNiveles(CARPETA, CARPETA.resolve("cache"));
+
+    private final Path carpeta;
+    private final Path carpetaCache;
+    private final ConcurrentHashMap<Integer, DefinicionNivel> cargados = new ConcurrentHashMap<>();
+
+    /**
+     * Crea un cargador sobre una carpeta de niveles.
+     *
+     * @param carpeta      carpeta con los archivos {@code nivel<N>.txt}.
+     * @param carpetaCache carpeta donde se guardan los niveles compilados.
+     */
+    public CargadorNiveles(Path carpeta, Path carpetaCache) {
+        this.carpeta = carpeta;
+        this.carpetaCache = carpetaCache;
+    }
+
+    /**
+     * Obtiene el cargador de los niveles del juego.
+     *
+     * @return cargador sobre {@link #CARPETA}.
+     */
+    public static CargadorNiveles getPredeterminado() {
+        return PREDETERMINADO;
+    }
+
+    /**
+     * Obtiene la definición de un nivel, leyéndola solo la primera vez.
+     *
+     * @param numero número del nivel.
+     * @return definición del nivel.
+     * @throws UncheckedIOException si no se puede leer el archivo del nivel.
+     * @throws IllegalArgumentException si el archivo no es un nivel válido.
+     */
+    public DefinicionNivel cargar(int numero) {
+        DefinicionNivel definicion = cargados.get(numero);
+        if (definicion == null) {
+            try {
+                definicion = leer(numero);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo leer el nivel " + numero, e);
+            }
+            DefinicionNivel anterior = cargados.putIfAbsent(numero, definicion);
+            if (anterior != null) {
+                definicion = anterior;
+            }
+        }
+        return definicion;
+    }
+
+    /**
+     * Indica si existe el archivo de texto de un nivel.
+     *
+     * @param numero número del nivel.
+     * @return {@code true} si el nivel existe.
+     */
+    public boolean existe(int numero) {
+        return Files.isRegularFile(archivoTexto(numero));
+    }
+
+    /**
+     * Obtiene la ruta del nivel compilado que corresponde al contenido
+     * actual del archivo de texto.
+     *
+     * @param numero número del nivel.
+     * @return ruta del archivo de caché, exista o no.
+     * @throws IOException si no se puede leer el archivo del nivel.
+     */
+    public Path archivoCompilado(int numero) throws IOException {
+        return archivoCompilado(numero, resumir(Files.readAllBytes(archivoTexto(numero))));
+    }
+
+    private DefinicionNivel leer(int numero) throws IOException {
+        byte[] texto = Files.readAllBytes(archivoTexto(numero));
+        byte[] resumen = resumir(texto);
+        Path compilado = archivoCompilado(numero, resumen);
+        if (Files.isRegularFile(compilado)) {
+            try {
+                return leerCompilado(ByteBuffer.wrap(Files.readAllBytes(compilado)), resumen);
+            } catch (IllegalArgumentException | IOException e) {
+                // La caché está dañada o es de otra versión: se vuelve a compilar.
+            }
+        }
+        DefinicionNivel definicion = DefinicionNivel.parsear(numero, new String(texto, StandardCharsets.UTF_8));
+        try {
+            escribirCompilado(definicion, resumen, compilado);
+        } catch (IOException e) {
+            // Sin caché el nivel simplemente se vuelve a compilar en el próximo arranque.
+        }
+        return definicion;
+    }
+
+    private static DefinicionNivel leerCompilado(ByteBuffer entrada, byte[] resumen) {
+        if (entrada.remaining() < Integer.BYTES + 1 + BYTES_RESUMEN
+                || entrada.getInt() != MAGIA || entrada.get() != VERSION) {
+            throw new IllegalArgumentException("No es un nivel compilado de esta versión");
+        }
+        byte[] resumenGuardado = new byte[BYTES_RESUMEN];
+        entrada.get(resumenGuardado);
+        if (!Arrays.equals(resumen, resumenGuardado)) {
+            throw new IllegalArgumentException("El nivel compilado no corresponde al texto");
+        }
+        return DefinicionNivel.leer(entrada);
+    }
+
+    /**
+     * Escribe el nivel compilado en un archivo temporal y luego lo mueve a
+     * su lugar, para que otro proceso nunca lea un archivo a medio escribir.
+     */
+    private void escribirCompilado(DefinicionNivel definicion, byte[] resumen, Path compilado) throws IOException {
+        ByteBuffer salida = ByteBuffer.allocate(Integer.BYTES + 1 + BYTES_RESUMEN + definicion.getTamanoCodificado());
+        salida.putInt(MAGIA);
+        salida.put((byte) VERSION);
+        salida.put(resumen);
+        definicion.escribir(salida);
+
+        Files.createDirectories(carpetaCache);
+        Path temporal = Files.createTempFile(carpetaCache, compilado.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temporal, salida.array());
+            Files.move(temporal, compilado, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private Path archivoTexto(int numero) {
+        return carpeta.resolve("nivel" + numero + ".txt");
+    }
+
+    private Path archivoCompilado(int numero, byte[] resumen) {
+        StringBuilder nombre = new StringBuilder("nivel").append(numero).append('-');
+        for (int i = 0; i < 8; i++) {
+            nombre.append(Character.forDigit((resumen[i] >> 4) & 0xF, 16))
+                    .append(Character.forDigit(resumen[i] & 0xF, 16));
+        }
+        return carpetaCache.resolve(nombre.append(".bin").toString());
+    }
+
+    private static byte[] resumir(byte[] texto) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(texto);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+    /**
+     * Compara el tiempo de interpretar el texto de cada nivel con el de
+     * resumirlo y leer su versión compilada, que es lo que se hace al
+     * arrancar cuando la caché está al día.
+     *
+     * @param args números de nivel (por defecto 1, 2 y 3).
+     * @throws IOException si no se puede leer algún nivel.
+     */
+    public static void main(String[] args) throws IOException {
+        int[] numeros = args.length == 0 ? new int[]{1, 2, 3} : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        int repeticiones = 20_000;
+        for (int numero : numeros) {
+            CargadorNiveles cargador = new CargadorNiveles(CARPETA, CARPETA.resolve("cache"));
+            DefinicionNivel definicion = cargador.cargar(numero);
+            byte[] texto = Files.readAllBytes(cargador.archivoTexto(numero));
+            byte[] compilado = Files.readAllBytes(cargador.archivoCompilado(numero));
+            String contenido = new String(texto, StandardCharsets.UTF_8);
+
+            long control = 0;
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                control += DefinicionNivel.parsear(numero, contenido).getCantidadFrutas();
+            }
+            long parseo = System.nanoTime() - inicio;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                control += leerCompilado(ByteBuffer.wrap(compilado), resumir(texto)).getCantidadFrutas();
+            }
+            long cache = System.nanoTime() - inicio;
+            System.out.printf("%s: texto %d bytes, compilado %d bytes; interpretar %.2f us, "
+                            + "resumir y leer caché %.2f us (%d)%n", definicion.getNombre(), texto.length,
+                    compilado.length, parseo / 1e3 / repeticiones, cache / 1e3 / repeticiones, control);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package Dominio;
+
+/**
+ * Operaciones sobre coordenadas de tablero empaquetadas en un único
+ * {@code int}: la fila en los 16 bits altos y la columna, con signo, en los
+ * 16 bits bajos. Al ser un valor primitivo, mover una entidad o comparar
+ * dos posiciones no reserva memoria, y leer la coordenada completa es una
+ * sola lectura que nunca mezcla la fila de un instante con la columna de otro.
+ * El empaquetado es aditivo, de modo que sumar {@link #desplazamiento}
+ * equivale a avanzar una celda incluso hacia coordenadas negativas.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class Celda {
+
+    /**
+     * Diferencia entre dos filas consecutivas en el valor empaquetado.
+     */
+    public static final int PASO_FILA = 1 << 16;
+
+    private Celda() {
+    }
+
+    /**
+     * Empaqueta una fila y una columna en un solo entero.
+     *
+     * @param fila    índice de la fila.
+     * @param columna índice de la columna.
+     * @return coordenada empaquetada.
+     */
+    public static int de(int fila, int columna) {
+        return fila * PASO_FILA + columna;
+    }
+
+    /**
+     * Obtiene la fila de una coordenada empaquetada.
+     *
+     * @param celda coordenada empaquetada.
+     * @return índice de la fila.
+     */
+    public static int fila(int celda) {
+        return (celda - (short) celda) >> 16;
+    }
+
+    /**
+     * Obtiene la columna de una coordenada empaquetada.
+     *
+     * @param celda coordenada empaquetada.
+     * @return índice de la columna.
+     */
+    public static int columna(int celda) {
+        return (short) celda;
+    }
+
+    /**
+     * Obtiene la diferencia que hay que sumar a una coordenada empaquetada
+     * para avanzar una celda en la dirección indicada.
+     *
+     * @param dir dirección de avance.
+     * @return desplazamiento empaquetado.
+     */
+    public static int desplazamiento(Direccion dir) {
+        return switch (dir) {
+            case ARRIBA -> -PASO_FILA;
+            case ABAJO -> PASO_FILA;
+            case IZQUIERDA -> -1;
+            case DERECHA -> 1;
+        };
+    }
+
+    /**
+     * Obtiene la celda vecina en la dirección indicada.
+     *
+     * @param celda coordenada empaquetada de origen.
+     * @param dir   dirección de avance.
+     * @return coordenada empaquetada de la celda vecina.
+     */
+    public static int vecina(int celda, Direccion dir) {
+        return celda + desplazamiento(dir);
+    }
+
+    /**
+     * Indica si una coordenada está dentro de un tablero de las dimensiones dadas.
+     *
+     * @param celda    coordenada empaquetada.
+     * @param filas    número de filas del tablero.
+     * @param columnas número de columnas del tablero.
+     * @return {@code true} si la fila y la columna están dentro de los límites.
+     */
+    public static boolean dentro(int celda, int filas, int columnas) {
+        int f = fila(celda);
+        int c = columna(celda);
+        return f >= 0 && f < filas && c >= 0 && c < columnas;
+    }
+
+    /**
+     * Calcula la distancia Manhattan entre dos coordenadas.
+     *
+     * @param a primera coordenada empaquetada.
+     * @param b segunda coordenada empaquetada.
+     * @return suma de las diferencias absolutas de fila y columna.
+     */
+    public static int distancia(int a, int b) {
+        return Math.abs(fila(a) - fila(b)) + Math.abs(columna(a) - columna(b));
+    }
+
+    /**
+     * Obtiene la dirección que lleva de una celda a una vecina suya.
+     *
+     * @param desde coordenada de origen.
+     * @param hasta coordenada vecina de destino.
+     * @return dirección del paso, o {@code null} si no son vecinas.
+     */
+    public static Direccion direccionHacia(int desde, int hasta) {
+        return switch (hasta - desde) {
+            case -PASO_FILA -> Direccion.ARRIBA;
+            case PASO_FILA -> Direccion.ABAJO;
+            case -1 -> Direccion.IZQUIERDA;
+            case 1 -> Direccion.DERECHA;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package Dominio;
+
+/**
+ * Órdenes que la interfaz envía al hilo de simulación.
+ * Al ser constantes de una enumeración, encolarlas no reserva memoria.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public enum ComandoJuego {
+    /**
+     * Mover el helado del jugador hacia arriba.
+     */
+    MOVER_ARRIBA(Direccion.ARRIBA),
+
+    /**
+     * Mover el helado del jugador hacia abajo.
+     */
+    MOVER_ABAJO(Direccion.ABAJO),
+
+    /**
+     * Mover el helado del jugador hacia la izquierda.
+     */
+    MOVER_IZQUIERDA(Direccion.IZQUIERDA),
+
+    /**
+     * Mover el helado del jugador hacia la derecha.
+     */
+    MOVER_DERECHA(Direccion.DERECHA),
+
+    /**
+     * Construir o romper una línea de bloques de hielo.
+     */
+    HIELO(null),
+
+    /**
+     * Pausar o reanudar la partida.
+     */
+    PAUSA(null);
+
+    private final Direccion direccion;
+
+    ComandoJuego(Direccion direccion) {
+        this.direccion = direccion;
+    }
+
+    /**
+     * Obtiene la dirección asociada a un comando de movimiento.
+     *
+     * @return dirección del movimiento, o {@code null} si no es un movimiento.
+     */
+    public Direccion getDireccion() {
+        return direccion;
+    }
+
+    /**
+     * Obtiene el comando de movimiento correspondiente a una dirección.
+     *
+     * @param dir dirección del movimiento.
+     * @return comando de movimiento.
+     */
+    public static ComandoJuego mover(Direccion dir) {
+        return switch (dir) {
+            case ARRIBA -> MOVER_ARRIBA;
+            case ABAJO -> MOVER_ABAJO;
+            case IZQUIERDA -> MOVER_IZQUIERDA;
+            case DERECHA -> MOVER_DERECHA;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package Dominio;
+
+/**
+ * Control del helado que elige al azar entre las direcciones libres,
+ * usando el generador del nivel para que la partida sea reproducible.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class ControlAleatorio implements ControlHelado {
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /**
+     * Elige una dirección libre con igual probabilidad.
+     *
+     * @param nivel nivel en el que se encuentra el helado.
+     * @return dirección elegida, o {@code null} si el helado está encerrado.
+     */
+    @Override
+    public Direccion decidir(Nivel nivel) {
+        int libres = 0;
+        for (Direccion d : DIRECCIONES) {
+            if (nivel.puedeMoverHelado(d)) {
+                libres++;
+            }
+        }
+        if (libres == 0) {
+            return null;
+        }
+        int elegida = nivel.getGenerador().siguienteEntero(libres);
+        for (Direccion d : DIRECCIONES) {
+            if (nivel.puedeMoverHelado(d) && elegida-- == 0) {
+                return d;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,26 @@
+package Dominio;
+
+/**
+ * Estrategia que puede tomar el control de uno de los enemigos cuando
+ * los enemigos los controla la máquina. El resto de enemigos sigue su
+ * propia IA.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public interface ControlEnemigos {
+
+    /**
+     * Indica qué enemigo controla la estrategia en el paso actual.
+     *
+     * @param nivel nivel en el que se encuentran los enemigos.
+     * @return índice del enemigo en la lista del nivel, o -1 si ninguno.
+     */
+    int getEnemigoControlado(Nivel nivel);
+
+    /**
+     * Decide hacia dónde se mueve el enemigo controlado en el paso actual.
+     *
+     * @param nivel nivel en el que se encuentran los enemigos.
+     * @return dirección del movimiento, o {@code null} para quedarse quieto.
+     */
+    Direccion decidir(Nivel nivel);
+}
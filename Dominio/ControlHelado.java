@@ -0,0 +1,17 @@
+package Dominio;
+
+/**
+ * Estrategia que decide los movimientos del helado cuando lo controla
+ * la máquina. El nivel la consulta en cada paso de la IA.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public interface ControlHelado {
+
+    /**
+     * Decide hacia dónde se mueve el helado en el paso actual.
+     *
+     * @param nivel nivel en el que se encuentra el helado.
+     * @return dirección del movimiento, o {@code null} para quedarse quieto.
+     */
+    Direccion decidir(Nivel nivel);
+}
@@ -0,0 +1,586 @@
+package Dominio;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Contenido inicial de un nivel: terreno, iglú, punto de aparición del
+ * helado, frutas de cada oleada, enemigos con su rectángulo de patrullaje y
+ * tiempo límite. Se escribe en un archivo de texto de
+ * {@code recursos/niveles/} (el formato está descrito en {@code nivel1.txt})
+ * y {@link CargadorNiveles} lo compila a un formato binario para no tener
+ * que volver a leer el texto en cada arranque.
+ * <p>
+ * Una definición es inmutable; {@link Nivel} crea a partir de ella objetos
+ * nuevos cada vez que empieza o reinicia el nivel.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class DefinicionNivel {
+
+    /**
+     * Caracteres del mapa en el archivo de texto.
+     */
+    public static final char TEXTO_VACIO = '.';
+    public static final char TEXTO_MURO = 'B';
+    public static final char TEXTO_IGLU = 'I';
+
+    /**
+     * Enteros por fruta en {@link #frutas}: tipo, oleada, fila y columna.
+     */
+    private static final int CAMPOS_FRUTA = 4;
+
+    /**
+     * Enteros por enemigo en {@link #enemigos}: tipo, fila, columna y el
+     * rectángulo de patrullaje (fila mínima, fila máxima, columna mínima
+     * y columna máxima).
+     */
+    private static final int CAMPOS_ENEMIGO = 7;
+
+    private static final TipoFruta[] TIPOS_FRUTA = TipoFruta.values();
+    private static final TipoEnemigo[] TIPOS_ENEMIGO = TipoEnemigo.values();
+
+    private final int numero;
+    private final String nombre;
+    private final int tiempoSegundos;
+    private final int filaHelado;
+    private final int columnaHelado;
+
+    /**
+     * Terreno de cada celda, fila por fila, con los códigos de {@link MapaNivel}.
+     */
+    private final byte[] terreno;
+
+    private final int filaIglu;
+    private final int columnaIglu;
+    private final int numeroOleadas;
+
+    /**
+     * Frutas en el orden del archivo, {@link #CAMPOS_FRUTA} enteros por fruta.
+     */
+    private final int[] frutas;
+
+    /**
+     * Enemigos en el orden del archivo, {@link #CAMPOS_ENEMIGO} enteros por enemigo.
+     */
+    private final int[] enemigos;
+
+    private DefinicionNivel(int numero, String nombre, int tiempoSegundos, int filaHelado, int columnaHelado,
+                            byte[] terreno, int filaIglu, int columnaIglu, int numeroOleadas,
+                            int[] frutas, int[] enemigos) {
+        this.numero = numero;
+        this.nombre = nombre;
+        this.tiempoSegundos = tiempoSegundos;
+        this.filaHelado = filaHelado;
+        this.columnaHelado = columnaHelado;
+        this.terreno = terreno;
+        this.filaIglu = filaIglu;
+        this.columnaIglu = columnaIglu;
+        this.numeroOleadas = numeroOleadas;
+        this.frutas = frutas;
+        this.enemigos = enemigos;
+    }
+
+    /**
+     * Interpreta el texto de un nivel.
+     *
+     * @param numero número del nivel.
+     * @param texto  contenido del archivo de texto.
+     * @return definición del nivel.
+     * @throws IllegalArgumentException si el texto no es un nivel válido; el
+     *                                  mensaje indica la línea del error.
+     */
+    public static DefinicionNivel parsear(int numero, String texto) {
+        String[] lineas = texto.split("\r?\n", -1);
+        String nombre = "Nivel " + numero;
+        int tiempo = -1;
+        int filaHelado = -1;
+        int columnaHelado = -1;
+        byte[] terreno = null;
+        int[] frutas = new int[CAMPOS_FRUTA * 16];
+        int cantidadFrutas = 0;
+        int[] enemigos = new int[CAMPOS_ENEMIGO * 4];
+        int cantidadEnemigos = 0;
+
+        for (int i = 0; i < lineas.length; i++) {
+            String linea = lineas[i].trim();
+            if (linea.isEmpty() || linea.charAt(0) == '#') {
+                continue;
+            }
+            String[] partes = linea.split("\\s+");
+            int numeroLinea = i + 1;
+            switch (partes[0]) {
+                case "nombre" -> nombre = linea.substring("nombre".length()).trim();
+                case "tiempo" -> {
+                    exigirCampos(partes, 2, numeroLinea);
+                    tiempo = entero(partes[1], numeroLinea);
+                    if (tiempo <= 0) {
+                        throw error(numeroLinea, "el tiempo debe ser positivo");
+                    }
+                }
+                case "helado" -> {
+                    exigirCampos(partes, 3, numeroLinea);
+                    filaHelado = entero(partes[1], numeroLinea);
+                    columnaHelado = entero(partes[2], numeroLinea);
+                }
+                case "mapa" -> {
+                    if (terreno != null) {
+                        throw error(numeroLinea, "el mapa ya estaba definido");
+                    }
+                    terreno = new byte[Nivel.FILAS * Nivel.COLUMNAS];
+                    for (int f = 0; f < Nivel.FILAS; f++) {
+                        i++;
+                        if (i >= lineas.length) {
+                            throw error(i, "el mapa debe tener " + Nivel.FILAS + " filas");
+                        }
+                        leerFilaMapa(lineas[i].trim(), f, terreno, i + 1);
+                    }
+                }
+                case "fruta" -> {
+                    exigirCampos(partes, 5, numeroLinea);
+                    TipoFruta tipo = tipoFruta(partes[2], numeroLinea);
+                    if (frutas.length < (cantidadFrutas + 1) * CAMPOS_FRUTA) {
+                        frutas = Arrays.copyOf(frutas, frutas.length * 2);
+                    }
+                    int base = cantidadFrutas++ * CAMPOS_FRUTA;
+                    frutas[base] = tipo.ordinal();
+                    frutas[base + 1] = entero(partes[1], numeroLinea) - 1;
+                    frutas[base + 2] = entero(partes[3], numeroLinea);
+                    frutas[base + 3] = entero(partes[4], numeroLinea);
+                    if (frutas[base + 1] < 0) {
+                        throw error(numeroLinea, "las oleadas empiezan en 1");
+                    }
+                }
+                case "troll", "calamar" -> {
+                    boolean troll = partes[0].equals("troll");
+                    exigirCampos(partes, troll ? 7 : 3, numeroLinea);
+                    if (enemigos.length < (cantidadEnemigos + 1) * CAMPOS_ENEMIGO) {
+                        enemigos = Arrays.copyOf(enemigos, enemigos.length * 2);
+                    }
+                    int base = cantidadEnemigos++ * CAMPOS_ENEMIGO;
+                    enemigos[base] = (troll ? TipoEnemigo.TROLL : TipoEnemigo.CALAMAR).ordinal();
+                    for (int k = 1; k < partes.length; k++) {
+                        enemigos[base + k] = entero(partes[k], numeroLinea);
+                    }
+                    if (troll) {
+                        validarPatrullaje(enemigos, base, numeroLinea);
+                    }
+                }
+                default -> throw error(numeroLinea, "instrucción desconocida '" + partes[0] + "'");
+            }
+        }
+
+        if (tiempo < 0) {
+            throw new IllegalArgumentException("Falta el tiempo límite del nivel");
+        }
+        if (filaHelado < 0) {
+            throw new IllegalArgumentException("Falta el punto de aparición del helado");
+        }
+        if (terreno == null) {
+            throw new IllegalArgumentException("Falta el mapa del nivel");
+        }
+        if (cantidadFrutas == 0) {
+            throw new IllegalArgumentException("El nivel no tiene frutas");
+        }
+        int[] iglu = buscarIglu(terreno);
+        DefinicionNivel definicion = new DefinicionNivel(numero, nombre, tiempo, filaHelado, columnaHelado,
+                terreno, iglu[0], iglu[1], contarOleadas(frutas, cantidadFrutas),
+                Arrays.copyOf(frutas, cantidadFrutas * CAMPOS_FRUTA),
+                Arrays.copyOf(enemigos, cantidadEnemigos * CAMPOS_ENEMIGO));
+        definicion.validarPosiciones();
+        return definicion;
+    }
+
+    /**
+     * Obtiene los bytes que ocupa la definición al escribirla con
+     * {@link #escribir(ByteBuffer)}.
+     *
+     * @return tamaño codificado en bytes.
+     */
+    public int getTamanoCodificado() {
+        return 9 * Integer.BYTES + nombre.getBytes(StandardCharsets.UTF_8).length + terreno.length
+                + (frutas.length + enemigos.length) * Integer.BYTES;
+    }
+
+    /**
+     * Escribe la definición compilada a partir de la posición actual del buffer.
+     *
+     * @param salida buffer con al menos {@link #getTamanoCodificado()} bytes libres.
+     */
+    public void escribir(ByteBuffer salida) {
+        byte[] textoNombre = nombre.getBytes(StandardCharsets.UTF_8);
+        salida.putInt(numero);
+        salida.putInt(textoNombre.length);
+        salida.put(textoNombre);
+        salida.putInt(tiempoSegundos);
+        salida.putInt(filaHelado);
+        salida.putInt(columnaHelado);
+        salida.putInt(filaIglu);
+        salida.putInt(columnaIglu);
+        salida.put(terreno);
+        salida.putInt(frutas.length / CAMPOS_FRUTA);
+        salida.asIntBuffer().put(frutas);
+        salida.position(salida.position() + frutas.length * Integer.BYTES);
+        salida.putInt(enemigos.length / CAMPOS_ENEMIGO);
+        salida.asIntBuffer().put(enemigos);
+        salida.position(salida.position() + enemigos.length * Integer.BYTES);
+    }
+
+    /**
+     * Lee una definición escrita con {@link #escribir(ByteBuffer)}. Los
+     * datos se vuelven a validar, pero sin interpretar texto.
+     *
+     * @param entrada buffer posicionado al inicio de la definición.
+     * @return definición leída.
+     * @throws IllegalArgumentException si los datos no son válidos.
+     */
+    public static DefinicionNivel leer(ByteBuffer entrada) {
+        try {
+            int numero = entrada.getInt();
+            byte[] textoNombre = new byte[entrada.getInt()];
+            entrada.get(textoNombre);
+            int tiempo = entrada.getInt();
+            int filaHelado = entrada.getInt();
+            int columnaHelado = entrada.getInt();
+            int filaIglu = entrada.getInt();
+            int columnaIglu = entrada.getInt();
+            byte[] terreno = new byte[Nivel.FILAS * Nivel.COLUMNAS];
+            entrada.get(terreno);
+            int[] frutas = leerEnteros(entrada, CAMPOS_FRUTA);
+            int[] enemigos = leerEnteros(entrada, CAMPOS_ENEMIGO);
+
+            if (tiempo <= 0 || frutas.length == 0) {
+                throw new IllegalArgumentException("Nivel compilado inválido");
+            }
+            for (int base = 0; base < frutas.length; base += CAMPOS_FRUTA) {
+                if (frutas[base] < 0 || frutas[base] >= TIPOS_FRUTA.length || frutas[base + 1] < 0) {
+                    throw new IllegalArgumentException("Fruta compilada inválida");
+                }
+            }
+            for (int base = 0; base < enemigos.length; base += CAMPOS_ENEMIGO) {
+                if (enemigos[base] < 0 || enemigos[base] >= TIPOS_ENEMIGO.length) {
+                    throw new IllegalArgumentException("Enemigo compilado inválido");
+                }
+            }
+            int[] iglu = buscarIglu(terreno);
+            if (iglu[0] != filaIglu || iglu[1] != columnaIglu) {
+                throw new IllegalArgumentException("Iglú compilado inválido");
+            }
+            DefinicionNivel definicion = new DefinicionNivel(numero,
+                    new String(textoNombre, StandardCharsets.UTF_8), tiempo, filaHelado, columnaHelado,
+                    terreno, filaIglu, columnaIglu, contarOleadas(frutas, frutas.length / CAMPOS_FRUTA),
+                    frutas, enemigos);
+            definicion.validarPosiciones();
+            return definicion;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Nivel compilado incompleto", e);
+        }
+    }
+
+    /**
+     * Crea el mapa de terreno del nivel, con sus muros y su iglú.
+     *
+     * @return mapa nuevo.
+     */
+    public MapaNivel crearMapa() {
+        MapaNivel mapa = new MapaNivel(Nivel.FILAS, Nivel.COLUMNAS);
+        for (int f = 0; f < Nivel.FILAS; f++) {
+            for (int c = 0; c < Nivel.COLUMNAS; c++) {
+                if (terreno[f * Nivel.COLUMNAS + c] == MapaNivel.TERRENO_MURO) {
+                    mapa.setTipo(f, c, MapaNivel.MURO);
+                }
+            }
+        }
+        if (filaIglu >= 0) {
+            mapa.colocarIglu(filaIglu, columnaIglu);
+        }
+        return mapa;
+    }
+
+    /**
+     * Obtiene el punto de aparición del helado.
+     *
+     * @return posición inicial del helado.
+     */
+    public Posicion getPosicionHelado() {
+        return new Posicion(filaHelado, columnaHelado);
+    }
+
+    /**
+     * Agrega a la lista frutas nuevas del nivel, en el orden del archivo.
+     *
+     * @param destino lista donde se agregan las frutas.
+     */
+    public void agregarFrutas(List<Fruta> destino) {
+        for (int base = 0; base < frutas.length; base += CAMPOS_FRUTA) {
+            Posicion p = new Posicion(frutas[base + 2], frutas[base + 3]);
+            destino.add(switch (TIPOS_FRUTA[frutas[base]]) {
+                case UVA -> new Uva(p);
+                case PLATANO -> new Platano(p);
+            });
+        }
+    }
+
+    /**
+     * Crea el plan de oleadas de las frutas del nivel, en el mismo orden
+     * que {@link #agregarFrutas(List)}.
+     *
+     * @return plan de oleadas nuevo.
+     */
+    public PlanOleadas crearOleadas() {
+        int[] oleadaDeFruta = new int[frutas.length / CAMPOS_FRUTA];
+        for (int i = 0; i < oleadaDeFruta.length; i++) {
+            oleadaDeFruta[i] = frutas[i * CAMPOS_FRUTA + 1];
+        }
+        return new PlanOleadas(oleadaDeFruta, numeroOleadas);
+    }
+
+    /**
+     * Agrega a la lista enemigos nuevos del nivel, en el orden del archivo.
+     *
+     * @param destino lista donde se agregan los enemigos.
+     */
+    public void agregarEnemigos(List<Enemigo> destino) {
+        for (int base = 0; base < enemigos.length; base += CAMPOS_ENEMIGO) {
+            Posicion p = new Posicion(enemigos[base + 1], enemigos[base + 2]);
+            destino.add(switch (TIPOS_ENEMIGO[enemigos[base]]) {
+                case TROLL -> new Troll(p, enemigos[base + 3], enemigos[base + 4],
+                        enemigos[base + 5], enemigos[base + 6]);
+                case CALAMAR -> new Calamar(p);
+            });
+        }
+    }
+
+    /**
+     * Obtiene el número del nivel.
+     *
+     * @return número de nivel, empezando en 1.
+     */
+    public int getNumero() {
+        return numero;
+    }
+
+    /**
+     * Obtiene el nombre del nivel que se muestra al jugador.
+     *
+     * @return nombre del nivel.
+     */
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Obtiene el tiempo límite del nivel.
+     *
+     * @return tiempo límite en segundos.
+     */
+    public int getTiempoSegundos() {
+        return tiempoSegundos;
+    }
+
+    /**
+     * Obtiene la cantidad de oleadas de frutas del nivel.
+     *
+     * @return número de oleadas.
+     */
+    public int getNumeroOleadas() {
+        return numeroOleadas;
+    }
+
+    /**
+     * Obtiene la cantidad de frutas del nivel, sumando todas las oleadas.
+     *
+     * @return número de frutas.
+     */
+    public int getCantidadFrutas() {
+        return frutas.length / CAMPOS_FRUTA;
+    }
+
+    /**
+     * Obtiene la cantidad de enemigos del nivel.
+     *
+     * @return número de enemigos.
+     */
+    public int getCantidadEnemigos() {
+        return enemigos.length / CAMPOS_ENEMIGO;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DefinicionNivel otro)) {
+            return false;
+        }
+        return numero == otro.numero
+                && tiempoSegundos == otro.tiempoSegundos
+                && filaHelado == otro.filaHelado
+                && columnaHelado == otro.columnaHelado
+                && filaIglu == otro.filaIglu
+                && columnaIglu == otro.columnaIglu
+                && nombre.equals(otro.nombre)
+                && Arrays.equals(terreno, otro.terreno)
+                && Arrays.equals(frutas, otro.frutas)
+                && Arrays.equals(enemigos, otro.enemigos);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 31 * numero + tiempoSegundos;
+        h = 31 * h + Arrays.hashCode(terreno);
+        h = 31 * h + Arrays.hashCode(frutas);
+        return 31 * h + Arrays.hashCode(enemigos);
+    }
+
+    /**
+     * Lee una cantidad de registros seguida de sus enteros.
+     */
+    private static int[] leerEnteros(ByteBuffer entrada, int campos) {
+        int cantidad = entrada.getInt();
+        if (cantidad < 0 || cantidad > entrada.remaining() / (campos * Integer.BYTES)) {
+            throw new IllegalArgumentException("Nivel compilado incompleto");
+        }
+        int[] valores = new int[cantidad * campos];
+        entrada.asIntBuffer().get(valores);
+        entrada.position(entrada.position() + valores.length * Integer.BYTES);
+        return valores;
+    }
+
+    private static void leerFilaMapa(String fila, int f, byte[] terreno, int numeroLinea) {
+        if (fila.length() != Nivel.COLUMNAS) {
+            throw error(numeroLinea, "cada fila del mapa debe tener " + Nivel.COLUMNAS + " caracteres");
+        }
+        for (int c = 0; c < Nivel.COLUMNAS; c++) {
+            terreno[f * Nivel.COLUMNAS + c] = switch (fila.charAt(c)) {
+                case TEXTO_VACIO -> MapaNivel.TERRENO_VACIO;
+                case TEXTO_MURO -> MapaNivel.TERRENO_MURO;
+                case TEXTO_IGLU -> MapaNivel.TERRENO_IGLU;
+                default -> throw error(numeroLinea, "carácter de mapa desconocido '" + fila.charAt(c) + "'");
+            };
+        }
+    }
+
+    /**
+     * Busca la esquina superior izquierda del iglú y comprueba que sus
+     * celdas formen un único cuadrado de 2x2.
+     *
+     * @return fila y columna del iglú, o {@code -1} si no hay iglú.
+     */
+    private static int[] buscarIglu(byte[] terreno) {
+        int primera = -1;
+        int cantidad = 0;
+        for (int i = 0; i < terreno.length; i++) {
+            if (terreno[i] == MapaNivel.TERRENO_IGLU) {
+                if (primera < 0) {
+                    primera = i;
+                }
+                cantidad++;
+            }
+        }
+        if (primera < 0) {
+            return new int[]{-1, -1};
+        }
+        int f = primera / Nivel.COLUMNAS;
+        int c = primera % Nivel.COLUMNAS;
+        if (cantidad != 4 || c + 1 >= Nivel.COLUMNAS || f + 1 >= Nivel.FILAS
+                || terreno[primera + 1] != MapaNivel.TERRENO_IGLU
+                || terreno[primera + Nivel.COLUMNAS] != MapaNivel.TERRENO_IGLU
+                || terreno[primera + Nivel.COLUMNAS + 1] != MapaNivel.TERRENO_IGLU) {
+            throw new IllegalArgumentException("El iglú debe ocupar un único cuadrado de 2x2 celdas");
+        }
+        return new int[]{f, c};
+    }
+
+    /**
+     * Cuenta las oleadas y comprueba que ninguna quede vacía.
+     */
+    private static int contarOleadas(int[] frutas, int cantidad) {
+        int numeroOleadas = 0;
+        for (int i = 0; i < cantidad; i++) {
+            numeroOleadas = Math.max(numeroOleadas, frutas[i * CAMPOS_FRUTA + 1] + 1);
+        }
+        boolean[] usadas = new boolean[numeroOleadas];
+        for (int i = 0; i < cantidad; i++) {
+            usadas[frutas[i * CAMPOS_FRUTA + 1]] = true;
+        }
+        for (int w = 0; w < numeroOleadas; w++) {
+            if (!usadas[w]) {
+                throw new IllegalArgumentException("La oleada " + (w + 1) + " no tiene frutas");
+            }
+        }
+        return numeroOleadas;
+    }
+
+    private static void validarPatrullaje(int[] enemigos, int base, int numeroLinea) {
+        int f = enemigos[base + 1];
+        int c = enemigos[base + 2];
+        int filaMin = enemigos[base + 3];
+        int filaMax = enemigos[base + 4];
+        int colMin = enemigos[base + 5];
+        int colMax = enemigos[base + 6];
+        if (filaMin < 0 || filaMax >= Nivel.FILAS || colMin < 0 || colMax >= Nivel.COLUMNAS
+                || filaMin > f || f > filaMax || colMin > c || c > colMax
+                || (f != filaMin && f != filaMax && c != colMin && c != colMax)) {
+            throw error(numeroLinea, "el troll debe empezar en el borde de su rectángulo de patrullaje");
+        }
+    }
+
+    /**
+     * Comprueba que el helado, las frutas y los enemigos empiecen dentro
+     * del tablero, en celdas libres, y que no haya dos frutas en la misma celda.
+     */
+    private void validarPosiciones() {
+        validarCeldaLibre(filaHelado, columnaHelado, "El helado");
+        boolean[] conFruta = new boolean[terreno.length];
+        for (int base = 0; base < frutas.length; base += CAMPOS_FRUTA) {
+            validarCeldaLibre(frutas[base + 2], frutas[base + 3], "La fruta " + (base / CAMPOS_FRUTA + 1));
+            int celda = frutas[base + 2] * Nivel.COLUMNAS + frutas[base + 3];
+            if (conFruta[celda]) {
+                throw new IllegalArgumentException("Hay dos frutas en la celda ("
+                        + frutas[base + 2] + ", " + frutas[base + 3] + ")");
+            }
+            conFruta[celda] = true;
+        }
+        for (int base = 0; base < enemigos.length; base += CAMPOS_ENEMIGO) {
+            validarCeldaLibre(enemigos[base + 1], enemigos[base + 2], "El enemigo " + (base / CAMPOS_ENEMIGO + 1));
+        }
+    }
+
+    private void validarCeldaLibre(int f, int c, String quien) {
+        if (f < 0 || f >= Nivel.FILAS || c < 0 || c >= Nivel.COLUMNAS
+                || terreno[f * Nivel.COLUMNAS + c] != MapaNivel.TERRENO_VACIO) {
+            throw new IllegalArgumentException(quien + " debe empezar en una celda libre del mapa: ("
+                    + f + ", " + c + ")");
+        }
+    }
+
+    private static void exigirCampos(String[] partes, int cantidad, int numeroLinea) {
+        if (partes.length != cantidad) {
+            throw error(numeroLinea, "'" + partes[0] + "' espera " + (cantidad - 1) + " valores");
+        }
+    }
+
+    private static int entero(String texto, int numeroLinea) {
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw error(numeroLinea, "se esperaba un número y se encontró '" + texto + "'");
+        }
+    }
+
+    private static TipoFruta tipoFruta(String texto, int numeroLinea) {
+        for (TipoFruta tipo : TIPOS_FRUTA) {
+            if (tipo.name().equalsIgnoreCase(texto)) {
+                return tipo;
+            }
+        }
+        throw error(numeroLinea, "tipo de fruta desconocido '" + texto + "'");
+    }
+
+    private static IllegalArgumentException error(int numeroLinea, String mensaje) {
+        return new IllegalArgumentException("Línea " + numeroLinea + ": " + mensaje);
+    }
+}
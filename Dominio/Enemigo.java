@@ -1,5 +1,7 @@
 package Dominio;
 
+import java.util.Arrays;
+
 /**
  * Clase base abstracta para todos los enemigos del juego.
  * Un enemigo tiene una posición y puede actualizar su comportamiento
@@ -8,7 +10,12 @@ package Dominio;
  */
 public abstract class Enemigo {
 
-    protected Posicion posicion;
+    /**
+     * Fila y columna empaquetadas con {@link Celda}. Moverse es una única
+     * escritura, así que otro hilo nunca lee una fila nueva con una
+     * columna antigua.
+     */
+    private volatile int celda;
 
     /**
      * Crea un enemigo en la posición inicial dada.
@@ -16,16 +23,77 @@ public abstract class Enemigo {
      * @param posicionInicial posición inicial del enemigo.
      */
     public Enemigo(Posicion posicionInicial) {
-        this.posicion = posicionInicial;
+        this.celda = posicionInicial.getCelda();
     }
 
+    /**
+     * Crea una copia de otro enemigo en su misma posición.
+     *
+     * @param otro enemigo a copiar.
+     */
+    protected Enemigo(Enemigo otro) {
+        this.celda = otro.celda;
+    }
+
+    /**
+     * Crea una copia independiente del enemigo, con su mismo estado.
+     *
+     * @return enemigo del mismo tipo.
+     */
+    public abstract Enemigo copiar();
+
     /**
      * Obtiene la posición actual del enemigo.
      *
-     * @return posición del enemigo.
+     * @return posición del enemigo; no cambia cuando el enemigo se mueve.
      */
     public Posicion getPosicion() {
-        return posicion;
+        return Posicion.deCelda(celda);
+    }
+
+    /**
+     * Obtiene la celda actual del enemigo sin crear una posición.
+     *
+     * @return coordenada empaquetada según {@link Celda}.
+     */
+    public int getCelda() {
+        return celda;
+    }
+
+    /**
+     * Coloca al enemigo en otra celda. Lo usan la IA de cada enemigo y la
+     * restauración de un estado guardado del nivel.
+     *
+     * @param celda coordenada empaquetada según {@link Celda}.
+     */
+    protected void setCelda(int celda) {
+        this.celda = celda;
+    }
+
+    /**
+     * Obtiene el tipo del enemigo.
+     *
+     * @return tipo del enemigo.
+     */
+    public abstract TipoEnemigo getTipo();
+
+    /**
+     * Resume en un entero el estado de la IA del enemigo que no se deduce
+     * de su posición, para guardarlo en un {@link EstadoNivel}. Por defecto
+     * no hay ninguno.
+     *
+     * @return estado interno empaquetado.
+     */
+    public int getEstadoInterno() {
+        return 0;
+    }
+
+    /**
+     * Restaura un estado obtenido antes con {@link #getEstadoInterno()}.
+     *
+     * @param estado estado interno empaquetado.
+     */
+    public void setEstadoInterno(int estado) {
     }
 
     /**
@@ -36,6 +104,19 @@ public abstract class Enemigo {
      */
     public abstract void actualizar(Nivel nivel);
 
+    /**
+     * Predice las celdas que ocupará el enemigo en sus próximos pasos de IA,
+     * sin modificar su estado. Por defecto supone que se queda quieto.
+     *
+     * @param nivel  nivel en el que se encuentra el enemigo.
+     * @param celdas arreglo donde se escribe, en la posición {@code i}, la
+     *               coordenada empaquetada tras {@code i + 1} pasos.
+     * @param pasos  número de pasos a predecir.
+     */
+    public void predecir(Nivel nivel, int[] celdas, int pasos) {
+        Arrays.fill(celdas, 0, pasos, celda);
+    }
+
     /**
      * Mueve al enemigo una celda en la dirección indicada,
      * respetando los límites del tablero.
@@ -45,19 +126,9 @@ public abstract class Enemigo {
      * @param columnasMax número máximo de columnas permitidas.
      */
     public void moverControlado(Direccion dir, int filasMax, int columnasMax) {
-        int f = posicion.getFila();
-        int c = posicion.getColumna();
-
-        switch (dir) {
-            case ARRIBA -> f--;
-            case ABAJO -> f++;
-            case IZQUIERDA -> c--;
-            case DERECHA -> c++;
-        }
-
-        if (f >= 0 && f < filasMax && c >= 0 && c < columnasMax) {
-            posicion.setFila(f);
-            posicion.setColumna(c);
+        int destino = Celda.vecina(celda, dir);
+        if (Celda.dentro(destino, filasMax, columnasMax)) {
+            celda = destino;
         }
     }
 
@@ -69,6 +140,6 @@ public abstract class Enemigo {
      *         {@code false} en caso contrario.
      */
     public boolean tocaHelado(Helado helado) {
-        return posicion.mismaPosicion(helado.getPosicion());
+        return celda == helado.getCelda();
     }
 }
@@ -0,0 +1,415 @@
+package Dominio;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Foto compacta del estado de un nivel, guardada como estructura de
+ * arreglos: cada propiedad de las frutas, de los enemigos y del mapa ocupa
+ * un arreglo de primitivos en lugar de un objeto por entidad. Capturar,
+ * copiar y restaurar se reducen a copias con {@link System#arraycopy}, sin
+ * crear objetos, así que una búsqueda puede volver a la raíz miles de
+ * veces por segundo reutilizando un solo nivel.
+ * <p>
+ * Solo guarda lo que cambia durante la partida. La configuración (modalidad,
+ * controles, frecuencia de ticks), las posiciones de las frutas, que nunca se
+ * mueven, y los datos que se deducen de otros (contadores de frutas, índice
+ * de ocupación) quedan fuera. Una foto solo puede restaurarse en un nivel
+ * con la misma estructura que aquel del que se tomó: mismas dimensiones y
+ * cantidad de frutas y oleadas, y los mismos enemigos en el mismo orden.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class EstadoNivel {
+
+    static final byte FRUTA_RECOLECTADA = 1;
+    static final byte FRUTA_ACTIVA = 2;
+
+    static final byte NIVEL_GANADO = 1;
+    static final byte NIVEL_PERDIDO = 2;
+    static final byte NIVEL_PASO_IA = 4;
+
+    /**
+     * Marca de helado sin dirección en {@link #direccionHelado}.
+     */
+    static final byte SIN_DIRECCION = -1;
+
+    long ticksTranscurridos;
+    long estadoGenerador;
+    int tiempoRestanteSegundos;
+    int puntajeActual;
+    int oleadaActual;
+    int celdaHelado;
+    byte direccionHelado;
+
+    /**
+     * Combinación de {@link #NIVEL_GANADO}, {@link #NIVEL_PERDIDO} y {@link #NIVEL_PASO_IA}.
+     */
+    byte banderas;
+
+    /**
+     * Terreno del mapa, incluido el borde centinela.
+     */
+    final byte[] terreno;
+
+    /**
+     * Palabras del conjunto de bits de bloques de jugador.
+     */
+    final long[] bloques;
+
+    /**
+     * Combinación de {@link #FRUTA_RECOLECTADA} y {@link #FRUTA_ACTIVA} de cada fruta.
+     */
+    final byte[] frutas;
+
+    /**
+     * Frutas pendientes de cada oleada.
+     */
+    final int[] restantesOleadas;
+
+    /**
+     * Coordenada empaquetada de cada enemigo.
+     */
+    final int[] celdasEnemigos;
+
+    /**
+     * Estado interno de la IA de cada enemigo.
+     */
+    final int[] estadosEnemigos;
+
+    /**
+     * Ordinal del {@link TipoEnemigo} de cada enemigo, para comprobar que
+     * la foto corresponde al nivel en que se restaura.
+     */
+    final byte[] tiposEnemigos;
+
+    /**
+     * Crea una foto con el estado actual del nivel indicado.
+     *
+     * @param nivel nivel a capturar.
+     */
+    public EstadoNivel(Nivel nivel) {
+        MapaNivel mapa = nivel.getMapa();
+        this.terreno = new byte[mapa.getTotalCeldas()];
+        this.bloques = new long[mapa.getBloquesJugador().getNumeroPalabras()];
+        this.frutas = new byte[nivel.getFrutas().size()];
+        this.restantesOleadas = new int[nivel.getNumeroOleadas()];
+        int enemigos = nivel.getEnemigos().size();
+        this.celdasEnemigos = new int[enemigos];
+        this.estadosEnemigos = new int[enemigos];
+        this.tiposEnemigos = new byte[enemigos];
+        for (int i = 0; i < enemigos; i++) {
+            tiposEnemigos[i] = (byte) nivel.getEnemigos().get(i).getTipo().ordinal();
+        }
+        capturar(nivel);
+    }
+
+    /**
+     * Crea una copia independiente de otra foto.
+     *
+     * @param otro foto a copiar.
+     */
+    public EstadoNivel(EstadoNivel otro) {
+        this.terreno = new byte[otro.terreno.length];
+        this.bloques = new long[otro.bloques.length];
+        this.frutas = new byte[otro.frutas.length];
+        this.restantesOleadas = new int[otro.restantesOleadas.length];
+        this.celdasEnemigos = new int[otro.celdasEnemigos.length];
+        this.estadosEnemigos = new int[otro.estadosEnemigos.length];
+        this.tiposEnemigos = new byte[otro.tiposEnemigos.length];
+        copiarDe(otro);
+    }
+
+    /**
+     * Sobrescribe esta foto con el estado actual del nivel, sin crear objetos.
+     *
+     * @param nivel nivel a capturar, con la misma estructura que el original.
+     * @throws IllegalArgumentException si el nivel no es compatible con la foto.
+     */
+    public void capturar(Nivel nivel) {
+        comprobarCompatible(nivel);
+        nivel.guardarEstado(this);
+    }
+
+    /**
+     * Devuelve el nivel al estado de esta foto, sin crear objetos.
+     * La versión del mapa del nivel aumenta, de modo que los cálculos que
+     * dependían del mapa anterior se rehacen.
+     *
+     * @param nivel nivel a restaurar, con la misma estructura que el original.
+     * @throws IllegalArgumentException si el nivel no es compatible con la foto.
+     */
+    public void restaurar(Nivel nivel) {
+        comprobarCompatible(nivel);
+        nivel.restaurarEstado(this);
+    }
+
+    /**
+     * Sobrescribe esta foto con el contenido de otra del mismo nivel.
+     *
+     * @param otro foto a copiar.
+     * @throws IllegalArgumentException si las fotos no tienen la misma estructura.
+     */
+    public void copiarDe(EstadoNivel otro) {
+        if (terreno.length != otro.terreno.length
+                || frutas.length != otro.frutas.length
+                || restantesOleadas.length != otro.restantesOleadas.length
+                || !Arrays.equals(tiposEnemigos, otro.tiposEnemigos)) {
+            throw new IllegalArgumentException("Las fotos no corresponden al mismo nivel");
+        }
+        ticksTranscurridos = otro.ticksTranscurridos;
+        estadoGenerador = otro.estadoGenerador;
+        tiempoRestanteSegundos = otro.tiempoRestanteSegundos;
+        puntajeActual = otro.puntajeActual;
+        oleadaActual = otro.oleadaActual;
+        celdaHelado = otro.celdaHelado;
+        direccionHelado = otro.direccionHelado;
+        banderas = otro.banderas;
+        System.arraycopy(otro.terreno, 0, terreno, 0, terreno.length);
+        System.arraycopy(otro.bloques, 0, bloques, 0, bloques.length);
+        System.arraycopy(otro.frutas, 0, frutas, 0, frutas.length);
+        System.arraycopy(otro.restantesOleadas, 0, restantesOleadas, 0, restantesOleadas.length);
+        System.arraycopy(otro.celdasEnemigos, 0, celdasEnemigos, 0, celdasEnemigos.length);
+        System.arraycopy(otro.estadosEnemigos, 0, estadosEnemigos, 0, estadosEnemigos.length);
+    }
+
+    /**
+     * Indica si la foto puede capturarse desde el nivel o restaurarse en él.
+     *
+     * @param nivel nivel a comprobar.
+     * @return {@code true} si el nivel tiene la misma estructura que la foto.
+     */
+    public boolean esCompatible(Nivel nivel) {
+        if (nivel.getMapa().getTotalCeldas() != terreno.length
+                || nivel.getFrutas().size() != frutas.length
+                || nivel.getNumeroOleadas() != restantesOleadas.length
+                || nivel.getEnemigos().size() != tiposEnemigos.length) {
+            return false;
+        }
+        for (int i = 0; i < tiposEnemigos.length; i++) {
+            if (nivel.getEnemigos().get(i).getTipo().ordinal() != tiposEnemigos[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void comprobarCompatible(Nivel nivel) {
+        if (!esCompatible(nivel)) {
+            throw new IllegalArgumentException("La foto no corresponde a la estructura del nivel");
+        }
+    }
+
+    /**
+     * Obtiene los bytes que ocupa la foto al escribirla con
+     * {@link #escribir(ByteBuffer)}.
+     *
+     * @return tamaño codificado en bytes.
+     */
+    public int getTamanoCodificado() {
+        return 5 * Integer.BYTES + getTamanoBytes();
+    }
+
+    /**
+     * Escribe la foto en el buffer a partir de su posición actual: primero
+     * el tamaño de cada arreglo, luego los campos y por último los arreglos,
+     * copiados en bloque.
+     *
+     * @param salida buffer con al menos {@link #getTamanoCodificado()} bytes libres.
+     */
+    public void escribir(ByteBuffer salida) {
+        salida.putInt(terreno.length);
+        salida.putInt(bloques.length);
+        salida.putInt(frutas.length);
+        salida.putInt(restantesOleadas.length);
+        salida.putInt(celdasEnemigos.length);
+
+        salida.putLong(ticksTranscurridos);
+        salida.putLong(estadoGenerador);
+        salida.putInt(tiempoRestanteSegundos);
+        salida.putInt(puntajeActual);
+        salida.putInt(oleadaActual);
+        salida.putInt(celdaHelado);
+        salida.put(direccionHelado);
+        salida.put(banderas);
+
+        salida.put(terreno);
+        salida.asLongBuffer().put(bloques);
+        salida.position(salida.position() + bloques.length * Long.BYTES);
+        salida.put(frutas);
+        escribirEnteros(salida, restantesOleadas);
+        escribirEnteros(salida, celdasEnemigos);
+        escribirEnteros(salida, estadosEnemigos);
+        salida.put(tiposEnemigos);
+    }
+
+    /**
+     * Sobrescribe esta foto con una escrita antes con {@link #escribir(ByteBuffer)},
+     * leyendo los arreglos en bloque directamente desde el buffer.
+     *
+     * @param entrada buffer posicionado al inicio de la foto.
+     * @throws IllegalArgumentException si la foto escrita no tiene la misma
+     *                                  estructura que esta.
+     */
+    public void leer(ByteBuffer entrada) {
+        if (entrada.getInt() != terreno.length
+                || entrada.getInt() != bloques.length
+                || entrada.getInt() != frutas.length
+                || entrada.getInt() != restantesOleadas.length
+                || entrada.getInt() != celdasEnemigos.length) {
+            throw new IllegalArgumentException("La foto guardada no corresponde a la estructura del nivel");
+        }
+        ticksTranscurridos = entrada.getLong();
+        estadoGenerador = entrada.getLong();
+        tiempoRestanteSegundos = entrada.getInt();
+        puntajeActual = entrada.getInt();
+        oleadaActual = entrada.getInt();
+        celdaHelado = entrada.getInt();
+        direccionHelado = entrada.get();
+        banderas = entrada.get();
+
+        entrada.get(terreno);
+        entrada.asLongBuffer().get(bloques);
+        entrada.position(entrada.position() + bloques.length * Long.BYTES);
+        entrada.get(frutas);
+        leerEnteros(entrada, restantesOleadas);
+        leerEnteros(entrada, celdasEnemigos);
+        leerEnteros(entrada, estadosEnemigos);
+        for (byte tipo : tiposEnemigos) {
+            if (entrada.get() != tipo) {
+                throw new IllegalArgumentException("Los enemigos guardados no corresponden a los del nivel");
+            }
+        }
+    }
+
+    private static void escribirEnteros(ByteBuffer salida, int[] valores) {
+        salida.asIntBuffer().put(valores);
+        salida.position(salida.position() + valores.length * Integer.BYTES);
+    }
+
+    private static void leerEnteros(ByteBuffer entrada, int[] valores) {
+        entrada.asIntBuffer().get(valores);
+        entrada.position(entrada.position() + valores.length * Integer.BYTES);
+    }
+
+    /**
+     * Obtiene los ticks que se habían ejecutado al tomar la foto.
+     *
+     * @return ticks transcurridos.
+     */
+    public long getTicksTranscurridos() {
+        return ticksTranscurridos;
+    }
+
+    /**
+     * Obtiene el puntaje que tenía el nivel al tomar la foto.
+     *
+     * @return puntaje acumulado.
+     */
+    public int getPuntajeActual() {
+        return puntajeActual;
+    }
+
+    /**
+     * Obtiene el tamaño aproximado de los datos de la foto, sin contar las
+     * cabeceras de los objetos.
+     *
+     * @return bytes ocupados por los campos y arreglos.
+     */
+    public int getTamanoBytes() {
+        return 2 * Long.BYTES + 4 * Integer.BYTES + 2
+                + terreno.length + bloques.length * Long.BYTES + frutas.length
+                + (restantesOleadas.length + celdasEnemigos.length + estadosEnemigos.length) * Integer.BYTES
+                + tiposEnemigos.length;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof EstadoNivel otro)) {
+            return false;
+        }
+        return ticksTranscurridos == otro.ticksTranscurridos
+                && estadoGenerador == otro.estadoGenerador
+                && tiempoRestanteSegundos == otro.tiempoRestanteSegundos
+                && puntajeActual == otro.puntajeActual
+                && oleadaActual == otro.oleadaActual
+                && celdaHelado == otro.celdaHelado
+                && direccionHelado == otro.direccionHelado
+                && banderas == otro.banderas
+                && Arrays.equals(terreno, otro.terreno)
+                && Arrays.equals(bloques, otro.bloques)
+                && Arrays.equals(frutas, otro.frutas)
+                && Arrays.equals(restantesOleadas, otro.restantesOleadas)
+                && Arrays.equals(celdasEnemigos, otro.celdasEnemigos)
+                && Arrays.equals(estadosEnemigos, otro.estadosEnemigos)
+                && Arrays.equals(tiposEnemigos, otro.tiposEnemigos);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = Long.hashCode(ticksTranscurridos);
+        h = 31 * h + Long.hashCode(estadoGenerador);
+        h = 31 * h + celdaHelado;
+        h = 31 * h + puntajeActual;
+        h = 31 * h + Arrays.hashCode(bloques);
+        h = 31 * h + Arrays.hashCode(frutas);
+        h = 31 * h + Arrays.hashCode(celdasEnemigos);
+        return h;
+    }
+
+    /**
+     * Compara el costo de copiar un nivel con su constructor de copia y con
+     * una foto, a mitad de una partida MvsM, y muestra por consola los
+     * nanosegundos por operación.
+     *
+     * @param args opcionalmente, el número de repeticiones por medición.
+     */
+    public static void main(String[] args) {
+        int repeticiones = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.MvsM, 42L);
+        for (int i = 0; i < 20 && !nivel.isGanado() && !nivel.isPerdido(); i++) {
+            nivel.actualizarUnTick();
+            nivel.accionHielo();
+        }
+        EstadoNivel foto = new EstadoNivel(nivel);
+        EstadoNivel copia = new EstadoNivel(foto);
+        Nivel destino = new Nivel(nivel);
+
+        for (int vuelta = 0; vuelta < 3; vuelta++) {
+            long control = 0;
+            long inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                control += new Nivel(nivel).getTicksTranscurridos();
+            }
+            double nivelNs = (System.nanoTime() - inicio) / (double) repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                foto.capturar(nivel);
+                control += foto.celdaHelado;
+            }
+            double capturarNs = (System.nanoTime() - inicio) / (double) repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                copia.copiarDe(foto);
+                control += copia.celdaHelado;
+            }
+            double copiarNs = (System.nanoTime() - inicio) / (double) repeticiones;
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < repeticiones; i++) {
+                foto.restaurar(destino);
+                control += destino.getTicksTranscurridos();
+            }
+            double restaurarNs = (System.nanoTime() - inicio) / (double) repeticiones;
+
+            System.out.printf("new Nivel(Nivel): %.1f ns, capturar: %.1f ns, copiarDe: %.1f ns,"
+                            + " restaurar: %.1f ns (%d bytes por foto, control %d)%n",
+                    nivelNs, capturarNs, copiarNs, restaurarNs, foto.getTamanoBytes(), control);
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package Dominio;
+
+/**
+ * Instantánea inmutable del estado visible de una partida en un tick.
+ * La publica el hilo de simulación y la lee la interfaz para dibujar,
+ * de modo que ambos hilos nunca comparten las listas mutables del nivel.
+ * Solo contiene lo necesario para representar el tablero y la barra superior.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class FotogramaJuego {
+
+    private static final TipoFruta[] TIPOS = TipoFruta.values();
+
+    private final long numero;
+    private final long tick;
+    private final int filas;
+    private final int columnas;
+
+    /**
+     * Tipo de cada celda del tablero por filas, según {@link MapaNivel#getTipo}.
+     */
+    private final char[] celdas;
+
+    /**
+     * Versión del mapa en la que se capturaron las celdas.
+     */
+    private final int versionMapa;
+
+    private final int filaIglu;
+    private final int columnaIglu;
+    private final int filaHelado;
+    private final int columnaHelado;
+
+    private final int[] filasEnemigos;
+    private final int[] columnasEnemigos;
+    private final TipoEnemigo[] tiposEnemigos;
+
+    /**
+     * Solo las frutas visibles: activas y no recolectadas.
+     */
+    private final int[] filasFrutas;
+    private final int[] columnasFrutas;
+    private final TipoFruta[] tiposFrutas;
+
+    private final int[] totalPorTipo;
+    private final int[] recolectadasPorTipo;
+    private final int tiempoRestanteSegundos;
+    private final int puntaje;
+    private final boolean pausado;
+    private final boolean ganado;
+    private final boolean perdido;
+
+    private FotogramaJuego(long numero, Juego juego, FotogramaJuego anterior) {
+        Nivel nivel = juego.getNivel();
+        MapaNivel mapa = nivel.getMapa();
+
+        this.numero = numero;
+        this.tick = nivel.getTicksTranscurridos();
+        this.filas = mapa.getFilas();
+        this.columnas = mapa.getColumnas();
+
+        this.versionMapa = mapa.getVersion();
+        if (anterior != null && anterior.versionMapa == versionMapa) {
+            this.celdas = anterior.celdas;
+        } else {
+            this.celdas = new char[filas * columnas];
+            for (int f = 0, i = 0; f < filas; f++) {
+                for (int c = 0; c < columnas; c++, i++) {
+                    celdas[i] = mapa.getTipo(f, c);
+                }
+            }
+        }
+        this.filaIglu = mapa.getFilaIglu();
+        this.columnaIglu = mapa.getColumnaIglu();
+
+        int celdaHelado = nivel.getHelado().getCelda();
+        this.filaHelado = Celda.fila(celdaHelado);
+        this.columnaHelado = Celda.columna(celdaHelado);
+
+        int totalEnemigos = nivel.getEnemigos().size();
+        this.filasEnemigos = new int[totalEnemigos];
+        this.columnasEnemigos = new int[totalEnemigos];
+        this.tiposEnemigos = new TipoEnemigo[totalEnemigos];
+        for (int i = 0; i < totalEnemigos; i++) {
+            Enemigo e = nivel.getEnemigos().get(i);
+            tiposEnemigos[i] = e.getTipo();
+            int celda = e.getCelda();
+            filasEnemigos[i] = Celda.fila(celda);
+            columnasEnemigos[i] = Celda.columna(celda);
+        }
+
+        int visibles = 0;
+        for (Fruta f : nivel.getFrutas()) {
+            if (f.estaActiva() && !f.estaRecolectada()) {
+                visibles++;
+            }
+        }
+        this.filasFrutas = new int[visibles];
+        this.columnasFrutas = new int[visibles];
+        this.tiposFrutas = new TipoFruta[visibles];
+        int j = 0;
+        for (Fruta f : nivel.getFrutas()) {
+            if (f.estaActiva() && !f.estaRecolectada()) {
+                int celda = f.getPosicion().getCelda();
+                filasFrutas[j] = Celda.fila(celda);
+                columnasFrutas[j] = Celda.columna(celda);
+                tiposFrutas[j] = f.getTipo();
+                j++;
+            }
+        }
+
+        this.totalPorTipo = new int[TIPOS.length];
+        this.recolectadasPorTipo = new int[TIPOS.length];
+        for (TipoFruta tipo : TIPOS) {
+            totalPorTipo[tipo.ordinal()] = nivel.getTotalFrutas(tipo);
+            recolectadasPorTipo[tipo.ordinal()] = nivel.getFrutasRecolectadas(tipo);
+        }
+        this.tiempoRestanteSegundos = nivel.getTiempoRestanteSegundos();
+        this.puntaje = nivel.getPuntajeActual();
+        this.pausado = juego.isPausado();
+        this.ganado = nivel.isGanado();
+        this.perdido = nivel.isPerdido();
+    }
+
+    /**
+     * Captura el estado actual de la partida. Debe invocarse desde el hilo
+     * que modifica la partida.
+     *
+     * @param juego  partida a capturar.
+     * @param numero número de secuencia del fotograma.
+     * @return nueva instantánea inmutable.
+     */
+    public static FotogramaJuego capturar(Juego juego, long numero) {
+        return new FotogramaJuego(numero, juego, null);
+    }
+
+    /**
+     * Captura el estado actual de la partida reutilizando las celdas del
+     * fotograma anterior si el mapa no ha cambiado desde entonces.
+     *
+     * @param juego    partida a capturar.
+     * @param numero   número de secuencia del fotograma.
+     * @param anterior fotograma previo del mismo nivel, o {@code null}.
+     * @return nueva instantánea inmutable.
+     */
+    public static FotogramaJuego capturar(Juego juego, long numero, FotogramaJuego anterior) {
+        return new FotogramaJuego(numero, juego, anterior);
+    }
+
+    /**
+     * Obtiene el número de secuencia del fotograma; crece con cada publicación.
+     *
+     * @return número de fotograma.
+     */
+    public long getNumero() {
+        return numero;
+    }
+
+    /**
+     * Obtiene el tick de simulación en el que se capturó el fotograma.
+     *
+     * @return ticks transcurridos del nivel.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Obtiene el número de filas del tablero.
+     *
+     * @return filas del mapa.
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Obtiene el número de columnas del tablero.
+     *
+     * @return columnas del mapa.
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Obtiene el tipo de una celda del tablero.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return tipo de celda según las constantes de {@link MapaNivel}.
+     */
+    public char getTipo(int f, int c) {
+        return celdas[f * columnas + c];
+    }
+
+    /**
+     * Obtiene la versión del mapa capturada; si coincide entre dos
+     * fotogramas, sus celdas son iguales.
+     *
+     * @return versión del mapa.
+     */
+    public int getVersionMapa() {
+        return versionMapa;
+    }
+
+    /**
+     * Indica si la celda es la esquina superior izquierda del iglú.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si el iglú se dibuja desde esa celda.
+     */
+    public boolean esBaseIglu(int f, int c) {
+        return f == filaIglu && c == columnaIglu;
+    }
+
+    /**
+     * Obtiene la fila del helado.
+     *
+     * @return fila del helado.
+     */
+    public int getFilaHelado() {
+        return filaHelado;
+    }
+
+    /**
+     * Obtiene la columna del helado.
+     *
+     * @return columna del helado.
+     */
+    public int getColumnaHelado() {
+        return columnaHelado;
+    }
+
+    /**
+     * Obtiene la cantidad de enemigos del fotograma.
+     *
+     * @return número de enemigos.
+     */
+    public int getNumeroEnemigos() {
+        return filasEnemigos.length;
+    }
+
+    /**
+     * Obtiene la fila de un enemigo.
+     *
+     * @param i índice del enemigo.
+     * @return fila del enemigo.
+     */
+    public int getFilaEnemigo(int i) {
+        return filasEnemigos[i];
+    }
+
+    /**
+     * Obtiene la columna de un enemigo.
+     *
+     * @param i índice del enemigo.
+     * @return columna del enemigo.
+     */
+    public int getColumnaEnemigo(int i) {
+        return columnasEnemigos[i];
+    }
+
+    /**
+     * Obtiene el tipo de un enemigo, para elegir su sprite.
+     *
+     * @param i índice del enemigo.
+     * @return tipo del enemigo.
+     */
+    public TipoEnemigo getTipoEnemigo(int i) {
+        return tiposEnemigos[i];
+    }
+
+    /**
+     * Obtiene el número de frutas visibles en el fotograma.
+     *
+     * @return frutas activas y no recolectadas.
+     */
+    public int getNumeroFrutas() {
+        return filasFrutas.length;
+    }
+
+    /**
+     * Obtiene la fila de una fruta visible.
+     *
+     * @param i índice de la fruta en el fotograma.
+     * @return fila de la fruta.
+     */
+    public int getFilaFruta(int i) {
+        return filasFrutas[i];
+    }
+
+    /**
+     * Obtiene la columna de una fruta visible.
+     *
+     * @param i índice de la fruta en el fotograma.
+     * @return columna de la fruta.
+     */
+    public int getColumnaFruta(int i) {
+        return columnasFrutas[i];
+    }
+
+    /**
+     * Obtiene el tipo de una fruta visible.
+     *
+     * @param i índice de la fruta en el fotograma.
+     * @return tipo de la fruta.
+     */
+    public TipoFruta getTipoFruta(int i) {
+        return tiposFrutas[i];
+    }
+
+    /**
+     * Obtiene la cantidad de frutas del nivel de un tipo.
+     *
+     * @param tipo tipo de fruta.
+     * @return frutas de ese tipo en todo el nivel.
+     */
+    public int getTotalFrutas(TipoFruta tipo) {
+        return totalPorTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Obtiene la cantidad de frutas recolectadas de un tipo.
+     *
+     * @param tipo tipo de fruta.
+     * @return frutas de ese tipo ya recolectadas.
+     */
+    public int getFrutasRecolectadas(TipoFruta tipo) {
+        return recolectadasPorTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Obtiene el tiempo que le quedaba al nivel.
+     *
+     * @return tiempo restante en segundos.
+     */
+    public int getTiempoRestanteSegundos() {
+        return tiempoRestanteSegundos;
+    }
+
+    /**
+     * Obtiene el puntaje acumulado en el nivel.
+     *
+     * @return puntaje actual.
+     */
+    public int getPuntaje() {
+        return puntaje;
+    }
+
+    /**
+     * Indica si la partida estaba en pausa.
+     *
+     * @return {@code true} si estaba pausada.
+     */
+    public boolean isPausado() {
+        return pausado;
+    }
+
+    /**
+     * Indica si el nivel estaba ganado.
+     *
+     * @return {@code true} si se ganó el nivel.
+     */
+    public boolean isGanado() {
+        return ganado;
+    }
+
+    /**
+     * Indica si el nivel estaba perdido.
+     *
+     * @return {@code true} si se perdió el nivel.
+     */
+    public boolean isPerdido() {
+        return perdido;
+    }
+
+    /**
+     * Indica si la partida había terminado al capturar el fotograma.
+     *
+     * @return {@code true} si el nivel estaba ganado o perdido.
+     */
+    public boolean isTerminado() {
+        return ganado || perdido;
+    }
+}
@@ -8,10 +8,20 @@ package Dominio;
  */
 public abstract class Fruta {
 
-    private Posicion posicion;
+    private final Posicion posicion;
     private boolean recolectada;
     private boolean activa;
 
+    /**
+     * Nivel al que pertenece la fruta, al que se notifica su recolección.
+     */
+    private Nivel nivel;
+
+    /**
+     * Posición de la fruta dentro de la lista de frutas del nivel.
+     */
+    private int indice;
+
     /**
      * Crea una fruta en la posición indicada.
      *
@@ -23,6 +33,25 @@ public abstract class Fruta {
         this.activa = true;
     }
 
+    /**
+     * Crea una copia de otra fruta con su misma posición y estado,
+     * todavía sin asociar a ningún nivel.
+     *
+     * @param otra fruta a copiar.
+     */
+    protected Fruta(Fruta otra) {
+        this.posicion = otra.posicion;
+        this.recolectada = otra.recolectada;
+        this.activa = otra.activa;
+    }
+
+    /**
+     * Crea una copia independiente de la fruta.
+     *
+     * @return fruta del mismo tipo, posición y estado.
+     */
+    public abstract Fruta copiar();
+
     /**
      * Obtiene la posición actual de la fruta.
      *
@@ -42,10 +71,39 @@ public abstract class Fruta {
     }
 
     /**
-     * Marca la fruta como recolectada.
+     * Marca la fruta como recolectada y, si pertenece a un nivel,
+     * le notifica para que actualice sus contadores.
      */
     public void recolectar() {
+        if (recolectada) {
+            return;
+        }
         this.recolectada = true;
+        if (nivel != null) {
+            nivel.frutaRecolectada(this, indice);
+        }
+    }
+
+    /**
+     * Asocia la fruta al nivel que lleva sus contadores.
+     *
+     * @param nivel  nivel al que pertenece la fruta.
+     * @param indice posición de la fruta en la lista de frutas del nivel.
+     */
+    void asociarNivel(Nivel nivel, int indice) {
+        this.nivel = nivel;
+        this.indice = indice;
+    }
+
+    /**
+     * Devuelve la fruta a un estado guardado antes, sin notificar al nivel.
+     *
+     * @param recolectada si la fruta estaba recolectada.
+     * @param activa      si la fruta estaba activa.
+     */
+    void restaurarEstado(boolean recolectada, boolean activa) {
+        this.recolectada = recolectada;
+        this.activa = activa;
     }
 
     /**
@@ -79,6 +137,13 @@ public abstract class Fruta {
      */
     public abstract int getPuntos();
 
+    /**
+     * Devuelve el tipo de la fruta.
+     *
+     * @return tipo de fruta.
+     */
+    public abstract TipoFruta getTipo();
+
     /**
      * Actualiza el estado de la fruta dentro de un nivel.
      * Puede ser sobrescrita por frutas con comportamiento dinámico.
@@ -0,0 +1,79 @@
+package Dominio;
+
+/**
+ * Generador de números pseudoaleatorios determinista usado por toda la
+ * lógica del juego. Implementa el algoritmo SplitMix64, cuyo estado completo
+ * es un único {@code long}, de modo que puede guardarse y restaurarse para
+ * reproducir una partida tick a tick a partir de la misma semilla.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class GeneradorAleatorio {
+
+    private static final long INCREMENTO = 0x9E3779B97F4A7C15L;
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    private long estado;
+
+    /**
+     * Crea un generador a partir de una semilla.
+     *
+     * @param semilla semilla inicial.
+     */
+    public GeneradorAleatorio(long semilla) {
+        this.estado = semilla;
+    }
+
+    /**
+     * Obtiene el estado interno actual del generador.
+     *
+     * @return estado del generador.
+     */
+    public long getEstado() {
+        return estado;
+    }
+
+    /**
+     * Restaura un estado obtenido previamente con {@link #getEstado()}.
+     *
+     * @param estado estado a restaurar.
+     */
+    public void setEstado(long estado) {
+        this.estado = estado;
+    }
+
+    /**
+     * Devuelve el siguiente valor de 64 bits de la secuencia.
+     *
+     * @return valor pseudoaleatorio.
+     */
+    public long siguienteLong() {
+        long z = (estado += INCREMENTO);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Devuelve un entero uniforme en el intervalo {@code [0, limite)}.
+     *
+     * @param limite límite superior exclusivo, debe ser positivo.
+     * @return valor pseudoaleatorio dentro del intervalo.
+     */
+    public int siguienteEntero(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("El límite debe ser positivo: " + limite);
+        }
+        long r = siguienteLong() >>> 33;
+        return (int) ((r * limite) >>> 31);
+    }
+
+    /**
+     * Elige una dirección de movimiento al azar.
+     *
+     * @return dirección pseudoaleatoria.
+     */
+    public Direccion siguienteDireccion() {
+        return DIRECCIONES[siguienteEntero(DIRECCIONES.length)];
+    }
+}
@@ -0,0 +1,176 @@
+package Dominio;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Graba las entradas del jugador de una partida en el formato compacto de
+ * {@link Repeticion}. Cada entrada se anota con el número de ticks ya
+ * ejecutados del nivel, que es el momento en que debe volver a aplicarse.
+ * Los eventos se escriben en un arreglo que solo crece cuando se llena, así
+ * que grabar no reserva memoria en cada entrada.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class GrabadorRepeticion {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+
+    /**
+     * Bytes que puede ocupar como máximo un evento: el byte de evento y dos
+     * enteros variables de hasta 10 bytes.
+     */
+    private static final int MAXIMO_POR_EVENTO = 21;
+
+    private final String saborHelado;
+    private final ModalidadJuego modalidad;
+    private final long semilla;
+    private final int numeroNivel;
+
+    private ByteBuffer eventos = ByteBuffer.allocate(CAPACIDAD_INICIAL);
+    private int cantidadEventos;
+    private long tickAnterior;
+
+    /**
+     * Crea un grabador vacío para una partida.
+     *
+     * @param saborHelado sabor del helado.
+     * @param modalidad   modalidad de la partida.
+     * @param semilla     semilla del nivel.
+     * @param numeroNivel número del nivel.
+     */
+    public GrabadorRepeticion(String saborHelado, ModalidadJuego modalidad, long semilla, int numeroNivel) {
+        this.saborHelado = saborHelado;
+        this.modalidad = modalidad;
+        this.semilla = semilla;
+        this.numeroNivel = numeroNivel;
+    }
+
+    /**
+     * Anota un movimiento del helado del jugador.
+     *
+     * @param tick ticks ya ejecutados del nivel.
+     * @param dir  dirección del movimiento.
+     */
+    public void registrarMovimientoHelado(long tick, Direccion dir) {
+        escribirEvento(tick, dir.ordinal());
+    }
+
+    /**
+     * Anota una acción de hielo del helado.
+     *
+     * @param tick ticks ya ejecutados del nivel.
+     */
+    public void registrarHielo(long tick) {
+        escribirEvento(tick, Repeticion.CODIGO_HIELO);
+    }
+
+    /**
+     * Anota el movimiento de un enemigo controlado por un jugador.
+     *
+     * @param tick   ticks ya ejecutados del nivel.
+     * @param indice índice del enemigo en la lista del nivel.
+     * @param dir    dirección del movimiento.
+     */
+    public void registrarMovimientoEnemigo(long tick, int indice, Direccion dir) {
+        escribirEvento(tick, Repeticion.CODIGO_ENEMIGO);
+        Repeticion.escribirVarint(eventos, (long) indice << 2 | dir.ordinal());
+    }
+
+    /**
+     * Descarta todo lo grabado, por ejemplo al reiniciar el nivel.
+     */
+    public void reiniciar() {
+        eventos.clear();
+        cantidadEventos = 0;
+        tickAnterior = 0;
+    }
+
+    /**
+     * Obtiene la cantidad de entradas grabadas desde el inicio o el último reinicio.
+     *
+     * @return eventos grabados.
+     */
+    public int getCantidadEventos() {
+        return cantidadEventos;
+    }
+
+    /**
+     * Crea la repetición de lo grabado hasta ahora. El grabador puede
+     * seguir usándose después.
+     *
+     * @param ticksPorSegundo frecuencia de simulación de la partida.
+     * @param ticks           ticks jugados hasta ahora.
+     * @return repetición independiente del grabador.
+     */
+    public Repeticion crearRepeticion(int ticksPorSegundo, long ticks) {
+        return new Repeticion(saborHelado, modalidad, semilla, numeroNivel, ticksPorSegundo, ticks, cantidadEventos,
+                Arrays.copyOf(eventos.array(), eventos.position()));
+    }
+
+    /**
+     * Obtiene los bytes que ocupa lo grabado al escribirlo con
+     * {@link #escribir(ByteBuffer)}.
+     *
+     * @return tamaño codificado en bytes.
+     */
+    int getTamanoCodificado() {
+        return Long.BYTES + 2 * Integer.BYTES + eventos.position();
+    }
+
+    /**
+     * Escribe el estado del grabador (el tick del último evento, la
+     * cantidad de eventos y los eventos codificados) para poder seguir
+     * grabando después de cargar una partida guardada.
+     *
+     * @param salida buffer con al menos {@link #getTamanoCodificado()} bytes libres.
+     */
+    void escribir(ByteBuffer salida) {
+        salida.putLong(tickAnterior);
+        salida.putInt(cantidadEventos);
+        salida.putInt(eventos.position());
+        salida.put(eventos.array(), 0, eventos.position());
+    }
+
+    /**
+     * Reemplaza lo grabado por lo escrito antes con {@link #escribir(ByteBuffer)}.
+     *
+     * @param entrada buffer posicionado al inicio de los datos del grabador.
+     * @throws IllegalArgumentException si los datos no son válidos.
+     */
+    void leer(ByteBuffer entrada) {
+        long tick = entrada.getLong();
+        int cantidad = entrada.getInt();
+        int longitud = entrada.getInt();
+        if (tick < 0 || cantidad < 0 || longitud < 0 || longitud > entrada.remaining()) {
+            throw new IllegalArgumentException("Grabación de entradas inválida");
+        }
+        if (eventos.capacity() < longitud + MAXIMO_POR_EVENTO) {
+            eventos = ByteBuffer.allocate(Math.max(CAPACIDAD_INICIAL,
+                    Integer.highestOneBit(longitud + MAXIMO_POR_EVENTO) << 1));
+        }
+        entrada.get(eventos.array(), 0, longitud);
+        eventos.clear().position(longitud);
+        tickAnterior = tick;
+        cantidadEventos = cantidad;
+    }
+
+    /**
+     * Escribe el byte de evento con la espera desde el evento anterior en
+     * los bits altos y, si no cabe, la espera completa a continuación.
+     */
+    private void escribirEvento(long tick, int codigo) {
+        if (eventos.remaining() < MAXIMO_POR_EVENTO) {
+            eventos = ByteBuffer.wrap(Arrays.copyOf(eventos.array(), eventos.capacity() * 2))
+                    .position(eventos.position());
+        }
+        long salto = tick - tickAnterior;
+        tickAnterior = tick;
+        cantidadEventos++;
+        if (salto <= Repeticion.SALTO_DIRECTO_MAXIMO) {
+            eventos.put((byte) (salto << Repeticion.BITS_CODIGO | codigo));
+        } else {
+            eventos.put((byte) (Repeticion.SALTO_EXTENDIDO << Repeticion.BITS_CODIGO | codigo));
+            Repeticion.escribirVarint(eventos, salto - Repeticion.SALTO_EXTENDIDO);
+        }
+    }
+}
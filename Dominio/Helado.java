@@ -7,7 +7,12 @@ package Dominio;
  */
 public class Helado {
 
-    private Posicion posicion;
+    /**
+     * Fila y columna empaquetadas con {@link Celda}. Moverse es una única
+     * escritura, así que otro hilo nunca lee una fila nueva con una
+     * columna antigua.
+     */
+    private volatile int celda;
     private Direccion direccion;
     private String sabor;
 
@@ -18,18 +23,48 @@ public class Helado {
      * @param sabor           sabor del helado (por ejemplo, "vainilla", "fresa" o "chocolate").
      */
     public Helado(Posicion posicionInicial, String sabor) {
-        this.posicion = posicionInicial;
+        this.celda = posicionInicial.getCelda();
         this.sabor = sabor;
         this.direccion = Direccion.ABAJO;
     }
 
+    /**
+     * Crea una copia independiente de otro helado.
+     *
+     * @param otro helado a copiar.
+     */
+    public Helado(Helado otro) {
+        this.celda = otro.celda;
+        this.sabor = otro.sabor;
+        this.direccion = otro.direccion;
+    }
+
     /**
      * Obtiene la posición actual del helado.
      *
-     * @return posición del helado.
+     * @return posición del helado; no cambia cuando el helado se mueve.
      */
     public Posicion getPosicion() {
-        return posicion;
+        return Posicion.deCelda(celda);
+    }
+
+    /**
+     * Obtiene la celda actual del helado sin crear una posición.
+     *
+     * @return coordenada empaquetada según {@link Celda}.
+     */
+    public int getCelda() {
+        return celda;
+    }
+
+    /**
+     * Coloca el helado en otra celda. Se usa al restaurar un estado
+     * guardado del nivel.
+     *
+     * @param celda coordenada empaquetada según {@link Celda}.
+     */
+    void setCelda(int celda) {
+        this.celda = celda;
     }
 
     /**
@@ -41,6 +76,16 @@ public class Helado {
         return direccion;
     }
 
+    /**
+     * Cambia la dirección del helado sin moverlo. Se usa al restaurar un
+     * estado guardado del nivel.
+     *
+     * @param direccion dirección a la que mira el helado.
+     */
+    void setDireccion(Direccion direccion) {
+        this.direccion = direccion;
+    }
+
     /**
      * Obtiene el sabor actual del helado.
      *
@@ -69,19 +114,9 @@ public class Helado {
      */
     public void mover(Direccion dir, int filasMax, int columnasMax) {
         direccion = dir;
-        int f = posicion.getFila();
-        int c = posicion.getColumna();
-
-        switch (dir) {
-            case ARRIBA -> f--;
-            case ABAJO -> f++;
-            case IZQUIERDA -> c--;
-            case DERECHA -> c++;
-        }
-
-        if (f >= 0 && f < filasMax && c >= 0 && c < columnasMax) {
-            posicion.setFila(f);
-            posicion.setColumna(c);
+        int destino = Celda.vecina(celda, dir);
+        if (Celda.dentro(destino, filasMax, columnasMax)) {
+            celda = destino;
         }
     }
 }
@@ -0,0 +1,315 @@
+package Dominio;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ejecuta la simulación de una partida en un hilo propio.
+ * La interfaz no toca el modelo: envía {@link ComandoJuego} a través de una
+ * cola sin bloqueos, que se aplican al inicio de cada paso, y lee el último
+ * {@link FotogramaJuego} publicado mediante una referencia atómica. Así un
+ * dibujo lento no retrasa la simulación y un tick lento no congela la ventana.
+ * También puede reproducir una {@link Repeticion} a una velocidad múltiplo
+ * de la original; en ese caso solo se atienden los comandos de pausa.
+ * Para guardar la partida, {@link #capturarPartida()} pide al hilo de
+ * simulación que la codifique entre dos pasos con {@link ArchivoPartida}.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class HiloSimulacion implements Runnable {
+
+    /**
+     * Tiempo de juego mínimo, en milisegundos, entre dos movimientos del helado.
+     */
+    public static final int COOLDOWN_MOVIMIENTO_MS = 230;
+
+    private final Juego juego;
+    private final ConcurrentLinkedQueue<ComandoJuego> comandos;
+    private final AtomicReference<FotogramaJuego> fotograma;
+
+    /**
+     * Capturas de la partida pedidas desde otros hilos y aún no atendidas.
+     */
+    private final ConcurrentLinkedQueue<CompletableFuture<byte[]>> capturas;
+
+    /**
+     * Reproductor de la repetición, o {@code null} si se juega en vivo.
+     */
+    private final ReproductorRepeticion reproductor;
+
+    /**
+     * Acción que avanza un tick: el motor en vivo o el reproductor.
+     */
+    private final Runnable avanzarTick;
+
+    private BucleTiempoFijo bucle;
+    private int velocidad = 1;
+    private volatile int velocidadPedida = 1;
+
+    private volatile boolean ejecutando;
+    private Thread hilo;
+
+    /**
+     * Indica que el hilo de simulación ya salió de su bucle y no volverá
+     * a tocar la partida. Se lee y escribe bajo el monitor de este objeto.
+     */
+    private boolean finalizado;
+    private long numeroFotograma;
+    private long ultimoMovimientoHeladoMs = -COOLDOWN_MOVIMIENTO_MS;
+
+    /**
+     * Crea la simulación de una partida a la frecuencia indicada
+     * y publica un primer fotograma con su estado inicial.
+     *
+     * @param juego           partida a simular; desde este momento solo
+     *                        debe modificarla el hilo de simulación.
+     * @param ticksPorSegundo frecuencia fija de la simulación.
+     */
+    public HiloSimulacion(Juego juego, int ticksPorSegundo) {
+        this(juego, ticksPorSegundo, null, new MotorJuego(juego)::avanzarTick);
+    }
+
+    /**
+     * Crea la simulación que reproduce una repetición a la frecuencia con
+     * que se grabó, multiplicada por la velocidad indicada.
+     *
+     * @param reproductor reproductor de la repetición.
+     * @param velocidad   multiplicador de la velocidad original, por ejemplo 1, 2 u 8.
+     */
+    public HiloSimulacion(ReproductorRepeticion reproductor, int velocidad) {
+        this(reproductor.getJuego(), reproductor.getRepeticion().getTicksPorSegundo(),
+                reproductor, reproductor::avanzarTick);
+        setVelocidad(velocidad);
+    }
+
+    private HiloSimulacion(Juego juego, int ticksPorSegundo,
+                           ReproductorRepeticion reproductor, Runnable avanzarTick) {
+        this.juego = juego;
+        this.reproductor = reproductor;
+        this.avanzarTick = avanzarTick;
+        this.bucle = new BucleTiempoFijo(ticksPorSegundo);
+        this.comandos = new ConcurrentLinkedQueue<>();
+        this.capturas = new ConcurrentLinkedQueue<>();
+        juego.setTicksPorSegundo(ticksPorSegundo);
+        this.fotograma = new AtomicReference<>(FotogramaJuego.capturar(juego, 0));
+    }
+
+    /**
+     * Arranca el hilo de simulación.
+     */
+    public synchronized void iniciar() {
+        if (hilo != null) {
+            return;
+        }
+        ejecutando = true;
+        hilo = new Thread(this, "simulacion");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Solicita detener el hilo de simulación. El último fotograma publicado
+     * sigue disponible.
+     */
+    public synchronized void detener() {
+        ejecutando = false;
+        if (hilo != null) {
+            LockSupport.unpark(hilo);
+        }
+    }
+
+    /**
+     * Encola un comando para que se aplique en el siguiente paso.
+     * Puede invocarse desde cualquier hilo.
+     *
+     * @param comando orden a aplicar sobre la partida.
+     */
+    public void enviar(ComandoJuego comando) {
+        comandos.offer(comando);
+        Thread h = hilo;
+        if (h != null) {
+            LockSupport.unpark(h);
+        }
+    }
+
+    /**
+     * Pide una copia codificada de la partida con el formato de
+     * {@link ArchivoPartida}. Puede invocarse desde cualquier hilo: el hilo
+     * de simulación la codifica entre dos pasos, así que nunca se lee un
+     * estado a medio actualizar. Si la simulación no está en marcha, se
+     * codifica en el hilo que llama.
+     *
+     * @return futuro que se completa con los bytes de la partida, o
+     *         excepcionalmente si no se pudo codificar.
+     */
+    public CompletableFuture<byte[]> capturarPartida() {
+        CompletableFuture<byte[]> captura = new CompletableFuture<>();
+        Thread h;
+        synchronized (this) {
+            h = hilo;
+            if (h == null || finalizado) {
+                completar(captura);
+                return captura;
+            }
+            capturas.offer(captura);
+        }
+        LockSupport.unpark(h);
+        return captura;
+    }
+
+    /**
+     * Pide cambiar la velocidad de reproducción, que se aplica en el
+     * siguiente paso. Puede invocarse desde cualquier hilo. En una partida
+     * en vivo no tiene efecto.
+     *
+     * @param velocidad multiplicador de la velocidad original, mayor que cero.
+     */
+    public void setVelocidad(int velocidad) {
+        if (velocidad <= 0) {
+            throw new IllegalArgumentException("La velocidad debe ser positiva: " + velocidad);
+        }
+        velocidadPedida = velocidad;
+    }
+
+    /**
+     * Obtiene la velocidad de reproducción pedida.
+     *
+     * @return multiplicador de la velocidad original; 1 en una partida en vivo.
+     */
+    public int getVelocidad() {
+        return reproductor == null ? 1 : velocidadPedida;
+    }
+
+    /**
+     * Indica si la simulación reproduce una repetición.
+     *
+     * @return {@code true} si las entradas vienen de una repetición.
+     */
+    public boolean isRepeticion() {
+        return reproductor != null;
+    }
+
+    /**
+     * Obtiene el último fotograma publicado. Puede invocarse desde cualquier hilo.
+     *
+     * @return instantánea más reciente de la partida.
+     */
+    public FotogramaJuego getFotograma() {
+        return fotograma.get();
+    }
+
+    /**
+     * Indica si el hilo de simulación sigue en marcha.
+     *
+     * @return {@code true} si la simulación no se ha detenido.
+     */
+    public boolean isEjecutando() {
+        return ejecutando;
+    }
+
+    /**
+     * Bucle del hilo de simulación: ejecuta pasos y duerme hasta el siguiente
+     * tick o hasta que llegue un comando, hasta que la partida termine o se detenga.
+     */
+    @Override
+    public void run() {
+        while (ejecutando) {
+            paso(System.nanoTime());
+            if (juego.isTerminado() || (reproductor != null && reproductor.isTerminado())) {
+                ejecutando = false;
+                break;
+            }
+            LockSupport.parkNanos(bucle.getNanosHastaSiguienteTick());
+        }
+        synchronized (this) {
+            finalizado = true;
+            atenderCapturas();
+        }
+    }
+
+    /**
+     * Aplica los comandos pendientes, ejecuta los ticks que correspondan al
+     * instante indicado y publica un fotograma nuevo si algo cambió.
+     * Solo debe invocarse desde un único hilo a la vez.
+     *
+     * @param ahoraNanos instante actual.
+     * @return {@code true} si se publicó un fotograma nuevo.
+     */
+    public boolean paso(long ahoraNanos) {
+        boolean cambio = false;
+        ComandoJuego comando;
+        while ((comando = comandos.poll()) != null) {
+            cambio |= aplicar(comando);
+        }
+        if (reproductor != null && velocidadPedida != velocidad) {
+            velocidad = velocidadPedida;
+            bucle = new BucleTiempoFijo(juego.getTicksPorSegundo() * velocidad);
+        }
+        if (juego.isPausado()) {
+            bucle.reiniciarReloj();
+        } else {
+            cambio |= bucle.avanzar(ahoraNanos, avanzarTick) > 0;
+        }
+
+        if (cambio) {
+            fotograma.set(FotogramaJuego.capturar(juego, ++numeroFotograma, fotograma.get()));
+        }
+        atenderCapturas();
+        return cambio;
+    }
+
+    /**
+     * Completa las capturas de la partida pedidas hasta ahora.
+     */
+    private void atenderCapturas() {
+        CompletableFuture<byte[]> captura;
+        while ((captura = capturas.poll()) != null) {
+            completar(captura);
+        }
+    }
+
+    private void completar(CompletableFuture<byte[]> captura) {
+        try {
+            captura.complete(ArchivoPartida.aBytes(juego));
+        } catch (RuntimeException e) {
+            captura.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Aplica un comando sobre la partida, respetando el cooldown de
+     * movimiento medido en tiempo de juego. Al reproducir una repetición
+     * solo se atiende la pausa.
+     *
+     * @param comando orden a aplicar.
+     * @return {@code true} si el comando pudo modificar la partida.
+     */
+    private boolean aplicar(ComandoJuego comando) {
+        if (juego.isTerminado() || (reproductor != null && comando != ComandoJuego.PAUSA)) {
+            return false;
+        }
+        Nivel nivel = juego.getNivel();
+        switch (comando) {
+            case PAUSA -> {
+                juego.alternarPausa();
+                return true;
+            }
+            case HIELO -> {
+                juego.accionHielo();
+                return !juego.isPausado();
+            }
+            default -> {
+                long ahora = nivel.getTiempoJuegoMs();
+                if (juego.isPausado()
+                        || ahora - ultimoMovimientoHeladoMs < COOLDOWN_MOVIMIENTO_MS
+                        || !nivel.puedeMoverHelado(comando.getDireccion())) {
+                    return false;
+                }
+                juego.moverHeladoJugador(comando.getDireccion());
+                ultimoMovimientoHeladoMs = ahora;
+                return true;
+            }
+        }
+    }
+}
@@ -3,16 +3,34 @@ package Dominio;
 /**
  * Representa una partida de Bad DOPO Cream.
  * Coordina el nivel actual, el estado de pausa y la interacción
- * entre la capa de aplicación y el modelo de dominio.
+ * entre la capa de aplicación y el modelo de dominio. Graba todas las
+ * entradas del jugador para poder obtener la {@link Repeticion} de la partida.
  * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
  */
 public class Juego {
 
     private final String saborHelado;
     private final ModalidadJuego modalidad;
+    private final long semilla;
+
+    /**
+     * Número del nivel que se juega, empezando en 1.
+     */
+    private final int numeroNivel;
 
     private Nivel nivel;
     private boolean pausado;
+    private int ticksPorSegundo = 1;
+
+    /**
+     * Control opcional que juega en lugar del jugador que maneja el helado.
+     */
+    private ControlHelado botJugador;
+
+    /**
+     * Entradas del jugador aplicadas desde el inicio del nivel actual.
+     */
+    private final GrabadorRepeticion grabador;
 
     /**
      * Crea un nuevo juego con un sabor de helado y una modalidad específicos,
@@ -22,10 +40,74 @@ public class Juego {
      * @param modalidad   modalidad de juego seleccionada.
      */
     public Juego(String saborHelado, ModalidadJuego modalidad) {
+        this(saborHelado, modalidad, System.nanoTime());
+    }
+
+    /**
+     * Crea un nuevo juego reproducible en el primer nivel: la misma semilla
+     * produce la misma secuencia de estados del nivel.
+     *
+     * @param saborHelado sabor del helado principal de la partida.
+     * @param modalidad   modalidad de juego seleccionada.
+     * @param semilla     semilla del generador aleatorio de la partida.
+     */
+    public Juego(String saborHelado, ModalidadJuego modalidad, long semilla) {
+        this(saborHelado, modalidad, semilla, 1);
+    }
+
+    /**
+     * Crea un nuevo juego reproducible en el nivel indicado, cargado desde
+     * {@code recursos/niveles/}.
+     *
+     * @param saborHelado sabor del helado principal de la partida.
+     * @param modalidad   modalidad de juego seleccionada.
+     * @param semilla     semilla del generador aleatorio de la partida.
+     * @param numeroNivel número del nivel, empezando en 1.
+     */
+    public Juego(String saborHelado, ModalidadJuego modalidad, long semilla, int numeroNivel) {
         this.saborHelado = saborHelado;
         this.modalidad = modalidad;
-        this.nivel = new Nivel(saborHelado, modalidad);
+        this.semilla = semilla;
+        this.numeroNivel = numeroNivel;
+        this.nivel = crearNivel();
         this.pausado = false;
+        this.grabador = new GrabadorRepeticion(saborHelado, modalidad, semilla, numeroNivel);
+    }
+
+    /**
+     * Obtiene la semilla de la partida.
+     *
+     * @return semilla usada para crear el nivel.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene el sabor del helado de la partida.
+     *
+     * @return sabor del helado.
+     */
+    public String getSaborHelado() {
+        return saborHelado;
+    }
+
+    /**
+     * Obtiene la modalidad de la partida.
+     *
+     * @return modalidad de juego.
+     */
+    public ModalidadJuego getModalidad() {
+        return modalidad;
+    }
+
+    /**
+     * Obtiene el número del nivel que se juega.
+     *
+     * @return número de nivel, empezando en 1.
+     */
+    public int getNumeroNivel() {
+        return numeroNivel;
     }
 
     /**
@@ -53,6 +135,15 @@ public class Juego {
         return pausado;
     }
 
+    /**
+     * Pone o quita la pausa directamente, al restaurar una partida guardada.
+     *
+     * @param pausado {@code true} para dejar la partida en pausa.
+     */
+    void setPausado(boolean pausado) {
+        this.pausado = pausado;
+    }
+
     /**
      * Avanza la lógica del juego en un paso (tick),
      * siempre y cuando la partida no esté pausada.
@@ -61,6 +152,23 @@ public class Juego {
     public void tick() {
         if (pausado) return;
         nivel.actualizarUnTick();
+        if (botJugador != null && nivel.isPasoIA() && !isTerminado()) {
+            Direccion dir = botJugador.decidir(nivel);
+            if (dir != null) {
+                moverHeladoJugador(dir);
+            }
+        }
+    }
+
+    /**
+     * Asigna un control que mueve el helado del jugador en cada paso de IA,
+     * como si el jugador enviara esos movimientos.
+     *
+     * @param botJugador control que juega por el jugador, o {@code null}
+     *                   para devolver el control al teclado.
+     */
+    public void setBotJugador(ControlHelado botJugador) {
+        this.botJugador = botJugador;
     }
 
     /**
@@ -70,10 +178,30 @@ public class Juego {
      * @param dir dirección hacia la que se desea mover el helado.
      */
     public void moverHeladoJugador(Direccion dir) {
-        if (pausado) return;
+        if (pausado || isTerminado()) return;
+        grabador.registrarMovimientoHelado(nivel.getTicksTranscurridos(), dir);
         nivel.moverHeladoJugador(dir);
     }
 
+    /**
+     * Solicita ejecutar la acción de hielo del helado (construir o romper
+     * bloques), siempre que el juego no esté en pausa.
+     */
+    public void accionHielo() {
+        if (pausado || isTerminado()) return;
+        grabador.registrarHielo(nivel.getTicksTranscurridos());
+        nivel.accionHielo();
+    }
+
+    /**
+     * Indica si la partida actual ha terminado, ya sea por victoria o derrota.
+     *
+     * @return {@code true} si el nivel está ganado o perdido, {@code false} en caso contrario.
+     */
+    public boolean isTerminado() {
+        return nivel.isGanado() || nivel.isPerdido();
+    }
+
     /**
      * Solicita mover un enemigo controlado por jugador en la dirección indicada,
      * siempre que el juego no esté en pausa.
@@ -82,16 +210,66 @@ public class Juego {
      * @param dir    dirección hacia la que se desea mover el enemigo.
      */
     public void moverEnemigoJugador(int indice, Direccion dir) {
-        if (pausado) return;
+        if (pausado || isTerminado()) return;
+        grabador.registrarMovimientoEnemigo(nivel.getTicksTranscurridos(), indice, dir);
         nivel.moverEnemigoJugador(indice, dir);
     }
 
+    /**
+     * Cambia la frecuencia de simulación de la partida, que se conserva
+     * también al reiniciar el nivel.
+     *
+     * @param ticksPorSegundo ticks por segundo de tiempo de juego.
+     */
+    public void setTicksPorSegundo(int ticksPorSegundo) {
+        nivel.setTicksPorSegundo(ticksPorSegundo);
+        this.ticksPorSegundo = ticksPorSegundo;
+    }
+
+    /**
+     * Obtiene la frecuencia de simulación de la partida.
+     *
+     * @return ticks por segundo de tiempo de juego.
+     */
+    public int getTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
     /**
      * Reinicia el nivel actual creando una nueva instancia de {@link Nivel}
-     * con el mismo sabor de helado y la misma modalidad de juego.
+     * con el mismo sabor de helado, la misma modalidad de juego y la misma
+     * semilla, de modo que el reinicio reproduce la partida original.
      */
     public void reiniciarNivel() {
-        this.nivel = new Nivel(saborHelado, modalidad);
+        this.nivel = crearNivel();
+        this.nivel.setTicksPorSegundo(ticksPorSegundo);
         this.pausado = false;
+        grabador.reiniciar();
+    }
+
+    /**
+     * Obtiene la repetición del nivel actual, con las entradas aplicadas
+     * desde su inicio o desde el último reinicio. Puede pedirse en cualquier
+     * momento; si la partida no ha terminado, la repetición llega hasta el
+     * tick actual.
+     *
+     * @return repetición de la partida hasta ahora.
+     */
+    public Repeticion getRepeticion() {
+        return grabador.crearRepeticion(ticksPorSegundo, nivel.getTicksTranscurridos());
+    }
+
+    /**
+     * Obtiene el grabador de entradas, para guardarlo y restaurarlo junto
+     * con la partida.
+     *
+     * @return grabador del nivel actual.
+     */
+    GrabadorRepeticion getGrabador() {
+        return grabador;
+    }
+
+    private Nivel crearNivel() {
+        return new Nivel(CargadorNiveles.getPredeterminado().cargar(numeroNivel), saborHelado, modalidad, semilla);
     }
 }
@@ -0,0 +1,142 @@
+package Dominio;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ejecuta muchas partidas independientes en paralelo, repartiéndolas
+ * entre todos los núcleos disponibles mediante un {@link ForkJoinPool}.
+ * Cada tarea divide su {@link SplittableRandom} para sus subtareas y cada
+ * partida recibe una semilla propia de él, de modo que el lote completo es
+ * reproducible; los resultados se combinan al unir las subtareas, sin
+ * contadores compartidos.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class LoteSimulaciones {
+
+    /**
+     * Cantidad de partidas por debajo de la cual una tarea deja de dividirse.
+     */
+    private static final int UMBRAL_DIVISION = 64;
+
+    private final ModalidadJuego modalidad;
+    private final String saborHelado;
+    private final int maxTicksPorPartida;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un lote que usa el pool común de fork/join.
+     *
+     * @param modalidad          modalidad de las partidas a simular.
+     * @param saborHelado        sabor del helado principal.
+     * @param maxTicksPorPartida límite de ticks de cada partida.
+     */
+    public LoteSimulaciones(ModalidadJuego modalidad, String saborHelado, int maxTicksPorPartida) {
+        this(modalidad, saborHelado, maxTicksPorPartida, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un lote que usa el pool indicado.
+     *
+     * @param modalidad          modalidad de las partidas a simular.
+     * @param saborHelado        sabor del helado principal.
+     * @param maxTicksPorPartida límite de ticks de cada partida.
+     * @param pool               pool de hilos donde se ejecutan las partidas.
+     */
+    public LoteSimulaciones(ModalidadJuego modalidad, String saborHelado,
+                            int maxTicksPorPartida, ForkJoinPool pool) {
+        this.modalidad = modalidad;
+        this.saborHelado = saborHelado;
+        this.maxTicksPorPartida = maxTicksPorPartida;
+        this.pool = pool;
+    }
+
+    /**
+     * Simula la cantidad de partidas indicada y devuelve el resultado agregado.
+     * Con la misma semilla se obtiene siempre el mismo reparto de generadores.
+     *
+     * @param partidas número de partidas a simular.
+     * @param semilla  semilla del generador raíz del lote.
+     * @return resultado combinado de todas las partidas.
+     */
+    public ResultadoLote ejecutar(int partidas, long semilla) {
+        if (partidas <= 0) {
+            return ResultadoLote.VACIO;
+        }
+        return pool.invoke(new TareaPartidas(0, partidas, new SplittableRandom(semilla)));
+    }
+
+    /**
+     * Simula una única partida hasta que termine o alcance el límite de ticks.
+     *
+     * @param semilla semilla propia de la partida.
+     * @return resultado de la partida.
+     */
+    private ResultadoLote simularPartida(long semilla) {
+        MotorJuego motor = new MotorJuego(new Juego(saborHelado, modalidad, semilla));
+        int ticks = motor.ejecutarHastaTerminar(maxTicksPorPartida);
+        return ResultadoLote.dePartida(motor.getJuego().getNivel(), ticks);
+    }
+
+    /**
+     * Tarea que simula un rango de partidas, dividiéndose en dos mitades
+     * mientras el rango sea mayor que el umbral.
+     */
+    private class TareaPartidas extends RecursiveTask<ResultadoLote> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int desde;
+        private final int hasta;
+        private final SplittableRandom random;
+
+        TareaPartidas(int desde, int hasta, SplittableRandom random) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.random = random;
+        }
+
+        @Override
+        protected ResultadoLote compute() {
+            int cantidad = hasta - desde;
+            if (cantidad <= UMBRAL_DIVISION) {
+                ResultadoLote resultado = ResultadoLote.VACIO;
+                for (int i = desde; i < hasta; i++) {
+                    resultado = resultado.combinar(simularPartida(random.nextLong()));
+                }
+                return resultado;
+            }
+
+            int medio = desde + cantidad / 2;
+            TareaPartidas izquierda = new TareaPartidas(desde, medio, random.split());
+            TareaPartidas derecha = new TareaPartidas(medio, hasta, random);
+            izquierda.fork();
+            ResultadoLote resultadoDerecha = derecha.compute();
+            return izquierda.join().combinar(resultadoDerecha);
+        }
+    }
+
+    /**
+     * Ejecuta un lote de partidas MvsM y muestra por consola el resultado
+     * y el rendimiento alcanzado.
+     *
+     * @param args opcionalmente, el número de partidas y la semilla.
+     */
+    public static void main(String[] args) {
+        int partidas = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+
+        LoteSimulaciones lote = new LoteSimulaciones(
+                ModalidadJuego.MvsM, "vainilla", MotorJuego.MAX_TICKS_POR_DEFECTO);
+
+        long inicio = System.nanoTime();
+        ResultadoLote resultado = lote.ejecutar(partidas, semilla);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.println(resultado);
+        System.out.printf("Hilos: %d, %.3f s -> %.0f partidas/s, %.0f ticks/s%n",
+                lote.pool.getParallelism(), segundos,
+                resultado.getPartidas() / segundos, resultado.getTicksTotales() / segundos);
+    }
+}
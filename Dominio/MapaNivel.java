@@ -0,0 +1,605 @@
+package Dominio;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Mapa de terreno de un nivel: muros, iglú y bloques creados por el jugador.
+ * Es la única fuente de verdad sobre qué celdas están bloqueadas, de modo que
+ * el nivel pueda simularse sin depender de la capa de presentación.
+ * <p>
+ * El terreno se guarda en un único arreglo plano de bytes rodeado por un
+ * borde de celdas centinela, que siempre están bloqueadas. Así, avanzar una
+ * celda en cualquier dirección es sumar un desplazamiento al índice y nunca
+ * hace falta comprobar por separado si se sale del tablero.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class MapaNivel {
+
+    /**
+     * Código de carácter para una celda libre.
+     */
+    public static final char VACIO = ' ';
+
+    /**
+     * Código de carácter para representar un bloque de muro en el mapa.
+     */
+    public static final char MURO = 'B';
+
+    /**
+     * Código de carácter para representar el iglú en el mapa.
+     */
+    public static final char IGLU = 'I';
+
+    /**
+     * Código de carácter para representar un bloque generado por el jugador.
+     */
+    public static final char BLOQUE_JUGADOR = 'X';
+
+    /**
+     * Terreno libre.
+     */
+    public static final byte TERRENO_VACIO = 0;
+
+    /**
+     * Terreno con un muro de hielo que puede romperse.
+     */
+    public static final byte TERRENO_MURO = 1;
+
+    /**
+     * Terreno ocupado por el iglú.
+     */
+    public static final byte TERRENO_IGLU = 2;
+
+    /**
+     * Celda centinela del borde exterior, siempre bloqueada.
+     */
+    public static final byte TERRENO_BORDE = 3;
+
+    private final int filas;
+    private final int columnas;
+
+    /**
+     * Ancho de una fila del arreglo de terreno, incluyendo los centinelas.
+     */
+    private final int ancho;
+
+    /**
+     * Terreno de todas las celdas, incluido el borde centinela.
+     */
+    private final byte[] terreno;
+
+    /**
+     * Bloques creados por el jugador, un bit por celda del arreglo de terreno.
+     */
+    private final TableroBits bloquesJugador;
+
+    /**
+     * Vista de compatibilidad de los bloques de jugador como posiciones.
+     */
+    private final List<Posicion> vistaBloquesJugador;
+
+    private int filaIglu = -1;
+    private int columnaIglu = -1;
+
+    /**
+     * Contador que aumenta con cada cambio del terreno o de los bloques,
+     * para que quien dibuja sepa cuándo debe revisar el mapa.
+     */
+    private int version;
+
+    /**
+     * Crea un mapa vacío con las dimensiones indicadas.
+     *
+     * @param filas    número de filas del mapa.
+     * @param columnas número de columnas del mapa.
+     */
+    public MapaNivel(int filas, int columnas) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.ancho = columnas + 2;
+        this.terreno = new byte[(filas + 2) * ancho];
+        this.bloquesJugador = new TableroBits(terreno.length);
+        this.vistaBloquesJugador = new VistaBloquesJugador();
+
+        for (int i = 0; i < terreno.length; i++) {
+            int f = i / ancho;
+            int c = i % ancho;
+            if (f == 0 || f == filas + 1 || c == 0 || c == columnas + 1) {
+                terreno[i] = TERRENO_BORDE;
+            }
+        }
+    }
+
+    /**
+     * Crea una copia independiente de otro mapa, con su misma versión.
+     *
+     * @param otro mapa a copiar.
+     */
+    public MapaNivel(MapaNivel otro) {
+        this.filas = otro.filas;
+        this.columnas = otro.columnas;
+        this.ancho = otro.ancho;
+        this.terreno = otro.terreno.clone();
+        this.bloquesJugador = new TableroBits(otro.bloquesJugador);
+        this.vistaBloquesJugador = new VistaBloquesJugador();
+        this.filaIglu = otro.filaIglu;
+        this.columnaIglu = otro.columnaIglu;
+        this.version = otro.version;
+    }
+
+    /**
+     * Obtiene la versión del mapa, que cambia con cada modificación
+     * del terreno o de los bloques de jugador.
+     *
+     * @return versión actual del mapa.
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Copia el terreno y los bloques de jugador en los arreglos indicados.
+     *
+     * @param terrenoDestino arreglo con {@link #getTotalCeldas()} posiciones.
+     * @param bloquesDestino arreglo con una palabra por cada 64 celdas.
+     */
+    public void guardarEstado(byte[] terrenoDestino, long[] bloquesDestino) {
+        System.arraycopy(terreno, 0, terrenoDestino, 0, terreno.length);
+        bloquesJugador.copiarPalabras(bloquesDestino);
+    }
+
+    /**
+     * Reemplaza el terreno y los bloques de jugador por los guardados con
+     * {@link #guardarEstado(byte[], long[])}. La versión no vuelve atrás:
+     * aumenta como en cualquier otro cambio, para que nadie confunda el
+     * mapa restaurado con uno que ya conocía.
+     *
+     * @param terrenoOrigen terreno guardado.
+     * @param bloquesOrigen bloques de jugador guardados.
+     */
+    public void restaurarEstado(byte[] terrenoOrigen, long[] bloquesOrigen) {
+        System.arraycopy(terrenoOrigen, 0, terreno, 0, terreno.length);
+        bloquesJugador.restaurarPalabras(bloquesOrigen);
+        version++;
+    }
+
+    /**
+     * Obtiene el número de filas del mapa, sin contar el borde centinela.
+     *
+     * @return filas del mapa.
+     */
+    public int getFilas() {
+        return filas;
+    }
+
+    /**
+     * Obtiene el número de columnas del mapa, sin contar el borde centinela.
+     *
+     * @return columnas del mapa.
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Obtiene el ancho de una fila del arreglo de terreno, incluido el borde.
+     * Es el desplazamiento de índice entre dos filas consecutivas.
+     *
+     * @return ancho con centinelas.
+     */
+    public int getAncho() {
+        return ancho;
+    }
+
+    /**
+     * Obtiene la cantidad total de celdas del arreglo, incluido el borde.
+     *
+     * @return número de celdas con centinelas.
+     */
+    public int getTotalCeldas() {
+        return terreno.length;
+    }
+
+    /**
+     * Indica si una coordenada (fila, columna) está dentro de los límites del mapa.
+     *
+     * @param f fila a comprobar.
+     * @param c columna a comprobar.
+     * @return {@code true} si la celda está dentro del mapa, {@code false} en caso contrario.
+     */
+    public boolean dentro(int f, int c) {
+        return f >= 0 && f < filas && c >= 0 && c < columnas;
+    }
+
+    /**
+     * Calcula el índice de una celda dentro del arreglo de terreno.
+     * Acepta también las coordenadas del borde centinela (-1 y filas o columnas).
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return índice de la celda.
+     */
+    public int indice(int f, int c) {
+        return (f + 1) * ancho + (c + 1);
+    }
+
+    /**
+     * Calcula el índice en el arreglo de terreno de una coordenada empaquetada.
+     *
+     * @param celda coordenada empaquetada según {@link Celda}.
+     * @return índice de la celda.
+     */
+    public int indiceDe(int celda) {
+        return indice(Celda.fila(celda), Celda.columna(celda));
+    }
+
+    /**
+     * Obtiene la fila correspondiente a un índice del arreglo de terreno.
+     *
+     * @param celda índice de la celda.
+     * @return fila de la celda.
+     */
+    public int filaDe(int celda) {
+        return celda / ancho - 1;
+    }
+
+    /**
+     * Obtiene la columna correspondiente a un índice del arreglo de terreno.
+     *
+     * @param celda índice de la celda.
+     * @return columna de la celda.
+     */
+    public int columnaDe(int celda) {
+        return celda % ancho - 1;
+    }
+
+    /**
+     * Obtiene el desplazamiento de índice que corresponde a avanzar
+     * una celda en la dirección indicada.
+     *
+     * @param dir dirección de avance.
+     * @return desplazamiento en el arreglo de terreno.
+     */
+    public int desplazamiento(Direccion dir) {
+        return switch (dir) {
+            case ARRIBA -> -ancho;
+            case ABAJO -> ancho;
+            case IZQUIERDA -> -1;
+            case DERECHA -> 1;
+        };
+    }
+
+    /**
+     * Obtiene el código de terreno de una celda, sin contar los bloques de jugador.
+     *
+     * @param celda índice de la celda.
+     * @return código de terreno.
+     */
+    public byte getTerreno(int celda) {
+        return terreno[celda];
+    }
+
+    /**
+     * Obtiene el código de la celda indicada.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return código de la celda.
+     */
+    public char getTipo(int f, int c) {
+        int celda = indice(f, c);
+        if (bloquesJugador.contiene(celda)) {
+            return BLOQUE_JUGADOR;
+        }
+        return switch (terreno[celda]) {
+            case TERRENO_MURO -> MURO;
+            case TERRENO_IGLU -> IGLU;
+            default -> VACIO;
+        };
+    }
+
+    /**
+     * Cambia el código de la celda indicada. Los bloques de jugador se
+     * guardan en el conjunto de bits, el resto en el arreglo de terreno.
+     *
+     * @param f    fila de la celda.
+     * @param c    columna de la celda.
+     * @param tipo nuevo código de la celda.
+     */
+    public void setTipo(int f, int c, char tipo) {
+        int celda = indice(f, c);
+        version++;
+        if (tipo == BLOQUE_JUGADOR) {
+            bloquesJugador.marcar(celda);
+            return;
+        }
+        bloquesJugador.limpiar(celda);
+        terreno[celda] = switch (tipo) {
+            case MURO -> TERRENO_MURO;
+            case IGLU -> TERRENO_IGLU;
+            default -> TERRENO_VACIO;
+        };
+    }
+
+    /**
+     * Indica si hay un bloque creado por el jugador en la celda.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda contiene un bloque de jugador.
+     */
+    public boolean hayBloqueJugador(int f, int c) {
+        return dentro(f, c) && bloquesJugador.contiene(indice(f, c));
+    }
+
+    /**
+     * Coloca un bloque de jugador en la celda indicada.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda no tenía ya un bloque de jugador.
+     */
+    public boolean colocarBloqueJugador(int f, int c) {
+        if (!bloquesJugador.marcar(indice(f, c))) {
+            return false;
+        }
+        version++;
+        return true;
+    }
+
+    /**
+     * Quita el bloque de jugador de la celda indicada.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda tenía un bloque de jugador.
+     */
+    public boolean quitarBloqueJugador(int f, int c) {
+        if (!bloquesJugador.limpiar(indice(f, c))) {
+            return false;
+        }
+        version++;
+        return true;
+    }
+
+    /**
+     * Construye una línea de bloques de jugador. La versión solo cambia si
+     * se colocó algún bloque nuevo, así que una línea vacía o ya construida
+     * no invalida lo que dependa del mapa.
+     *
+     * @param celda    índice de la primera celda.
+     * @param paso     desplazamiento de índice entre celdas de la línea.
+     * @param longitud número de celdas de la línea.
+     */
+    public void construirLinea(int celda, int paso, int longitud) {
+        int antes = bloquesJugador.getCantidad();
+        bloquesJugador.rellenarLinea(celda, paso, longitud);
+        if (bloquesJugador.getCantidad() != antes) {
+            version++;
+        }
+    }
+
+    /**
+     * Rompe una línea de hielo, eliminando tanto muros como bloques de jugador.
+     *
+     * @param celda    índice de la primera celda.
+     * @param paso     desplazamiento de índice entre celdas de la línea.
+     * @param longitud número de celdas de la línea.
+     */
+    public void romperLinea(int celda, int paso, int longitud) {
+        if (longitud <= 0) {
+            return;
+        }
+        bloquesJugador.limpiarLinea(celda, paso, longitud);
+        version++;
+        for (int i = 0; i < longitud; i++, celda += paso) {
+            if (terreno[celda] == TERRENO_MURO) {
+                terreno[celda] = TERRENO_VACIO;
+            }
+        }
+    }
+
+    /**
+     * Obtiene el conjunto de bits de los bloques de jugador,
+     * indexado igual que el arreglo de terreno.
+     *
+     * @return bloques de jugador.
+     */
+    public TableroBits getBloquesJugador() {
+        return bloquesJugador;
+    }
+
+    /**
+     * Obtiene los bloques de jugador como lista de posiciones.
+     * Es una vista de solo lectura pensada para compatibilidad;
+     * la lógica del juego consulta directamente el conjunto de bits.
+     *
+     * @return vista de los bloques de jugador.
+     */
+    public List<Posicion> getVistaBloquesJugador() {
+        return vistaBloquesJugador;
+    }
+
+    /**
+     * Coloca el iglú, que ocupa un área de 2x2 celdas
+     * a partir de la posición indicada.
+     *
+     * @param f fila de la esquina superior izquierda del iglú.
+     * @param c columna de la esquina superior izquierda del iglú.
+     */
+    public void colocarIglu(int f, int c) {
+        filaIglu = f;
+        columnaIglu = c;
+        version++;
+        int base = indice(f, c);
+        terreno[base] = TERRENO_IGLU;
+        terreno[base + 1] = TERRENO_IGLU;
+        terreno[base + ancho] = TERRENO_IGLU;
+        terreno[base + ancho + 1] = TERRENO_IGLU;
+    }
+
+    /**
+     * Obtiene la fila de la esquina superior izquierda del iglú.
+     *
+     * @return fila del iglú, o {@code -1} si no se ha colocado.
+     */
+    public int getFilaIglu() {
+        return filaIglu;
+    }
+
+    /**
+     * Obtiene la columna de la esquina superior izquierda del iglú.
+     *
+     * @return columna del iglú, o {@code -1} si no se ha colocado.
+     */
+    public int getColumnaIglu() {
+        return columnaIglu;
+    }
+
+    /**
+     * Indica si la celda es la esquina superior izquierda del iglú,
+     * desde donde se dibuja.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda es la base del iglú.
+     */
+    public boolean esBaseIglu(int f, int c) {
+        return f == filaIglu && c == columnaIglu;
+    }
+
+    /**
+     * Determina si una celda pertenece al área reservada para el iglú.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda está dentro del área del iglú, {@code false} en caso contrario.
+     */
+    public boolean esCeldaIglu(int f, int c) {
+        return terreno[indice(f, c)] == TERRENO_IGLU;
+    }
+
+    /**
+     * Indica si la celda contiene un muro o un bloque de jugador,
+     * es decir, un bloque que puede romperse con la acción de hielo.
+     *
+     * @param celda índice de la celda.
+     * @return {@code true} si la celda contiene hielo, {@code false} en caso contrario.
+     */
+    public boolean esHielo(int celda) {
+        return terreno[celda] == TERRENO_MURO || bloquesJugador.contiene(celda);
+    }
+
+    /**
+     * Indica si la celda contiene un muro o un bloque de jugador.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda contiene hielo, {@code false} en caso contrario.
+     */
+    public boolean esHielo(int f, int c) {
+        return esHielo(indice(f, c));
+    }
+
+    /**
+     * Indica si una celda está libre: sin terreno ni bloque de jugador.
+     * Las celdas centinela nunca están libres.
+     *
+     * @param celda índice de la celda.
+     * @return {@code true} si la celda está libre.
+     */
+    public boolean estaLibre(int celda) {
+        return terreno[celda] == TERRENO_VACIO && !bloquesJugador.contiene(celda);
+    }
+
+    /**
+     * Indica si una celda está bloqueada para el movimiento,
+     * ya sea por ser borde, muro, bloque jugador o parte del iglú.
+     *
+     * @param celda índice de la celda.
+     * @return {@code true} si la celda está bloqueada, {@code false} en caso contrario.
+     */
+    public boolean estaBloqueada(int celda) {
+        return !estaLibre(celda);
+    }
+
+    /**
+     * Indica si una celda está bloqueada para el movimiento,
+     * ya sea por estar fuera del mapa, ser muro, bloque jugador o parte del iglú.
+     *
+     * @param f fila de la celda.
+     * @param c columna de la celda.
+     * @return {@code true} si la celda está bloqueada, {@code false} en caso contrario.
+     */
+    public boolean estaBloqueada(int f, int c) {
+        if (f < -1 || f > filas || c < -1 || c > columnas) {
+            return true;
+        }
+        return !estaLibre(indice(f, c));
+    }
+
+    /**
+     * Lista de solo lectura que recorre los bits marcados del conjunto
+     * de bloques de jugador. El iterador avanza por el conjunto una sola vez;
+     * {@link #get(int)} recuerda la última celda devuelta, de modo que
+     * recorrer la lista por índice en orden tampoco vuelve a empezar desde
+     * la primera celda mientras el mapa no cambie.
+     */
+    private class VistaBloquesJugador extends AbstractList<Posicion> {
+
+        private int versionCursor = -1;
+        private int indiceCursor;
+        private int celdaCursor;
+
+        @Override
+        public Posicion get(int i) {
+            if (i < 0 || i >= bloquesJugador.getCantidad()) {
+                throw new IndexOutOfBoundsException("Índice: " + i);
+            }
+            if (versionCursor != version || i < indiceCursor) {
+                versionCursor = version;
+                indiceCursor = 0;
+                celdaCursor = bloquesJugador.siguienteMarcada(0);
+            }
+            for (; indiceCursor < i; indiceCursor++) {
+                celdaCursor = bloquesJugador.siguienteMarcada(celdaCursor + 1);
+            }
+            return new Posicion(filaDe(celdaCursor), columnaDe(celdaCursor));
+        }
+
+        @Override
+        public int size() {
+            return bloquesJugador.getCantidad();
+        }
+
+        @Override
+        public Iterator<Posicion> iterator() {
+            return new Iterator<Posicion>() {
+                private final int versionEsperada = version;
+                private int celda = bloquesJugador.siguienteMarcada(0);
+
+                @Override
+                public boolean hasNext() {
+                    return celda >= 0;
+                }
+
+                @Override
+                public Posicion next() {
+                    if (versionEsperada != version) {
+                        throw new ConcurrentModificationException();
+                    }
+                    if (celda < 0) {
+                        throw new NoSuchElementException();
+                    }
+                    Posicion posicion = new Posicion(filaDe(celda), columnaDe(celda));
+                    celda = bloquesJugador.siguienteMarcada(celda + 1);
+                    return posicion;
+                }
+            };
+        }
+    }
+}
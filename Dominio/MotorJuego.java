@@ -0,0 +1,136 @@
+package Dominio;
+
+/**
+ * Motor de simulación sin interfaz gráfica.
+ * Avanza una partida tick a tick tan rápido como lo permita el procesador,
+ * sin depender de Swing ni de temporizadores de reloj, de modo que pueda
+ * utilizarse desde pruebas, procesos por lotes o la capa de presentación.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class MotorJuego {
+
+    /**
+     * Número máximo de ticks por defecto para una partida completa.
+     */
+    public static final int MAX_TICKS_POR_DEFECTO = 10_000;
+
+    private final Juego juego;
+    private long ticksEjecutados;
+
+    /**
+     * Crea un motor que controla la partida indicada.
+     *
+     * @param juego partida a simular.
+     */
+    public MotorJuego(Juego juego) {
+        this.juego = juego;
+        this.ticksEjecutados = 0;
+    }
+
+    /**
+     * Crea un motor con una nueva partida del sabor y modalidad indicados.
+     *
+     * @param saborHelado sabor del helado principal.
+     * @param modalidad   modalidad de juego.
+     */
+    public MotorJuego(String saborHelado, ModalidadJuego modalidad) {
+        this(new Juego(saborHelado, modalidad));
+    }
+
+    /**
+     * Crea un motor con una nueva partida reproducible a partir de una semilla.
+     *
+     * @param saborHelado sabor del helado principal.
+     * @param modalidad   modalidad de juego.
+     * @param semilla     semilla de la partida.
+     */
+    public MotorJuego(String saborHelado, ModalidadJuego modalidad, long semilla) {
+        this(new Juego(saborHelado, modalidad, semilla));
+    }
+
+    /**
+     * Obtiene la partida simulada por el motor.
+     *
+     * @return partida asociada.
+     */
+    public Juego getJuego() {
+        return juego;
+    }
+
+    /**
+     * Obtiene el número de ticks ejecutados desde la creación del motor.
+     *
+     * @return ticks ejecutados.
+     */
+    public long getTicksEjecutados() {
+        return ticksEjecutados;
+    }
+
+    /**
+     * Indica si la partida ha terminado.
+     *
+     * @return {@code true} si el nivel está ganado o perdido.
+     */
+    public boolean isTerminado() {
+        return juego.isTerminado();
+    }
+
+    /**
+     * Avanza la partida un único tick.
+     */
+    public void avanzarTick() {
+        juego.tick();
+        ticksEjecutados++;
+    }
+
+    /**
+     * Avanza la partida la cantidad de ticks indicada,
+     * deteniéndose antes si la partida termina.
+     *
+     * @param ticks número máximo de ticks a ejecutar.
+     * @return ticks realmente ejecutados.
+     */
+    public int avanzar(int ticks) {
+        int ejecutados = 0;
+        while (ejecutados < ticks && !juego.isTerminado()) {
+            avanzarTick();
+            ejecutados++;
+        }
+        return ejecutados;
+    }
+
+    /**
+     * Simula la partida hasta que termine o se alcance el límite de ticks.
+     *
+     * @param maxTicks límite de ticks para evitar partidas infinitas.
+     * @return ticks ejecutados en esta llamada.
+     */
+    public int ejecutarHastaTerminar(int maxTicks) {
+        return avanzar(maxTicks);
+    }
+
+    /**
+     * Ejecuta partidas MvsM consecutivas sin interfaz y muestra por consola
+     * la cantidad de ticks por segundo alcanzada.
+     *
+     * @param args opcionalmente, el número de partidas a simular.
+     */
+    public static void main(String[] args) {
+        int partidas = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+
+        long ticks = 0;
+        int ganadas = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < partidas; i++) {
+            MotorJuego motor = new MotorJuego("vainilla", ModalidadJuego.MvsM, i);
+            ticks += motor.ejecutarHastaTerminar(MAX_TICKS_POR_DEFECTO);
+            if (motor.getJuego().getNivel().isGanado()) {
+                ganadas++;
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("Partidas: %d (ganadas: %d)%n", partidas, ganadas);
+        System.out.printf("Ticks: %d en %.3f s -> %.0f ticks/s%n", ticks, segundos, ticks / segundos);
+    }
+}
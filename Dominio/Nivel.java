@@ -1,8 +1,8 @@
 package Dominio;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Representa un nivel del juego, incluyendo el helado principal,
@@ -23,13 +23,57 @@ public class Nivel {
      */
     public static final int COLUMNAS = 14;
 
+    /**
+     * Intervalo de tiempo de juego, en milisegundos, entre dos pasos
+     * de la IA de enemigos y del helado controlado por máquina.
+     */
+    public static final int PERIODO_IA_MS = 1000;
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
     private Helado helado;
+    private MapaNivel mapa;
     private List<Fruta> frutas;
     private List<Enemigo> enemigos;
     private List<BloqueHielo> bloques;
-    private List<Posicion> bloquesJugador;
+
+    /**
+     * Índice por celda de frutas, enemigos y bloques de jugador.
+     */
+    private OcupacionCeldas ocupacion;
+
+    /**
+     * Distancias hacia el helado que comparten los enemigos perseguidores.
+     */
+    private CampoFlujo campoFlujo;
+
+    /**
+     * Estrategia que mueve al helado cuando lo controla la máquina.
+     */
+    private ControlHelado controlMaquina = new PlanificadorHelado();
+
+    /**
+     * Estrategia opcional que controla a uno de los enemigos de máquina;
+     * si es {@code null}, todos siguen su propia IA.
+     */
+    private ControlEnemigos controlEnemigosMaquina;
+
+    /**
+     * Indica si el último tick ejecutado incluyó un paso de la IA.
+     */
+    private boolean pasoIA;
 
     private int tiempoRestanteSegundos;
+
+    /**
+     * Ticks de simulación que equivalen a un segundo de tiempo de juego.
+     */
+    private int ticksPorSegundo = 1;
+
+    /**
+     * Ticks de simulación ejecutados desde el inicio del nivel.
+     */
+    private long ticksTranscurridos;
     private boolean ganado;
     private boolean perdido;
 
@@ -43,34 +87,128 @@ public class Nivel {
     private int puntajeActual;
 
     /**
-     * Oleada actual de frutas.
-     * 1 = primera oleada, 2 = segunda oleada.
+     * Planificador de las oleadas de frutas del nivel.
      */
-    private int oleadaActual;
+    private PlanOleadas oleadas;
 
-    private final Random random = new Random();
+    /**
+     * Cantidad de frutas del nivel por tipo, indexada por {@link TipoFruta#ordinal()}.
+     */
+    private final int[] frutasPorTipo = new int[TipoFruta.values().length];
+
+    /**
+     * Cantidad de frutas recolectadas por tipo, indexada por {@link TipoFruta#ordinal()}.
+     */
+    private final int[] recolectadasPorTipo = new int[TipoFruta.values().length];
+
+    /**
+     * Frutas que faltan por recolectar en todo el nivel.
+     */
+    private int frutasRestantes;
+
+    /**
+     * Semilla con la que se creó el nivel.
+     */
+    private final long semilla;
+
+    /**
+     * Generador por el que pasan todas las decisiones aleatorias del nivel.
+     */
+    private final GeneradorAleatorio generador;
+
+    /**
+     * Contenido inicial del nivel.
+     */
+    private final DefinicionNivel definicion;
 
     /**
      * Crea un nuevo nivel con un único helado y una modalidad específica.
-     * Inicializa el nivel 1 y configura un tiempo máximo de 3 minutos.
+     * Inicializa el nivel 1 desde {@code recursos/niveles/nivel1.txt}.
      *
      * @param saborHelado sabor del helado principal.
      * @param modalidad   modalidad de juego seleccionada.
      */
     public Nivel(String saborHelado, ModalidadJuego modalidad) {
+        this(saborHelado, modalidad, System.nanoTime());
+    }
+
+    /**
+     * Crea el nivel 1 cuyas decisiones aleatorias dependen únicamente
+     * de la semilla indicada: la misma semilla produce siempre la misma
+     * secuencia de estados.
+     *
+     * @param saborHelado sabor del helado principal.
+     * @param modalidad   modalidad de juego seleccionada.
+     * @param semilla     semilla del generador aleatorio del nivel.
+     */
+    public Nivel(String saborHelado, ModalidadJuego modalidad, long semilla) {
+        this(CargadorNiveles.getPredeterminado().cargar(1), saborHelado, modalidad, semilla);
+    }
+
+    /**
+     * Crea un nivel reproducible a partir de su definición.
+     *
+     * @param definicion  contenido inicial del nivel.
+     * @param saborHelado sabor del helado principal.
+     * @param modalidad   modalidad de juego seleccionada.
+     * @param semilla     semilla del generador aleatorio del nivel.
+     */
+    public Nivel(DefinicionNivel definicion, String saborHelado, ModalidadJuego modalidad, long semilla) {
+        this.definicion = definicion;
+        this.semilla = semilla;
+        this.generador = new GeneradorAleatorio(semilla);
         this.frutas = new ArrayList<>();
         this.enemigos = new ArrayList<>();
         this.bloques = new ArrayList<>();
-        this.bloquesJugador = new ArrayList<>();
-        this.tiempoRestanteSegundos = 3 * 60;
+        this.tiempoRestanteSegundos = definicion.getTiempoSegundos();
         this.ganado = false;
         this.perdido = false;
         this.puntajeActual = 0;
-        this.oleadaActual = 1;
 
         this.modalidad = modalidad;
         configurarControlesSegunModalidad();
-        inicializarNivel1(saborHelado);
+        inicializar(saborHelado);
+    }
+
+    /**
+     * Crea una copia independiente de otro nivel en su estado actual, de
+     * modo que avanzar la copia no afecta al original. Sirve para simular
+     * jugadas posibles sin tocar la partida real. La copia recibe sus
+     * propios controles de máquina por defecto.
+     *
+     * @param otro nivel a copiar.
+     */
+    public Nivel(Nivel otro) {
+        this.definicion = otro.definicion;
+        this.semilla = otro.semilla;
+        this.generador = new GeneradorAleatorio(otro.generador.getEstado());
+        this.mapa = new MapaNivel(otro.mapa);
+        this.helado = new Helado(otro.helado);
+        this.frutas = new ArrayList<>(otro.frutas.size());
+        for (Fruta f : otro.frutas) {
+            frutas.add(f.copiar());
+        }
+        this.enemigos = new ArrayList<>(otro.enemigos.size());
+        for (Enemigo e : otro.enemigos) {
+            enemigos.add(e.copiar());
+        }
+        this.bloques = new ArrayList<>(otro.bloques);
+        this.oleadas = new PlanOleadas(otro.oleadas);
+        this.ocupacion = new OcupacionCeldas(mapa);
+        this.campoFlujo = new CampoFlujo(mapa);
+
+        this.tiempoRestanteSegundos = otro.tiempoRestanteSegundos;
+        this.ticksPorSegundo = otro.ticksPorSegundo;
+        this.ticksTranscurridos = otro.ticksTranscurridos;
+        this.ganado = otro.ganado;
+        this.perdido = otro.perdido;
+        this.puntajeActual = otro.puntajeActual;
+        this.modalidad = otro.modalidad;
+        this.controlHelado = otro.controlHelado;
+        this.controlEnemigos = otro.controlEnemigos;
+
+        indexarOcupacion();
+        contarFrutas();
     }
 
     /**
@@ -95,54 +233,160 @@ public class Nivel {
     }
 
     /**
-     * Inicializa el contenido del nivel 1, incluyendo la posición del helado,
-     * la distribución de frutas, la configuración de oleadas y la ubicación
-     * de los enemigos.
+     * Inicializa el contenido del nivel a partir de su definición, incluyendo
+     * la posición del helado, la distribución de frutas, la configuración de
+     * oleadas y la ubicación de los enemigos.
      *
      * @param saborHelado sabor del helado principal.
      */
-    private void inicializarNivel1(String saborHelado) {
-        bloquesJugador.clear();
+    private void inicializar(String saborHelado) {
         frutas.clear();
         enemigos.clear();
 
-        helado = new Helado(new Posicion(1, 7), saborHelado);
-
-        frutas.add(new Uva(new Posicion(1, 2)));
-        frutas.add(new Uva(new Posicion(1, 11)));
-        frutas.add(new Uva(new Posicion(2, 1)));
-        frutas.add(new Uva(new Posicion(2, 12)));
-        frutas.add(new Uva(new Posicion(9, 1)));
-        frutas.add(new Uva(new Posicion(9, 12)));
-        frutas.add(new Uva(new Posicion(10, 2)));
-        frutas.add(new Uva(new Posicion(10, 11)));
-
-        frutas.add(new Platano(new Posicion(4, 6)));
-        frutas.add(new Platano(new Posicion(4, 7)));
-        frutas.add(new Platano(new Posicion(5, 5)));
-        frutas.add(new Platano(new Posicion(5, 8)));
-        frutas.add(new Platano(new Posicion(6, 5)));
-        frutas.add(new Platano(new Posicion(6, 8)));
-        frutas.add(new Platano(new Posicion(7, 6)));
-        frutas.add(new Platano(new Posicion(7, 7)));
-
-        for (Fruta f : frutas) {
-            if (f instanceof Platano) {
-                f.activar();
-            } else if (f instanceof Uva) {
-                f.desactivar();
+        mapa = definicion.crearMapa();
+        ocupacion = new OcupacionCeldas(mapa);
+        campoFlujo = new CampoFlujo(mapa);
+        helado = new Helado(definicion.getPosicionHelado(), saborHelado);
+        definicion.agregarFrutas(frutas);
+        oleadas = definicion.crearOleadas();
+        definicion.agregarEnemigos(enemigos);
+
+        indexarOcupacion();
+        contarFrutas();
+        oleadas.iniciar(frutas);
+    }
+
+    /**
+     * Inicializa los contadores de frutas y asocia cada fruta al nivel
+     * para que le notifique su recolección.
+     */
+    private void contarFrutas() {
+        Arrays.fill(frutasPorTipo, 0);
+        Arrays.fill(recolectadasPorTipo, 0);
+        frutasRestantes = 0;
+        for (int i = 0; i < frutas.size(); i++) {
+            Fruta f = frutas.get(i);
+            f.asociarNivel(this, i);
+            int tipo = f.getTipo().ordinal();
+            frutasPorTipo[tipo]++;
+            if (f.estaRecolectada()) {
+                recolectadasPorTipo[tipo]++;
+            } else {
+                frutasRestantes++;
             }
         }
-        oleadaActual = 1;
+    }
+
+    /**
+     * Actualiza los contadores y las oleadas cuando una fruta del nivel
+     * es recolectada. Lo invoca {@link Fruta#recolectar()}.
+     *
+     * @param fruta  fruta recién recolectada.
+     * @param indice posición de la fruta en la lista de frutas.
+     */
+    void frutaRecolectada(Fruta fruta, int indice) {
+        recolectadasPorTipo[fruta.getTipo().ordinal()]++;
+        frutasRestantes--;
+        oleadas.frutaRecolectada(indice, frutas);
+    }
+
+    /**
+     * Reconstruye por completo el índice de ocupación a partir de las listas
+     * del nivel. Después de esto el índice se mantiene de forma incremental.
+     */
+    private void indexarOcupacion() {
+        ocupacion.limpiar();
+        ocupacion.indexarFrutas(frutas);
+        for (Enemigo e : enemigos) {
+            Posicion p = e.getPosicion();
+            ocupacion.agregarEnemigo(p.getFila(), p.getColumna());
+        }
+    }
 
-        enemigos.add(new Troll(new Posicion(10, 6), 1, 10, 1, 12));
-        enemigos.add(new Troll(new Posicion(7, 4), 4, 7, 4, 9));
+    /**
+     * Escribe el estado actual del nivel en una foto. Lo invoca
+     * {@link EstadoNivel#capturar(Nivel)}, que ya comprobó la estructura.
+     *
+     * @param estado foto de destino.
+     */
+    void guardarEstado(EstadoNivel estado) {
+        estado.ticksTranscurridos = ticksTranscurridos;
+        estado.estadoGenerador = generador.getEstado();
+        estado.tiempoRestanteSegundos = tiempoRestanteSegundos;
+        estado.puntajeActual = puntajeActual;
+        estado.oleadaActual = oleadas.getActual();
+        estado.celdaHelado = helado.getCelda();
+        Direccion dir = helado.getDireccion();
+        estado.direccionHelado = dir == null ? EstadoNivel.SIN_DIRECCION : (byte) dir.ordinal();
+        estado.banderas = (byte) ((ganado ? EstadoNivel.NIVEL_GANADO : 0)
+                | (perdido ? EstadoNivel.NIVEL_PERDIDO : 0)
+                | (pasoIA ? EstadoNivel.NIVEL_PASO_IA : 0));
+
+        mapa.guardarEstado(estado.terreno, estado.bloques);
+        oleadas.guardarRestantes(estado.restantesOleadas);
+        for (int i = 0; i < frutas.size(); i++) {
+            Fruta f = frutas.get(i);
+            estado.frutas[i] = (byte) ((f.estaRecolectada() ? EstadoNivel.FRUTA_RECOLECTADA : 0)
+                    | (f.estaActiva() ? EstadoNivel.FRUTA_ACTIVA : 0));
+        }
+        for (int i = 0; i < enemigos.size(); i++) {
+            Enemigo e = enemigos.get(i);
+            estado.celdasEnemigos[i] = e.getCelda();
+            estado.estadosEnemigos[i] = e.getEstadoInterno();
+            estado.tiposEnemigos[i] = (byte) e.getTipo().ordinal();
+        }
+    }
+
+    /**
+     * Devuelve el nivel al estado de una foto y reconstruye los datos que
+     * se deducen de ella: contadores de frutas e índice de enemigos. Lo
+     * invoca {@link EstadoNivel#restaurar(Nivel)}, que ya comprobó la estructura.
+     *
+     * @param estado foto a restaurar.
+     */
+    void restaurarEstado(EstadoNivel estado) {
+        ticksTranscurridos = estado.ticksTranscurridos;
+        generador.setEstado(estado.estadoGenerador);
+        tiempoRestanteSegundos = estado.tiempoRestanteSegundos;
+        puntajeActual = estado.puntajeActual;
+        helado.setCelda(estado.celdaHelado);
+        helado.setDireccion(estado.direccionHelado == EstadoNivel.SIN_DIRECCION
+                ? null : DIRECCIONES[estado.direccionHelado]);
+        ganado = (estado.banderas & EstadoNivel.NIVEL_GANADO) != 0;
+        perdido = (estado.banderas & EstadoNivel.NIVEL_PERDIDO) != 0;
+        pasoIA = (estado.banderas & EstadoNivel.NIVEL_PASO_IA) != 0;
+
+        mapa.restaurarEstado(estado.terreno, estado.bloques);
+        oleadas.restaurar(estado.restantesOleadas, estado.oleadaActual);
+        for (int i = 0; i < frutas.size(); i++) {
+            byte banderas = estado.frutas[i];
+            frutas.get(i).restaurarEstado((banderas & EstadoNivel.FRUTA_RECOLECTADA) != 0,
+                    (banderas & EstadoNivel.FRUTA_ACTIVA) != 0);
+        }
+        ocupacion.limpiar();
+        for (int i = 0; i < enemigos.size(); i++) {
+            Enemigo e = enemigos.get(i);
+            int celda = estado.celdasEnemigos[i];
+            e.setCelda(celda);
+            e.setEstadoInterno(estado.estadosEnemigos[i]);
+            ocupacion.agregarEnemigo(Celda.fila(celda), Celda.columna(celda));
+        }
+        contarFrutas();
     }
 
     public Helado getHelado() {
         return helado;
     }
 
+    /**
+     * Obtiene el mapa de terreno del nivel.
+     *
+     * @return mapa del nivel.
+     */
+    public MapaNivel getMapa() {
+        return mapa;
+    }
+
     public List<Fruta> getFrutas() {
         return frutas;
     }
@@ -151,10 +395,144 @@ public class Nivel {
         return enemigos;
     }
 
+    /**
+     * Agrega un enemigo al nivel y lo registra en el índice de ocupación.
+     *
+     * @param enemigo enemigo a agregar.
+     */
+    public void agregarEnemigo(Enemigo enemigo) {
+        enemigos.add(enemigo);
+        Posicion p = enemigo.getPosicion();
+        ocupacion.agregarEnemigo(p.getFila(), p.getColumna());
+    }
+
+    /**
+     * Obtiene la estrategia que mueve al helado cuando lo controla la máquina.
+     *
+     * @return control del helado; por defecto un {@link PlanificadorHelado}.
+     */
+    public ControlHelado getControlMaquina() {
+        return controlMaquina;
+    }
+
+    /**
+     * Cambia la estrategia que mueve al helado cuando lo controla la máquina.
+     *
+     * @param controlMaquina nuevo control del helado.
+     */
+    public void setControlMaquina(ControlHelado controlMaquina) {
+        this.controlMaquina = controlMaquina;
+    }
+
+    /**
+     * Obtiene la estrategia que controla a uno de los enemigos de máquina.
+     *
+     * @return control de enemigos, o {@code null} si todos siguen su IA.
+     */
+    public ControlEnemigos getControlEnemigosMaquina() {
+        return controlEnemigosMaquina;
+    }
+
+    /**
+     * Cambia la estrategia que controla a uno de los enemigos de máquina.
+     *
+     * @param controlEnemigosMaquina nuevo control, o {@code null} para que
+     *                               todos sigan su propia IA.
+     */
+    public void setControlEnemigosMaquina(ControlEnemigos controlEnemigosMaquina) {
+        this.controlEnemigosMaquina = controlEnemigosMaquina;
+    }
+
+    /**
+     * Cambia quién controla al helado y a los enemigos, sin cambiar la
+     * modalidad. Se usa en las copias del nivel que simulan jugadas.
+     *
+     * @param controlHelado   tipo de control del helado.
+     * @param controlEnemigos tipo de control de los enemigos.
+     */
+    public void setControles(TipoControl controlHelado, TipoControl controlEnemigos) {
+        this.controlHelado = controlHelado;
+        this.controlEnemigos = controlEnemigos;
+    }
+
+    /**
+     * Indica si el último tick ejecutado incluyó un paso de la IA, que es
+     * cuando los controles de máquina toman sus decisiones.
+     *
+     * @return {@code true} si en el último tick se movieron los controles de máquina.
+     */
+    public boolean isPasoIA() {
+        return pasoIA;
+    }
+
+    /**
+     * Obtiene el campo de distancias hacia el helado, actualizado con la
+     * posición actual del helado y el estado actual del mapa. La búsqueda
+     * solo se repite si alguno de los dos cambió desde la última consulta,
+     * por lo que todos los perseguidores de un paso comparten la misma.
+     *
+     * @return campo de flujo del nivel.
+     */
+    public CampoFlujo getCampoFlujo() {
+        campoFlujo.actualizar(celdaHelado());
+        return campoFlujo;
+    }
+
     public int getTiempoRestanteSegundos() {
         return tiempoRestanteSegundos;
     }
 
+    /**
+     * Obtiene la frecuencia de simulación del nivel.
+     *
+     * @return ticks por segundo de tiempo de juego.
+     */
+    public int getTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
+    /**
+     * Cambia la frecuencia de simulación. El tiempo de juego, el reloj del
+     * nivel y el ritmo de la IA no dependen de ella: solo cambia cuántos
+     * ticks forman un segundo de juego.
+     *
+     * @param ticksPorSegundo ticks por segundo de tiempo de juego, mayor que cero.
+     */
+    public void setTicksPorSegundo(int ticksPorSegundo) {
+        if (ticksPorSegundo <= 0) {
+            throw new IllegalArgumentException("La frecuencia debe ser positiva: " + ticksPorSegundo);
+        }
+        this.ticksPorSegundo = ticksPorSegundo;
+    }
+
+    /**
+     * Obtiene la definición de la que se creó el nivel.
+     *
+     * @return contenido inicial del nivel.
+     */
+    public DefinicionNivel getDefinicion() {
+        return definicion;
+    }
+
+    /**
+     * Obtiene el número de ticks ejecutados desde el inicio del nivel.
+     *
+     * @return ticks transcurridos.
+     */
+    public long getTicksTranscurridos() {
+        return ticksTranscurridos;
+    }
+
+    /**
+     * Obtiene el tiempo de juego transcurrido, calculado a partir de los
+     * ticks y la frecuencia de simulación.
+     *
+     * @return tiempo de juego en milisegundos.
+     */
+    public long getTiempoJuegoMs() {
+        return ticksTranscurridos * 1000 / ticksPorSegundo;
+    }
+
     public boolean isGanado() {
         return ganado;
     }
@@ -167,6 +545,72 @@ public class Nivel {
         return modalidad;
     }
 
+    /**
+     * Obtiene la semilla con la que se creó el nivel.
+     *
+     * @return semilla del generador aleatorio.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene el generador aleatorio del nivel, cuyo estado puede
+     * guardarse y restaurarse.
+     *
+     * @return generador aleatorio del nivel.
+     */
+    public GeneradorAleatorio getGenerador() {
+        return generador;
+    }
+
+    /**
+     * Obtiene la cantidad total de frutas de un tipo en el nivel.
+     *
+     * @param tipo tipo de fruta.
+     * @return número de frutas de ese tipo.
+     */
+    public int getTotalFrutas(TipoFruta tipo) {
+        return frutasPorTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Obtiene la cantidad de frutas de un tipo ya recolectadas.
+     *
+     * @param tipo tipo de fruta.
+     * @return número de frutas recolectadas de ese tipo.
+     */
+    public int getFrutasRecolectadas(TipoFruta tipo) {
+        return recolectadasPorTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Obtiene la oleada de frutas actual, empezando en 1.
+     *
+     * @return número de la oleada actual.
+     */
+    public int getOleadaActual() {
+        return oleadas.getActual() + 1;
+    }
+
+    /**
+     * Obtiene la cantidad de oleadas de frutas del nivel.
+     *
+     * @return número de oleadas.
+     */
+    public int getNumeroOleadas() {
+        return oleadas.getNumeroOleadas();
+    }
+
+    /**
+     * Obtiene la cantidad de frutas que faltan por recolectar en el nivel.
+     *
+     * @return frutas restantes.
+     */
+    public int getFrutasRestantes() {
+        return frutasRestantes;
+    }
+
     /**
      * Obtiene el puntaje acumulado en el nivel.
      *
@@ -176,8 +620,14 @@ public class Nivel {
         return puntajeActual;
     }
 
+    /**
+     * Obtiene los bloques de hielo creados por el jugador como lista de posiciones.
+     * Es una vista de solo lectura sobre el conjunto de bits del mapa.
+     *
+     * @return vista de los bloques de jugador.
+     */
     public List<Posicion> getBloquesJugador() {
-        return bloquesJugador;
+        return mapa.getVistaBloquesJugador();
     }
 
     /**
@@ -188,12 +638,7 @@ public class Nivel {
      * @param columna columna donde se ubica el bloque.
      */
     public void registrarBloqueJugador(int fila, int columna) {
-        for (Posicion p : bloquesJugador) {
-            if (p.getFila() == fila && p.getColumna() == columna) {
-                return;
-            }
-        }
-        bloquesJugador.add(new Posicion(fila, columna));
+        mapa.colocarBloqueJugador(fila, columna);
     }
 
     /**
@@ -204,7 +649,81 @@ public class Nivel {
      * @param columna columna del bloque a eliminar.
      */
     public void eliminarBloqueJugador(int fila, int columna) {
-        bloquesJugador.removeIf(p -> p.getFila() == fila && p.getColumna() == columna);
+        mapa.quitarBloqueJugador(fila, columna);
+    }
+
+    /**
+     * Comprueba si existe algún enemigo ubicado en la celda dada.
+     *
+     * @param fila    fila de la celda.
+     * @param columna columna de la celda.
+     * @return {@code true} si hay un enemigo en esa posición, {@code false} en caso contrario.
+     */
+    public boolean hayEnemigoEn(int fila, int columna) {
+        return ocupacion.hayEnemigoEn(fila, columna);
+    }
+
+    /**
+     * Verifica si existe un bloque de hielo creado por el jugador
+     * en la posición indicada.
+     *
+     * @param fila    fila a evaluar.
+     * @param columna columna a evaluar.
+     * @return {@code true} si hay un bloque de jugador en la posición, {@code false} en caso contrario.
+     */
+    public boolean hayBloqueJugadorEn(int fila, int columna) {
+        return mapa.hayBloqueJugador(fila, columna);
+    }
+
+    /**
+     * Verifica si el helado puede moverse en una dirección dada,
+     * comprobando que la celda de destino esté dentro del mapa y no bloqueada.
+     *
+     * @param dir dirección propuesta de movimiento.
+     * @return {@code true} si el movimiento es válido, {@code false} en caso contrario.
+     */
+    public boolean puedeMoverHelado(Direccion dir) {
+        return mapa.estaLibre(celdaHelado() + mapa.desplazamiento(dir));
+    }
+
+    /**
+     * Obtiene el índice de la celda del helado en el arreglo de terreno del mapa.
+     *
+     * @return índice de la celda del helado.
+     */
+    private int celdaHelado() {
+        return mapa.indiceDe(helado.getCelda());
+    }
+
+    /**
+     * Ejecuta la acción de hielo del helado en la dirección hacia la que mira:
+     * si la primera celda contiene hielo, destruye la línea de bloques;
+     * si está libre, construye una fila de bloques de jugador hasta encontrar
+     * un obstáculo, el iglú o un enemigo.
+     */
+    public void accionHielo() {
+        if (ganado || perdido) {
+            return;
+        }
+
+        int paso = mapa.desplazamiento(helado.getDireccion());
+        int inicio = celdaHelado() + paso;
+        int longitud = 0;
+        int celda = inicio;
+
+        if (mapa.esHielo(inicio)) {
+            while (mapa.esHielo(celda)) {
+                longitud++;
+                celda += paso;
+            }
+            mapa.romperLinea(inicio, paso, longitud);
+        } else {
+            while (mapa.estaLibre(celda) && !ocupacion.hayEnemigoEnCelda(celda)) {
+                longitud++;
+                celda += paso;
+            }
+            mapa.construirLinea(inicio, paso, longitud);
+        }
     }
 
     /**
@@ -241,61 +760,116 @@ public class Nivel {
             return;
         }
 
-        enemigos.get(indiceEnemigo).moverControlado(dir, FILAS, COLUMNAS);
+        Enemigo e = enemigos.get(indiceEnemigo);
+        int anterior = e.getCelda();
+        if (mapa.estaBloqueada(mapa.indiceDe(anterior) + mapa.desplazamiento(dir))) {
+            return;
+        }
+        e.moverControlado(dir, FILAS, COLUMNAS);
+        sincronizarEnemigo(e, anterior);
         verificarColisionEnemigos();
     }
 
     /**
      * Lógica interna para mover el helado en la dirección indicada,
-     * recolectando frutas, manejando oleadas, verificando colisiones
-     * y evaluando victoria.
+     * recolectando frutas (lo que a su vez avanza las oleadas), verificando colisiones
+     * y evaluando victoria. Si la celda de destino está bloqueada
+     * por el terreno, el helado no se mueve.
      *
      * @param dir dirección hacia la que se mueve el helado.
      */
     private void moverHelado(Direccion dir) {
+        if (!puedeMoverHelado(dir)) {
+            return;
+        }
         helado.mover(dir, FILAS, COLUMNAS);
         verificarRecoleccionFrutas();
-        verificarCambioDeOleada();
         verificarColisionEnemigos();
         verificarVictoria();
     }
 
     /**
-     * Actualiza el estado del nivel en un paso de tiempo,
-     * avanzando la IA de enemigos y/o helado según el tipo de control,
-     * verificando colisiones y descontando tiempo.
+     * Actualiza el estado del nivel en un paso de tiempo fijo.
+     * La IA de enemigos y/o helado avanza cada {@link #PERIODO_IA_MS}
+     * de tiempo de juego y el reloj del nivel se descuenta cada segundo
+     * de juego, independientemente de la frecuencia de ticks.
      */
     public void actualizarUnTick() {
         if (ganado || perdido) {
+            pasoIA = false;
             return;
         }
 
+        ticksTranscurridos++;
+        long ticksPorPasoIA = Math.max(1, (long) ticksPorSegundo * PERIODO_IA_MS / 1000);
+        pasoIA = ticksTranscurridos % ticksPorPasoIA == 0;
+        if (pasoIA) {
+            actualizarIA();
+        }
+
+        verificarColisionEnemigos();
+
+        if (ticksTranscurridos % ticksPorSegundo == 0) {
+            tiempoRestanteSegundos--;
+            if (tiempoRestanteSegundos <= 0 && !ganado) {
+                perdido = true;
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un paso de la IA: enemigos y/o helado según el tipo de control.
+     */
+    private void actualizarIA() {
         if (controlEnemigos == TipoControl.MAQUINA) {
-            for (Enemigo e : enemigos) {
-                e.actualizar(this);
+            int controlado = -1;
+            Direccion dirControlado = null;
+            if (controlEnemigosMaquina != null) {
+                controlado = controlEnemigosMaquina.getEnemigoControlado(this);
+                if (controlado >= 0) {
+                    dirControlado = controlEnemigosMaquina.decidir(this);
+                }
+            }
+            for (int i = 0; i < enemigos.size(); i++) {
+                Enemigo e = enemigos.get(i);
+                int anterior = e.getCelda();
+                if (i != controlado) {
+                    e.actualizar(this);
+                } else if (dirControlado != null
+                        && mapa.estaLibre(mapa.indiceDe(anterior) + mapa.desplazamiento(dirControlado))) {
+                    e.moverControlado(dirControlado, FILAS, COLUMNAS);
+                }
+                sincronizarEnemigo(e, anterior);
             }
         }
 
         if (controlHelado == TipoControl.MAQUINA) {
             moverHeladoIA();
         }
+    }
 
-        verificarColisionEnemigos();
-
-        tiempoRestanteSegundos--;
-        if (tiempoRestanteSegundos <= 0 && !ganado) {
-            perdido = true;
+    /**
+     * Actualiza el índice de ocupación si el enemigo cambió de celda.
+     *
+     * @param e        enemigo que pudo haberse movido.
+     * @param anterior coordenada empaquetada del enemigo antes de moverse.
+     */
+    private void sincronizarEnemigo(Enemigo e, int anterior) {
+        int actual = e.getCelda();
+        if (actual != anterior) {
+            ocupacion.moverEnemigo(Celda.fila(anterior), Celda.columna(anterior),
+                    Celda.fila(actual), Celda.columna(actual));
         }
     }
 
     /**
-     * Mueve el helado utilizando una decisión aleatoria de dirección,
-     * utilizada cuando el helado está controlado por máquina.
+     * Mueve el helado según la decisión de su control de máquina.
      */
     private void moverHeladoIA() {
-        Direccion[] dirs = Direccion.values();
-        Direccion dir = dirs[random.nextInt(dirs.length)];
-        moverHelado(dir);
+        Direccion dir = controlMaquina.decidir(this);
+        if (dir != null) {
+            moverHelado(dir);
+        }
     }
 
     /**
@@ -303,37 +877,14 @@ public class Nivel {
      * actual y actualiza el puntaje del nivel con los puntos correspondientes.
      */
     private void verificarRecoleccionFrutas() {
-        for (Fruta f : frutas) {
-            if (!f.estaRecolectada()
-                    && f.estaActiva()
-                    && f.getPosicion().mismaPosicion(helado.getPosicion())) {
+        int i = ocupacion.primeraFrutaEnCelda(celdaHelado());
+        while (i >= 0) {
+            Fruta f = frutas.get(i);
+            if (!f.estaRecolectada() && f.estaActiva()) {
                 f.recolectar();
                 puntajeActual += f.getPuntos();
             }
-        }
-    }
-
-    /**
-     * Activa la siguiente oleada de frutas cuando todas las frutas
-     * de la oleada actual han sido recolectadas.
-     */
-    private void verificarCambioDeOleada() {
-        if (oleadaActual == 1) {
-            boolean quedanPlatanos = false;
-            for (Fruta f : frutas) {
-                if (f instanceof Platano && !f.estaRecolectada()) {
-                    quedanPlatanos = true;
-                    break;
-                }
-            }
-            if (!quedanPlatanos) {
-                for (Fruta f : frutas) {
-                    if (f instanceof Uva) {
-                        f.activar();
-                    }
-                }
-                oleadaActual = 2;
-            }
+            i = ocupacion.siguienteFrutaEnCelda(i);
         }
     }
 
@@ -342,27 +893,17 @@ public class Nivel {
      * y marca el nivel como perdido si ocurre una colisión.
      */
     private void verificarColisionEnemigos() {
-        for (Enemigo e : enemigos) {
-            if (e.tocaHelado(helado)) {
-                perdido = true;
-                break;
-            }
+        if (ocupacion.hayEnemigoEnCelda(celdaHelado())) {
+            perdido = true;
         }
     }
 
     /**
-     * Verifica si se han recolectado todas las uvas y plátanos requeridos
-     * para considerar el nivel como ganado.
+     * Verifica si se han recolectado todas las frutas del nivel
+     * para considerarlo ganado.
      */
     private void verificarVictoria() {
-        long uvas = frutas.stream()
-                .filter(f -> f instanceof Uva && f.estaRecolectada())
-                .count();
-        long platanos = frutas.stream()
-                .filter(f -> f instanceof Platano && f.estaRecolectada())
-                .count();
-
-        if (uvas >= 8 && platanos >= 8) {
+        if (frutasRestantes == 0) {
             ganado = true;
         }
     }
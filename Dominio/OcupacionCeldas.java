@@ -0,0 +1,152 @@
+package Dominio;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de ocupación del tablero por celda.
+ * Guarda, para cada celda, las frutas que contiene y cuántos enemigos hay en
+ * ella, de modo que las consultas del nivel
+ * cuesten O(1) por celda en lugar de recorrer las listas completas.
+ * Usa los mismos índices de celda que el arreglo de terreno de
+ * {@link MapaNivel}, incluido su borde centinela.
+ * El nivel lo mantiene sincronizado de forma incremental en cada cambio.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class OcupacionCeldas {
+
+    private static final int SIN_FRUTA = -1;
+
+    private final MapaNivel mapa;
+
+    /**
+     * Índice de la primera fruta de cada celda dentro de la lista de frutas.
+     */
+    private final int[] primeraFruta;
+
+    /**
+     * Índice de la siguiente fruta en la misma celda, por fruta.
+     */
+    private int[] siguienteFruta;
+
+    /**
+     * Cantidad de enemigos presentes en cada celda.
+     */
+    private final int[] enemigos;
+
+    /**
+     * Crea un índice vacío para el mapa indicado.
+     *
+     * @param mapa mapa del nivel, del que se toman los índices de celda.
+     */
+    public OcupacionCeldas(MapaNivel mapa) {
+        this.mapa = mapa;
+        int celdas = mapa.getTotalCeldas();
+        this.primeraFruta = new int[celdas];
+        this.siguienteFruta = new int[0];
+        this.enemigos = new int[celdas];
+        Arrays.fill(primeraFruta, SIN_FRUTA);
+    }
+
+    private int indice(int fila, int columna) {
+        return mapa.indice(fila, columna);
+    }
+
+    /**
+     * Reconstruye el índice de frutas a partir de la lista del nivel.
+     *
+     * @param frutas frutas del nivel.
+     */
+    public void indexarFrutas(List<Fruta> frutas) {
+        Arrays.fill(primeraFruta, SIN_FRUTA);
+        siguienteFruta = new int[frutas.size()];
+        for (int i = frutas.size() - 1; i >= 0; i--) {
+            Posicion p = frutas.get(i).getPosicion();
+            int celda = indice(p.getFila(), p.getColumna());
+            siguienteFruta[i] = primeraFruta[celda];
+            primeraFruta[celda] = i;
+        }
+    }
+
+    /**
+     * Obtiene el índice de la primera fruta ubicada en una celda.
+     *
+     * @param fila    fila de la celda.
+     * @param columna columna de la celda.
+     * @return índice de la fruta en la lista del nivel, o -1 si no hay ninguna.
+     */
+    public int primeraFrutaEn(int fila, int columna) {
+        return mapa.dentro(fila, columna) ? primeraFruta[indice(fila, columna)] : SIN_FRUTA;
+    }
+
+    /**
+     * Obtiene el índice de la primera fruta ubicada en una celda.
+     *
+     * @param celda índice de la celda en el arreglo de terreno.
+     * @return índice de la fruta en la lista del nivel, o -1 si no hay ninguna.
+     */
+    public int primeraFrutaEnCelda(int celda) {
+        return primeraFruta[celda];
+    }
+
+    /**
+     * Obtiene la siguiente fruta ubicada en la misma celda que la fruta dada.
+     *
+     * @param indiceFruta índice de una fruta devuelto por este índice.
+     * @return índice de la siguiente fruta de la celda, o -1 si no hay más.
+     */
+    public int siguienteFrutaEnCelda(int indiceFruta) {
+        return siguienteFruta[indiceFruta];
+    }
+
+    /**
+     * Registra un enemigo en la celda indicada.
+     *
+     * @param fila    fila de la celda.
+     * @param columna columna de la celda.
+     */
+    public void agregarEnemigo(int fila, int columna) {
+        enemigos[indice(fila, columna)]++;
+    }
+
+    /**
+     * Actualiza el índice cuando un enemigo cambia de celda.
+     *
+     * @param filaAnterior    fila de la que sale el enemigo.
+     * @param columnaAnterior columna de la que sale el enemigo.
+     * @param filaNueva       fila a la que llega el enemigo.
+     * @param columnaNueva    columna a la que llega el enemigo.
+     */
+    public void moverEnemigo(int filaAnterior, int columnaAnterior, int filaNueva, int columnaNueva) {
+        enemigos[indice(filaAnterior, columnaAnterior)]--;
+        enemigos[indice(filaNueva, columnaNueva)]++;
+    }
+
+    /**
+     * Indica si hay al menos un enemigo en la celda.
+     *
+     * @param fila    fila de la celda.
+     * @param columna columna de la celda.
+     * @return {@code true} si hay algún enemigo en la celda.
+     */
+    public boolean hayEnemigoEn(int fila, int columna) {
+        return mapa.dentro(fila, columna) && enemigos[indice(fila, columna)] > 0;
+    }
+
+    /**
+     * Indica si hay al menos un enemigo en la celda.
+     *
+     * @param celda índice de la celda en el arreglo de terreno.
+     * @return {@code true} si hay algún enemigo en la celda.
+     */
+    public boolean hayEnemigoEnCelda(int celda) {
+        return enemigos[celda] > 0;
+    }
+
+    /**
+     * Elimina todos los enemigos registrados.
+     */
+    public void limpiar() {
+        Arrays.fill(enemigos, 0);
+    }
+}
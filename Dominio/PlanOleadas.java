@@ -0,0 +1,207 @@
+package Dominio;
+
+import java.util.List;
+
+/**
+ * Planificador de oleadas de frutas de un nivel.
+ * Cada oleada es un conjunto de índices precalculado sobre la lista de
+ * frutas del nivel y lleva un contador de frutas pendientes. Cuando el
+ * contador de la oleada actual llega a cero, la siguiente oleada se activa
+ * de una sola vez, sin recorrer el resto de frutas.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class PlanOleadas {
+
+    /**
+     * Índices de las frutas de cada oleada.
+     */
+    private final int[][] frutasPorOleada;
+
+    /**
+     * Oleada a la que pertenece cada fruta.
+     */
+    private final int[] oleadaDeFruta;
+
+    /**
+     * Frutas sin recolectar de cada oleada.
+     */
+    private final int[] restantes;
+
+    /**
+     * Oleada actual, empezando en 0.
+     */
+    private int actual;
+
+    /**
+     * Crea un plan a partir de la oleada asignada a cada fruta.
+     *
+     * @param oleadaDeFruta  oleada de cada fruta, en el mismo orden que la lista de frutas.
+     * @param numeroOleadas  cantidad de oleadas del nivel.
+     */
+    public PlanOleadas(int[] oleadaDeFruta, int numeroOleadas) {
+        this.oleadaDeFruta = oleadaDeFruta.clone();
+        this.restantes = new int[numeroOleadas];
+        this.frutasPorOleada = new int[numeroOleadas][];
+
+        for (int oleada : oleadaDeFruta) {
+            if (oleada < 0 || oleada >= numeroOleadas) {
+                throw new IllegalArgumentException("Oleada fuera de rango: " + oleada);
+            }
+            restantes[oleada]++;
+        }
+        int[] llenado = new int[numeroOleadas];
+        for (int w = 0; w < numeroOleadas; w++) {
+            frutasPorOleada[w] = new int[restantes[w]];
+        }
+        for (int i = 0; i < oleadaDeFruta.length; i++) {
+            int w = oleadaDeFruta[i];
+            frutasPorOleada[w][llenado[w]++] = i;
+        }
+        this.actual = 0;
+    }
+
+    /**
+     * Crea una copia independiente del avance de otro plan. La asignación
+     * de frutas a oleadas no cambia, así que se comparte.
+     *
+     * @param otro plan a copiar.
+     */
+    public PlanOleadas(PlanOleadas otro) {
+        this.oleadaDeFruta = otro.oleadaDeFruta;
+        this.frutasPorOleada = otro.frutasPorOleada;
+        this.restantes = otro.restantes.clone();
+        this.actual = otro.actual;
+    }
+
+    /**
+     * Crea un plan en el que cada oleada agrupa las frutas de un tipo,
+     * en el orden de tipos indicado.
+     *
+     * @param frutas frutas del nivel.
+     * @param orden  tipos de fruta de cada oleada, de la primera a la última.
+     * @return plan de oleadas por tipo.
+     */
+    public static PlanOleadas porTipo(List<Fruta> frutas, TipoFruta... orden) {
+        int[] oleadaPorTipo = new int[TipoFruta.values().length];
+        for (int w = 0; w < orden.length; w++) {
+            oleadaPorTipo[orden[w].ordinal()] = w;
+        }
+        int[] oleadaDeFruta = new int[frutas.size()];
+        for (int i = 0; i < frutas.size(); i++) {
+            oleadaDeFruta[i] = oleadaPorTipo[frutas.get(i).getTipo().ordinal()];
+        }
+        return new PlanOleadas(oleadaDeFruta, orden.length);
+    }
+
+    /**
+     * Deja activa solo la primera oleada y descuenta las frutas
+     * que ya estuvieran recolectadas.
+     *
+     * @param frutas frutas del nivel.
+     */
+    public void iniciar(List<Fruta> frutas) {
+        actual = 0;
+        for (int i = 0; i < frutas.size(); i++) {
+            Fruta f = frutas.get(i);
+            if (oleadaDeFruta[i] == 0) {
+                f.activar();
+            } else {
+                f.desactivar();
+            }
+            if (f.estaRecolectada()) {
+                restantes[oleadaDeFruta[i]]--;
+            }
+        }
+        avanzarSiCompleta(frutas);
+    }
+
+    /**
+     * Registra la recolección de una fruta y, si con ella se completa la
+     * oleada actual, activa las siguientes oleadas pendientes.
+     *
+     * @param indiceFruta índice de la fruta recolectada.
+     * @param frutas      frutas del nivel.
+     * @return {@code true} si se activó una nueva oleada.
+     */
+    public boolean frutaRecolectada(int indiceFruta, List<Fruta> frutas) {
+        restantes[oleadaDeFruta[indiceFruta]]--;
+        return avanzarSiCompleta(frutas);
+    }
+
+    /**
+     * Activa oleadas consecutivas mientras la actual no tenga frutas pendientes.
+     *
+     * @param frutas frutas del nivel.
+     * @return {@code true} si se activó al menos una oleada.
+     */
+    private boolean avanzarSiCompleta(List<Fruta> frutas) {
+        boolean cambio = false;
+        while (restantes[actual] == 0 && actual + 1 < restantes.length) {
+            actual++;
+            for (int i : frutasPorOleada[actual]) {
+                frutas.get(i).activar();
+            }
+            cambio = true;
+        }
+        return cambio;
+    }
+
+    /**
+     * Obtiene la oleada actual, empezando en 0.
+     *
+     * @return índice de la oleada actual.
+     */
+    public int getActual() {
+        return actual;
+    }
+
+    /**
+     * Obtiene la cantidad de oleadas del plan.
+     *
+     * @return número de oleadas.
+     */
+    public int getNumeroOleadas() {
+        return restantes.length;
+    }
+
+    /**
+     * Obtiene las frutas pendientes de la oleada actual.
+     *
+     * @return frutas sin recolectar de la oleada actual.
+     */
+    public int getRestantesOleadaActual() {
+        return restantes[actual];
+    }
+
+    /**
+     * Copia las frutas pendientes de cada oleada en el arreglo indicado.
+     *
+     * @param destino arreglo con {@link #getNumeroOleadas()} posiciones.
+     */
+    public void guardarRestantes(int[] destino) {
+        System.arraycopy(restantes, 0, destino, 0, restantes.length);
+    }
+
+    /**
+     * Vuelve a un avance guardado antes. No activa ni desactiva frutas:
+     * quien restaura es responsable de restaurar también su estado.
+     *
+     * @param restantesGuardadas frutas pendientes de cada oleada.
+     * @param actual             oleada actual, empezando en 0.
+     */
+    public void restaurar(int[] restantesGuardadas, int actual) {
+        System.arraycopy(restantesGuardadas, 0, restantes, 0, restantes.length);
+        this.actual = actual;
+    }
+
+    /**
+     * Obtiene los índices de las frutas de una oleada.
+     * El arreglo devuelto no debe modificarse.
+     *
+     * @param oleada índice de la oleada.
+     * @return índices de las frutas de la oleada.
+     */
+    public int[] getFrutasDeOleada(int oleada) {
+        return frutasPorOleada[oleada];
+    }
+}
@@ -0,0 +1,543 @@
+package Dominio;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Control del helado que planifica el camino hacia la fruta activa más
+ * cercana de la oleada actual.
+ * Busca con A* sobre pares (celda, paso), de modo que puede esperar o
+ * rodear para no coincidir con las celdas que se predicen para cada
+ * enemigo durante los próximos {@link #HORIZONTE} pasos; más allá de ese
+ * horizonte ignora a los enemigos.
+ * La heurística es la distancia, guardada por fruta, desde cada celda del
+ * mapa. Esos mapas de distancias se calculan una vez y se conservan: cuando
+ * el hielo bloquea celdas las distancias guardadas siguen siendo cotas
+ * inferiores válidas, y cuando el hielo se rompe solo se propagan las
+ * distancias que disminuyen desde las celdas liberadas.
+ * Cada decisión está limitada por un número máximo de expansiones, que no
+ * depende del reloj y mantiene reproducibles las partidas con semilla;
+ * opcionalmente se puede fijar además un tope en nanosegundos. Si el
+ * presupuesto se agota, se sigue el mejor camino parcial encontrado.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class PlanificadorHelado implements ControlHelado {
+
+    /**
+     * Número de pasos de IA durante los que se tienen en cuenta las
+     * posiciones predichas de los enemigos.
+     */
+    public static final int HORIZONTE = 8;
+
+    /**
+     * Expansiones por decisión por defecto; alcanza para recorrer todos
+     * los estados del tablero del nivel 1.
+     */
+    public static final int EXPANSIONES_POR_DEFECTO = 4096;
+
+    private static final int INALCANZABLE = Integer.MAX_VALUE;
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /**
+     * Acción de quedarse en la misma celda, después de las cuatro direcciones.
+     */
+    private static final int ESPERAR = DIRECCIONES.length;
+
+    /**
+     * Cada cuántas expansiones se consulta el reloj si hay tope de tiempo.
+     */
+    private static final int MASCARA_RELOJ = 31;
+
+    private final int maxExpansiones;
+    private long presupuestoNanos;
+
+    private MapaNivel mapa;
+    private int total;
+    private int[] desplazamientos;
+
+    /**
+     * Distancias desde cada fruta, por índice en la lista de frutas del nivel;
+     * {@code null} mientras no se hayan necesitado.
+     */
+    private int[][] distanciasFruta = new int[0][];
+
+    /**
+     * Estado libre de cada celda en la versión del mapa ya incorporada.
+     */
+    private boolean[] libreConocida;
+    private int versionConocida;
+    private int[] liberadas;
+    private int[] colaPropagacion;
+    private boolean[] enCola;
+
+    private int[] heuristica;
+    private int[] marcaObjetivo;
+    private int[] marcaEnemigo;
+    private int[] marcaCerrado;
+    private int[] marcaCosto;
+    private int[] costo;
+    private byte[] primerPaso;
+    private int[] prediccion;
+    private int sello;
+
+    private int[] monticuloEstado;
+    private int[] monticuloCosto;
+    private int[] monticuloClave;
+    private int tamanoMonticulo;
+
+    /**
+     * Mayor que cualquier costo posible, para ordenar por costo estimado
+     * y desempatar por pasos dados en una sola clave entera.
+     */
+    private int factorClave;
+
+    private long decisiones;
+    private long busquedasCompletas;
+    private long parchesIncrementales;
+    private long busquedasAgotadas;
+    private int expansionesUltima;
+    private long nanosUltima;
+    private long nanosMaximo;
+
+    /**
+     * Crea un planificador con el presupuesto de expansiones por defecto.
+     */
+    public PlanificadorHelado() {
+        this(EXPANSIONES_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un planificador con el presupuesto de expansiones indicado.
+     *
+     * @param maxExpansiones estados que puede expandir como máximo cada decisión.
+     */
+    public PlanificadorHelado(int maxExpansiones) {
+        this.maxExpansiones = maxExpansiones;
+    }
+
+    /**
+     * Fija un tope de tiempo por decisión, además del de expansiones.
+     * Con un tope de tiempo el resultado puede depender de la velocidad
+     * de la máquina, por lo que no conviene usarlo en partidas que deban
+     * reproducirse.
+     *
+     * @param presupuestoNanos nanosegundos por decisión, o 0 para no limitar.
+     */
+    public void setPresupuestoNanos(long presupuestoNanos) {
+        this.presupuestoNanos = presupuestoNanos;
+    }
+
+    /**
+     * Decide el siguiente paso del camino hacia la fruta activa más cercana.
+     *
+     * @param nivel nivel en el que se encuentra el helado.
+     * @return primer paso del camino, o {@code null} si conviene esperar
+     *         o no hay fruta alcanzable.
+     */
+    @Override
+    public Direccion decidir(Nivel nivel) {
+        long inicio = System.nanoTime();
+        preparar(nivel.getMapa());
+        sincronizarMapa();
+        sello++;
+
+        Direccion decision = null;
+        if (calcularHeuristica(nivel)) {
+            marcarEnemigos(nivel);
+            decision = buscar(mapa.indiceDe(nivel.getHelado().getCelda()), inicio);
+        }
+
+        decisiones++;
+        nanosUltima = System.nanoTime() - inicio;
+        nanosMaximo = Math.max(nanosMaximo, nanosUltima);
+        return decision;
+    }
+
+    /**
+     * Obtiene el número de decisiones tomadas.
+     *
+     * @return decisiones desde la creación del planificador.
+     */
+    public long getDecisiones() {
+        return decisiones;
+    }
+
+    /**
+     * Obtiene cuántos mapas de distancias se calcularon desde cero.
+     *
+     * @return búsquedas completas realizadas.
+     */
+    public long getBusquedasCompletas() {
+        return busquedasCompletas;
+    }
+
+    /**
+     * Obtiene cuántas veces se corrigieron los mapas de distancias guardados
+     * tras liberarse celdas, sin recalcularlos.
+     *
+     * @return correcciones incrementales realizadas.
+     */
+    public long getParchesIncrementales() {
+        return parchesIncrementales;
+    }
+
+    /**
+     * Obtiene cuántas decisiones agotaron su presupuesto antes de llegar a una fruta.
+     *
+     * @return búsquedas interrumpidas.
+     */
+    public long getBusquedasAgotadas() {
+        return busquedasAgotadas;
+    }
+
+    /**
+     * Obtiene los estados expandidos en la última decisión.
+     *
+     * @return expansiones de la última búsqueda.
+     */
+    public int getExpansionesUltima() {
+        return expansionesUltima;
+    }
+
+    /**
+     * Obtiene el tiempo que tomó la última decisión.
+     *
+     * @return nanosegundos de la última decisión.
+     */
+    public long getNanosUltima() {
+        return nanosUltima;
+    }
+
+    /**
+     * Obtiene el mayor tiempo que ha tomado una decisión.
+     *
+     * @return nanosegundos de la decisión más lenta.
+     */
+    public long getNanosMaximo() {
+        return nanosMaximo;
+    }
+
+    /**
+     * Reserva las estructuras para el mapa indicado si es distinto del anterior.
+     */
+    private void preparar(MapaNivel nuevo) {
+        if (nuevo == mapa) {
+            return;
+        }
+        mapa = nuevo;
+        total = mapa.getTotalCeldas();
+        desplazamientos = new int[DIRECCIONES.length];
+        for (Direccion d : DIRECCIONES) {
+            desplazamientos[d.ordinal()] = mapa.desplazamiento(d);
+        }
+        distanciasFruta = new int[0][];
+
+        libreConocida = new boolean[total];
+        for (int c = 0; c < total; c++) {
+            libreConocida[c] = mapa.estaLibre(c);
+        }
+        versionConocida = mapa.getVersion();
+        liberadas = new int[total];
+        colaPropagacion = new int[total];
+        enCola = new boolean[total];
+
+        int estados = total * (HORIZONTE + 1);
+        heuristica = new int[total];
+        marcaObjetivo = new int[total];
+        marcaEnemigo = new int[estados];
+        marcaCerrado = new int[estados];
+        marcaCosto = new int[estados];
+        costo = new int[estados];
+        primerPaso = new byte[estados];
+        prediccion = new int[HORIZONTE - 1];
+        sello = 0;
+
+        factorClave = HORIZONTE + total + 1;
+        int capacidad = estados * (DIRECCIONES.length + 1) + 1;
+        monticuloEstado = new int[capacidad];
+        monticuloCosto = new int[capacidad];
+        monticuloClave = new int[capacidad];
+    }
+
+    /**
+     * Incorpora los cambios del mapa desde la última decisión. Las celdas
+     * que se bloquearon no exigen nada; las que se liberaron se propagan
+     * en cada mapa de distancias guardado.
+     */
+    private void sincronizarMapa() {
+        if (mapa.getVersion() == versionConocida) {
+            return;
+        }
+        versionConocida = mapa.getVersion();
+        int cantidad = 0;
+        for (int c = 0; c < total; c++) {
+            boolean libre = mapa.estaLibre(c);
+            if (libre && !libreConocida[c]) {
+                liberadas[cantidad++] = c;
+            }
+            libreConocida[c] = libre;
+        }
+        if (cantidad == 0) {
+            return;
+        }
+        for (int[] distancias : distanciasFruta) {
+            if (distancias != null) {
+                propagarLiberadas(distancias, cantidad);
+                parchesIncrementales++;
+            }
+        }
+    }
+
+    /**
+     * Reduce las distancias de un mapa a partir de las celdas liberadas,
+     * propagando solo las mejoras con una cola de corrección.
+     */
+    private void propagarLiberadas(int[] distancias, int cantidad) {
+        int inicio = 0;
+        int encolados = 0;
+        for (int i = 0; i < cantidad; i++) {
+            int celda = liberadas[i];
+            int mejor = INALCANZABLE;
+            for (int desplazamiento : desplazamientos) {
+                mejor = Math.min(mejor, distancias[celda + desplazamiento]);
+            }
+            if (mejor != INALCANZABLE && mejor + 1 < distancias[celda]) {
+                distancias[celda] = mejor + 1;
+                encolar(celda, inicio, encolados++);
+            }
+        }
+        while (encolados > 0) {
+            int actual = colaPropagacion[inicio];
+            enCola[actual] = false;
+            inicio = (inicio + 1) % total;
+            encolados--;
+            int siguiente = distancias[actual] + 1;
+            for (int desplazamiento : desplazamientos) {
+                int vecina = actual + desplazamiento;
+                if (mapa.estaLibre(vecina) && siguiente < distancias[vecina]) {
+                    distancias[vecina] = siguiente;
+                    if (!enCola[vecina]) {
+                        encolar(vecina, inicio, encolados++);
+                    }
+                }
+            }
+        }
+    }
+
+    private void encolar(int celda, int inicio, int encolados) {
+        colaPropagacion[(inicio + encolados) % total] = celda;
+        enCola[celda] = true;
+    }
+
+    /**
+     * Obtiene el mapa de distancias de una fruta, calculándolo si es la
+     * primera vez que se necesita.
+     */
+    private int[] distanciasDe(int indiceFruta, int celdaFruta) {
+        if (indiceFruta >= distanciasFruta.length) {
+            distanciasFruta = Arrays.copyOf(distanciasFruta, indiceFruta + 1);
+        }
+        int[] distancias = distanciasFruta[indiceFruta];
+        if (distancias == null) {
+            distancias = new int[total];
+            calcularDistancias(distancias, celdaFruta);
+            distanciasFruta[indiceFruta] = distancias;
+        }
+        return distancias;
+    }
+
+    /**
+     * Búsqueda en anchura completa desde la celda de una fruta.
+     */
+    private void calcularDistancias(int[] distancias, int origen) {
+        busquedasCompletas++;
+        Arrays.fill(distancias, INALCANZABLE);
+        int inicio = 0;
+        int fin = 0;
+        distancias[origen] = 0;
+        colaPropagacion[fin++] = origen;
+        while (inicio < fin) {
+            int actual = colaPropagacion[inicio++];
+            int siguiente = distancias[actual] + 1;
+            for (int desplazamiento : desplazamientos) {
+                int vecina = actual + desplazamiento;
+                if (distancias[vecina] == INALCANZABLE && mapa.estaLibre(vecina)) {
+                    distancias[vecina] = siguiente;
+                    colaPropagacion[fin++] = vecina;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marca como objetivos las celdas de las frutas activas y calcula, para
+     * cada celda, la menor distancia guardada hasta alguna de ellas.
+     *
+     * @return {@code true} si hay al menos una fruta activa.
+     */
+    private boolean calcularHeuristica(Nivel nivel) {
+        Arrays.fill(heuristica, INALCANZABLE);
+        boolean hayObjetivo = false;
+        List<Fruta> frutas = nivel.getFrutas();
+        for (int i = 0; i < frutas.size(); i++) {
+            Fruta f = frutas.get(i);
+            if (!f.estaActiva() || f.estaRecolectada()) {
+                continue;
+            }
+            int celda = mapa.indiceDe(f.getPosicion().getCelda());
+            int[] distancias = distanciasDe(i, celda);
+            for (int c = 0; c < total; c++) {
+                if (distancias[c] < heuristica[c]) {
+                    heuristica[c] = distancias[c];
+                }
+            }
+            marcaObjetivo[celda] = sello;
+            hayObjetivo = true;
+        }
+        return hayObjetivo;
+    }
+
+    /**
+     * Marca las celdas que se predicen ocupadas por algún enemigo en cada
+     * paso del horizonte. El nivel mueve a los enemigos antes que al helado,
+     * así que el primer paso del helado se compara con las posiciones
+     * actuales y cada paso siguiente con un movimiento más de los enemigos.
+     */
+    private void marcarEnemigos(Nivel nivel) {
+        List<Enemigo> enemigos = nivel.getEnemigos();
+        for (int i = 0; i < enemigos.size(); i++) {
+            Enemigo e = enemigos.get(i);
+            marcaEnemigo[total + mapa.indiceDe(e.getCelda())] = sello;
+            e.predecir(nivel, prediccion, HORIZONTE - 1);
+            for (int t = 0; t < HORIZONTE - 1; t++) {
+                marcaEnemigo[(t + 2) * total + mapa.indiceDe(prediccion[t])] = sello;
+            }
+        }
+    }
+
+    /**
+     * A* desde la celda del helado hasta cualquier celda objetivo.
+     * El costo de un estado es el número de pasos dados; a partir del
+     * horizonte los estados dejan de distinguir el paso.
+     */
+    private Direccion buscar(int origen, long inicio) {
+        tamanoMonticulo = 0;
+        expansionesUltima = 0;
+        int mejorEstado = -1;
+        int mejorHeuristica = INALCANZABLE;
+
+        marcaCosto[origen] = sello;
+        costo[origen] = 0;
+        insertar(origen, 0, heuristica[origen]);
+        while (tamanoMonticulo > 0) {
+            int estado = monticuloEstado[0];
+            int g = monticuloCosto[0];
+            extraer();
+            if (marcaCerrado[estado] == sello) {
+                continue;
+            }
+            marcaCerrado[estado] = sello;
+            int celda = estado % total;
+
+            if (g > 0) {
+                if (marcaObjetivo[celda] == sello) {
+                    return accion(primerPaso[estado]);
+                }
+                if (heuristica[celda] < mejorHeuristica) {
+                    mejorHeuristica = heuristica[celda];
+                    mejorEstado = estado;
+                }
+            }
+            if (++expansionesUltima > maxExpansiones || tiempoAgotado(inicio)) {
+                busquedasAgotadas++;
+                break;
+            }
+
+            int siguiente = g + 1;
+            int capa = Math.min(siguiente, HORIZONTE) * total;
+            for (int a = 0; a <= ESPERAR; a++) {
+                int vecina = a == ESPERAR ? celda : celda + desplazamientos[a];
+                if (heuristica[vecina] == INALCANZABLE || (a != ESPERAR && !mapa.estaLibre(vecina))) {
+                    continue;
+                }
+                int nuevo = capa + vecina;
+                if (siguiente <= HORIZONTE && marcaEnemigo[nuevo] == sello) {
+                    continue;
+                }
+                if (marcaCerrado[nuevo] == sello
+                        || (marcaCosto[nuevo] == sello && costo[nuevo] <= siguiente)) {
+                    continue;
+                }
+                marcaCosto[nuevo] = sello;
+                costo[nuevo] = siguiente;
+                primerPaso[nuevo] = g == 0 ? (byte) a : primerPaso[estado];
+                insertar(nuevo, siguiente, siguiente + heuristica[vecina]);
+            }
+        }
+        return mejorEstado < 0 ? null : accion(primerPaso[mejorEstado]);
+    }
+
+    private boolean tiempoAgotado(long inicio) {
+        return presupuestoNanos > 0
+                && (expansionesUltima & MASCARA_RELOJ) == 0
+                && System.nanoTime() - inicio > presupuestoNanos;
+    }
+
+    private static Direccion accion(int a) {
+        return a == ESPERAR ? null : DIRECCIONES[a];
+    }
+
+    /**
+     * Inserta un estado en el montículo. A igual costo estimado se prefiere
+     * el estado con más pasos dados, que está más cerca de la meta.
+     */
+    private void insertar(int estado, int g, int f) {
+        int clave = f * factorClave - g;
+        int i = tamanoMonticulo++;
+        while (i > 0) {
+            int padre = (i - 1) >> 1;
+            if (monticuloClave[padre] <= clave) {
+                break;
+            }
+            mover(padre, i);
+            i = padre;
+        }
+        monticuloEstado[i] = estado;
+        monticuloCosto[i] = g;
+        monticuloClave[i] = clave;
+    }
+
+    private void extraer() {
+        int ultimo = --tamanoMonticulo;
+        if (ultimo == 0) {
+            return;
+        }
+        int estado = monticuloEstado[ultimo];
+        int g = monticuloCosto[ultimo];
+        int clave = monticuloClave[ultimo];
+        int i = 0;
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= ultimo) {
+                break;
+            }
+            if (hijo + 1 < ultimo && monticuloClave[hijo + 1] < monticuloClave[hijo]) {
+                hijo++;
+            }
+            if (monticuloClave[hijo] >= clave) {
+                break;
+            }
+            mover(hijo, i);
+            i = hijo;
+        }
+        monticuloEstado[i] = estado;
+        monticuloCosto[i] = g;
+        monticuloClave[i] = clave;
+    }
+
+    private void mover(int desde, int hasta) {
+        monticuloEstado[hasta] = monticuloEstado[desde];
+        monticuloCosto[hasta] = monticuloCosto[desde];
+        monticuloClave[hasta] = monticuloClave[desde];
+    }
+}
@@ -15,6 +15,20 @@ public class Platano extends Fruta {
         super(pos);
     }
 
+    private Platano(Platano otra) {
+        super(otra);
+    }
+
+    /**
+     * Crea una copia independiente de el plátano.
+     *
+     * @return copia con la misma posición y estado.
+     */
+    @Override
+    public Fruta copiar() {
+        return new Platano(this);
+    }
+
     /**
      * Devuelve los puntos que otorga el plátano al ser recolectado.
      *
@@ -24,4 +38,14 @@ public class Platano extends Fruta {
     public int getPuntos() {
         return 100;
     }
+
+    /**
+     * Devuelve el tipo de fruta.
+     *
+     * @return {@link TipoFruta#PLATANO}.
+     */
+    @Override
+    public TipoFruta getTipo() {
+        return TipoFruta.PLATANO;
+    }
 }
@@ -3,12 +3,15 @@ package Dominio;
 /**
  * Representa una posición discreta dentro del tablero del juego,
  * utilizando coordenadas de fila y columna.
+ * Internamente guarda ambas en un solo entero empaquetado con {@link Celda}.
+ * Es un valor inmutable: las entidades guardan su propia celda y al
+ * consultarlas entregan una posición nueva, de modo que nadie puede mover
+ * a una entidad modificando una posición compartida.
  * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
  */
-public class Posicion {
+public final class Posicion {
 
-    private int fila;
-    private int columna;
+    private final int celda;
 
     /**
      * Crea una posición a partir de una fila y una columna.
@@ -17,44 +20,57 @@ public class Posicion {
      * @param columna índice de la columna.
      */
     public Posicion(int fila, int columna) {
-        this.fila = fila;
-        this.columna = columna;
+        this.celda = Celda.de(fila, columna);
     }
 
     /**
-     * Obtiene la fila de la posición.
+     * Crea una posición a partir de una coordenada empaquetada.
      *
-     * @return índice de la fila.
+     * @param celda coordenada empaquetada según {@link Celda}.
+     * @return posición con esa fila y columna.
      */
-    public int getFila() {
-        return fila;
+    public static Posicion deCelda(int celda) {
+        return new Posicion(celda);
+    }
+
+    private Posicion(int celda) {
+        this.celda = celda;
     }
 
     /**
-     * Obtiene la columna de la posición.
+     * Crea una posición con las mismas coordenadas que otra.
      *
-     * @return índice de la columna.
+     * @param otra posición a copiar.
      */
-    public int getColumna() {
-        return columna;
+    public Posicion(Posicion otra) {
+        this.celda = otra.celda;
     }
 
     /**
-     * Actualiza la fila de la posición.
+     * Obtiene la fila y la columna empaquetadas en un solo entero.
      *
-     * @param fila nueva fila.
+     * @return coordenada empaquetada según {@link Celda}.
      */
-    public void setFila(int fila) {
-        this.fila = fila;
+    public int getCelda() {
+        return celda;
     }
 
     /**
-     * Actualiza la columna de la posición.
+     * Obtiene la fila de la posición.
      *
-     * @param columna nueva columna.
+     * @return índice de la fila.
      */
-    public void setColumna(int columna) {
-        this.columna = columna;
+    public int getFila() {
+        return Celda.fila(celda);
+    }
+
+    /**
+     * Obtiene la columna de la posición.
+     *
+     * @return índice de la columna.
+     */
+    public int getColumna() {
+        return Celda.columna(celda);
     }
 
     /**
@@ -65,6 +81,21 @@ public class Posicion {
      *         {@code false} en caso contrario.
      */
     public boolean mismaPosicion(Posicion otra) {
-        return this.fila == otra.fila && this.columna == otra.columna;
+        return this.celda == otra.celda;
+    }
+
+    @Override
+    public boolean equals(Object otro) {
+        return otro instanceof Posicion && ((Posicion) otro).celda == celda;
+    }
+
+    @Override
+    public int hashCode() {
+        return celda;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + getFila() + ", " + getColumna() + ")";
     }
 }
@@ -0,0 +1,346 @@
+package Dominio;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Repetición de una partida: la semilla, la configuración y la secuencia de
+ * entradas del jugador, suficientes para volver a simular la partida
+ * exacta, ya que el resto del nivel es determinista a partir de la semilla.
+ * <p>
+ * El formato binario empieza con una cabecera (magia {@code BDCR}, versión,
+ * semilla, modalidad, número de nivel, ticks por segundo, sabor y ticks
+ * totales) seguida de los eventos. Cada evento ocupa normalmente un solo
+ * byte: los 3 bits bajos dicen qué ocurrió (una de las cuatro direcciones
+ * del helado, la acción de hielo o el movimiento de un enemigo) y los 5 bits
+ * altos cuántos ticks pasaron desde el evento anterior. Las esperas de más de 30 ticks y los
+ * datos del enemigo siguen como enteros de longitud variable de 7 bits por
+ * byte. Como los ticks sin entradas no ocupan nada, una partida de tres
+ * minutos cabe en unos pocos cientos de bytes.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class Repeticion {
+
+    /**
+     * Versión del formato binario que se escribe. La versión 1, anterior a
+     * los niveles en archivos, no guardaba el número de nivel y siempre
+     * corresponde al nivel 1.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * Bytes {@code BDCR} con los que empieza todo archivo de repetición.
+     */
+    static final int MAGIA = 0x42444352;
+
+    static final int BITS_CODIGO = 3;
+    static final int MASCARA_CODIGO = (1 << BITS_CODIGO) - 1;
+
+    /**
+     * Espera máxima, en ticks, que cabe en los 5 bits altos del byte de evento.
+     */
+    static final int SALTO_DIRECTO_MAXIMO = 30;
+
+    /**
+     * Valor de los 5 bits altos que indica que la espera sigue como varint.
+     */
+    static final int SALTO_EXTENDIDO = 31;
+
+    /**
+     * Códigos de evento; del 0 al 3 son movimientos del helado indexados
+     * por {@link Direccion#ordinal()}.
+     */
+    static final int CODIGO_HIELO = 4;
+    static final int CODIGO_ENEMIGO = 5;
+
+    private static final ModalidadJuego[] MODALIDADES = ModalidadJuego.values();
+
+    private final String saborHelado;
+    private final ModalidadJuego modalidad;
+    private final long semilla;
+    private final int numeroNivel;
+    private final int ticksPorSegundo;
+    private final long ticks;
+    private final int cantidadEventos;
+
+    /**
+     * Eventos codificados, sin la cabecera.
+     */
+    private final byte[] eventos;
+
+    /**
+     * Crea una repetición a partir de sus eventos ya codificados.
+     *
+     * @param saborHelado     sabor del helado.
+     * @param modalidad       modalidad de la partida.
+     * @param semilla         semilla del nivel.
+     * @param numeroNivel     número del nivel.
+     * @param ticksPorSegundo frecuencia de simulación de la partida.
+     * @param ticks           ticks jugados.
+     * @param cantidadEventos número de eventos codificados.
+     * @param eventos         eventos codificados; la repetición se queda con el arreglo.
+     */
+    Repeticion(String saborHelado, ModalidadJuego modalidad, long semilla, int numeroNivel,
+               int ticksPorSegundo, long ticks, int cantidadEventos, byte[] eventos) {
+        this.saborHelado = saborHelado;
+        this.modalidad = modalidad;
+        this.semilla = semilla;
+        this.numeroNivel = numeroNivel;
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.ticks = ticks;
+        this.cantidadEventos = cantidadEventos;
+        this.eventos = eventos;
+    }
+
+    /**
+     * Decodifica una repetición escrita con {@link #aBytes()}.
+     *
+     * @param datos bytes de la repetición.
+     * @return repetición leída.
+     * @throws IllegalArgumentException si los datos no tienen el formato esperado.
+     */
+    public static Repeticion leer(byte[] datos) {
+        ByteBuffer entrada = ByteBuffer.wrap(datos);
+        try {
+            if (entrada.getInt() != MAGIA) {
+                throw new IllegalArgumentException("No es un archivo de repetición");
+            }
+            int version = entrada.get();
+            if (version != 1 && version != VERSION) {
+                throw new IllegalArgumentException("Versión de repetición no soportada: " + version);
+            }
+            long semilla = entrada.getLong();
+            int modalidad = entrada.get();
+            if (modalidad < 0 || modalidad >= MODALIDADES.length) {
+                throw new IllegalArgumentException("Modalidad desconocida: " + modalidad);
+            }
+            int numeroNivel = version == 1 ? 1 : (int) leerVarint(entrada);
+            int ticksPorSegundo = (int) leerVarint(entrada);
+            byte[] sabor = new byte[(int) leerVarint(entrada)];
+            entrada.get(sabor);
+            long ticks = leerVarint(entrada);
+            int cantidadEventos = (int) leerVarint(entrada);
+            byte[] eventos = new byte[entrada.remaining()];
+            entrada.get(eventos);
+            return new Repeticion(new String(sabor, StandardCharsets.UTF_8), MODALIDADES[modalidad],
+                    semilla, numeroNivel, ticksPorSegundo, ticks, cantidadEventos, eventos);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Repetición incompleta", e);
+        }
+    }
+
+    /**
+     * Lee una repetición de un archivo.
+     *
+     * @param archivo ruta del archivo.
+     * @return repetición leída.
+     * @throws IOException si falla la lectura.
+     */
+    public static Repeticion cargar(Path archivo) throws IOException {
+        return leer(Files.readAllBytes(archivo));
+    }
+
+    /**
+     * Escribe la repetición en un archivo, reemplazándolo si existe.
+     *
+     * @param archivo ruta del archivo.
+     * @throws IOException si falla la escritura.
+     */
+    public void guardar(Path archivo) throws IOException {
+        Files.write(archivo, aBytes());
+    }
+
+    /**
+     * Codifica la repetición completa, cabecera incluida.
+     *
+     * @return bytes de la repetición.
+     */
+    public byte[] aBytes() {
+        byte[] sabor = saborHelado.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer salida = ByteBuffer.allocate(4 + 1 + 8 + 1 + 5 * 10 + sabor.length + eventos.length);
+        salida.putInt(MAGIA);
+        salida.put((byte) VERSION);
+        salida.putLong(semilla);
+        salida.put((byte) modalidad.ordinal());
+        escribirVarint(salida, numeroNivel);
+        escribirVarint(salida, ticksPorSegundo);
+        escribirVarint(salida, sabor.length);
+        salida.put(sabor);
+        escribirVarint(salida, ticks);
+        escribirVarint(salida, cantidadEventos);
+        salida.put(eventos);
+
+        byte[] datos = new byte[salida.position()];
+        salida.flip();
+        salida.get(datos);
+        return datos;
+    }
+
+    /**
+     * Crea la partida, todavía sin jugar, sobre la que se reproduce la repetición.
+     *
+     * @return partida con la misma configuración y semilla que la original.
+     */
+    public Juego crearJuego() {
+        Juego juego = new Juego(saborHelado, modalidad, semilla, numeroNivel);
+        juego.setTicksPorSegundo(ticksPorSegundo);
+        return juego;
+    }
+
+    /**
+     * Crea un reproductor que vuelve a jugar la repetición tick a tick.
+     *
+     * @return reproductor sobre una partida nueva.
+     */
+    public ReproductorRepeticion crearReproductor() {
+        return new ReproductorRepeticion(this);
+    }
+
+    /**
+     * Vuelve a simular la partida completa, sin interfaz y tan rápido
+     * como lo permita el procesador.
+     *
+     * @return partida en su estado final.
+     */
+    public Juego reproducir() {
+        ReproductorRepeticion reproductor = crearReproductor();
+        while (!reproductor.isTerminado()) {
+            reproductor.avanzarTick();
+        }
+        return reproductor.getJuego();
+    }
+
+    /**
+     * Obtiene el sabor del helado de la partida grabada.
+     *
+     * @return sabor del helado.
+     */
+    public String getSaborHelado() {
+        return saborHelado;
+    }
+
+    /**
+     * Obtiene la modalidad de la partida grabada.
+     *
+     * @return modalidad de juego.
+     */
+    public ModalidadJuego getModalidad() {
+        return modalidad;
+    }
+
+    /**
+     * Obtiene la semilla con la que se creó el nivel grabado.
+     *
+     * @return semilla del nivel.
+     */
+    public long getSemilla() {
+        return semilla;
+    }
+
+    /**
+     * Obtiene el número del nivel grabado.
+     *
+     * @return número de nivel, empezando en 1.
+     */
+    public int getNumeroNivel() {
+        return numeroNivel;
+    }
+
+    /**
+     * Obtiene la frecuencia de simulación con la que se jugó la partida.
+     *
+     * @return ticks por segundo de tiempo de juego.
+     */
+    public int getTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
+    /**
+     * Obtiene la cantidad de ticks que duró la partida grabada.
+     *
+     * @return ticks jugados.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Obtiene la cantidad de entradas grabadas.
+     *
+     * @return eventos de la repetición.
+     */
+    public int getCantidadEventos() {
+        return cantidadEventos;
+    }
+
+    /**
+     * Obtiene una vista de solo lectura de los eventos codificados.
+     *
+     * @return eventos sin la cabecera.
+     */
+    ByteBuffer getEventos() {
+        return ByteBuffer.wrap(eventos).asReadOnlyBuffer();
+    }
+
+    /**
+     * Escribe un entero no negativo en grupos de 7 bits, del menos
+     * significativo al más significativo, con el bit alto de cada byte
+     * indicando que sigue otro.
+     *
+     * @param salida buffer de destino.
+     * @param valor  valor no negativo.
+     */
+    static void escribirVarint(ByteBuffer salida, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            salida.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        salida.put((byte) valor);
+    }
+
+    /**
+     * Lee un entero escrito con {@link #escribirVarint(ByteBuffer, long)}.
+     *
+     * @param entrada buffer de origen.
+     * @return valor leído.
+     * @throws IllegalArgumentException si el entero tiene más de 64 bits.
+     */
+    static long leerVarint(ByteBuffer entrada) {
+        long valor = 0;
+        for (int desplazamiento = 0; desplazamiento < 64; desplazamiento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Entero variable demasiado largo");
+    }
+
+    /**
+     * Vuelve a simular, sin interfaz y a máxima velocidad, las repeticiones
+     * indicadas y muestra por consola el resultado de cada una y los ticks
+     * por segundo alcanzados.
+     *
+     * @param args rutas de los archivos de repetición.
+     * @throws IOException si no se puede leer alguno de los archivos.
+     */
+    public static void main(String[] args) throws IOException {
+        long ticks = 0;
+        long inicio = System.nanoTime();
+        for (String ruta : args) {
+            Repeticion repeticion = cargar(Path.of(ruta));
+            Nivel nivel = repeticion.reproducir().getNivel();
+            ticks += nivel.getTicksTranscurridos();
+            System.out.printf("%s: %s, puntaje %d, %d ticks, %d eventos%n", ruta,
+                    nivel.isGanado() ? "ganada" : nivel.isPerdido() ? "perdida" : "sin terminar",
+                    nivel.getPuntajeActual(), nivel.getTicksTranscurridos(), repeticion.getCantidadEventos());
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        System.out.printf("Repeticiones: %d en %.3f s -> %.0f ticks/s%n", args.length, segundos, ticks / segundos);
+    }
+}
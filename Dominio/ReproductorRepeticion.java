@@ -0,0 +1,122 @@
+package Dominio;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vuelve a jugar una {@link Repeticion} sobre una partida nueva: antes de
+ * cada tick aplica las entradas grabadas para ese tick, en el mismo orden en
+ * que ocurrieron. Decodifica los eventos a medida que los necesita, sin
+ * crear objetos, de modo que puede avanzar a máxima velocidad sin interfaz o
+ * al ritmo de un {@link HiloSimulacion}.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class ReproductorRepeticion {
+
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    private final Repeticion repeticion;
+    private final Juego juego;
+    private final ByteBuffer eventos;
+
+    private int eventosRestantes;
+
+    /**
+     * Tick en el que se aplica el siguiente evento.
+     */
+    private long tickSiguiente;
+
+    /**
+     * Código del siguiente evento, ya leído de los datos.
+     */
+    private int codigoSiguiente;
+
+    /**
+     * Crea un reproductor sobre una partida nueva con la configuración de
+     * la repetición.
+     *
+     * @param repeticion repetición a reproducir.
+     */
+    public ReproductorRepeticion(Repeticion repeticion) {
+        this.repeticion = repeticion;
+        this.juego = repeticion.crearJuego();
+        this.eventos = repeticion.getEventos();
+        this.eventosRestantes = repeticion.getCantidadEventos();
+        leerSiguiente();
+    }
+
+    /**
+     * Aplica las entradas grabadas para el tick actual y, si la partida
+     * grabada sigue, ejecuta un tick.
+     */
+    public void avanzarTick() {
+        Nivel nivel = juego.getNivel();
+        while (eventosRestantes > 0 && tickSiguiente <= nivel.getTicksTranscurridos()) {
+            aplicarSiguiente();
+        }
+        if (!juego.isTerminado() && nivel.getTicksTranscurridos() < repeticion.getTicks()) {
+            juego.tick();
+        }
+    }
+
+    /**
+     * Indica si ya se reprodujo todo: la partida terminó, o se alcanzó la
+     * duración grabada y no quedan entradas por aplicar.
+     *
+     * @return {@code true} si no queda nada por reproducir.
+     */
+    public boolean isTerminado() {
+        return juego.isTerminado()
+                || (eventosRestantes == 0 && juego.getNivel().getTicksTranscurridos() >= repeticion.getTicks());
+    }
+
+    /**
+     * Obtiene la partida sobre la que se reproduce.
+     *
+     * @return partida reproducida.
+     */
+    public Juego getJuego() {
+        return juego;
+    }
+
+    /**
+     * Obtiene la repetición que se está reproduciendo.
+     *
+     * @return repetición reproducida.
+     */
+    public Repeticion getRepeticion() {
+        return repeticion;
+    }
+
+    private void aplicarSiguiente() {
+        int codigo = codigoSiguiente;
+        if (codigo < DIRECCIONES.length) {
+            juego.moverHeladoJugador(DIRECCIONES[codigo]);
+        } else if (codigo == Repeticion.CODIGO_HIELO) {
+            juego.accionHielo();
+        } else if (codigo == Repeticion.CODIGO_ENEMIGO) {
+            long datos = Repeticion.leerVarint(eventos);
+            juego.moverEnemigoJugador((int) (datos >>> 2), DIRECCIONES[(int) (datos & 3)]);
+        } else {
+            throw new IllegalArgumentException("Evento de repetición desconocido: " + codigo);
+        }
+        eventosRestantes--;
+        leerSiguiente();
+    }
+
+    /**
+     * Lee el byte de evento del siguiente evento y calcula su tick.
+     * Los datos propios del evento se leen al aplicarlo.
+     */
+    private void leerSiguiente() {
+        if (eventosRestantes == 0) {
+            return;
+        }
+        int cabecera = eventos.get() & 0xFF;
+        codigoSiguiente = cabecera & Repeticion.MASCARA_CODIGO;
+        long salto = cabecera >>> Repeticion.BITS_CODIGO;
+        if (salto == Repeticion.SALTO_EXTENDIDO) {
+            salto += Repeticion.leerVarint(eventos);
+        }
+        tickSiguiente += salto;
+    }
+}
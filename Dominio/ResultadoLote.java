@@ -0,0 +1,142 @@
+package Dominio;
+
+/**
+ * Resultado agregado de un conjunto de partidas simuladas.
+ * Es inmutable: cada subtarea del lote produce su propio resultado
+ * y los resultados parciales se combinan sin memoria compartida.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class ResultadoLote {
+
+    /**
+     * Resultado neutro, sin partidas.
+     */
+    public static final ResultadoLote VACIO = new ResultadoLote(0, 0, 0, 0, 0, 0);
+
+    private final int partidas;
+    private final int ganadas;
+    private final int perdidas;
+    private final long puntajeTotal;
+    private final int puntajeMaximo;
+    private final long ticksTotales;
+
+    /**
+     * Crea un resultado con los valores indicados.
+     *
+     * @param partidas      número de partidas jugadas.
+     * @param ganadas       número de partidas ganadas.
+     * @param perdidas      número de partidas perdidas.
+     * @param puntajeTotal  suma de los puntajes obtenidos.
+     * @param puntajeMaximo mayor puntaje obtenido en una partida.
+     * @param ticksTotales  suma de los ticks simulados.
+     */
+    public ResultadoLote(int partidas, int ganadas, int perdidas,
+                         long puntajeTotal, int puntajeMaximo, long ticksTotales) {
+        this.partidas = partidas;
+        this.ganadas = ganadas;
+        this.perdidas = perdidas;
+        this.puntajeTotal = puntajeTotal;
+        this.puntajeMaximo = puntajeMaximo;
+        this.ticksTotales = ticksTotales;
+    }
+
+    /**
+     * Crea el resultado correspondiente a una única partida terminada.
+     *
+     * @param nivel nivel simulado.
+     * @param ticks ticks que duró la partida.
+     * @return resultado de la partida.
+     */
+    public static ResultadoLote dePartida(Nivel nivel, int ticks) {
+        int puntaje = nivel.getPuntajeActual();
+        return new ResultadoLote(1,
+                nivel.isGanado() ? 1 : 0,
+                nivel.isPerdido() ? 1 : 0,
+                puntaje, puntaje, ticks);
+    }
+
+    /**
+     * Combina este resultado con otro, devolviendo un nuevo resultado.
+     *
+     * @param otro resultado a combinar.
+     * @return suma de ambos resultados.
+     */
+    public ResultadoLote combinar(ResultadoLote otro) {
+        return new ResultadoLote(
+                partidas + otro.partidas,
+                ganadas + otro.ganadas,
+                perdidas + otro.perdidas,
+                puntajeTotal + otro.puntajeTotal,
+                Math.max(puntajeMaximo, otro.puntajeMaximo),
+                ticksTotales + otro.ticksTotales);
+    }
+
+    /**
+     * Obtiene la cantidad de partidas simuladas.
+     *
+     * @return partidas del lote.
+     */
+    public int getPartidas() {
+        return partidas;
+    }
+
+    /**
+     * Obtiene la cantidad de partidas ganadas.
+     *
+     * @return partidas ganadas.
+     */
+    public int getGanadas() {
+        return ganadas;
+    }
+
+    /**
+     * Obtiene la cantidad de partidas perdidas.
+     *
+     * @return partidas perdidas.
+     */
+    public int getPerdidas() {
+        return perdidas;
+    }
+
+    /**
+     * Obtiene la suma de los puntajes de todas las partidas.
+     *
+     * @return puntaje total.
+     */
+    public long getPuntajeTotal() {
+        return puntajeTotal;
+    }
+
+    /**
+     * Obtiene el mejor puntaje de una partida del lote.
+     *
+     * @return puntaje máximo.
+     */
+    public int getPuntajeMaximo() {
+        return puntajeMaximo;
+    }
+
+    /**
+     * Obtiene la suma de los ticks simulados en todas las partidas.
+     *
+     * @return ticks totales.
+     */
+    public long getTicksTotales() {
+        return ticksTotales;
+    }
+
+    /**
+     * Calcula el puntaje promedio por partida.
+     *
+     * @return puntaje promedio, o 0 si no hay partidas.
+     */
+    public double getPuntajePromedio() {
+        return partidas == 0 ? 0 : (double) puntajeTotal / partidas;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("partidas=%d ganadas=%d perdidas=%d puntajePromedio=%.1f puntajeMaximo=%d ticks=%d",
+                partidas, ganadas, perdidas, getPuntajePromedio(), puntajeMaximo, ticksTotales);
+    }
+}
@@ -0,0 +1,233 @@
+package Dominio;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto de celdas del tablero empaquetado en bits: cada celda ocupa un
+ * bit de un arreglo de {@code long}, de modo que un tablero de 12x14 cabe en
+ * tres palabras. Permite consultar, marcar y limpiar celdas sueltas y
+ * rellenar o limpiar líneas completas sin crear objetos.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class TableroBits {
+
+    private final int celdas;
+    private final long[] palabras;
+    private int cantidad;
+
+    /**
+     * Crea un conjunto vacío con capacidad para la cantidad de celdas indicada.
+     *
+     * @param celdas número total de celdas del tablero.
+     */
+    public TableroBits(int celdas) {
+        this.celdas = celdas;
+        this.palabras = new long[(celdas + 63) >>> 6];
+        this.cantidad = 0;
+    }
+
+    /**
+     * Crea una copia independiente de otro conjunto.
+     *
+     * @param otro conjunto a copiar.
+     */
+    public TableroBits(TableroBits otro) {
+        this.celdas = otro.celdas;
+        this.palabras = otro.palabras.clone();
+        this.cantidad = otro.cantidad;
+    }
+
+    /**
+     * Obtiene la cantidad de celdas que puede representar el conjunto.
+     *
+     * @return capacidad en celdas.
+     */
+    public int getCeldas() {
+        return celdas;
+    }
+
+    /**
+     * Obtiene la cantidad de celdas marcadas.
+     *
+     * @return número de celdas marcadas.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Indica si la celda está marcada.
+     *
+     * @param celda índice de la celda.
+     * @return {@code true} si la celda está marcada.
+     */
+    public boolean contiene(int celda) {
+        return (palabras[celda >>> 6] & (1L << celda)) != 0;
+    }
+
+    /**
+     * Marca la celda indicada.
+     *
+     * @param celda índice de la celda.
+     * @return {@code true} si la celda no estaba marcada.
+     */
+    public boolean marcar(int celda) {
+        int w = celda >>> 6;
+        long bit = 1L << celda;
+        if ((palabras[w] & bit) != 0) {
+            return false;
+        }
+        palabras[w] |= bit;
+        cantidad++;
+        return true;
+    }
+
+    /**
+     * Desmarca la celda indicada.
+     *
+     * @param celda índice de la celda.
+     * @return {@code true} si la celda estaba marcada.
+     */
+    public boolean limpiar(int celda) {
+        int w = celda >>> 6;
+        long bit = 1L << celda;
+        if ((palabras[w] & bit) == 0) {
+            return false;
+        }
+        palabras[w] &= ~bit;
+        cantidad--;
+        return true;
+    }
+
+    /**
+     * Marca una línea de celdas que empieza en {@code inicio} y avanza
+     * {@code paso} posiciones por celda. Con paso 1 la línea se marca
+     * palabra a palabra mediante máscaras.
+     *
+     * @param inicio   índice de la primera celda.
+     * @param paso     distancia entre celdas consecutivas de la línea (puede ser negativa).
+     * @param longitud número de celdas de la línea.
+     */
+    public void rellenarLinea(int inicio, int paso, int longitud) {
+        if (longitud <= 0) {
+            return;
+        }
+        if (paso == 1 || paso == -1) {
+            int desde = paso == 1 ? inicio : inicio - longitud + 1;
+            aplicarRango(desde, desde + longitud, true);
+            return;
+        }
+        for (int i = 0, celda = inicio; i < longitud; i++, celda += paso) {
+            marcar(celda);
+        }
+    }
+
+    /**
+     * Desmarca una línea de celdas que empieza en {@code inicio} y avanza
+     * {@code paso} posiciones por celda.
+     *
+     * @param inicio   índice de la primera celda.
+     * @param paso     distancia entre celdas consecutivas de la línea (puede ser negativa).
+     * @param longitud número de celdas de la línea.
+     */
+    public void limpiarLinea(int inicio, int paso, int longitud) {
+        if (longitud <= 0) {
+            return;
+        }
+        if (paso == 1 || paso == -1) {
+            int desde = paso == 1 ? inicio : inicio - longitud + 1;
+            aplicarRango(desde, desde + longitud, false);
+            return;
+        }
+        for (int i = 0, celda = inicio; i < longitud; i++, celda += paso) {
+            limpiar(celda);
+        }
+    }
+
+    /**
+     * Marca o desmarca todas las celdas del rango {@code [desde, hasta)}.
+     *
+     * @param desde  primera celda del rango.
+     * @param hasta  celda siguiente a la última del rango.
+     * @param marcar {@code true} para marcar, {@code false} para desmarcar.
+     */
+    private void aplicarRango(int desde, int hasta, boolean marcar) {
+        int w = desde >>> 6;
+        int ultima = (hasta - 1) >>> 6;
+        for (; w <= ultima; w++) {
+            long mascara = -1L;
+            if (w == desde >>> 6) {
+                mascara &= -1L << desde;
+            }
+            if (w == ultima) {
+                mascara &= -1L >>> (63 - ((hasta - 1) & 63));
+            }
+            long antes = palabras[w];
+            palabras[w] = marcar ? antes | mascara : antes & ~mascara;
+            cantidad += Long.bitCount(palabras[w]) - Long.bitCount(antes);
+        }
+    }
+
+    /**
+     * Obtiene la primera celda marcada a partir de la indicada, inclusive.
+     *
+     * @param desde celda desde la que se busca.
+     * @return índice de la celda marcada, o -1 si no hay ninguna.
+     */
+    public int siguienteMarcada(int desde) {
+        if (desde >= celdas) {
+            return -1;
+        }
+        int w = desde >>> 6;
+        long palabra = palabras[w] & (-1L << desde);
+        while (true) {
+            if (palabra != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(palabra);
+            }
+            if (++w == palabras.length) {
+                return -1;
+            }
+            palabra = palabras[w];
+        }
+    }
+
+    /**
+     * Desmarca todas las celdas.
+     */
+    public void vaciar() {
+        Arrays.fill(palabras, 0L);
+        cantidad = 0;
+    }
+
+    /**
+     * Obtiene la cantidad de palabras de 64 bits que ocupa el conjunto.
+     *
+     * @return longitud del arreglo de palabras.
+     */
+    public int getNumeroPalabras() {
+        return palabras.length;
+    }
+
+    /**
+     * Copia las palabras del conjunto en el arreglo indicado, sin crear objetos.
+     *
+     * @param destino arreglo con al menos {@link #getNumeroPalabras()} posiciones.
+     */
+    public void copiarPalabras(long[] destino) {
+        System.arraycopy(palabras, 0, destino, 0, palabras.length);
+    }
+
+    /**
+     * Reemplaza el contenido del conjunto por palabras copiadas antes con
+     * {@link #copiarPalabras(long[])}.
+     *
+     * @param origen arreglo con al menos {@link #getNumeroPalabras()} posiciones.
+     */
+    public void restaurarPalabras(long[] origen) {
+        System.arraycopy(origen, 0, palabras, 0, palabras.length);
+        cantidad = 0;
+        for (long palabra : palabras) {
+            cantidad += Long.bitCount(palabra);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package Dominio;
+
+/**
+ * Tipos de enemigo que pueden aparecer en un nivel.
+ * La interfaz los usa para elegir la imagen de cada enemigo.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public enum TipoEnemigo {
+    /**
+     * Troll, patrulla el contorno de un rectángulo.
+     */
+    TROLL,
+
+    /**
+     * Calamar, persigue al helado por el camino más corto.
+     */
+    CALAMAR
+}
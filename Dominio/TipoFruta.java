@@ -0,0 +1,18 @@
+package Dominio;
+
+/**
+ * Tipos de fruta que pueden aparecer en un nivel.
+ * Se usan como índice de los contadores de frutas del nivel.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public enum TipoFruta {
+    /**
+     * Uva, otorga 50 puntos.
+     */
+    UVA,
+
+    /**
+     * Plátano, otorga 100 puntos.
+     */
+    PLATANO
+}
@@ -7,6 +7,8 @@ package Dominio;
  */
 public class Troll extends Enemigo {
 
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
     private Direccion direccionActual;
     private final int filaMin;
     private final int filaMax;
@@ -35,19 +37,103 @@ public class Troll extends Enemigo {
         this.direccionActual = Direccion.DERECHA;
     }
 
+    private Troll(Troll otro) {
+        super(otro);
+        this.filaMin = otro.filaMin;
+        this.filaMax = otro.filaMax;
+        this.colMin = otro.colMin;
+        this.colMax = otro.colMax;
+        this.direccionActual = otro.direccionActual;
+        this.sentidoHorario = otro.sentidoHorario;
+    }
+
+    /**
+     * Crea una copia independiente del troll, con su dirección y sentido actuales.
+     *
+     * @return copia del troll.
+     */
+    @Override
+    public Enemigo copiar() {
+        return new Troll(this);
+    }
+
+    /**
+     * Obtiene el tipo del enemigo.
+     *
+     * @return {@link TipoEnemigo#TROLL}.
+     */
+    @Override
+    public TipoEnemigo getTipo() {
+        return TipoEnemigo.TROLL;
+    }
+
+    /**
+     * Empaqueta la dirección actual en los bits altos y el sentido de
+     * giro en el bit más bajo.
+     *
+     * @return estado de la patrulla.
+     */
+    @Override
+    public int getEstadoInterno() {
+        return direccionActual.ordinal() << 1 | (sentidoHorario ? 1 : 0);
+    }
+
+    /**
+     * Restaura la dirección y el sentido de giro empaquetados por
+     * {@link #getEstadoInterno()}.
+     *
+     * @param estado estado de la patrulla.
+     */
+    @Override
+    public void setEstadoInterno(int estado) {
+        direccionActual = DIRECCIONES[estado >>> 1];
+        sentidoHorario = (estado & 1) != 0;
+    }
+
     /**
      * Actualiza la posición del troll siguiendo el contorno del rectángulo
      * definido, cambiando de dirección cuando alcanza los límites y
-     * reaccionando ante bloques de jugador.
+     * reaccionando ante bloques de hielo u otros obstáculos del mapa.
      *
      * @param nivel nivel en el que se encuentra el troll.
      */
     @Override
     public void actualizar(Nivel nivel) {
-        int f = posicion.getFila();
-        int c = posicion.getColumna();
-        int nf = f;
-        int nc = c;
+        setCelda(avanzar(nivel.getMapa(), getCelda()));
+    }
+
+    /**
+     * Predice las celdas del troll simulando su patrulla sobre el mapa
+     * actual, sin alterar su estado.
+     *
+     * @param nivel  nivel en el que se encuentra el troll.
+     * @param celdas arreglo donde se escriben las coordenadas empaquetadas.
+     * @param pasos  número de pasos a predecir.
+     */
+    @Override
+    public void predecir(Nivel nivel, int[] celdas, int pasos) {
+        Direccion direccionGuardada = direccionActual;
+        boolean sentidoGuardado = sentidoHorario;
+        int celda = getCelda();
+        for (int i = 0; i < pasos; i++) {
+            celda = avanzar(nivel.getMapa(), celda);
+            celdas[i] = celda;
+        }
+        direccionActual = direccionGuardada;
+        sentidoHorario = sentidoGuardado;
+    }
+
+    /**
+     * Calcula un paso de la patrulla desde la celda indicada, actualizando
+     * la dirección y el sentido del troll.
+     *
+     * @param mapa  mapa del nivel.
+     * @param celda coordenada empaquetada actual.
+     * @return coordenada empaquetada después del paso.
+     */
+    private int avanzar(MapaNivel mapa, int celda) {
+        int nf = Celda.fila(celda);
+        int nc = Celda.columna(celda);
 
         if (sentidoHorario) {
             switch (direccionActual) {
@@ -56,7 +142,7 @@ public class Troll extends Enemigo {
                     if (nc > colMax) {
                         nc = colMax;
                         direccionActual = Direccion.ARRIBA;
-                        return;
+                        return celda;
                     }
                 }
                 case ARRIBA -> {
@@ -64,7 +150,7 @@ public class Troll extends Enemigo {
                     if (nf < filaMin) {
                         nf = filaMin;
                         direccionActual = Direccion.IZQUIERDA;
-                        return;
+                        return celda;
                     }
                 }
                 case IZQUIERDA -> {
@@ -72,7 +158,7 @@ public class Troll extends Enemigo {
                     if (nc < colMin) {
                         nc = colMin;
                         direccionActual = Direccion.ABAJO;
-                        return;
+                        return celda;
                     }
                 }
                 case ABAJO -> {
@@ -80,7 +166,7 @@ public class Troll extends Enemigo {
                     if (nf > filaMax) {
                         nf = filaMax;
                         direccionActual = Direccion.DERECHA;
-                        return;
+                        return celda;
                     }
                 }
             }
@@ -91,7 +177,7 @@ public class Troll extends Enemigo {
                     if (nc > colMax) {
                         nc = colMax;
                         direccionActual = Direccion.ABAJO;
-                        return;
+                        return celda;
                     }
                 }
                 case ABAJO -> {
@@ -99,7 +185,7 @@ public class Troll extends Enemigo {
                     if (nf > filaMax) {
                         nf = filaMax;
                         direccionActual = Direccion.IZQUIERDA;
-                        return;
+                        return celda;
                     }
                 }
                 case IZQUIERDA -> {
@@ -107,7 +193,7 @@ public class Troll extends Enemigo {
                     if (nc < colMin) {
                         nc = colMin;
                         direccionActual = Direccion.ARRIBA;
-                        return;
+                        return celda;
                     }
                 }
                 case ARRIBA -> {
@@ -115,38 +201,19 @@ public class Troll extends Enemigo {
                     if (nf < filaMin) {
                         nf = filaMin;
                         direccionActual = Direccion.DERECHA;
-                        return;
+                        return celda;
                     }
                 }
             }
         }
 
-        if (hayBloqueJugadorEn(nivel, nf, nc)) {
+        if (mapa.estaBloqueada(nf, nc)) {
             invertirDireccion();
             sentidoHorario = !sentidoHorario;
-            return;
+            return celda;
         }
 
-        posicion.setFila(nf);
-        posicion.setColumna(nc);
-    }
-
-    /**
-     * Verifica si existe un bloque de hielo creado por el jugador
-     * en la posición indicada.
-     *
-     * @param nivel nivel en el que se encuentra el troll.
-     * @param fila  fila a evaluar.
-     * @param col   columna a evaluar.
-     * @return {@code true} si hay un bloque de jugador en la posición, {@code false} en caso contrario.
-     */
-    private boolean hayBloqueJugadorEn(Nivel nivel, int fila, int col) {
-        for (Posicion p : nivel.getBloquesJugador()) {
-            if (p.getFila() == fila && p.getColumna() == col) {
-                return true;
-            }
-        }
-        return false;
+        return Celda.de(nf, nc);
     }
 
     /**
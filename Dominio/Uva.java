@@ -15,6 +15,20 @@ public class Uva extends Fruta {
         super(pos);
     }
 
+    private Uva(Uva otra) {
+        super(otra);
+    }
+
+    /**
+     * Crea una copia independiente de la uva.
+     *
+     * @return copia con la misma posición y estado.
+     */
+    @Override
+    public Fruta copiar() {
+        return new Uva(this);
+    }
+
     /**
      * Devuelve los puntos que otorga la uva al ser recolectada.
      *
@@ -24,4 +38,14 @@ public class Uva extends Fruta {
     public int getPuntos() {
         return 50;
     }
+
+    /**
+     * Devuelve el tipo de fruta.
+     *
+     * @return {@link TipoFruta#UVA}.
+     */
+    @Override
+    public TipoFruta getTipo() {
+        return TipoFruta.UVA;
+    }
 }
@@ -0,0 +1,139 @@
+package Presentacion;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Conjunto de imágenes del tablero ya escaladas al tamaño de celda.
+ * Cada imagen se obtiene de la {@link CacheRecursos} y se reescala una sola vez a una {@link BufferedImage}
+ * compatible con la pantalla, de modo que al dibujar se copia 1:1 sin
+ * volver a escalar en cada fotograma.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class AtlasSprites {
+
+    private static AtlasSprites instancia;
+
+    private final int tamCelda;
+    private final BufferedImage[] imagenes;
+
+    /**
+     * Carga y escala todas las imágenes del tablero.
+     *
+     * @param tamCelda tamaño de una celda en píxeles.
+     */
+    public AtlasSprites(int tamCelda) {
+        this.tamCelda = tamCelda;
+        this.imagenes = new BufferedImage[Sprite.values().length];
+        CacheRecursos cache = CacheRecursos.getInstancia();
+        for (Sprite sprite : Sprite.values()) {
+            cache.precargar(sprite.getRuta());
+        }
+        for (Sprite sprite : Sprite.values()) {
+            imagenes[sprite.ordinal()] = cargar(sprite);
+        }
+    }
+
+    /**
+     * Obtiene el atlas compartido por todas las partidas, creándolo
+     * la primera vez con el tamaño de celda del tablero.
+     *
+     * @return atlas compartido.
+     */
+    public static synchronized AtlasSprites getInstancia() {
+        if (instancia == null) {
+            instancia = new AtlasSprites(RenderizadorJuego.TAM_CELDA);
+        }
+        return instancia;
+    }
+
+    /**
+     * Obtiene la imagen ya escalada de un sprite.
+     *
+     * @param sprite imagen solicitada.
+     * @return imagen escalada, o {@code null} si no pudo cargarse.
+     */
+    public BufferedImage get(Sprite sprite) {
+        return imagenes[sprite.ordinal()];
+    }
+
+    /**
+     * Obtiene el lado, en píxeles, al que se escalaron los sprites.
+     *
+     * @return tamaño de una celda del tablero.
+     */
+    public int getTamCelda() {
+        return tamCelda;
+    }
+
+    /**
+     * Dibuja un sprite sin escalar con su esquina superior izquierda en (x, y).
+     *
+     * @param g2d    contexto gráfico 2D utilizado para dibujar.
+     * @param sprite imagen a dibujar.
+     * @param x      coordenada X en píxeles.
+     * @param y      coordenada Y en píxeles.
+     */
+    public void dibujar(Graphics2D g2d, Sprite sprite, int x, int y) {
+        BufferedImage img = imagenes[sprite.ordinal()];
+        if (img != null) {
+            g2d.drawImage(img, x, y, null);
+        }
+    }
+
+    /**
+     * Obtiene un sprite de la caché de recursos y lo escala a su tamaño en celdas.
+     *
+     * @param sprite imagen a cargar.
+     * @return imagen escalada, o {@code null} si el archivo no pudo leerse.
+     */
+    private BufferedImage cargar(Sprite sprite) {
+        BufferedImage original = CacheRecursos.getInstancia().getImagen(sprite.getRuta());
+        if (original == null) {
+            return null;
+        }
+        int lado = sprite.getCeldas() * tamCelda;
+        return escalar(original, lado, lado);
+    }
+
+    /**
+     * Escala una imagen a una imagen compatible con la pantalla y con
+     * transparencia, usando interpolación de calidad una única vez.
+     *
+     * @param original imagen de origen.
+     * @param ancho    ancho destino en píxeles.
+     * @param alto     alto destino en píxeles.
+     * @return nueva imagen escalada.
+     */
+    static BufferedImage escalar(Image original, int ancho, int alto) {
+        BufferedImage destino = crearCompatible(ancho, alto);
+        Graphics2D g2d = destino.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                    RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING,
+                    RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.drawImage(original, 0, 0, ancho, alto, null);
+        } finally {
+            g2d.dispose();
+        }
+        return destino;
+    }
+
+    /**
+     * Crea una imagen translúcida con el formato de la pantalla, o con un
+     * formato ARGB estándar si no hay pantalla disponible.
+     *
+     * @param ancho ancho en píxeles.
+     * @param alto  alto en píxeles.
+     * @return imagen vacía.
+     */
+    static BufferedImage crearCompatible(int ancho, int alto) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration configuracion = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return configuracion.createCompatibleImage(ancho, alto, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
@@ -0,0 +1,144 @@
+package Presentacion;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caché de imágenes compartida por todas las pantallas de la aplicación.
+ * Cada imagen se decodifica una sola vez, en un grupo de hilos en segundo
+ * plano, y se guarda por ruta como imagen compatible con la pantalla.
+ * Las pantallas piden la imagen ya lista; si aún se está decodificando,
+ * esperan solo a esa imagen.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class CacheRecursos {
+
+    /**
+     * Carpetas cuyas imágenes se precargan al iniciar la aplicación.
+     */
+    private static final String[] CARPETAS = {"recursos/imagenes/", Sprite.CARPETA};
+
+    private static final CacheRecursos INSTANCIA = new CacheRecursos();
+
+    private final ExecutorService decodificadores;
+    private final ConcurrentHashMap<String, Future<BufferedImage>> imagenes;
+
+    private CacheRecursos() {
+        AtomicInteger contador = new AtomicInteger();
+        int hilos = Math.max(2, Runtime.getRuntime().availableProcessors());
+        this.decodificadores = Executors.newFixedThreadPool(hilos, tarea -> {
+            Thread hilo = new Thread(tarea, "recursos-" + contador.incrementAndGet());
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        this.imagenes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Obtiene la caché compartida.
+     *
+     * @return instancia única de la caché.
+     */
+    public static CacheRecursos getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Encola la decodificación de todas las imágenes de las carpetas de
+     * recursos sin esperar a que termine.
+     */
+    public void precargarTodo() {
+        for (String carpeta : CARPETAS) {
+            File[] archivos = new File(carpeta).listFiles((dir, nombre) -> nombre.endsWith(".png"));
+            if (archivos == null) {
+                continue;
+            }
+            for (File archivo : archivos) {
+                solicitar(carpeta + archivo.getName());
+            }
+        }
+    }
+
+    /**
+     * Encola la decodificación de las imágenes indicadas, si no lo estaban ya.
+     *
+     * @param rutas rutas de las imágenes.
+     */
+    public void precargar(String... rutas) {
+        for (String ruta : rutas) {
+            solicitar(ruta);
+        }
+    }
+
+    /**
+     * Obtiene una imagen decodificada, esperando si aún se está cargando.
+     *
+     * @param ruta ruta de la imagen relativa al directorio del proyecto.
+     * @return imagen lista para dibujar, o {@code null} si no pudo leerse.
+     */
+    public BufferedImage getImagen(String ruta) {
+        try {
+            return solicitar(ruta).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indica si una imagen ya terminó de decodificarse.
+     *
+     * @param ruta ruta de la imagen.
+     * @return {@code true} si la imagen está lista.
+     */
+    public boolean isCargada(String ruta) {
+        Future<BufferedImage> futura = imagenes.get(ruta);
+        return futura != null && futura.isDone();
+    }
+
+    /**
+     * Devuelve la tarea de decodificación de una ruta, creándola si es la
+     * primera vez que se pide; así dos peticiones de la misma ruta comparten
+     * la misma imagen.
+     */
+    private Future<BufferedImage> solicitar(String ruta) {
+        return imagenes.computeIfAbsent(ruta, r -> decodificadores.submit(() -> decodificar(r)));
+    }
+
+    /**
+     * Lee una imagen de disco y la copia a una imagen compatible con la pantalla.
+     *
+     * @param ruta ruta de la imagen.
+     * @return imagen compatible, o {@code null} si no pudo leerse.
+     * @throws IOException si falla la lectura del archivo.
+     */
+    private static BufferedImage decodificar(String ruta) throws IOException {
+        File archivo = new File(ruta);
+        if (!archivo.isFile()) {
+            return null;
+        }
+        BufferedImage original = ImageIO.read(archivo);
+        if (original == null) {
+            return null;
+        }
+        BufferedImage compatible = AtlasSprites.crearCompatible(original.getWidth(), original.getHeight());
+        Graphics2D g2d = compatible.createGraphics();
+        try {
+            g2d.drawImage(original, 0, 0, null);
+        } finally {
+            g2d.dispose();
+        }
+        return compatible;
+    }
+}
@@ -0,0 +1,209 @@
+package Presentacion;
+
+import Dominio.FotogramaJuego;
+import Dominio.MapaNivel;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Capa fuera de pantalla con la parte estática del tablero: fondo,
+ * cuadrícula, bordes, muros, bloques de hielo e iglú.
+ * Se dibuja completa una sola vez; después, cuando cambia la versión del
+ * mapa, solo se vuelven a dibujar las celdas cuyo tipo cambió. En cada
+ * fotograma basta con copiarla una vez antes de dibujar las entidades.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class CapaEstatica {
+
+    private static final int TAM_CELDA = RenderizadorJuego.TAM_CELDA;
+    private static final int BORDE = RenderizadorJuego.BORDE;
+
+    /**
+     * Color de las líneas de la cuadrícula.
+     */
+    private static final Color COLOR_GRID = new Color(150, 190, 220);
+
+    private final AtlasSprites atlas;
+    private final int filas;
+    private final int columnas;
+    private final BufferedImage imagen;
+
+    /**
+     * Tipo de cada celda tal como está dibujada en la capa.
+     */
+    private final char[] dibujadas;
+
+    private boolean inicializada;
+    private int version;
+
+    /**
+     * Crea una capa vacía para un tablero de las dimensiones indicadas.
+     *
+     * @param atlas    imágenes del tablero.
+     * @param filas    número de filas del tablero.
+     * @param columnas número de columnas del tablero.
+     */
+    public CapaEstatica(AtlasSprites atlas, int filas, int columnas) {
+        this.atlas = atlas;
+        this.filas = filas;
+        this.columnas = columnas;
+        this.imagen = AtlasSprites.crearCompatible(
+                (columnas + 2 * BORDE) * TAM_CELDA, (filas + 2 * BORDE) * TAM_CELDA);
+        this.dibujadas = new char[filas * columnas];
+    }
+
+    /**
+     * Pone la capa al día con el mapa del fotograma: la dibuja completa la
+     * primera vez y luego solo las celdas que cambiaron.
+     *
+     * @param fotograma estado de la partida a representar.
+     * @return número de celdas redibujadas.
+     */
+    public int actualizar(FotogramaJuego fotograma) {
+        if (inicializada && fotograma.getVersionMapa() == version) {
+            return 0;
+        }
+        Graphics2D g2d = imagen.createGraphics();
+        try {
+            if (!inicializada) {
+                dibujarTodo(g2d, fotograma);
+                inicializada = true;
+                version = fotograma.getVersionMapa();
+                return filas * columnas;
+            }
+            version = fotograma.getVersionMapa();
+            return dibujarCambios(g2d, fotograma);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Copia la capa sobre el contexto gráfico.
+     *
+     * @param g2d contexto gráfico 2D utilizado para dibujar.
+     * @param x   coordenada X de la esquina superior izquierda.
+     * @param y   coordenada Y de la esquina superior izquierda.
+     */
+    public void dibujar(Graphics2D g2d, int x, int y) {
+        g2d.drawImage(imagen, x, y, null);
+    }
+
+    /**
+     * Dibuja la capa completa: fondo, cuadrícula, bordes y todas las celdas.
+     */
+    private void dibujarTodo(Graphics2D g2d, FotogramaJuego fotograma) {
+        g2d.setColor(RenderizadorJuego.COLOR_FONDO);
+        g2d.fillRect(0, 0, imagen.getWidth(), imagen.getHeight());
+
+        int totalCols = columnas + 2 * BORDE;
+        int totalRows = filas + 2 * BORDE;
+        for (int c = 0; c < totalCols; c++) {
+            int x = c * TAM_CELDA;
+            atlas.dibujar(g2d, Sprite.BLOQUE_LATERAL, x, 0);
+            atlas.dibujar(g2d, Sprite.BLOQUE_LATERAL, x, (totalRows - 1) * TAM_CELDA);
+        }
+        for (int r = 1; r < totalRows - 1; r++) {
+            int y = r * TAM_CELDA;
+            atlas.dibujar(g2d, Sprite.BLOQUE_LATERAL, 0, y);
+            atlas.dibujar(g2d, Sprite.BLOQUE_LATERAL, (totalCols - 1) * TAM_CELDA, y);
+        }
+
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                limpiarCelda(g2d, f, c);
+            }
+        }
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                dibujadas[f * columnas + c] = fotograma.getTipo(f, c);
+                dibujarContenido(g2d, fotograma, f, c);
+            }
+        }
+    }
+
+    /**
+     * Redibuja solo las celdas cuyo tipo difiere de lo dibujado.
+     * Si alguna pertenece al iglú, redibuja el iglú completo.
+     */
+    private int dibujarCambios(Graphics2D g2d, FotogramaJuego fotograma) {
+        int cambiadas = 0;
+        boolean igluAfectado = false;
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                int i = f * columnas + c;
+                char tipo = fotograma.getTipo(f, c);
+                if (tipo == dibujadas[i]) {
+                    continue;
+                }
+                igluAfectado |= tipo == MapaNivel.IGLU || dibujadas[i] == MapaNivel.IGLU;
+                dibujadas[i] = tipo;
+                limpiarCelda(g2d, f, c);
+                if (tipo != MapaNivel.IGLU) {
+                    dibujarContenido(g2d, fotograma, f, c);
+                }
+                cambiadas++;
+            }
+        }
+        if (igluAfectado) {
+            redibujarIglu(g2d, fotograma);
+        }
+        return cambiadas;
+    }
+
+    /**
+     * Vuelve a dibujar todas las celdas de iglú y la imagen del iglú sobre ellas.
+     */
+    private void redibujarIglu(Graphics2D g2d, FotogramaJuego fotograma) {
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                if (dibujadas[f * columnas + c] == MapaNivel.IGLU) {
+                    limpiarCelda(g2d, f, c);
+                }
+            }
+        }
+        for (int f = 0; f < filas; f++) {
+            for (int c = 0; c < columnas; c++) {
+                if (fotograma.esBaseIglu(f, c)) {
+                    atlas.dibujar(g2d, Sprite.IGLU, x(c), y(f));
+                }
+            }
+        }
+    }
+
+    /**
+     * Pinta el fondo de una celda y las líneas de cuadrícula de sus bordes
+     * superior e izquierdo, que son los píxeles que le pertenecen; los otros
+     * dos bordes son de las celdas vecinas y no se tocan.
+     */
+    private void limpiarCelda(Graphics2D g2d, int f, int c) {
+        int x = x(c);
+        int y = y(f);
+        g2d.setColor(RenderizadorJuego.COLOR_FONDO);
+        g2d.fillRect(x, y, TAM_CELDA, TAM_CELDA);
+        g2d.setColor(COLOR_GRID);
+        g2d.drawLine(x, y, x + TAM_CELDA - 1, y);
+        g2d.drawLine(x, y, x, y + TAM_CELDA - 1);
+    }
+
+    /**
+     * Dibuja el muro, el bloque de hielo o el iglú de una celda.
+     */
+    private void dibujarContenido(Graphics2D g2d, FotogramaJuego fotograma, int f, int c) {
+        char tipo = fotograma.getTipo(f, c);
+        if (tipo == MapaNivel.MURO || tipo == MapaNivel.BLOQUE_JUGADOR) {
+            atlas.dibujar(g2d, Sprite.BLOQUE_HIELO, x(c), y(f));
+        } else if (fotograma.esBaseIglu(f, c)) {
+            atlas.dibujar(g2d, Sprite.IGLU, x(c), y(f));
+        }
+    }
+
+    private int x(int c) {
+        return (BORDE + c) * TAM_CELDA;
+    }
+
+    private int y(int f) {
+        return (BORDE + f) * TAM_CELDA;
+    }
+}
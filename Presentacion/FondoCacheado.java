@@ -0,0 +1,109 @@
+package Presentacion;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Fondo de pantalla prerrenderizado para un tamaño de panel.
+ * La primera vez que se dibuja, y cada vez que cambia el tamaño, compone
+ * la imagen final (en mosaico, estirada o ajustada) en una imagen fuera de
+ * pantalla; mientras el tamaño no cambie, cada repintado es una única copia.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public final class FondoCacheado {
+
+    /**
+     * Forma de componer la imagen de origen sobre el área del panel.
+     */
+    private interface Composicion {
+        void componer(Graphics2D g2d, Image imagen, int ancho, int alto);
+    }
+
+    private final Image imagen;
+    private final Composicion composicion;
+    private BufferedImage cache;
+
+    private FondoCacheado(Image imagen, Composicion composicion) {
+        this.imagen = imagen;
+        this.composicion = composicion;
+    }
+
+    /**
+     * Crea un fondo que repite la imagen en mosaico desde la esquina superior izquierda.
+     *
+     * @param tesela imagen que se repite; puede ser {@code null}.
+     * @return fondo en mosaico.
+     */
+    public static FondoCacheado mosaico(Image tesela) {
+        return new FondoCacheado(tesela, (g2d, img, ancho, alto) -> {
+            int anchoTesela = img.getWidth(null);
+            int altoTesela = img.getHeight(null);
+            for (int y = 0; y < alto; y += altoTesela) {
+                for (int x = 0; x < ancho; x += anchoTesela) {
+                    g2d.drawImage(img, x, y, null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Crea un fondo que estira la imagen hasta ocupar todo el panel.
+     *
+     * @param imagen imagen de fondo; puede ser {@code null}.
+     * @return fondo estirado.
+     */
+    public static FondoCacheado estirado(Image imagen) {
+        return new FondoCacheado(imagen, (g2d, img, ancho, alto) ->
+                g2d.drawImage(img, 0, 0, ancho, alto, null));
+    }
+
+    /**
+     * Crea un fondo que escala la imagen manteniendo su proporción y la
+     * centra en el panel, dejando libre el margen vertical indicado.
+     *
+     * @param imagen          imagen de fondo; puede ser {@code null}.
+     * @param margenVertical  píxeles de alto que no ocupa la imagen.
+     * @return fondo ajustado.
+     */
+    public static FondoCacheado ajustado(Image imagen, int margenVertical) {
+        return new FondoCacheado(imagen, (g2d, img, ancho, alto) -> {
+            int anchoImagen = img.getWidth(null);
+            int altoImagen = img.getHeight(null);
+            double escala = Math.min(
+                    (double) ancho / anchoImagen,
+                    (double) (alto - margenVertical) / altoImagen
+            );
+            int nuevoAncho = (int) (anchoImagen * escala);
+            int nuevoAlto = (int) (altoImagen * escala);
+            int x = (ancho - nuevoAncho) / 2;
+            int y = (alto - nuevoAlto) / 2;
+            g2d.drawImage(img, x, y, nuevoAncho, nuevoAlto, null);
+        });
+    }
+
+    /**
+     * Dibuja el fondo para un panel del tamaño indicado, recomponiéndolo
+     * solo si el tamaño cambió desde la última vez.
+     *
+     * @param g     contexto gráfico del panel.
+     * @param ancho ancho actual del panel.
+     * @param alto  alto actual del panel.
+     */
+    public void dibujar(Graphics g, int ancho, int alto) {
+        if (imagen == null || ancho <= 0 || alto <= 0) {
+            return;
+        }
+        if (cache == null || cache.getWidth() != ancho || cache.getHeight() != alto) {
+            cache = AtlasSprites.crearCompatible(ancho, alto);
+            Graphics2D g2d = cache.createGraphics();
+            try {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                composicion.componer(g2d, imagen, ancho, alto);
+            } finally {
+                g2d.dispose();
+            }
+        }
+        g.drawImage(cache, 0, 0, null);
+    }
+}
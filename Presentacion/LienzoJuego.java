@@ -0,0 +1,168 @@
+package Presentacion;
+
+import Dominio.FotogramaJuego;
+import Dominio.HiloSimulacion;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Superficie de dibujo activo del juego.
+ * En lugar de esperar a que Swing decida cuándo repintar, un hilo propio
+ * dibuja el último {@link FotogramaJuego} publicado en un {@link BufferStrategy}
+ * a una frecuencia objetivo y lo presenta con {@code show()}, recuperando el
+ * contenido si el sistema lo pierde. Cuenta los fotogramas presentados y los
+ * descartados por no haber llegado a tiempo.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class LienzoJuego extends Canvas implements Runnable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Frecuencia de dibujo por defecto, en fotogramas por segundo.
+     */
+    public static final int FPS_POR_DEFECTO = 60;
+
+    /**
+     * Número de búferes de la estrategia de dibujo (doble búfer).
+     */
+    private static final int NUMERO_BUFERES = 2;
+
+    private final RenderizadorJuego renderizador;
+    private final HiloSimulacion simulacion;
+    private final long nanosPorFotograma;
+
+    private volatile boolean ejecutando;
+    private Thread hilo;
+    private volatile long fotogramasPresentados;
+    private volatile long fotogramasDescartados;
+
+    /**
+     * Crea un lienzo que dibuja los fotogramas de una simulación.
+     *
+     * @param renderizador objeto que sabe dibujar un fotograma.
+     * @param simulacion   simulación cuyos fotogramas se presentan.
+     * @param fps          frecuencia de dibujo objetivo.
+     */
+    public LienzoJuego(RenderizadorJuego renderizador, HiloSimulacion simulacion, int fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("La frecuencia de dibujo debe ser positiva");
+        }
+        this.renderizador = renderizador;
+        this.simulacion = simulacion;
+        this.nanosPorFotograma = 1_000_000_000L / fps;
+
+        setPreferredSize(new Dimension(RenderizadorJuego.ANCHO, RenderizadorJuego.ALTO));
+        setBackground(RenderizadorJuego.COLOR_FONDO);
+        setIgnoreRepaint(true);
+        setFocusable(true);
+    }
+
+    /**
+     * Crea la estrategia de búferes en cuanto el lienzo es visualizable
+     * y arranca el hilo de dibujo.
+     */
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        createBufferStrategy(NUMERO_BUFERES);
+        ejecutando = true;
+        hilo = new Thread(this, "dibujo");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Detiene el hilo de dibujo antes de liberar los recursos nativos del lienzo.
+     */
+    @Override
+    public void removeNotify() {
+        detener();
+        super.removeNotify();
+    }
+
+    /**
+     * Detiene el hilo de dibujo y espera a que termine.
+     */
+    public void detener() {
+        ejecutando = false;
+        Thread h = hilo;
+        if (h != null && h != Thread.currentThread()) {
+            try {
+                h.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Bucle del hilo de dibujo: presenta un fotograma en cada periodo y,
+     * si se retrasa más de un periodo, descarta los fotogramas perdidos
+     * en vez de intentar recuperarlos.
+     */
+    @Override
+    public void run() {
+        BufferStrategy estrategia = getBufferStrategy();
+        long siguiente = System.nanoTime();
+
+        while (ejecutando) {
+            presentar(estrategia, simulacion.getFotograma());
+            fotogramasPresentados++;
+
+            siguiente += nanosPorFotograma;
+            long ahora = System.nanoTime();
+            if (ahora - siguiente > nanosPorFotograma) {
+                long perdidos = (ahora - siguiente) / nanosPorFotograma;
+                fotogramasDescartados += perdidos;
+                siguiente += perdidos * nanosPorFotograma;
+            }
+            long espera = siguiente - ahora;
+            if (espera > 0) {
+                LockSupport.parkNanos(espera);
+            }
+        }
+    }
+
+    /**
+     * Dibuja y presenta un fotograma, repitiendo el dibujo mientras el
+     * contenido de los búferes se restaure o se pierda.
+     *
+     * @param estrategia estrategia de búferes del lienzo.
+     * @param fotograma  estado de la partida a dibujar.
+     */
+    private void presentar(BufferStrategy estrategia, FotogramaJuego fotograma) {
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) estrategia.getDrawGraphics();
+                try {
+                    renderizador.dibujar(g2d, fotograma);
+                } finally {
+                    g2d.dispose();
+                }
+            } while (estrategia.contentsRestored());
+            estrategia.show();
+        } while (estrategia.contentsLost());
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Obtiene el número de fotogramas presentados en pantalla.
+     *
+     * @return fotogramas presentados.
+     */
+    public long getFotogramasPresentados() {
+        return fotogramasPresentados;
+    }
+
+    /**
+     * Obtiene el número de fotogramas descartados por retraso del dibujo.
+     *
+     * @return fotogramas descartados.
+     */
+    public long getFotogramasDescartados() {
+        return fotogramasDescartados;
+    }
+}
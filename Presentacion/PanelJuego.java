@@ -1,72 +1,44 @@
 package Presentacion;
 
+import Dominio.ComandoJuego;
 import Dominio.Direccion;
-import Dominio.Enemigo;
-import Dominio.Fruta;
-import Dominio.Helado;
+import Dominio.FotogramaJuego;
+import Dominio.HiloSimulacion;
 import Dominio.Juego;
-import Dominio.Nivel;
-import Dominio.Platano;
-import Dominio.Posicion;
-import Dominio.Uva;
+import Dominio.Repeticion;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Panel principal donde se representa el mapa del nivel,
  * los helados, frutas, enemigos y demás elementos del juego.
- * También gestiona la entrada por teclado y el avance del tiempo.
+ * La simulación corre en un {@link HiloSimulacion}: el panel solo le envía
+ * comandos de teclado y dibuja el último {@link FotogramaJuego} publicado.
+ * Puede dibujar de forma pasiva, con repaint y paintComponent, o de forma
+ * activa a través de un {@link LienzoJuego} con su propio hilo de dibujo.
+ * Durante una partida en vivo la tecla G la guarda para continuarla después.
+ * También muestra repeticiones: en ese caso el teclado solo pausa y cambia
+ * la velocidad con las teclas 1, 2 y 8.
  * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
  */
 public class PanelJuego extends JPanel {
 
-    /**
-     * Número de filas del tablero lógico.
-     */
-    private static final int FILAS = 12;
-
-    /**
-     * Número de columnas del tablero lógico.
-     */
-    private static final int COLUMNAS = 14;
-
-    /**
-     * Tamaño (ancho y alto) de cada celda en píxeles.
-     */
-    private static final int TAM_CELDA = 40;
-
-    /**
-     * Altura reservada para la barra superior de información.
-     */
-    private static final int OFFSET_Y = 60;
-
-    /**
-     * Grosor del borde del tablero, medido en celdas.
-     */
-    private static final int BORDE = 1;
-
-    /**
-     * Tiempo mínimo, en milisegundos, entre dos movimientos del helado.
-     */
-    private static final int COOLDOWN_MOVIMIENTO_MS = 230;
-
-    /**
-     * Código de carácter para representar un bloque de muro en el mapa.
-     */
-    private static final char BLOQUE_MURO = 'B';
+    private static final Logger REGISTRO = Logger.getLogger(PanelJuego.class.getName());
 
     /**
-     * Código de carácter para representar la base del iglú en el mapa.
+     * Frecuencia fija de la simulación, en ticks por segundo.
      */
-    private static final char BLOQUE_IGLU = 'I';
+    private static final int TICKS_POR_SEGUNDO = 30;
 
     /**
-     * Código de carácter para representar un bloque generado por el jugador.
+     * Intervalo, en milisegundos, entre dos fotogramas dibujados.
      */
-    private static final char BLOQUE_JUGADOR = 'X';
+    private static final int PERIODO_FOTOGRAMA_MS = 16;
 
     /**
      * Ventana principal que contiene este panel.
@@ -74,105 +46,101 @@ public class PanelJuego extends JPanel {
     private final VentanaJuego ventana;
 
     /**
-     * Sabor seleccionado para el helado del jugador.
+     * Hilo que simula la partida y publica sus fotogramas.
      */
-    private final String saborActual;
+    private final HiloSimulacion simulacion;
 
     /**
-     * Instancia del modelo de juego asociada a este panel.
+     * Partida en vivo, de la que se guarda la repetición al terminar,
+     * o {@code null} si el panel muestra una repetición.
      */
     private final Juego juego;
 
     /**
-     * Nivel actual que se está representando en el panel.
-     */
-    private final Nivel nivel;
-
-    /**
-     * Mapa lógico del nivel, donde cada celda se representa por un carácter.
-     */
-    private final char[][] mapa;
-
-    /**
-     * Imagen para representar bloques de hielo (muros y bloques jugador).
-     */
-    private Image imgBloqueHielo;
-
-    /**
-     * Imagen para representar los bordes laterales del tablero.
-     */
-    private Image imgBloqueLateral;
-
-    /**
-     * Imagen para representar el iglú.
+     * Objeto que dibuja los fotogramas, compartido por ambos modos de dibujo.
      */
-    private Image imgIglu;
+    private final RenderizadorJuego renderizador;
 
     /**
-     * Imagen para representar el plátano.
+     * Lienzo de dibujo activo, o {@code null} si se dibuja con paintComponent.
      */
-    private Image imgPlatano;
+    private final LienzoJuego lienzo;
 
     /**
-     * Imagen para representar la uva.
+     * Fotograma que se está dibujando; solo se usa desde el hilo de eventos.
      */
-    private Image imgUva;
+    private FotogramaJuego fotograma;
 
     /**
-     * Imagen para representar al enemigo (troll).
+     * Calcula las zonas que cambiaron entre el fotograma dibujado y el nuevo.
      */
-    private Image imgTroll;
+    private final RegionesSucias regiones;
 
     /**
-     * Imagen para representar el helado de vainilla.
+     * Repinta una zona del panel; se guarda para no crear una lambda por zona.
      */
-    private Image imgHeladoVainilla;
+    private final RegionesSucias.Destino repintarZona = this::repaint;
 
     /**
-     * Imagen para representar el helado de fresa.
+     * Indica si el fotograma actual ya se entregó a Swing para dibujarse.
      */
-    private Image imgHeladoFresa;
+    private boolean dibujado;
 
     /**
-     * Imagen para representar el helado de chocolate.
+     * Temporizador de fotogramas: recoge el último estado publicado y repinta.
      */
-    private Image imgHeladoChocolate;
+    private Timer timer;
 
     /**
-     * Temporizador que controla el avance del juego en el tiempo.
+     * Indica si el panel ya se detuvo; detenerlo de nuevo no hace nada.
      */
-    private Timer timer;
+    private boolean detenido;
 
     /**
-     * Marca de tiempo del último movimiento del helado del jugador.
+     * Crea un nuevo panel de juego que simula y muestra una partida.
+     *
+     * @param ventana ventana principal que contiene el panel.
+     * @param juego   instancia del modelo de dominio que representa la partida.
      */
-    private long ultimoMovimientoHeladoMs = 0;
+    public PanelJuego(VentanaJuego ventana, Juego juego) {
+        this(ventana, new HiloSimulacion(juego, TICKS_POR_SEGUNDO), juego, juego.getSaborHelado());
+    }
 
     /**
-     * Crea un nuevo panel de juego para un nivel y configuración específicos.
+     * Crea un panel que reproduce una repetición.
      *
-     * @param ventana     ventana principal que contiene el panel.
-     * @param nivelNumero número del nivel que se está jugando.
-     * @param juego       instancia del modelo de dominio que representa la partida.
+     * @param ventana    ventana principal que contiene el panel.
+     * @param repeticion repetición a mostrar.
+     * @param velocidad  multiplicador inicial de la velocidad original.
      */
-    public PanelJuego(VentanaJuego ventana, int nivelNumero, Juego juego) {
+    public PanelJuego(VentanaJuego ventana, Repeticion repeticion, int velocidad) {
+        this(ventana, new HiloSimulacion(repeticion.crearReproductor(), velocidad),
+                null, repeticion.getSaborHelado());
+    }
+
+    private PanelJuego(VentanaJuego ventana, HiloSimulacion simulacion, Juego juego, String sabor) {
         this.ventana = ventana;
-        this.saborActual = ventana.getSaborSeleccionado();
+        this.simulacion = simulacion;
         this.juego = juego;
-        this.nivel = juego.getNivel();
-        this.mapa = new char[FILAS][COLUMNAS];
-
-        int ancho = (COLUMNAS + 2 * BORDE) * TAM_CELDA;
-        int alto = (FILAS + 2 * BORDE) * TAM_CELDA + OFFSET_Y;
+        this.fotograma = simulacion.getFotograma();
+        this.renderizador = new RenderizadorJuego(sabor);
+        this.regiones = new RegionesSucias(fotograma.getFilas(), fotograma.getColumnas());
 
-        setPreferredSize(new Dimension(ancho, alto));
-        setBackground(new Color(173, 216, 230));
+        setPreferredSize(new Dimension(RenderizadorJuego.ANCHO, RenderizadorJuego.ALTO));
+        setBackground(RenderizadorJuego.COLOR_FONDO);
         setFocusable(true);
 
-        cargarImagenes();
-        inicializarMapaNivel1();
+        if (ventana.isRenderizadoActivo()) {
+            lienzo = new LienzoJuego(renderizador, simulacion, LienzoJuego.FPS_POR_DEFECTO);
+            setLayout(new BorderLayout());
+            add(lienzo, BorderLayout.CENTER);
+            agregarKeyListener(lienzo);
+        } else {
+            lienzo = null;
+            agregarKeyListener(this);
+        }
 
-        agregarKeyListener();
+        simulacion.iniciar();
         iniciarTimer();
     }
 
@@ -183,252 +151,115 @@ public class PanelJuego extends JPanel {
     @Override
     public void addNotify() {
         super.addNotify();
-        requestFocusInWindow();
+        if (lienzo != null) {
+            lienzo.requestFocusInWindow();
+        } else {
+            requestFocusInWindow();
+        }
     }
 
     /**
-     * Carga las imágenes necesarias para dibujar bloques,
-     * frutas, enemigos e iglú desde los recursos del proyecto.
+     * Se llama cuando el componente se retira de su contenedor.
+     * Detiene la simulación y el temporizador de fotogramas.
      */
-    private void cargarImagenes() {
-        imgBloqueHielo = new ImageIcon("recursos/imagenesniveles/bloquehielo.png").getImage();
-        imgBloqueLateral = new ImageIcon("recursos/imagenesniveles/bloquelaterales.png").getImage();
-        imgIglu = new ImageIcon("recursos/imagenesniveles/iglu.png").getImage();
-        imgPlatano = new ImageIcon("recursos/imagenesniveles/platano.png").getImage();
-        imgUva = new ImageIcon("recursos/imagenesniveles/uva.png").getImage();
-        imgTroll = new ImageIcon("recursos/imagenesniveles/troll.png").getImage();
-        imgHeladoVainilla = new ImageIcon("recursos/imagenesniveles/heladovainilla.png").getImage();
-        imgHeladoFresa = new ImageIcon("recursos/imagenesniveles/heladofresa.png").getImage();
-        imgHeladoChocolate = new ImageIcon("recursos/imagenesniveles/heladochocolate.png").getImage();
+    @Override
+    public void removeNotify() {
+        detener();
+        super.removeNotify();
     }
 
     /**
-     * Inicializa la matriz del mapa para el nivel 1, colocando muros
-     * en las celdas indicadas y la posición base del iglú.
+     * Detiene el temporizador, la simulación y, en modo activo, el hilo
+     * de dibujo, y registra los fotogramas presentados y descartados.
+     * Solo actúa la primera vez que se llama.
      */
-    private void inicializarMapaNivel1() {
-        for (int f = 0; f < FILAS; f++) {
-            for (int c = 0; c < COLUMNAS; c++) {
-                mapa[f][c] = ' ';
-            }
+    private void detener() {
+        if (detenido) {
+            return;
         }
-
-        int[][] bloques = {
-                {0, 0}, {0, 1}, {0, 2}, {0, 3}, {0, 4}, {0, 5}, {0, 6}, {0, 7},
-                {0, 8}, {0, 9}, {0, 10}, {0, 11}, {0, 12}, {0, 13},
-                {1, 0}, {1, 13},
-                {2, 0}, {2, 13},
-                {3, 0}, {3, 3}, {3, 4}, {3, 5}, {3, 8}, {3, 9}, {3, 10}, {3, 13},
-                {4, 0}, {4, 3}, {4, 10}, {4, 13},
-                {5, 0}, {5, 3}, {5, 10}, {5, 13},
-                {6, 0}, {6, 3}, {6, 10}, {6, 13},
-                {7, 0}, {7, 3}, {7, 10}, {7, 13},
-                {8, 0}, {8, 3}, {8, 4}, {8, 5}, {8, 8}, {8, 9}, {8, 10}, {8, 13},
-                {9, 0}, {9, 13},
-                {10, 0}, {10, 13},
-                {11, 0}, {11, 1}, {11, 2}, {11, 3}, {11, 4}, {11, 5}, {11, 6}, {11, 7},
-                {11, 8}, {11, 9}, {11, 10}, {11, 11}, {11, 12}, {11, 13}
-        };
-        for (int[] b : bloques) {
-            mapa[b[0]][b[1]] = BLOQUE_MURO;
+        detenido = true;
+        timer.stop();
+        simulacion.detener();
+        if (lienzo != null) {
+            lienzo.detener();
+            REGISTRO.log(Level.FINE, "Fotogramas presentados: {0}, descartados: {1}",
+                    new Object[]{lienzo.getFotogramasPresentados(), lienzo.getFotogramasDescartados()});
         }
+    }
 
-        mapa[5][6] = BLOQUE_IGLU;
+    /**
+     * Pide a la simulación una copia de la partida y, ya en el hilo de
+     * eventos, la guarda a través de la ventana.
+     */
+    private void guardarPartida() {
+        simulacion.capturarPartida().whenComplete((datos, error) -> {
+            if (error != null) {
+                System.err.println("No se pudo guardar la partida: " + error.getMessage());
+            } else {
+                SwingUtilities.invokeLater(() -> ventana.guardarPartida(datos));
+            }
+        });
     }
 
     /**
-     * Registra un {@link KeyAdapter} en el panel para capturar
-     * las teclas de movimiento, espacio y pausa.
+     * Registra un {@link KeyAdapter} en el componente que recibe el foco
+     * para capturar las teclas de movimiento, espacio, pausa y guardado y
+     * enviarlas a la simulación.
+     *
+     * @param destino componente que escucha el teclado.
      */
-    private void agregarKeyListener() {
-        addKeyListener(new KeyAdapter() {
+    private void agregarKeyListener(Component destino) {
+        destino.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
                 int code = e.getKeyCode();
 
                 if (code == KeyEvent.VK_UP || code == KeyEvent.VK_W) {
-                    intentarMoverHelado(Direccion.ARRIBA);
+                    simulacion.enviar(ComandoJuego.mover(Direccion.ARRIBA));
                 } else if (code == KeyEvent.VK_DOWN || code == KeyEvent.VK_S) {
-                    intentarMoverHelado(Direccion.ABAJO);
+                    simulacion.enviar(ComandoJuego.mover(Direccion.ABAJO));
                 } else if (code == KeyEvent.VK_LEFT || code == KeyEvent.VK_A) {
-                    intentarMoverHelado(Direccion.IZQUIERDA);
+                    simulacion.enviar(ComandoJuego.mover(Direccion.IZQUIERDA));
                 } else if (code == KeyEvent.VK_RIGHT || code == KeyEvent.VK_D) {
-                    intentarMoverHelado(Direccion.DERECHA);
+                    simulacion.enviar(ComandoJuego.mover(Direccion.DERECHA));
                 } else if (code == KeyEvent.VK_SPACE) {
-                    manejarEspacio();
+                    simulacion.enviar(ComandoJuego.HIELO);
                 } else if (code == KeyEvent.VK_P || code == KeyEvent.VK_ESCAPE) {
-                    juego.alternarPausa();
-                    repaint();
+                    simulacion.enviar(ComandoJuego.PAUSA);
+                } else if (code == KeyEvent.VK_G && juego != null) {
+                    guardarPartida();
+                } else if (simulacion.isRepeticion()
+                        && (code == KeyEvent.VK_1 || code == KeyEvent.VK_2 || code == KeyEvent.VK_8)) {
+                    simulacion.setVelocidad(code - KeyEvent.VK_0);
+                    ventana.mostrarVelocidadRepeticion(simulacion.getVelocidad());
                 }
             }
         });
     }
 
     /**
-     * Intenta mover el helado del jugador en la dirección indicada,
-     * respetando el cooldown y las celdas bloqueadas.
-     *
-     * @param dir dirección hacia la que se desea mover el helado.
-     */
-    private void intentarMoverHelado(Direccion dir) {
-        long ahora = System.currentTimeMillis();
-        if (ahora - ultimoMovimientoHeladoMs < COOLDOWN_MOVIMIENTO_MS) {
-            return;
-        }
-
-        if (!puedeMoverA(dir)) {
-            return;
-        }
-
-        juego.moverHeladoJugador(dir);
-        ultimoMovimientoHeladoMs = ahora;
-        verificarFinDeNivel();
-        repaint();
-    }
-
-    /**
-     * Verifica si el helado del jugador puede moverse a una dirección dada,
-     * comprobando que la celda de destino esté dentro del mapa y no bloqueada.
-     *
-     * @param dir dirección propuesta de movimiento.
-     * @return {@code true} si el movimiento es válido, {@code false} en caso contrario.
-     */
-    private boolean puedeMoverA(Direccion dir) {
-        Posicion p = nivel.getHelado().getPosicion();
-        int f = p.getFila();
-        int c = p.getColumna();
-
-        switch (dir) {
-            case ARRIBA -> f--;
-            case ABAJO -> f++;
-            case IZQUIERDA -> c--;
-            case DERECHA -> c++;
-        }
-
-        if (f < 0 || f >= FILAS || c < 0 || c >= COLUMNAS) {
-            return false;
-        }
-        return !esCeldaBloqueada(f, c);
-    }
-
-    /**
-     * Gestiona la acción asociada a la barra espaciadora:
-     * destruir bloques en línea o construir una fila de bloques de jugador.
+     * Inicializa y arranca el {@link Timer} de fotogramas. En cada fotograma
+     * se toma el último estado publicado por la simulación y, si es nuevo,
+     * se repintan solo las zonas que cambiaron respecto al dibujado; si no
+     * cambió nada visible no se pinta nada. En modo activo el lienzo ya
+     * dibuja por su cuenta y el temporizador solo vigila el fin del nivel.
      */
-    private void manejarEspacio() {
-        Helado h = nivel.getHelado();
-        Direccion dir = h.getDireccion();
-        Posicion p = h.getPosicion();
-
-        int df = 0;
-        int dc = 0;
-        switch (dir) {
-            case ARRIBA -> df = -1;
-            case ABAJO -> df = 1;
-            case IZQUIERDA -> dc = -1;
-            case DERECHA -> dc = 1;
-        }
-
-        int f = p.getFila() + df;
-        int c = p.getColumna() + dc;
-
-        if (!dentro(f, c)) {
-            return;
-        }
-
-        char primero = mapa[f][c];
-
-        if (primero == BLOQUE_MURO || primero == BLOQUE_JUGADOR) {
-            while (dentro(f, c)
-                    && (mapa[f][c] == BLOQUE_MURO || mapa[f][c] == BLOQUE_JUGADOR)) {
-
-                if (mapa[f][c] == BLOQUE_JUGADOR) {
-                    nivel.eliminarBloqueJugador(f, c);
+    private void iniciarTimer() {
+        timer = new Timer(PERIODO_FOTOGRAMA_MS, e -> {
+            FotogramaJuego actual = simulacion.getFotograma();
+            if (actual == fotograma && dibujado) {
+                if (simulacion.isRepeticion() && !simulacion.isEjecutando()) {
+                    terminarRepeticion();
                 }
-                mapa[f][c] = ' ';
-                f += df;
-                c += dc;
+                return;
             }
-        } else if (primero == ' ') {
-            while (dentro(f, c)
-                    && mapa[f][c] == ' '
-                    && !esCeldaIglu(f, c)
-                    && !hayEnemigoEn(f, c)) {
-
-                mapa[f][c] = BLOQUE_JUGADOR;
-                nivel.registrarBloqueJugador(f, c);
-                f += df;
-                c += dc;
+            if (lienzo == null) {
+                regiones.calcular(dibujado ? fotograma : null, actual);
+                regiones.emitir(repintarZona);
             }
-        }
-
-        repaint();
-    }
-
-    /**
-     * Indica si una coordenada (fila, columna) está dentro de los límites del tablero.
-     *
-     * @param f fila a comprobar.
-     * @param c columna a comprobar.
-     * @return {@code true} si la celda está dentro del tablero, {@code false} en caso contrario.
-     */
-    private boolean dentro(int f, int c) {
-        return f >= 0 && f < FILAS && c >= 0 && c < COLUMNAS;
-    }
-
-    /**
-     * Determina si una celda pertenece al área reservada para el iglú.
-     *
-     * @param fila fila de la celda.
-     * @param col  columna de la celda.
-     * @return {@code true} si la celda está dentro del área del iglú, {@code false} en caso contrario.
-     */
-    private boolean esCeldaIglu(int fila, int col) {
-        return (fila == 5 || fila == 6) && (col == 6 || col == 7);
-    }
-
-    /**
-     * Comprueba si existe algún enemigo ubicado en la celda dada.
-     *
-     * @param fila fila de la celda.
-     * @param col  columna de la celda.
-     * @return {@code true} si hay un enemigo en esa posición, {@code false} en caso contrario.
-     */
-    private boolean hayEnemigoEn(int fila, int col) {
-        for (Enemigo e : nivel.getEnemigos()) {
-            Posicion p = e.getPosicion();
-            if (p.getFila() == fila && p.getColumna() == col) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Indica si una celda está bloqueada para el movimiento del helado,
-     * ya sea por ser muro, bloque jugador o parte del iglú.
-     *
-     * @param fila fila de la celda.
-     * @param col  columna de la celda.
-     * @return {@code true} si la celda está bloqueada, {@code false} en caso contrario.
-     */
-    private boolean esCeldaBloqueada(int fila, int col) {
-        char tipo = mapa[fila][col];
-        if (tipo == BLOQUE_MURO || tipo == BLOQUE_JUGADOR) {
-            return true;
-        }
-        return esCeldaIglu(fila, col);
-    }
-
-    /**
-     * Inicializa y arranca el {@link Timer} que avanza el estado del juego
-     * cada segundo, actualizando el tiempo, verificando el fin de nivel y repintando.
-     */
-    private void iniciarTimer() {
-        timer = new Timer(1000, e -> {
-            juego.tick();
+            fotograma = actual;
+            dibujado = true;
             verificarFinDeNivel();
-            repaint();
         });
         timer.start();
     }
@@ -438,23 +269,32 @@ public class PanelJuego extends JPanel {
      * muestra los diálogos correspondientes y cambia de pantalla.
      */
     private void verificarFinDeNivel() {
-        if (nivel.isPerdido()) {
-            timer.stop();
+        if (simulacion.isRepeticion()) {
+            if (fotograma.isPerdido() || fotograma.isGanado()) {
+                terminarRepeticion();
+            }
+            return;
+        }
+        if (fotograma.isGanado() || fotograma.isPerdido()) {
+            ventana.guardarRepeticion(juego.getRepeticion());
+        }
+        if (fotograma.isPerdido()) {
+            detener();
             int opcion = JOptionPane.showConfirmDialog(
                     this,
-                    "Perdiste. ¿Reintentar el nivel 1?",
+                    "Perdiste. ¿Reintentar el nivel " + juego.getNumeroNivel() + "?",
                     "Fin del nivel",
                     JOptionPane.YES_NO_OPTION
             );
             if (opcion == JOptionPane.YES_OPTION) {
-                ventana.mostrarPantallaNivel1();
+                ventana.iniciarJuego();
             } else {
                 ventana.mostrarPantallaNivel();
             }
-        } else if (nivel.isGanado()) {
-            timer.stop();
+        } else if (fotograma.isGanado()) {
+            detener();
 
-            int puntaje = nivel.getPuntajeActual();
+            int puntaje = fotograma.getPuntaje();
 
             JOptionPane.showMessageDialog(
                     this,
@@ -468,254 +308,31 @@ public class PanelJuego extends JPanel {
     }
 
     /**
-     * Método de dibujo principal del panel.
-     * Limpia el fondo y dibuja la barra superior, el tablero,
-     * los objetos del dominio y, si procede, el overlay de pausa.
-     *
-     * @param g contexto gráfico proporcionado por Swing.
-     */
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-
-        dibujarBarraSuperior(g2d);
-        dibujarFondoYGrid(g2d);
-        dibujarBordes(g2d);
-        dibujarCeldas(g2d);
-        dibujarObjetosDominio(g2d);
-
-        if (juego.isPausado()) {
-            dibujarOverlayPausa(g2d);
-        }
-    }
-
-    /**
-     * Dibuja la barra superior con información de frutas recogidas,
-     * tiempo restante y puntaje actual.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
+     * Detiene la reproducción, avisa que terminó y vuelve a la pantalla
+     * de selección de nivel.
      */
-    private void dibujarBarraSuperior(Graphics2D g2d) {
-        g2d.setColor(new Color(102, 126, 234));
-        g2d.fillRect(0, 0, getWidth(), OFFSET_Y);
-
-        int uvasTotal = 8;
-        int platanosTotal = 8;
-        int uvasRecolectadas = 0;
-        int platanosRecolectados = 0;
-
-        for (Fruta f : nivel.getFrutas()) {
-            if (f instanceof Uva && f.estaRecolectada()) {
-                uvasRecolectadas++;
-            }
-            if (f instanceof Platano && f.estaRecolectada()) {
-                platanosRecolectados++;
-            }
-        }
-
-        int tiempo = nivel.getTiempoRestanteSegundos();
-        int minutos = tiempo / 60;
-        int segundos = tiempo % 60;
-        String textoTiempoValor = String.format("%d:%02d", minutos, segundos);
-
-        int puntaje = nivel.getPuntajeActual();
-
-        String textoUvas = "Uvas: " + uvasRecolectadas + "/" + uvasTotal;
-        String textoPlatanos = "Platanos: " + platanosRecolectados + "/" + platanosTotal;
-        String textoTiempo = "Tiempo: " + textoTiempoValor;
-        String textoPuntaje = "Puntaje: " + puntaje;
-
-        g2d.setColor(Color.WHITE);
-        Font fuente = new Font("Monospaced", Font.BOLD, 18);
-        g2d.setFont(fuente);
-        FontMetrics fm = g2d.getFontMetrics();
-
-        int yLinea1 = 32;
-        int yLinea2 = 54;
-
-        int xUvas = 20;
-        g2d.drawString(textoUvas, xUvas, yLinea1);
-
-        int anchoPlatanos = fm.stringWidth(textoPlatanos);
-        int xPlatanos = (getWidth() - anchoPlatanos) / 2;
-        g2d.drawString(textoPlatanos, xPlatanos, yLinea1);
-
-        int anchoTiempo = fm.stringWidth(textoTiempo);
-        int xTiempo = getWidth() - 20 - anchoTiempo;
-        g2d.drawString(textoTiempo, xTiempo, yLinea1);
-
-        int anchoPuntaje = fm.stringWidth(textoPuntaje);
-        int xPuntaje = getWidth() - 20 - anchoPuntaje;
-        g2d.drawString(textoPuntaje, xPuntaje, yLinea2);
+    private void terminarRepeticion() {
+        detener();
+        JOptionPane.showMessageDialog(
+                this,
+                "Fin de la repetición. Puntaje: " + fotograma.getPuntaje(),
+                "Repetición",
+                JOptionPane.INFORMATION_MESSAGE
+        );
+        ventana.mostrarPantallaNivel();
     }
 
     /**
-     * Dibuja el fondo del área de juego y la cuadrícula
-     * que delimita las celdas del tablero.
+     * Método de dibujo principal del panel en modo pasivo.
+     * Delega en el {@link RenderizadorJuego} el dibujo del fotograma actual.
      *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     */
-    private void dibujarFondoYGrid(Graphics2D g2d) {
-        int offsetX = BORDE * TAM_CELDA;
-        int offsetY = OFFSET_Y + BORDE * TAM_CELDA;
-
-        g2d.setColor(new Color(173, 216, 230));
-        g2d.fillRect(offsetX, offsetY, COLUMNAS * TAM_CELDA, FILAS * TAM_CELDA);
-
-        g2d.setColor(new Color(150, 190, 220));
-        for (int c = 0; c <= COLUMNAS; c++) {
-            int x = offsetX + c * TAM_CELDA;
-            g2d.drawLine(x, offsetY, x, offsetY + FILAS * TAM_CELDA);
-        }
-        for (int f = 0; f <= FILAS; f++) {
-            int y = OFFSET_Y + BORDE * TAM_CELDA + f * TAM_CELDA;
-            g2d.drawLine(offsetX, y, offsetX + COLUMNAS * TAM_CELDA, y);
-        }
-    }
-
-    /**
-     * Dibuja los bloques de borde que rodean el tablero de juego.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     */
-    private void dibujarBordes(Graphics2D g2d) {
-        int totalCols = COLUMNAS + 2 * BORDE;
-        int totalRows = FILAS + 2 * BORDE;
-        int startY = OFFSET_Y;
-
-        for (int c = 0; c < totalCols; c++) {
-            int x = c * TAM_CELDA;
-            g2d.drawImage(imgBloqueLateral, x, startY, TAM_CELDA, TAM_CELDA, this);
-            g2d.drawImage(imgBloqueLateral, x,
-                    startY + (totalRows - 1) * TAM_CELDA, TAM_CELDA, TAM_CELDA, this);
-        }
-        for (int r = 1; r < totalRows - 1; r++) {
-            int y = startY + r * TAM_CELDA;
-            g2d.drawImage(imgBloqueLateral, 0, y, TAM_CELDA, TAM_CELDA, this);
-            g2d.drawImage(imgBloqueLateral,
-                    (totalCols - 1) * TAM_CELDA, y, TAM_CELDA, TAM_CELDA, this);
-        }
-    }
-
-    /**
-     * Recorre la matriz del mapa y dibuja muros, bloques de jugador
-     * e iglú en las posiciones correspondientes.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     */
-    private void dibujarCeldas(Graphics2D g2d) {
-        int offsetX = BORDE * TAM_CELDA;
-        int offsetY = OFFSET_Y + BORDE * TAM_CELDA;
-
-        for (int f = 0; f < FILAS; f++) {
-            for (int c = 0; c < COLUMNAS; c++) {
-                int x = offsetX + c * TAM_CELDA;
-                int y = offsetY + f * TAM_CELDA;
-                char tipo = mapa[f][c];
-
-                if (tipo == BLOQUE_MURO || tipo == BLOQUE_JUGADOR) {
-                    dibujarEscalado(g2d, imgBloqueHielo, x, y);
-                } else if (tipo == BLOQUE_IGLU) {
-                    int ancho = 2 * TAM_CELDA;
-                    int alto = 2 * TAM_CELDA;
-                    g2d.drawImage(imgIglu, x, y, ancho, alto, this);
-                }
-            }
-        }
-    }
-
-    /**
-     * Dibuja todos los objetos provenientes del dominio:
-     * frutas activas, enemigos y el helado del jugador.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     */
-    private void dibujarObjetosDominio(Graphics2D g2d) {
-        int offsetX = BORDE * TAM_CELDA;
-        int offsetY = OFFSET_Y + BORDE * TAM_CELDA;
-
-        for (Fruta f : nivel.getFrutas()) {
-            if (f.estaRecolectada() || !f.estaActiva()) {
-                continue;
-            }
-            Posicion p = f.getPosicion();
-            int x = offsetX + p.getColumna() * TAM_CELDA;
-            int y = offsetY + p.getFila() * TAM_CELDA;
-
-            if (f instanceof Uva) {
-                dibujarEscalado(g2d, imgUva, x, y);
-            } else if (f instanceof Platano) {
-                dibujarEscalado(g2d, imgPlatano, x, y);
-            }
-        }
-
-        for (Enemigo e : nivel.getEnemigos()) {
-            Posicion p = e.getPosicion();
-            int x = offsetX + p.getColumna() * TAM_CELDA;
-            int y = offsetY + p.getFila() * TAM_CELDA;
-            dibujarEscalado(g2d, imgTroll, x, y);
-        }
-
-        Posicion ph = nivel.getHelado().getPosicion();
-        int xh = offsetX + ph.getColumna() * TAM_CELDA;
-        int yh = OFFSET_Y + BORDE * TAM_CELDA + ph.getFila() * TAM_CELDA;
-        dibujarHeladoJugador(g2d, xh, yh);
-    }
-
-    /**
-     * Dibuja una imagen escalada al tamaño de una celda del tablero
-     * en la posición indicada.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     * @param img imagen a dibujar (puede ser {@code null}).
-     * @param x   coordenada X (en píxeles) donde se dibuja.
-     * @param y   coordenada Y (en píxeles) donde se dibuja.
-     */
-    private void dibujarEscalado(Graphics2D g2d, Image img, int x, int y) {
-        if (img != null) {
-            g2d.drawImage(img, x, y, TAM_CELDA, TAM_CELDA, this);
-        }
-    }
-
-    /**
-     * Selecciona la imagen de helado adecuada según el sabor actual
-     * y la dibuja en la posición indicada.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     * @param x   coordenada X del helado en píxeles.
-     * @param y   coordenada Y del helado en píxeles.
+     * @param g contexto gráfico proporcionado por Swing.
      */
-    private void dibujarHeladoJugador(Graphics2D g2d, int x, int y) {
-        Image img = imgHeladoVainilla;
-        String sabor = saborActual == null ? "" : saborActual.toLowerCase();
-
-        if (sabor.contains("fresa")) {
-            img = imgHeladoFresa;
-        } else if (sabor.contains("chocolate")) {
-            img = imgHeladoChocolate;
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (lienzo == null) {
+            renderizador.dibujar((Graphics2D) g, fotograma);
         }
-
-        dibujarEscalado(g2d, img, x, y);
-    }
-
-    /**
-     * Dibuja una capa semitransparente sobre todo el panel
-     * con el texto "Pausado" centrado, para indicar que el juego
-     * está en estado de pausa.
-     *
-     * @param g2d contexto gráfico 2D utilizado para dibujar.
-     */
-    private void dibujarOverlayPausa(Graphics2D g2d) {
-        g2d.setColor(new Color(0, 0, 0, 150));
-        g2d.fillRect(0, 0, getWidth(), getHeight());
-
-        g2d.setColor(Color.WHITE);
-        g2d.setFont(new Font("Monospaced", Font.BOLD, 36));
-        String texto = "Pausado";
-        FontMetrics fm = g2d.getFontMetrics();
-        int x = (getWidth() - fm.stringWidth(texto)) / 2;
-        int y = (getHeight() - fm.getHeight()) / 2 + fm.getAscent();
-        g2d.drawString(texto, x, y);
     }
 }
@@ -11,6 +11,17 @@ import java.awt.event.*;
  */
 public class PantallaInicio extends JPanel {
 
+    private static final Color COLOR_BORDE_DORADO = new Color(184, 134, 11);
+    private static final Color COLOR_CUADRO = new Color(100, 180, 255);
+    private static final Color COLOR_CUADRO_RESALTADO = new Color(120, 200, 255);
+    private static final Color COLOR_BORDE_CUADRO = new Color(50, 150, 220);
+    private static final Color COLOR_TEXTO_RESALTADO = new Color(255, 255, 100);
+    private static final BasicStroke TRAZO_BORDE = new BasicStroke(4);
+    private static final BasicStroke TRAZO_BORDE_RESALTADO = new BasicStroke(6);
+    private static final BasicStroke TRAZO_CUADRO = new BasicStroke(3);
+    private static final Font FUENTE_TEXTO = new Font("Monospaced", Font.BOLD, 24);
+    private static final Font FUENTE_TEXTO_RESALTADO = new Font("Monospaced", Font.BOLD, 26);
+
     /**
      * Ventana principal que contiene la pantalla.
      */
@@ -21,6 +32,11 @@ public class PantallaInicio extends JPanel {
      */
     private Image imagenFondo;
 
+    /**
+     * Imagen de fondo ya escalada al tamaño del panel.
+     */
+    private FondoCacheado fondo;
+
     /**
      * Indica si el ratón está dentro del cuadro interactivo.
      */
@@ -44,13 +60,14 @@ public class PantallaInicio extends JPanel {
     }
 
     /**
-     * Carga la imagen de fondo desde los recursos.
+     * Obtiene la imagen de fondo de la caché compartida de recursos.
      */
     private void cargarImagen() {
         try {
-            imagenFondo = new ImageIcon("recursos/imagenes/InicioJuego.png").getImage();
+            imagenFondo = CacheRecursos.getInstancia().getImagen("recursos/imagenes/InicioJuego.png");
         } catch (Exception e) {
         }
+        fondo = FondoCacheado.estirado(imagenFondo);
     }
 
     /**
@@ -67,17 +84,24 @@ public class PantallaInicio extends JPanel {
             @Override
             public void mouseEntered(MouseEvent e) {
                 mouseEnCuadro = true;
-                repaint();
+                repintarCuadro();
             }
 
             @Override
             public void mouseExited(MouseEvent e) {
                 mouseEnCuadro = false;
-                repaint();
+                repintarCuadro();
             }
         });
     }
 
+    /**
+     * Repinta solo la zona del cuadro interactivo, incluido su borde.
+     */
+    private void repintarCuadro() {
+        repaint(150 - 6, getHeight() - 100 - 6, getWidth() - 300 + 12, 60 + 12);
+    }
+
     /**
      * Dibuja la pantalla de inicio, incluyendo la imagen de fondo
      * y el cuadro principal interactivo.
@@ -100,9 +124,7 @@ public class PantallaInicio extends JPanel {
      * @param g2d contexto gráfico 2D.
      */
     private void dibujarFondo(Graphics2D g2d) {
-        if (imagenFondo != null) {
-            g2d.drawImage(imagenFondo, 0, 0, getWidth(), getHeight(), this);
-        }
+        fondo.dibujar(g2d, getWidth(), getHeight());
     }
 
     /**
@@ -131,8 +153,8 @@ public class PantallaInicio extends JPanel {
      * @param alto  alto del cuadro.
      */
     private void dibujarBordeDorado(Graphics2D g2d, int x, int y, int ancho, int alto) {
-        g2d.setColor(new Color(184, 134, 11));
-        g2d.setStroke(new BasicStroke(mouseEnCuadro ? 6 : 4));
+        g2d.setColor(COLOR_BORDE_DORADO);
+        g2d.setStroke(mouseEnCuadro ? TRAZO_BORDE_RESALTADO : TRAZO_BORDE);
         g2d.drawRoundRect(x - 2, y - 2, ancho + 4, alto + 4, 15, 15);
     }
 
@@ -146,11 +168,11 @@ public class PantallaInicio extends JPanel {
      * @param alto  alto del cuadro.
      */
     private void dibujarFondoAnimado(Graphics2D g2d, int x, int y, int ancho, int alto) {
-        g2d.setColor(mouseEnCuadro ? new Color(120, 200, 255) : new Color(100, 180, 255));
+        g2d.setColor(mouseEnCuadro ? COLOR_CUADRO_RESALTADO : COLOR_CUADRO);
         g2d.fillRoundRect(x, y, ancho, alto, 15, 15);
 
-        g2d.setColor(new Color(50, 150, 220));
-        g2d.setStroke(new BasicStroke(3));
+        g2d.setColor(COLOR_BORDE_CUADRO);
+        g2d.setStroke(TRAZO_CUADRO);
         g2d.drawRoundRect(x, y, ancho, alto, 15, 15);
     }
 
@@ -164,8 +186,8 @@ public class PantallaInicio extends JPanel {
      * @param alto  alto del cuadro.
      */
     private void dibujarTexto(Graphics2D g2d, int x, int y, int ancho, int alto) {
-        g2d.setFont(new Font("Monospaced", Font.BOLD, mouseEnCuadro ? 26 : 24));
-        g2d.setColor(mouseEnCuadro ? new Color(255, 255, 100) : Color.WHITE);
+        g2d.setFont(mouseEnCuadro ? FUENTE_TEXTO_RESALTADO : FUENTE_TEXTO);
+        g2d.setColor(mouseEnCuadro ? COLOR_TEXTO_RESALTADO : Color.WHITE);
 
         String texto = "Click to lick";
         FontMetrics fm = g2d.getFontMetrics();
@@ -25,6 +25,16 @@ public class PantallaModalidad extends JPanel {
      */
     private Image fondoHelados;
 
+    /**
+     * Imagen de cabecera ya escalada al tamaño de su panel.
+     */
+    private FondoCacheado fondoCabecera;
+
+    /**
+     * Mosaico de helados de la zona central ya compuesto para su tamaño.
+     */
+    private FondoCacheado fondoCentro;
+
     /**
      * Crea la pantalla de selección de modalidad.
      *
@@ -43,14 +53,17 @@ public class PantallaModalidad extends JPanel {
     }
 
     /**
-     * Carga las imágenes de fondo desde los recursos.
+     * Obtiene las imágenes de fondo de la caché compartida de recursos
+     * y prepara sus fondos prerrenderizados.
      */
     private void cargarImagenes() {
         try {
-            imagenFondo = new ImageIcon("recursos/imagenes/EleccionModalidad.png").getImage();
-            fondoHelados = new ImageIcon("recursos/imagenes/fondohelados.png").getImage();
+            imagenFondo = CacheRecursos.getInstancia().getImagen("recursos/imagenes/EleccionModalidad.png");
+            fondoHelados = CacheRecursos.getInstancia().getImagen("recursos/imagenes/fondohelados.png");
         } catch (Exception e) {
         }
+        fondoCabecera = FondoCacheado.ajustado(imagenFondo, 20);
+        fondoCentro = FondoCacheado.mosaico(fondoHelados);
     }
 
     /**
@@ -105,7 +118,7 @@ public class PantallaModalidad extends JPanel {
 
     /**
      * Crea un panel destinado a mostrar la imagen de cabecera,
-     * centrada y escalada manteniendo la proporción.
+     * centrada y escalada manteniendo la proporción una sola vez por tamaño.
      *
      * @return panel configurado para dibujar la imagen superior.
      */
@@ -114,22 +127,7 @@ public class PantallaModalidad extends JPanel {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (imagenFondo != null) {
-                    int anchoImagen = imagenFondo.getWidth(this);
-                    int altoImagen = imagenFondo.getHeight(this);
-
-                    double escala = Math.min(
-                        (double) getWidth() / anchoImagen,
-                        (double) (getHeight() - 20) / altoImagen
-                    );
-
-                    int nuevoAncho = (int) (anchoImagen * escala);
-                    int nuevoAlto = (int) (altoImagen * escala);
-                    int x = (getWidth() - nuevoAncho) / 2;
-                    int y = (getHeight() - nuevoAlto) / 2;
-
-                    g.drawImage(imagenFondo, x, y, nuevoAncho, nuevoAlto, this);
-                }
+                fondoCabecera.dibujar(g, getWidth(), getHeight());
             }
         };
         panelImagen.setPreferredSize(new Dimension(900, 350));
@@ -140,7 +138,7 @@ public class PantallaModalidad extends JPanel {
 
     /**
      * Crea el panel central de la pantalla, utilizando la imagen de helados
-     * como patrón repetido de fondo y una disposición vertical para los componentes.
+     * como patrón repetido de fondo, compuesto una sola vez por tamaño, y una disposición vertical para los componentes.
      *
      * @return panel central configurado.
      */
@@ -149,16 +147,7 @@ public class PantallaModalidad extends JPanel {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (fondoHelados != null) {
-                    int anchoHelado = fondoHelados.getWidth(this);
-                    int altoHelado = fondoHelados.getHeight(this);
-
-                    for (int y = 0; y < getHeight(); y += altoHelado) {
-                        for (int x = 0; x < getWidth(); x += anchoHelado) {
-                            g.drawImage(fondoHelados, x, y, anchoHelado, altoHelado, this);
-                        }
-                    }
-                }
+                fondoCentro.dibujar(g, getWidth(), getHeight());
             }
         };
         panelCentro.setLayout(new BoxLayout(panelCentro, BoxLayout.Y_AXIS));
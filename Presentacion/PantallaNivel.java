@@ -25,6 +25,16 @@ public class PantallaNivel extends JPanel {
      */
     private Image fondoHelados;
 
+    /**
+     * Imagen de cabecera ya escalada al tamaño de su panel.
+     */
+    private FondoCacheado fondoCabecera;
+
+    /**
+     * Mosaico de helados de la zona central ya compuesto para su tamaño.
+     */
+    private FondoCacheado fondoCentro;
+
     /**
      * Crea la pantalla de selección de nivel.
      *
@@ -43,14 +53,17 @@ public class PantallaNivel extends JPanel {
     }
 
     /**
-     * Carga las imágenes de fondo desde los recursos.
+     * Obtiene las imágenes de fondo de la caché compartida de recursos
+     * y prepara sus fondos prerrenderizados.
      */
     private void cargarImagenes() {
         try {
-            imagenFondo = new ImageIcon("recursos/imagenes/EleccionNivel.png").getImage();
-            fondoHelados = new ImageIcon("recursos/imagenes/fondohelados.png").getImage();
+            imagenFondo = CacheRecursos.getInstancia().getImagen("recursos/imagenes/EleccionNivel.png");
+            fondoHelados = CacheRecursos.getInstancia().getImagen("recursos/imagenes/fondohelados.png");
         } catch (Exception e) {
         }
+        fondoCabecera = FondoCacheado.ajustado(imagenFondo, 20);
+        fondoCentro = FondoCacheado.mosaico(fondoHelados);
     }
 
     /**
@@ -85,6 +98,14 @@ public class PantallaNivel extends JPanel {
             () -> ventana.mostrarPantallaNivel3()
         ));
 
+        JButton botonContinuar = ConstructorBotones.crearBotonNivel(
+            "CONTINUAR",
+            new Color(70, 130, 180),
+            () -> ventana.continuarPartida()
+        );
+        botonContinuar.setEnabled(ventana.hayPartidaGuardada());
+        panelBotones.add(botonContinuar);
+
         panelCentro.add(panelBotones);
         panelCentro.add(Box.createVerticalStrut(20));
         panelCentro.add(ConstructorBotones.crearBotonAtras(() -> ventana.mostrarPantallaSabor()));
@@ -95,7 +116,7 @@ public class PantallaNivel extends JPanel {
 
     /**
      * Crea un panel destinado a mostrar la imagen de cabecera,
-     * centrada y escalada manteniendo la proporción.
+     * centrada y escalada manteniendo la proporción una sola vez por tamaño.
      *
      * @return panel configurado para dibujar la imagen superior.
      */
@@ -104,22 +125,7 @@ public class PantallaNivel extends JPanel {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (imagenFondo != null) {
-                    int anchoImagen = imagenFondo.getWidth(this);
-                    int altoImagen = imagenFondo.getHeight(this);
-
-                    double escala = Math.min(
-                        (double) getWidth() / anchoImagen,
-                        (double) (getHeight() - 20) / altoImagen
-                    );
-
-                    int nuevoAncho = (int) (anchoImagen * escala);
-                    int nuevoAlto = (int) (altoImagen * escala);
-                    int x = (getWidth() - nuevoAncho) / 2;
-                    int y = (getHeight() - nuevoAlto) / 2;
-
-                    g.drawImage(imagenFondo, x, y, nuevoAncho, nuevoAlto, this);
-                }
+                fondoCabecera.dibujar(g, getWidth(), getHeight());
             }
         };
         panelImagen.setPreferredSize(new Dimension(900, 350));
@@ -130,7 +136,7 @@ public class PantallaNivel extends JPanel {
 
     /**
      * Crea el panel central de la pantalla, utilizando la imagen de helados
-     * como patrón repetido de fondo y una disposición vertical para los componentes.
+     * como patrón repetido de fondo, compuesto una sola vez por tamaño, y una disposición vertical para los componentes.
      *
      * @return panel central configurado.
      */
@@ -139,16 +145,7 @@ public class PantallaNivel extends JPanel {
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
-                if (fondoHelados != null) {
-                    int anchoHelado = fondoHelados.getWidth(this);
-                    int altoHelado = fondoHelados.getHeight(this);
-
-                    for (int y = 0; y < getHeight(); y += altoHelado) {
-                        for (int x = 0; x < getWidth(); x += anchoHelado) {
-                            g.drawImage(fondoHelados, x, y, anchoHelado, altoHelado, this);
-                        }
-                    }
-                }
+                fondoCentro.dibujar(g, getWidth(), getHeight());
             }
         };
         panelCentro.setLayout(new BoxLayout(panelCentro, BoxLayout.Y_AXIS));
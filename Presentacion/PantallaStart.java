@@ -12,6 +12,11 @@ public class PantallaStart extends JPanel {
 
     private VentanaJuego ventana;
     private Image imagenFondo;
+
+    /**
+     * Imagen de fondo ya escalada al tamaño del panel.
+     */
+    private FondoCacheado fondo;
     private final boolean debugZonas = false;
 
     /**
@@ -32,13 +37,14 @@ public class PantallaStart extends JPanel {
     }
 
     /**
-     * Carga la imagen EleccionStart desde los recursos.
+     * Obtiene la imagen EleccionStart de la caché compartida de recursos.
      */
     private void cargarImagen() {
         try {
-            imagenFondo = new ImageIcon("recursos/imagenes/EleccionStart.png").getImage();
+            imagenFondo = CacheRecursos.getInstancia().getImagen("recursos/imagenes/EleccionStart.png");
         } catch (Exception e) {
         }
+        fondo = FondoCacheado.estirado(imagenFondo);
     }
 
     /**
@@ -114,9 +120,7 @@ public class PantallaStart extends JPanel {
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
-        if (imagenFondo != null) {
-            g.drawImage(imagenFondo, 0, 0, getWidth(), getHeight(), this);
-        }
+        fondo.dibujar(g, getWidth(), getHeight());
 
         if (debugZonas) {
             Graphics2D g2d = (Graphics2D) g;
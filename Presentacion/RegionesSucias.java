@@ -0,0 +1,179 @@
+package Presentacion;
+
+import Dominio.FotogramaJuego;
+import Dominio.TipoFruta;
+
+import java.util.Arrays;
+
+/**
+ * Calcula qué zonas de la pantalla cambiaron entre dos fotogramas:
+ * celdas que dejó u ocupa el helado o un enemigo, frutas que aparecen o
+ * desaparecen, bloques construidos o rotos y la barra superior si cambió
+ * algún valor. Las celdas marcadas de una misma fila se agrupan en un solo
+ * rectángulo. Si no cambió nada visible no se emite ninguna zona.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class RegionesSucias {
+
+    /**
+     * Recibe cada zona que hay que repintar, en píxeles.
+     */
+    public interface Destino {
+        void repintar(int x, int y, int ancho, int alto);
+    }
+
+    private static final int TAM_CELDA = RenderizadorJuego.TAM_CELDA;
+    private static final int ORIGEN_X = RenderizadorJuego.BORDE * TAM_CELDA;
+    private static final int ORIGEN_Y = RenderizadorJuego.OFFSET_Y + RenderizadorJuego.BORDE * TAM_CELDA;
+    private static final TipoFruta[] TIPOS = TipoFruta.values();
+
+    private final int filas;
+    private final int columnas;
+    private final boolean[] sucias;
+
+    /**
+     * Fruta visible en cada celda en el fotograma anterior y en el actual,
+     * como ordinal del tipo más uno, o cero si no hay fruta.
+     */
+    private final byte[] frutasAnteriores;
+    private final byte[] frutasActuales;
+
+    private boolean completa;
+    private boolean barraSuperior;
+
+    /**
+     * Crea el calculador para un tablero de las dimensiones indicadas.
+     *
+     * @param filas    número de filas del tablero.
+     * @param columnas número de columnas del tablero.
+     */
+    public RegionesSucias(int filas, int columnas) {
+        this.filas = filas;
+        this.columnas = columnas;
+        this.sucias = new boolean[filas * columnas];
+        this.frutasAnteriores = new byte[filas * columnas];
+        this.frutasActuales = new byte[filas * columnas];
+    }
+
+    /**
+     * Compara dos fotogramas y marca las zonas que difieren.
+     *
+     * @param anterior último fotograma dibujado, o {@code null} si no hay ninguno.
+     * @param actual   fotograma que se va a dibujar.
+     */
+    public void calcular(FotogramaJuego anterior, FotogramaJuego actual) {
+        Arrays.fill(sucias, false);
+        barraSuperior = false;
+        completa = anterior == null
+                || anterior.isPausado() != actual.isPausado()
+                || anterior.getNumeroEnemigos() != actual.getNumeroEnemigos();
+        if (completa) {
+            return;
+        }
+
+        if (anterior.getFilaHelado() != actual.getFilaHelado()
+                || anterior.getColumnaHelado() != actual.getColumnaHelado()) {
+            marcar(anterior.getFilaHelado(), anterior.getColumnaHelado());
+            marcar(actual.getFilaHelado(), actual.getColumnaHelado());
+        }
+
+        for (int i = 0; i < actual.getNumeroEnemigos(); i++) {
+            if (anterior.getFilaEnemigo(i) != actual.getFilaEnemigo(i)
+                    || anterior.getColumnaEnemigo(i) != actual.getColumnaEnemigo(i)) {
+                marcar(anterior.getFilaEnemigo(i), anterior.getColumnaEnemigo(i));
+                marcar(actual.getFilaEnemigo(i), actual.getColumnaEnemigo(i));
+            }
+        }
+
+        compararFrutas(anterior, actual);
+
+        if (anterior.getVersionMapa() != actual.getVersionMapa()) {
+            for (int f = 0; f < filas; f++) {
+                for (int c = 0; c < columnas; c++) {
+                    if (anterior.getTipo(f, c) != actual.getTipo(f, c)) {
+                        marcar(f, c);
+                    }
+                }
+            }
+        }
+
+        barraSuperior = anterior.getTiempoRestanteSegundos() != actual.getTiempoRestanteSegundos()
+                || anterior.getPuntaje() != actual.getPuntaje();
+        for (TipoFruta tipo : TIPOS) {
+            barraSuperior |= anterior.getFrutasRecolectadas(tipo) != actual.getFrutasRecolectadas(tipo)
+                    || anterior.getTotalFrutas(tipo) != actual.getTotalFrutas(tipo);
+        }
+    }
+
+    /**
+     * Indica si hay que repintar toda la superficie.
+     *
+     * @return {@code true} si el último cálculo exige un repintado completo.
+     */
+    public boolean isCompleta() {
+        return completa;
+    }
+
+    /**
+     * Emite las zonas marcadas en el último cálculo. Las celdas contiguas
+     * de una misma fila se agrupan en un solo rectángulo.
+     *
+     * @param destino receptor de las zonas a repintar.
+     * @return número de zonas emitidas.
+     */
+    public int emitir(Destino destino) {
+        if (completa) {
+            destino.repintar(0, 0, RenderizadorJuego.ANCHO, RenderizadorJuego.ALTO);
+            return 1;
+        }
+        int zonas = 0;
+        if (barraSuperior) {
+            destino.repintar(0, 0, RenderizadorJuego.ANCHO, RenderizadorJuego.OFFSET_Y);
+            zonas++;
+        }
+        for (int f = 0; f < filas; f++) {
+            int c = 0;
+            while (c < columnas) {
+                if (!sucias[f * columnas + c]) {
+                    c++;
+                    continue;
+                }
+                int inicio = c;
+                while (c < columnas && sucias[f * columnas + c]) {
+                    c++;
+                }
+                destino.repintar(ORIGEN_X + inicio * TAM_CELDA, ORIGEN_Y + f * TAM_CELDA,
+                        (c - inicio) * TAM_CELDA, TAM_CELDA);
+                zonas++;
+            }
+        }
+        return zonas;
+    }
+
+    /**
+     * Marca las celdas cuya fruta visible difiere entre ambos fotogramas.
+     */
+    private void compararFrutas(FotogramaJuego anterior, FotogramaJuego actual) {
+        Arrays.fill(frutasAnteriores, (byte) 0);
+        Arrays.fill(frutasActuales, (byte) 0);
+        for (int i = 0; i < anterior.getNumeroFrutas(); i++) {
+            int celda = anterior.getFilaFruta(i) * columnas + anterior.getColumnaFruta(i);
+            frutasAnteriores[celda] = (byte) (anterior.getTipoFruta(i).ordinal() + 1);
+        }
+        for (int i = 0; i < actual.getNumeroFrutas(); i++) {
+            int celda = actual.getFilaFruta(i) * columnas + actual.getColumnaFruta(i);
+            frutasActuales[celda] = (byte) (actual.getTipoFruta(i).ordinal() + 1);
+        }
+        for (int i = 0; i < sucias.length; i++) {
+            if (frutasAnteriores[i] != frutasActuales[i]) {
+                sucias[i] = true;
+            }
+        }
+    }
+
+    private void marcar(int f, int c) {
+        if (f >= 0 && f < filas && c >= 0 && c < columnas) {
+            sucias[f * columnas + c] = true;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package Presentacion;
+
+import Dominio.FotogramaJuego;
+import Dominio.Nivel;
+import Dominio.TipoFruta;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Dibuja un {@link FotogramaJuego} sobre cualquier contexto gráfico:
+ * barra superior, tablero, objetos del dominio y overlay de pausa.
+ * Lo comparten el {@link PanelJuego}, que dibuja en su paintComponent,
+ * y el {@link LienzoJuego}, que dibuja de forma activa desde su propio hilo.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class RenderizadorJuego {
+
+    /**
+     * Número de filas del tablero lógico.
+     */
+    private static final int FILAS = Nivel.FILAS;
+
+    /**
+     * Número de columnas del tablero lógico.
+     */
+    private static final int COLUMNAS = Nivel.COLUMNAS;
+
+    /**
+     * Tamaño (ancho y alto) de cada celda en píxeles.
+     */
+    public static final int TAM_CELDA = 40;
+
+    /**
+     * Altura reservada para la barra superior de información.
+     */
+    public static final int OFFSET_Y = 60;
+
+    /**
+     * Grosor del borde del tablero, medido en celdas.
+     */
+    public static final int BORDE = 1;
+
+    /**
+     * Ancho total de la superficie de dibujo en píxeles.
+     */
+    public static final int ANCHO = (COLUMNAS + 2 * BORDE) * TAM_CELDA;
+
+    /**
+     * Alto total de la superficie de dibujo en píxeles.
+     */
+    public static final int ALTO = (FILAS + 2 * BORDE) * TAM_CELDA + OFFSET_Y;
+
+    /**
+     * Color de fondo del tablero.
+     */
+    public static final Color COLOR_FONDO = new Color(173, 216, 230);
+
+    private static final Color COLOR_BARRA = new Color(102, 126, 234);
+    private static final Color COLOR_OVERLAY_PAUSA = new Color(0, 0, 0, 150);
+    private static final Font FUENTE_HUD = new Font("Monospaced", Font.BOLD, 18);
+    private static final Font FUENTE_PAUSA = new Font("Monospaced", Font.BOLD, 36);
+    private static final String TEXTO_PAUSA = "Pausado";
+
+    /**
+     * Imágenes del tablero ya escaladas al tamaño de celda.
+     */
+    private final AtlasSprites atlas;
+
+    /**
+     * Imagen del helado del jugador, resuelta una sola vez a partir del sabor.
+     */
+    private final Sprite spriteHelado;
+
+    /**
+     * Capa con la parte estática del tablero, actualizada de forma incremental.
+     */
+    private final CapaEstatica capaEstatica;
+
+    /**
+     * Rectángulo reutilizado para consultar la zona de recorte.
+     */
+    private final Rectangle recorte = new Rectangle();
+
+    /**
+     * Barra superior ya compuesta con los últimos valores mostrados.
+     */
+    private final BufferedImage imagenBarra;
+
+    /**
+     * Overlay de pausa ya compuesto; se crea la primera vez que se pausa.
+     */
+    private BufferedImage imagenPausa;
+
+    /**
+     * Últimos valores mostrados en la barra superior y sus textos; los textos
+     * solo se reconstruyen cuando cambia el valor correspondiente.
+     */
+    private int hudUvas = -1;
+    private int hudUvasTotal = -1;
+    private int hudPlatanos = -1;
+    private int hudPlatanosTotal = -1;
+    private int hudTiempo = -1;
+    private int hudPuntaje = -1;
+    private String textoUvas;
+    private String textoPlatanos;
+    private String textoTiempo;
+    private String textoPuntaje;
+
+    /**
+     * Crea un renderizador para el sabor de helado indicado,
+     * usando el atlas de imágenes compartido.
+     *
+     * @param saborActual sabor del helado del jugador.
+     */
+    public RenderizadorJuego(String saborActual) {
+        this.atlas = AtlasSprites.getInstancia();
+        this.spriteHelado = Sprite.heladoDe(saborActual);
+        this.capaEstatica = new CapaEstatica(atlas, FILAS, COLUMNAS);
+        this.imagenBarra = AtlasSprites.crearCompatible(ANCHO, OFFSET_Y);
+    }
+
+    /**
+     * Dibuja el fotograma completo: barra superior, capa estática del
+     * tablero, objetos del dominio y, si procede, el overlay de pausa.
+     * Debe invocarse siempre desde el mismo hilo, pues actualiza la capa estática.
+     * Si el contexto tiene una zona de recorte que no incluye la barra
+     * superior, esta no se dibuja.
+     *
+     * @param g2d       contexto gráfico 2D utilizado para dibujar.
+     * @param fotograma estado de la partida a representar.
+     */
+    public void dibujar(Graphics2D g2d, FotogramaJuego fotograma) {
+        recorte.setBounds(0, 0, ANCHO, ALTO);
+        g2d.getClipBounds(recorte);
+        if (recorte.y < OFFSET_Y) {
+            dibujarBarraSuperior(g2d, fotograma);
+        }
+
+        capaEstatica.actualizar(fotograma);
+        capaEstatica.dibujar(g2d, 0, OFFSET_Y);
+
+        dibujarObjetosDominio(g2d, fotograma);
+
+        if (fotograma.isPausado()) {
+            dibujarOverlayPausa(g2d);
+        }
+    }
+
+    /**
+     * Dibuja la barra superior con información de frutas recogidas,
+     * tiempo restante y puntaje actual. La barra se compone en una imagen
+     * que solo se rehace cuando cambia alguno de sus valores; el resto de
+     * fotogramas es una única copia.
+     *
+     * @param g2d       contexto gráfico 2D utilizado para dibujar.
+     * @param fotograma estado de la partida a representar.
+     */
+    private void dibujarBarraSuperior(Graphics2D g2d, FotogramaJuego fotograma) {
+        int uvasTotal = fotograma.getTotalFrutas(TipoFruta.UVA);
+        int platanosTotal = fotograma.getTotalFrutas(TipoFruta.PLATANO);
+        int uvasRecolectadas = fotograma.getFrutasRecolectadas(TipoFruta.UVA);
+        int platanosRecolectados = fotograma.getFrutasRecolectadas(TipoFruta.PLATANO);
+        int tiempo = fotograma.getTiempoRestanteSegundos();
+        int puntaje = fotograma.getPuntaje();
+
+        boolean cambio = false;
+        if (uvasRecolectadas != hudUvas || uvasTotal != hudUvasTotal) {
+            hudUvas = uvasRecolectadas;
+            hudUvasTotal = uvasTotal;
+            textoUvas = "Uvas: " + uvasRecolectadas + "/" + uvasTotal;
+            cambio = true;
+        }
+        if (platanosRecolectados != hudPlatanos || platanosTotal != hudPlatanosTotal) {
+            hudPlatanos = platanosRecolectados;
+            hudPlatanosTotal = platanosTotal;
+            textoPlatanos = "Platanos: " + platanosRecolectados + "/" + platanosTotal;
+            cambio = true;
+        }
+        if (tiempo != hudTiempo) {
+            hudTiempo = tiempo;
+            int segundos = tiempo % 60;
+            textoTiempo = "Tiempo: " + tiempo / 60 + (segundos < 10 ? ":0" : ":") + segundos;
+            cambio = true;
+        }
+        if (puntaje != hudPuntaje) {
+            hudPuntaje = puntaje;
+            textoPuntaje = "Puntaje: " + puntaje;
+            cambio = true;
+        }
+        if (cambio) {
+            componerBarraSuperior();
+        }
+        g2d.drawImage(imagenBarra, 0, 0, null);
+    }
+
+    /**
+     * Vuelve a componer la imagen de la barra superior con los textos actuales.
+     */
+    private void componerBarraSuperior() {
+        Graphics2D g2d = imagenBarra.createGraphics();
+        try {
+            g2d.setColor(COLOR_BARRA);
+            g2d.fillRect(0, 0, ANCHO, OFFSET_Y);
+
+            g2d.setColor(Color.WHITE);
+            g2d.setFont(FUENTE_HUD);
+            FontMetrics fm = g2d.getFontMetrics();
+
+            int yLinea1 = 32;
+            int yLinea2 = 54;
+
+            int xUvas = 20;
+            g2d.drawString(textoUvas, xUvas, yLinea1);
+
+            int anchoPlatanos = fm.stringWidth(textoPlatanos);
+            int xPlatanos = (ANCHO - anchoPlatanos) / 2;
+            g2d.drawString(textoPlatanos, xPlatanos, yLinea1);
+
+            int anchoTiempo = fm.stringWidth(textoTiempo);
+            int xTiempo = ANCHO - 20 - anchoTiempo;
+            g2d.drawString(textoTiempo, xTiempo, yLinea1);
+
+            int anchoPuntaje = fm.stringWidth(textoPuntaje);
+            int xPuntaje = ANCHO - 20 - anchoPuntaje;
+            g2d.drawString(textoPuntaje, xPuntaje, yLinea2);
+        } finally {
+            g2d.dispose();
+        }
+    }
+
+    /**
+     * Dibuja todos los objetos provenientes del dominio:
+     * frutas activas, enemigos y el helado del jugador.
+     *
+     * @param g2d       contexto gráfico 2D utilizado para dibujar.
+     * @param fotograma estado de la partida a representar.
+     */
+    private void dibujarObjetosDominio(Graphics2D g2d, FotogramaJuego fotograma) {
+        int offsetX = BORDE * TAM_CELDA;
+        int offsetY = OFFSET_Y + BORDE * TAM_CELDA;
+
+        for (int i = 0; i < fotograma.getNumeroFrutas(); i++) {
+            int x = offsetX + fotograma.getColumnaFruta(i) * TAM_CELDA;
+            int y = offsetY + fotograma.getFilaFruta(i) * TAM_CELDA;
+
+            if (fotograma.getTipoFruta(i) == TipoFruta.UVA) {
+                atlas.dibujar(g2d, Sprite.UVA, x, y);
+            } else if (fotograma.getTipoFruta(i) == TipoFruta.PLATANO) {
+                atlas.dibujar(g2d, Sprite.PLATANO, x, y);
+            }
+        }
+
+        for (int i = 0; i < fotograma.getNumeroEnemigos(); i++) {
+            int x = offsetX + fotograma.getColumnaEnemigo(i) * TAM_CELDA;
+            int y = offsetY + fotograma.getFilaEnemigo(i) * TAM_CELDA;
+            atlas.dibujar(g2d, Sprite.enemigoDe(fotograma.getTipoEnemigo(i)), x, y);
+        }
+
+        int xh = offsetX + fotograma.getColumnaHelado() * TAM_CELDA;
+        int yh = offsetY + fotograma.getFilaHelado() * TAM_CELDA;
+        atlas.dibujar(g2d, spriteHelado, xh, yh);
+    }
+
+    /**
+     * Dibuja una capa semitransparente sobre todo el panel
+     * con el texto "Pausado" centrado, para indicar que el juego
+     * está en estado de pausa. La capa se compone una sola vez.
+     *
+     * @param g2d contexto gráfico 2D utilizado para dibujar.
+     */
+    private void dibujarOverlayPausa(Graphics2D g2d) {
+        if (imagenPausa == null) {
+            imagenPausa = AtlasSprites.crearCompatible(ANCHO, ALTO);
+            Graphics2D gp = imagenPausa.createGraphics();
+            try {
+                gp.setColor(COLOR_OVERLAY_PAUSA);
+                gp.fillRect(0, 0, ANCHO, ALTO);
+
+                gp.setColor(Color.WHITE);
+                gp.setFont(FUENTE_PAUSA);
+                FontMetrics fm = gp.getFontMetrics();
+                int x = (ANCHO - fm.stringWidth(TEXTO_PAUSA)) / 2;
+                int y = (ALTO - fm.getHeight()) / 2 + fm.getAscent();
+                gp.drawString(TEXTO_PAUSA, x, y);
+            } finally {
+                gp.dispose();
+            }
+        }
+        g2d.drawImage(imagenPausa, 0, 0, null);
+    }
+}
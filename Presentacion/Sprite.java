@@ -0,0 +1,89 @@
+package Presentacion;
+
+import Dominio.TipoEnemigo;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Imágenes del tablero de juego, con el archivo del que se cargan
+ * y el número de celdas que ocupan de lado.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public enum Sprite {
+    BLOQUE_HIELO("bloquehielo.png", 1),
+    BLOQUE_LATERAL("bloquelaterales.png", 1),
+    IGLU("iglu.png", 2),
+    PLATANO("platano.png", 1),
+    UVA("uva.png", 1),
+    TROLL("troll.png", 1),
+    CALAMAR("calamarnaranja.png", 1),
+    HELADO_VAINILLA("heladovainilla.png", 1),
+    HELADO_FRESA("heladofresa.png", 1),
+    HELADO_CHOCOLATE("heladochocolate.png", 1);
+
+    /**
+     * Carpeta donde se encuentran las imágenes del tablero.
+     */
+    public static final String CARPETA = "recursos/imagenesniveles/";
+
+    /**
+     * Imagen del helado para cada sabor, para resolverla con una sola búsqueda.
+     */
+    private static final Map<String, Sprite> HELADO_POR_SABOR = new HashMap<>();
+
+    static {
+        HELADO_POR_SABOR.put("vainilla", HELADO_VAINILLA);
+        HELADO_POR_SABOR.put("fresa", HELADO_FRESA);
+        HELADO_POR_SABOR.put("chocolate", HELADO_CHOCOLATE);
+    }
+
+    private final String archivo;
+    private final int celdas;
+
+    Sprite(String archivo, int celdas) {
+        this.archivo = archivo;
+        this.celdas = celdas;
+    }
+
+    /**
+     * Obtiene la ruta del archivo de la imagen.
+     *
+     * @return ruta relativa al directorio del proyecto.
+     */
+    public String getRuta() {
+        return CARPETA + archivo;
+    }
+
+    /**
+     * Obtiene el número de celdas que ocupa la imagen de lado.
+     *
+     * @return 1 para la mayoría de imágenes, 2 para el iglú.
+     */
+    public int getCeldas() {
+        return celdas;
+    }
+
+    /**
+     * Obtiene la imagen del helado correspondiente a un sabor.
+     *
+     * @param sabor sabor del helado.
+     * @return imagen del helado; la de vainilla si el sabor no se reconoce.
+     */
+    public static Sprite heladoDe(String sabor) {
+        return HELADO_POR_SABOR.getOrDefault(sabor, HELADO_VAINILLA);
+    }
+
+    /**
+     * Obtiene la imagen correspondiente a un tipo de enemigo.
+     *
+     * @param tipo tipo del enemigo.
+     * @return imagen del enemigo.
+     */
+    public static Sprite enemigoDe(TipoEnemigo tipo) {
+        return switch (tipo) {
+            case TROLL -> TROLL;
+            case CALAMAR -> CALAMAR;
+        };
+    }
+}
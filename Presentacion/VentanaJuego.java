@@ -1,9 +1,14 @@
 package Presentacion;
 
+import Dominio.ArchivoPartida;
 import Dominio.Juego;
 import Dominio.ModalidadJuego;
+import Dominio.Repeticion;
 
 import javax.swing.*;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 /**
  * Ventana principal de la aplicación Bad DOPO Cream.
@@ -13,6 +18,18 @@ import javax.swing.*;
  */
 public class VentanaJuego extends JFrame {
 
+    private static final String TITULO = "Bad DOPO Cream";
+
+    /**
+     * Carpeta donde se guarda la repetición de cada partida terminada.
+     */
+    private static final Path CARPETA_REPETICIONES = Path.of("repeticiones");
+
+    /**
+     * Archivo donde se guarda la partida en curso para continuarla después.
+     */
+    private static final Path ARCHIVO_PARTIDA = Path.of("partidas", "partida.bdcg");
+
     /**
      * Sabor seleccionado para el helado principal.
      */
@@ -34,12 +51,28 @@ public class VentanaJuego extends JFrame {
      */
     private Juego juego;
 
+    /**
+     * Indica si el tablero se dibuja de forma activa desde un hilo propio
+     * en lugar de mediante repaint.
+     */
+    private final boolean renderizadoActivo;
+
+    /**
+     * Crea la ventana principal con el dibujo pasivo de Swing.
+     */
+    public VentanaJuego() {
+        this(false);
+    }
+
     /**
      * Crea la ventana principal, configura sus propiedades
      * e inicia mostrando la pantalla de inicio.
+     *
+     * @param renderizadoActivo {@code true} para dibujar el tablero de forma activa.
      */
-    public VentanaJuego() {
-        setTitle("Bad DOPO Cream");
+    public VentanaJuego(boolean renderizadoActivo) {
+        this.renderizadoActivo = renderizadoActivo;
+        setTitle(TITULO);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setResizable(false);
 
@@ -104,6 +137,15 @@ public class VentanaJuego extends JFrame {
         this.nivelSeleccionado = nivelSeleccionado;
     }
 
+    /**
+     * Indica si el tablero se dibuja de forma activa.
+     *
+     * @return {@code true} si se usa el dibujo activo.
+     */
+    public boolean isRenderizadoActivo() {
+        return renderizadoActivo;
+    }
+
     /**
      * Obtiene la instancia actual del juego de dominio.
      *
@@ -134,6 +176,7 @@ public class VentanaJuego extends JFrame {
      * @param nueva nuevo panel que se mostrará en la ventana.
      */
     private void cambiarPantalla(JPanel nueva) {
+        setTitle(TITULO);
         setContentPane(nueva);
         revalidate();
         repaint();
@@ -202,20 +245,167 @@ public class VentanaJuego extends JFrame {
 
     /**
      * Crea la instancia de {@link Juego} con la configuración actual
-     * y muestra el panel de juego asociado al nivel seleccionado.
+     * y el nivel seleccionado, y muestra el panel de juego asociado.
      */
     public void iniciarJuego() {
-        juego = new Juego(saborSeleccionado, getModalidadSeleccionadaEnum());
-        PanelJuego panelJuego = new PanelJuego(this, nivelSeleccionado, juego);
+        juego = new Juego(saborSeleccionado, getModalidadSeleccionadaEnum(), System.nanoTime(), nivelSeleccionado);
+        PanelJuego panelJuego = new PanelJuego(this, juego);
         cambiarPantalla(panelJuego);
     }
 
     /**
-     * Punto de entrada de la aplicación.
+     * Indica si hay una partida guardada que se pueda continuar.
+     *
+     * @return {@code true} si existe el archivo de la partida guardada.
+     */
+    public boolean hayPartidaGuardada() {
+        return Files.isRegularFile(ARCHIVO_PARTIDA);
+    }
+
+    /**
+     * Carga la partida guardada y la muestra en el panel de juego, en el
+     * mismo estado en que se guardó. Si no se puede leer, lo informa por
+     * consola y la ventana sigue en la pantalla actual.
+     */
+    public void continuarPartida() {
+        Juego cargado;
+        try {
+            cargado = ArchivoPartida.cargar(ARCHIVO_PARTIDA);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("No se pudo cargar la partida: " + e.getMessage());
+            return;
+        }
+        juego = cargado;
+        saborSeleccionado = cargado.getSaborHelado();
+        modalidadSeleccionada = cargado.getModalidad().name();
+        nivelSeleccionado = cargado.getNumeroNivel();
+        cambiarPantalla(new PanelJuego(this, juego));
+    }
+
+    /**
+     * Guarda la partida en curso, ya codificada, reemplazando la que
+     * hubiera, e indica en el título que se guardó. Si no se puede
+     * escribir, lo informa por consola y la partida sigue sin más.
+     *
+     * @param datos bytes de la partida con el formato de {@link ArchivoPartida}.
+     */
+    public void guardarPartida(byte[] datos) {
+        try {
+            Files.createDirectories(ARCHIVO_PARTIDA.getParent());
+            Files.write(ARCHIVO_PARTIDA, datos);
+            setTitle(TITULO + " - Partida guardada");
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la partida: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Muestra una repetición en el panel de juego.
      *
-     * @param args argumentos de línea de comandos, no se utilizan.
+     * @param repeticion repetición a mostrar.
+     * @param velocidad  multiplicador inicial de la velocidad original.
+     */
+    public void mostrarRepeticion(Repeticion repeticion, int velocidad) {
+        cambiarPantalla(new PanelJuego(this, repeticion, velocidad));
+        mostrarVelocidadRepeticion(velocidad);
+    }
+
+    /**
+     * Indica en el título de la ventana la velocidad de la repetición.
+     *
+     * @param velocidad multiplicador de la velocidad original.
+     */
+    public void mostrarVelocidadRepeticion(int velocidad) {
+        setTitle(TITULO + " - Repetición " + velocidad + "x");
+    }
+
+    /**
+     * Guarda la repetición de una partida terminada en la carpeta de
+     * repeticiones. Si no se puede escribir, lo informa por consola y la
+     * partida sigue sin más.
+     *
+     * @param repeticion repetición a guardar.
+     */
+    public void guardarRepeticion(Repeticion repeticion) {
+        try {
+            Files.createDirectories(CARPETA_REPETICIONES);
+            repeticion.guardar(CARPETA_REPETICIONES.resolve(
+                    "partida-" + System.currentTimeMillis() + "-" + repeticion.getSemilla() + ".bdcr"));
+        } catch (IOException e) {
+            System.err.println("No se pudo guardar la repetición: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Interpreta la velocidad de reproducción indicada en la línea de
+     * comandos. Si no es un entero positivo, lo informa por consola y usa
+     * la velocidad original.
+     *
+     * @param texto argumento de {@code --velocidad}.
+     * @return multiplicador de la velocidad, mayor que cero.
+     */
+    private static int leerVelocidad(String texto) {
+        try {
+            int velocidad = Integer.parseInt(texto);
+            if (velocidad > 0) {
+                return velocidad;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo junto con los valores no positivos.
+        }
+        System.err.println("Velocidad de repetición no válida: " + texto + "; se usa 1");
+        return 1;
+    }
+
+    /**
+     * Punto de entrada de la aplicación. Empieza a decodificar las imágenes
+     * en segundo plano antes de crear la ventana.
+     *
+     * @param args argumentos de línea de comandos; {@code --activo} activa
+     *             el dibujo activo del tablero, {@code --repeticion <archivo>}
+     *             abre directamente una repetición, {@code --velocidad <n>}
+     *             elige su velocidad inicial (1, 2 u 8; si no es un entero
+     *             positivo se usa 1) y {@code --continuar}
+     *             retoma la última partida guardada.
      */
     public static void main(String[] args) {
-        SwingUtilities.invokeLater(VentanaJuego::new);
+        CacheRecursos.getInstancia().precargarTodo();
+        boolean activo = false;
+        String archivoRepeticion = null;
+        int velocidad = 1;
+        boolean continuar = false;
+        for (int i = 0; i < args.length; i++) {
+            if ("--activo".equals(args[i])) {
+                activo = true;
+            } else if ("--repeticion".equals(args[i]) && i + 1 < args.length) {
+                archivoRepeticion = args[++i];
+            } else if ("--velocidad".equals(args[i]) && i + 1 < args.length) {
+                velocidad = leerVelocidad(args[++i]);
+            } else if ("--continuar".equals(args[i])) {
+                continuar = true;
+            }
+        }
+
+        Repeticion repeticion = null;
+        if (archivoRepeticion != null) {
+            try {
+                repeticion = Repeticion.cargar(Path.of(archivoRepeticion));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("No se pudo abrir la repetición: " + e.getMessage());
+            }
+        }
+
+        boolean renderizadoActivo = activo;
+        Repeticion inicial = repeticion;
+        int velocidadInicial = velocidad;
+        boolean continuarPartida = continuar;
+        SwingUtilities.invokeLater(() -> {
+            VentanaJuego ventana = new VentanaJuego(renderizadoActivo);
+            if (inicial != null) {
+                ventana.mostrarRepeticion(inicial, velocidadInicial);
+            } else if (continuarPartida) {
+                ventana.continuarPartida();
+            }
+        });
     }
 }
@@ -0,0 +1,128 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Pruebas unitarias para la clase ArchivoPartida.
+ * Verifican que una partida guardada y cargada siga exactamente igual que
+ * la original, que las ranuras de un archivo mapeado sean independientes y
+ * que se rechacen datos que no son una partida.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class ArchivoPartidaTest {
+
+    /**
+     * Verifica que una partida guardada en un archivo y cargada conserve el
+     * estado del nivel, la configuración y la grabación, y que al seguir
+     * jugando ambas avancen igual.
+     */
+    @Test
+    public void partidaCargadaDebeSeguirIgualQueLaOriginal() throws IOException {
+        Juego original = new Juego("fresa", ModalidadJuego.PvsM, 21L);
+        original.setTicksPorSegundo(5);
+        for (int i = 0; i < 120 && !original.isTerminado(); i++) {
+            if (i % 7 == 0) {
+                original.moverHeladoJugador(Direccion.values()[i % 4]);
+            }
+            original.tick();
+        }
+
+        Path archivo = Files.createTempFile("partida", ".bdcg");
+        try {
+            ArchivoPartida.guardar(original, archivo);
+            Juego cargado = ArchivoPartida.cargar(archivo);
+
+            assertEquals(new EstadoNivel(original.getNivel()), new EstadoNivel(cargado.getNivel()));
+            assertEquals(5, cargado.getTicksPorSegundo());
+            assertEquals("fresa", cargado.getSaborHelado());
+            assertEquals(original.isPausado(), cargado.isPausado());
+            assertTrue(Arrays.equals(original.getRepeticion().aBytes(), cargado.getRepeticion().aBytes()));
+
+            for (int i = 0; i < 50; i++) {
+                original.moverHeladoJugador(Direccion.ABAJO);
+                cargado.moverHeladoJugador(Direccion.ABAJO);
+                original.tick();
+                cargado.tick();
+            }
+            assertEquals(new EstadoNivel(original.getNivel()), new EstadoNivel(cargado.getNivel()));
+            assertTrue(Arrays.equals(original.getRepeticion().aBytes(), cargado.getRepeticion().aBytes()));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+    }
+
+    /**
+     * Verifica que cada ranura conserve su propia partida, que una ranura
+     * vacía se cargue como {@code null} y que una partida demasiado grande
+     * para la ranura se rechace.
+     */
+    @Test
+    public void ranurasDebenGuardarPartidasIndependientes() throws IOException {
+        Path archivo = Files.createTempFile("ranuras", ".bdcg");
+        try (ArchivoPartida ranuras = new ArchivoPartida(archivo, 3, 4096)) {
+            Juego[] juegos = new Juego[2];
+            for (int i = 0; i < juegos.length; i++) {
+                juegos[i] = new Juego("vainilla", ModalidadJuego.MvsM, 40L + i);
+                for (int tick = 0; tick < 30 * (i + 1); tick++) {
+                    juegos[i].tick();
+                }
+                ranuras.guardar(i, juegos[i]);
+            }
+            juegos[0].alternarPausa();
+            ranuras.guardar(0, juegos[0]);
+
+            for (int i = 0; i < juegos.length; i++) {
+                Juego cargado = ranuras.cargar(i);
+                assertEquals(juegos[i].getSemilla(), cargado.getSemilla());
+                assertEquals(new EstadoNivel(juegos[i].getNivel()), new EstadoNivel(cargado.getNivel()));
+            }
+            assertTrue(ranuras.cargar(0).isPausado());
+            assertNull(ranuras.cargar(2));
+        } finally {
+            Files.deleteIfExists(archivo);
+        }
+
+        Path pequeno = Files.createTempFile("ranuras", ".bdcg");
+        try (ArchivoPartida ranuras = new ArchivoPartida(pequeno, 1, 64)) {
+            ranuras.guardar(0, new Juego("vainilla", ModalidadJuego.PvsM, 1L));
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        } finally {
+            Files.deleteIfExists(pequeno);
+        }
+    }
+
+    /**
+     * Verifica que datos que no son una partida, o que están truncados,
+     * se rechacen.
+     */
+    @Test
+    public void leerDebeRechazarDatosInvalidos() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsM, 8L);
+        ByteBuffer valida = ByteBuffer.allocate(ArchivoPartida.tamano(juego));
+        ArchivoPartida.escribir(juego, valida);
+
+        byte[][] invalidos = {
+                {'X', 'X', 'X', 'X', 1},
+                {'B', 'D', 'C', 'G', 99},
+                Arrays.copyOf(valida.array(), valida.capacity() / 2)
+        };
+        for (byte[] datos : invalidos) {
+            try {
+                ArchivoPartida.leer(ByteBuffer.wrap(datos));
+                fail("Se esperaba IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // esperado
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase BotMonteCarlo.
+ * Verifican que el bot devuelva jugadas válidas dentro de su presupuesto,
+ * que informe los recorridos por segundo y que no modifique el nivel real.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class BotMonteCarloTest {
+
+    /**
+     * Verifica que el bot del helado elija una dirección libre, respete
+     * aproximadamente su presupuesto y cuente sus recorridos.
+     */
+    @Test
+    public void heladoDebeElegirJugadaLibreDentroDelPresupuesto() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.MvsM, 4L);
+        BotMonteCarlo bot = new BotMonteCarlo(BotMonteCarlo.Rol.HELADO, 2, 30, 1L);
+        try {
+            int celda = nivel.getHelado().getPosicion().getCelda();
+            long inicio = System.nanoTime();
+            Direccion dir = bot.decidir(nivel);
+            long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+            assertTrue(dir == null || nivel.puedeMoverHelado(dir));
+            assertTrue(ms < 1000);
+            assertTrue(bot.getRolloutsUltima() > 0);
+            assertTrue(bot.getRolloutsPorSegundo() > 0);
+            assertEquals(celda, nivel.getHelado().getPosicion().getCelda());
+        } finally {
+            bot.cerrar();
+        }
+    }
+
+    /**
+     * Verifica que, controlando enemigos en PvsM, el bot tome al enemigo
+     * más cercano al helado y la partida siga avanzando con él.
+     */
+    @Test
+    public void enemigosDebenControlarAlMasCercanoDelHelado() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsM, 6L);
+        Nivel nivel = juego.getNivel();
+        BotMonteCarlo bot = new BotMonteCarlo(BotMonteCarlo.Rol.ENEMIGOS, 2, 10, 2L);
+        try {
+            nivel.setControlEnemigosMaquina(bot);
+            int helado = nivel.getHelado().getPosicion().getCelda();
+            int indice = bot.getEnemigoControlado(nivel);
+            for (Enemigo e : nivel.getEnemigos()) {
+                assertTrue(Celda.distancia(helado, nivel.getEnemigos().get(indice).getPosicion().getCelda())
+                        <= Celda.distancia(helado, e.getPosicion().getCelda()));
+            }
+
+            for (int i = 0; i < 3 && !juego.isTerminado(); i++) {
+                juego.tick();
+            }
+            assertTrue(bot.getRolloutsTotales() > 0);
+        } finally {
+            bot.cerrar();
+        }
+    }
+}
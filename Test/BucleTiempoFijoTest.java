@@ -0,0 +1,70 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase BucleTiempoFijo.
+ * Verifican la conversión de tiempo real en ticks de paso fijo.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class BucleTiempoFijoTest {
+
+    private static final long MS = 1_000_000L;
+
+    /**
+     * Verifica que el tiempo acumulado se consuma en ticks completos,
+     * conservando la fracción pendiente para el siguiente fotograma.
+     */
+    @Test
+    public void avanzarDebeEjecutarTicksSegunElTiempoTranscurrido() {
+        BucleTiempoFijo bucle = new BucleTiempoFijo(50);
+        int[] ticks = {0};
+
+        assertEquals(0, bucle.avanzar(0, () -> ticks[0]++));
+        assertEquals(2, bucle.avanzar(50 * MS, () -> ticks[0]++));
+        assertEquals(0, bucle.avanzar(59 * MS, () -> ticks[0]++));
+        assertEquals(1, bucle.avanzar(61 * MS, () -> ticks[0]++));
+
+        assertEquals(3, ticks[0]);
+        assertEquals(3, bucle.getTicks());
+        assertEquals(60 * MS, bucle.getTiempoJuegoNanos());
+    }
+
+    /**
+     * Verifica que un fotograma muy lento no provoque una ráfaga ilimitada
+     * de ticks y que el tiempo sobrante se descarte.
+     */
+    @Test
+    public void fotogramaLentoNoDebeProvocarEspiralDeLaMuerte() {
+        BucleTiempoFijo bucle = new BucleTiempoFijo(60, 4);
+        bucle.avanzar(0, () -> { });
+
+        int ejecutados = bucle.avanzar(2_000 * MS, () -> { });
+
+        assertEquals(4, ejecutados);
+        assertTrue(bucle.getTiempoDescartadoNanos() > 0);
+        assertTrue(bucle.getAlfa() < 1.0);
+    }
+
+    /**
+     * Verifica que a 30 ticks por segundo el reloj del nivel y la IA
+     * avancen según el tiempo de juego y no según el número de ticks.
+     */
+    @Test
+    public void nivelDebeDescontarTiempoPorSegundoDeJuego() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsP, 1L);
+        nivel.setTicksPorSegundo(30);
+        int inicial = nivel.getTiempoRestanteSegundos();
+
+        for (int i = 0; i < 29; i++) {
+            nivel.actualizarUnTick();
+        }
+        assertEquals(inicial, nivel.getTiempoRestanteSegundos());
+
+        nivel.actualizarUnTick();
+        assertEquals(inicial - 1, nivel.getTiempoRestanteSegundos());
+        assertEquals(1000, nivel.getTiempoJuegoMs());
+    }
+}
@@ -0,0 +1,36 @@
+package Test;
+
+import Presentacion.CacheRecursos;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase CacheRecursos.
+ * Verifican que cada imagen se decodifique una sola vez por ruta.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class CacheRecursosTest {
+
+    /**
+     * Verifica que dos peticiones de la misma ruta devuelvan la misma imagen.
+     */
+    @Test
+    public void mismaRutaDebeDevolverLaMismaImagen() {
+        CacheRecursos cache = CacheRecursos.getInstancia();
+        String ruta = "recursos/imagenes/fondohelados.png";
+
+        cache.precargar(ruta);
+
+        assertNotNull(cache.getImagen(ruta));
+        assertSame(cache.getImagen(ruta), cache.getImagen(ruta));
+        assertTrue(cache.isCargada(ruta));
+    }
+
+    /**
+     * Verifica que una ruta inexistente devuelva null sin lanzar excepciones.
+     */
+    @Test
+    public void rutaInexistenteDebeDevolverNull() {
+        assertNull(CacheRecursos.getInstancia().getImagen("recursos/imagenes/noexiste.png"));
+    }
+}
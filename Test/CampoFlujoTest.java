@@ -0,0 +1,107 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase CampoFlujo.
+ * Verifican las distancias hacia el helado, que los perseguidores sigan el
+ * campo y que la búsqueda se comparta entre todos ellos.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class CampoFlujoTest {
+
+    /**
+     * Verifica que la celda del helado tenga distancia cero, que cada
+     * celda alcanzable apunte a una vecina una unidad más cercana y que
+     * los muros sean inalcanzables.
+     */
+    @Test
+    public void cadaPasoDebeAcercarUnaCeldaAlHelado() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.PvsM, 1L);
+        MapaNivel mapa = nivel.getMapa();
+        CampoFlujo campo = nivel.getCampoFlujo();
+        int helado = mapa.indiceDe(nivel.getHelado().getPosicion().getCelda());
+
+        assertEquals(0, campo.getDistancia(helado));
+        assertNull(campo.siguientePaso(helado));
+        for (int f = 0; f < mapa.getFilas(); f++) {
+            for (int c = 0; c < mapa.getColumnas(); c++) {
+                int celda = mapa.indice(f, c);
+                if (celda == helado) {
+                    continue;
+                }
+                if (!mapa.estaLibre(celda)) {
+                    assertEquals(CampoFlujo.INALCANZABLE, campo.getDistancia(celda));
+                    continue;
+                }
+                Direccion paso = campo.siguientePaso(celda);
+                assertNotNull(paso);
+                int siguiente = celda + mapa.desplazamiento(paso);
+                assertEquals(campo.getDistancia(celda) - 1, campo.getDistancia(siguiente));
+            }
+        }
+    }
+
+    /**
+     * Verifica que la búsqueda solo se repita cuando cambia el mapa o
+     * la celda del helado.
+     */
+    @Test
+    public void debeRecalcularSoloSiCambiaElHeladoOElMapa() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.PvsM, 1L);
+        long inicial = nivel.getCampoFlujo().getRecalculos();
+        nivel.getCampoFlujo();
+        assertEquals(inicial, nivel.getCampoFlujo().getRecalculos());
+
+        nivel.accionHielo();
+        assertEquals(inicial + 1, nivel.getCampoFlujo().getRecalculos());
+
+        nivel.moverHeladoJugador(Direccion.DERECHA);
+        assertEquals(inicial + 2, nivel.getCampoFlujo().getRecalculos());
+    }
+
+    /**
+     * Verifica que quinientos calamares compartan una sola búsqueda por
+     * paso y que ninguno se aleje del helado.
+     */
+    @Test
+    public void muchosPerseguidoresDebenCompartirUnaBusquedaPorPaso() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.PvsM, 1L);
+        MapaNivel mapa = nivel.getMapa();
+        for (int i = 0; nivel.getEnemigos().size() < 502; i++) {
+            int f = mapa.getFilas() - 2 - (i / mapa.getColumnas()) % 2;
+            int c = i % mapa.getColumnas();
+            if (mapa.estaLibre(mapa.indice(f, c))) {
+                nivel.agregarEnemigo(new Calamar(new Posicion(f, c)));
+            }
+        }
+
+        int[] antes = distanciasCalamares(nivel);
+        long recalculos = nivel.getCampoFlujo().getRecalculos();
+        int pasos = 0;
+        while (pasos < 3 && !nivel.isPerdido()) {
+            nivel.actualizarUnTick();
+            pasos++;
+        }
+
+        assertTrue(nivel.getCampoFlujo().getRecalculos() - recalculos <= pasos);
+        int[] despues = distanciasCalamares(nivel);
+        for (int i = 0; i < antes.length; i++) {
+            assertTrue(despues[i] <= antes[i]);
+        }
+    }
+
+    private static int[] distanciasCalamares(Nivel nivel) {
+        CampoFlujo campo = nivel.getCampoFlujo();
+        int[] distancias = new int[nivel.getEnemigos().size()];
+        for (int i = 0; i < distancias.length; i++) {
+            Enemigo e = nivel.getEnemigos().get(i);
+            distancias[i] = e.getTipo() == TipoEnemigo.CALAMAR
+                    ? campo.getDistancia(nivel.getMapa().indiceDe(e.getPosicion().getCelda()))
+                    : 0;
+        }
+        return distancias;
+    }
+}
@@ -0,0 +1,159 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Pruebas unitarias para DefinicionNivel y CargadorNiveles.
+ * Verifican que los niveles del juego se lean de sus archivos con contenido
+ * distinto, que la caché compilada se use y se invalide al cambiar el texto,
+ * y que los errores del formato indiquen la línea.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class CargadorNivelesTest {
+
+    private static final String MAPA_ABIERTO = "mapa\n"
+            + "BBBBBBBBBBBBBB\n"
+            + "B............B\n".repeat(10)
+            + "BBBBBBBBBBBBBB\n";
+
+    /**
+     * Verifica que los tres niveles del juego se carguen, sean distintos y
+     * que el nivel 1 conserve su contenido original.
+     */
+    @Test
+    public void nivelesDelJuegoDebenTenerContenidoDistinto() {
+        CargadorNiveles cargador = CargadorNiveles.getPredeterminado();
+        DefinicionNivel[] niveles = new DefinicionNivel[3];
+        for (int i = 0; i < niveles.length; i++) {
+            assertTrue(cargador.existe(i + 1));
+            niveles[i] = cargador.cargar(i + 1);
+            assertEquals(i + 1, niveles[i].getNumero());
+        }
+
+        assertNotEquals(niveles[0], niveles[1]);
+        assertNotEquals(niveles[1], niveles[2]);
+        assertNotEquals(niveles[0], niveles[2]);
+        assertEquals(180, niveles[0].getTiempoSegundos());
+        assertEquals(16, niveles[0].getCantidadFrutas());
+        assertEquals(2, niveles[0].getNumeroOleadas());
+        assertEquals(3, niveles[2].getNumeroOleadas());
+
+        Nivel nivel1 = new Nivel("vainilla", ModalidadJuego.PvsM, 1L);
+        assertEquals(1, nivel1.getHelado().getPosicion().getFila());
+        assertEquals(7, nivel1.getHelado().getPosicion().getColumna());
+        assertEquals(2, nivel1.getEnemigos().size());
+        assertEquals(MapaNivel.IGLU, nivel1.getMapa().getTipo(5, 6));
+
+        Nivel nivel3 = new Nivel(niveles[2], "vainilla", ModalidadJuego.PvsM, 1L);
+        assertEquals(120, nivel3.getTiempoRestanteSegundos());
+        assertEquals(TipoEnemigo.CALAMAR, nivel3.getEnemigos().get(1).getTipo());
+    }
+
+    /**
+     * Verifica que el primer cargador compile el nivel a la caché, que otro
+     * cargador obtenga lo mismo desde ella y que cambiar el texto o dañar
+     * la caché obligue a compilar de nuevo.
+     */
+    @Test
+    public void cacheDebeReutilizarseHastaQueCambieElTexto() throws IOException {
+        Path carpeta = Files.createTempDirectory("niveles");
+        Path cache = carpeta.resolve("cache");
+        try {
+            Path texto = carpeta.resolve("nivel7.txt");
+            Files.writeString(texto, "tiempo 60\nhelado 1 1\n" + MAPA_ABIERTO + "fruta 1 UVA 2 2\n");
+
+            DefinicionNivel primera = new CargadorNiveles(carpeta, cache).cargar(7);
+            Path compilado = new CargadorNiveles(carpeta, cache).archivoCompilado(7);
+            assertTrue(Files.isRegularFile(compilado));
+            assertEquals(primera, new CargadorNiveles(carpeta, cache).cargar(7));
+
+            Files.writeString(texto, "tiempo 90\nhelado 1 1\n" + MAPA_ABIERTO + "fruta 1 UVA 2 2\n");
+            CargadorNiveles cargador = new CargadorNiveles(carpeta, cache);
+            assertNotEquals(compilado, cargador.archivoCompilado(7));
+            assertEquals(90, cargador.cargar(7).getTiempoSegundos());
+            assertTrue(Files.isRegularFile(cargador.archivoCompilado(7)));
+
+            Files.write(cargador.archivoCompilado(7), new byte[]{1, 2, 3});
+            assertEquals(90, new CargadorNiveles(carpeta, cache).cargar(7).getTiempoSegundos());
+        } finally {
+            try (Stream<Path> rutas = Files.walk(carpeta)) {
+                rutas.sorted(Comparator.reverseOrder()).forEach(ruta -> ruta.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Verifica que el formato compilado reproduzca exactamente la definición.
+     */
+    @Test
+    public void formatoCompiladoDebeConservarLaDefinicion() {
+        DefinicionNivel definicion = CargadorNiveles.getPredeterminado().cargar(2);
+        ByteBuffer datos = ByteBuffer.allocate(definicion.getTamanoCodificado());
+        definicion.escribir(datos);
+        assertFalse(datos.hasRemaining());
+        datos.flip();
+
+        assertEquals(definicion, DefinicionNivel.leer(datos));
+    }
+
+    /**
+     * Verifica que los errores del texto se rechacen indicando la línea.
+     */
+    @Test
+    public void parsearDebeRechazarNivelesInvalidos() {
+        String base = "tiempo 60\nhelado 1 1\n" + MAPA_ABIERTO;
+        String[][] casos = {
+                {base + "fruta 1 KIWI 2 2\n", "Línea 16"},
+                {base + "fruta 1 UVA 2\n", "Línea 16"},
+                {base + "fruta 1 UVA 0 0\n", "celda libre"},
+                {base + "fruta 2 UVA 2 2\n", "oleada 1"},
+                {base + "fruta 1 UVA 2 2\ntroll 5 5 1 10 1 12\n", "Línea 17"},
+                {"tiempo 60\nhelado 1 1\nmapa\nBBBB\n", "Línea 4"},
+                {"tiempo 60\n" + MAPA_ABIERTO + "fruta 1 UVA 2 2\n", "helado"},
+                {base + "saltar 1\n", "Línea 16"}
+        };
+        for (String[] caso : casos) {
+            try {
+                DefinicionNivel.parsear(9, caso[0]);
+                fail("Se esperaba IllegalArgumentException para: " + caso[1]);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains(caso[1]));
+            }
+        }
+    }
+
+    /**
+     * Verifica que una partida de otro nivel conserve su número de nivel al
+     * reproducirla y al guardarla y cargarla.
+     */
+    @Test
+    public void partidaDeOtroNivelDebeConservarSuNivel() {
+        Juego juego = new Juego("fresa", ModalidadJuego.PvsM, 6L, 3);
+        juego.setTicksPorSegundo(10);
+        for (int i = 0; i < 40 && !juego.isTerminado(); i++) {
+            juego.moverHeladoJugador(Direccion.values()[i % 4]);
+            juego.tick();
+        }
+
+        Repeticion repeticion = Repeticion.leer(juego.getRepeticion().aBytes());
+        assertEquals(3, repeticion.getNumeroNivel());
+        assertEquals(new EstadoNivel(juego.getNivel()), new EstadoNivel(repeticion.reproducir().getNivel()));
+
+        ByteBuffer datos = ByteBuffer.allocate(ArchivoPartida.tamano(juego));
+        ArchivoPartida.escribir(juego, datos);
+        datos.flip();
+        Juego cargado = ArchivoPartida.leer(datos);
+        assertEquals(3, cargado.getNumeroNivel());
+        assertEquals(new EstadoNivel(juego.getNivel()), new EstadoNivel(cargado.getNivel()));
+        assertEquals("fresa", cargado.getSaborHelado());
+    }
+}
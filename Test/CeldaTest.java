@@ -0,0 +1,84 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Pruebas unitarias para la clase Celda.
+ * Verifican el empaquetado de coordenadas, la aritmética de vecinos y que
+ * mover una entidad no reserve memoria.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class CeldaTest {
+
+    private static final int MOVIMIENTOS_POR_TANDA = 10_000;
+    private static final int MAX_TANDAS = 200;
+
+    /**
+     * Verifica que la fila y la columna se recuperen tal cual,
+     * incluidas las coordenadas negativas del borde.
+     */
+    @Test
+    public void debeEmpaquetarYDesempaquetarFilaYColumna() {
+        int[][] casos = {{0, 0}, {3, 5}, {11, 13}, {-1, 0}, {0, -1}, {-1, -1}, {2, -1}};
+        for (int[] caso : casos) {
+            int celda = Celda.de(caso[0], caso[1]);
+            assertEquals(caso[0], Celda.fila(celda));
+            assertEquals(caso[1], Celda.columna(celda));
+        }
+    }
+
+    /**
+     * Verifica que avanzar a una vecina y volver devuelva la misma celda,
+     * y que la dirección entre vecinas se reconozca.
+     */
+    @Test
+    public void vecinaDebeAvanzarUnaCeldaEnLaDireccionIndicada() {
+        int origen = Celda.de(4, 0);
+        assertEquals(Celda.de(3, 0), Celda.vecina(origen, Direccion.ARRIBA));
+        assertEquals(Celda.de(5, 0), Celda.vecina(origen, Direccion.ABAJO));
+        assertEquals(Celda.de(4, -1), Celda.vecina(origen, Direccion.IZQUIERDA));
+        assertEquals(Celda.de(4, 1), Celda.vecina(origen, Direccion.DERECHA));
+
+        for (Direccion d : Direccion.values()) {
+            int vecina = Celda.vecina(origen, d);
+            assertEquals(d, Celda.direccionHacia(origen, vecina));
+            assertEquals(1, Celda.distancia(origen, vecina));
+        }
+        assertNull(Celda.direccionHacia(origen, Celda.de(5, 1)));
+        assertFalse(Celda.dentro(Celda.vecina(origen, Direccion.IZQUIERDA), 12, 14));
+        assertTrue(Celda.dentro(origen, 12, 14));
+    }
+
+    /**
+     * Verifica que mover el helado de un lado a otro, una vez optimizado
+     * por el compilador JIT, no reserve memoria y conserve la misma posición.
+     */
+    @Test
+    public void moverHeladoNoDebeReservarMemoria() {
+        com.sun.management.ThreadMXBean hilos =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        Posicion posicion = new Posicion(5, 5);
+        Helado helado = new Helado(posicion, "fresa");
+        long id = Thread.currentThread().getId();
+        long reservados = -1;
+        for (int tanda = 0; tanda < MAX_TANDAS && reservados != 0; tanda++) {
+            long antes = hilos.getThreadAllocatedBytes(id);
+            for (int i = 0; i < MOVIMIENTOS_POR_TANDA; i++) {
+                helado.mover(Direccion.DERECHA, 12, 14);
+                helado.mover(Direccion.IZQUIERDA, 12, 14);
+            }
+            reservados = hilos.getThreadAllocatedBytes(id) - antes;
+        }
+
+        assertEquals(0, reservados);
+        assertEquals(posicion, helado.getPosicion());
+        assertEquals(Celda.de(5, 5), helado.getPosicion().getCelda());
+    }
+}
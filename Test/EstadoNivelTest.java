@@ -0,0 +1,114 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Pruebas unitarias para la clase EstadoNivel.
+ * Verifican que restaurar una foto devuelva el nivel exactamente al mismo
+ * estado, que las fotos se comparen por contenido y que capturar y
+ * restaurar no reserven memoria.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class EstadoNivelTest {
+
+    private static final int PASOS = 15;
+    private static final int RESTAURACIONES_POR_TANDA = 1_000;
+    private static final int MAX_TANDAS = 200;
+
+    /**
+     * Verifica que, tras restaurar una foto, el nivel quede igual que al
+     * tomarla y vuelva a jugar exactamente los mismos pasos.
+     */
+    @Test
+    public void restaurarDebeRepetirLaMismaPartida() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.MvsM, 7L);
+        for (int i = 0; i < 5; i++) {
+            nivel.actualizarUnTick();
+        }
+        EstadoNivel foto = new EstadoNivel(nivel);
+
+        EstadoNivel[] pasos = new EstadoNivel[PASOS];
+        for (int i = 0; i < PASOS; i++) {
+            avanzar(nivel, i);
+            pasos[i] = new EstadoNivel(nivel);
+        }
+        assertNotEquals(foto, pasos[PASOS - 1]);
+
+        foto.restaurar(nivel);
+        assertEquals(foto, new EstadoNivel(nivel));
+        for (int i = 0; i < PASOS; i++) {
+            avanzar(nivel, i);
+            assertEquals(pasos[i], new EstadoNivel(nivel));
+        }
+    }
+
+    /**
+     * Verifica que las fotos se comparen por contenido, que una copia sea
+     * independiente y que no se acepten niveles con otra estructura.
+     */
+    @Test
+    public void fotosDebenCompararsePorContenido() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.MvsM, 7L);
+        EstadoNivel foto = new EstadoNivel(nivel);
+        EstadoNivel copia = new EstadoNivel(foto);
+        assertEquals(foto, copia);
+        assertEquals(foto.hashCode(), copia.hashCode());
+
+        nivel.accionHielo();
+        foto.capturar(nivel);
+        assertNotEquals(foto, copia);
+        copia.copiarDe(foto);
+        assertEquals(foto, copia);
+
+        nivel.agregarEnemigo(new Calamar(new Posicion(10, 1)));
+        assertFalse(foto.esCompatible(nivel));
+        try {
+            foto.restaurar(nivel);
+            fail("Se esperaba IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // esperado
+        }
+    }
+
+    /**
+     * Verifica que capturar y restaurar una foto, una vez optimizado el
+     * código por el compilador JIT, no reserve memoria.
+     */
+    @Test
+    public void capturarYRestaurarNoDebenReservarMemoria() {
+        com.sun.management.ThreadMXBean hilos =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.MvsM, 7L);
+        EstadoNivel raiz = new EstadoNivel(nivel);
+        nivel.actualizarUnTick();
+        EstadoNivel avance = new EstadoNivel(nivel);
+
+        long id = Thread.currentThread().getId();
+        long reservados = -1;
+        for (int tanda = 0; tanda < MAX_TANDAS && reservados != 0; tanda++) {
+            long antes = hilos.getThreadAllocatedBytes(id);
+            for (int i = 0; i < RESTAURACIONES_POR_TANDA; i++) {
+                raiz.restaurar(nivel);
+                avance.capturar(nivel);
+            }
+            reservados = hilos.getThreadAllocatedBytes(id) - antes;
+        }
+
+        assertEquals(0, reservados);
+        assertEquals(raiz, avance);
+    }
+
+    private static void avanzar(Nivel nivel, int paso) {
+        if (paso % 4 == 0) {
+            nivel.accionHielo();
+        }
+        nivel.actualizarUnTick();
+    }
+}
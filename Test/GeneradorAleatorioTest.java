@@ -0,0 +1,65 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase GeneradorAleatorio.
+ * Verifican que las partidas con la misma semilla sean reproducibles.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class GeneradorAleatorioTest {
+
+    /**
+     * Verifica que dos generadores con la misma semilla produzcan
+     * la misma secuencia.
+     */
+    @Test
+    public void mismaSemillaDebeProducirMismaSecuencia() {
+        GeneradorAleatorio a = new GeneradorAleatorio(123L);
+        GeneradorAleatorio b = new GeneradorAleatorio(123L);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.siguienteEntero(1000), b.siguienteEntero(1000));
+        }
+    }
+
+    /**
+     * Verifica que restaurar un estado guardado repita los mismos valores.
+     */
+    @Test
+    public void restaurarEstadoDebeRepetirLaSecuencia() {
+        GeneradorAleatorio g = new GeneradorAleatorio(99L);
+        g.siguienteLong();
+        long estado = g.getEstado();
+        long primero = g.siguienteLong();
+        long segundo = g.siguienteLong();
+
+        g.setEstado(estado);
+
+        assertEquals(primero, g.siguienteLong());
+        assertEquals(segundo, g.siguienteLong());
+    }
+
+    /**
+     * Verifica que dos partidas MvsM con la misma semilla pasen
+     * por los mismos estados en cada tick.
+     */
+    @Test
+    public void partidasConMismaSemillaDebenSerIdenticasTickATick() {
+        Juego a = new Juego("vainilla", ModalidadJuego.MvsM, 2024L);
+        Juego b = new Juego("vainilla", ModalidadJuego.MvsM, 2024L);
+
+        for (int i = 0; i < 200 && !a.isTerminado(); i++) {
+            a.tick();
+            b.tick();
+            Posicion pa = a.getNivel().getHelado().getPosicion();
+            Posicion pb = b.getNivel().getHelado().getPosicion();
+            assertTrue(pa.mismaPosicion(pb));
+            assertEquals(a.getNivel().getPuntajeActual(), b.getNivel().getPuntajeActual());
+            assertEquals(a.getNivel().getTiempoRestanteSegundos(), b.getNivel().getTiempoRestanteSegundos());
+        }
+        assertEquals(a.isTerminado(), b.isTerminado());
+    }
+}
@@ -0,0 +1,125 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pruebas unitarias para HiloSimulacion y FotogramaJuego.
+ * Verifican la aplicación de comandos en el límite de cada paso
+ * y la publicación de instantáneas inmutables.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class HiloSimulacionTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    /**
+     * Busca una dirección en la que el helado pueda moverse.
+     */
+    private Direccion direccionLibre(Nivel nivel) {
+        for (Direccion dir : Direccion.values()) {
+            if (nivel.puedeMoverHelado(dir)) {
+                return dir;
+            }
+        }
+        throw new AssertionError("El helado no tiene movimientos libres");
+    }
+
+    /**
+     * Verifica que un comando encolado se aplique en el siguiente paso
+     * y que el fotograma anterior no cambie.
+     */
+    @Test
+    public void comandoDebeAplicarseEnElSiguientePaso() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsM, 3L);
+        HiloSimulacion simulacion = new HiloSimulacion(juego, 30);
+        FotogramaJuego inicial = simulacion.getFotograma();
+        int fila = inicial.getFilaHelado();
+        int columna = inicial.getColumnaHelado();
+
+        simulacion.enviar(ComandoJuego.mover(direccionLibre(juego.getNivel())));
+        assertTrue(simulacion.paso(0));
+
+        FotogramaJuego despues = simulacion.getFotograma();
+        assertNotSame(inicial, despues);
+        assertTrue(despues.getNumero() > inicial.getNumero());
+        assertNotEquals(fila * 100 + columna,
+                despues.getFilaHelado() * 100 + despues.getColumnaHelado());
+        assertEquals(fila, inicial.getFilaHelado());
+        assertEquals(columna, inicial.getColumnaHelado());
+    }
+
+    /**
+     * Verifica que el paso avance los ticks según el tiempo transcurrido
+     * y que no publique nada si no hubo cambios.
+     */
+    @Test
+    public void pasoDebeAvanzarTicksYPublicarSoloConCambios() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsM, 3L);
+        HiloSimulacion simulacion = new HiloSimulacion(juego, 30);
+        int tiempoInicial = simulacion.getFotograma().getTiempoRestanteSegundos();
+
+        simulacion.paso(0);
+        assertFalse(simulacion.paso(SEGUNDO / 100));
+        for (long t = SEGUNDO / 30; t <= SEGUNDO; t += SEGUNDO / 30) {
+            simulacion.paso(t + 1);
+        }
+
+        FotogramaJuego f = simulacion.getFotograma();
+        assertEquals(30, f.getTick());
+        assertEquals(tiempoInicial - 1, f.getTiempoRestanteSegundos());
+    }
+
+    /**
+     * Verifica que la pausa enviada desde otro hilo llegue a la simulación
+     * y detenga el avance del tiempo.
+     */
+    @Test
+    public void pausaDebeLlegarAlHiloDeSimulacion() throws InterruptedException {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsM, 3L);
+        HiloSimulacion simulacion = new HiloSimulacion(juego, 60);
+        simulacion.iniciar();
+        try {
+            simulacion.enviar(ComandoJuego.PAUSA);
+            long limite = System.currentTimeMillis() + 2000;
+            while (!simulacion.getFotograma().isPausado() && System.currentTimeMillis() < limite) {
+                Thread.sleep(5);
+            }
+            FotogramaJuego pausado = simulacion.getFotograma();
+            assertTrue(pausado.isPausado());
+
+            Thread.sleep(100);
+            assertEquals(pausado.getTick(), simulacion.getFotograma().getTick());
+        } finally {
+            simulacion.detener();
+        }
+    }
+
+    /**
+     * Verifica que la partida capturada desde otro hilo mientras corre la
+     * simulación se pueda cargar, y que una captura pedida después de
+     * detenerla también se complete.
+     */
+    @Test
+    public void capturaDebeCompletarseEnElHiloDeSimulacion() throws Exception {
+        Juego juego = new Juego("fresa", ModalidadJuego.PvsM, 9L);
+        HiloSimulacion simulacion = new HiloSimulacion(juego, 60);
+        simulacion.iniciar();
+        try {
+            byte[] datos = simulacion.capturarPartida().get(2, TimeUnit.SECONDS);
+            Juego cargado = ArchivoPartida.leer(ByteBuffer.wrap(datos));
+            assertEquals(9L, cargado.getSemilla());
+            assertEquals("fresa", cargado.getSaborHelado());
+        } finally {
+            simulacion.detener();
+        }
+
+        byte[] datos = simulacion.capturarPartida().get(2, TimeUnit.SECONDS);
+        assertEquals(new EstadoNivel(juego.getNivel()),
+                new EstadoNivel(ArchivoPartida.leer(ByteBuffer.wrap(datos)).getNivel()));
+    }
+}
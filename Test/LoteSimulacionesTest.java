@@ -0,0 +1,48 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase LoteSimulaciones.
+ * Verifican que los resultados de las partidas paralelas se agreguen
+ * correctamente.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class LoteSimulacionesTest {
+
+    /**
+     * Verifica que el lote juegue todas las partidas pedidas y que cada una
+     * termine ganada o perdida.
+     */
+    @Test
+    public void ejecutarDebeSimularTodasLasPartidas() {
+        LoteSimulaciones lote = new LoteSimulaciones(
+                ModalidadJuego.MvsM, "vainilla", MotorJuego.MAX_TICKS_POR_DEFECTO);
+
+        ResultadoLote resultado = lote.ejecutar(500, 7L);
+
+        assertEquals(500, resultado.getPartidas());
+        assertEquals(500, resultado.getGanadas() + resultado.getPerdidas());
+        assertTrue(resultado.getTicksTotales() >= 500);
+    }
+
+    /**
+     * Verifica que combinar resultados sume los contadores y conserve el máximo.
+     */
+    @Test
+    public void combinarDebeSumarContadores() {
+        ResultadoLote a = new ResultadoLote(2, 1, 1, 300, 200, 50);
+        ResultadoLote b = new ResultadoLote(3, 0, 3, 100, 100, 70);
+
+        ResultadoLote suma = a.combinar(b);
+
+        assertEquals(5, suma.getPartidas());
+        assertEquals(1, suma.getGanadas());
+        assertEquals(4, suma.getPerdidas());
+        assertEquals(400, suma.getPuntajeTotal());
+        assertEquals(200, suma.getPuntajeMaximo());
+        assertEquals(120, suma.getTicksTotales());
+    }
+}
@@ -0,0 +1,123 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+/**
+ * Pruebas unitarias para la clase MapaNivel.
+ * Verifican el borde centinela y las reglas de bloqueo del terreno.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class MapaNivelTest {
+
+    /**
+     * Verifica que las celdas del borde centinela estén siempre bloqueadas
+     * y que avanzar desde una esquina llegue a ellas.
+     */
+    @Test
+    public void bordeCentinelaDebeEstarBloqueado() {
+        MapaNivel mapa = new MapaNivel(3, 4);
+        int esquina = mapa.indice(0, 0);
+
+        assertFalse(mapa.estaBloqueada(esquina));
+        assertTrue(mapa.estaBloqueada(esquina + mapa.desplazamiento(Direccion.ARRIBA)));
+        assertTrue(mapa.estaBloqueada(esquina + mapa.desplazamiento(Direccion.IZQUIERDA)));
+        assertTrue(mapa.estaBloqueada(-1, 0));
+        assertTrue(mapa.estaBloqueada(3, 3));
+        assertTrue(mapa.estaBloqueada(50, 50));
+    }
+
+    /**
+     * Verifica que el iglú ocupe cuatro celdas y que romper una línea
+     * solo quite muros y bloques de jugador.
+     */
+    @Test
+    public void romperLineaNoDebeQuitarElIglu() {
+        MapaNivel mapa = new MapaNivel(3, 6);
+        mapa.setTipo(0, 0, MapaNivel.MURO);
+        mapa.setTipo(0, 1, MapaNivel.BLOQUE_JUGADOR);
+        mapa.colocarIglu(0, 2);
+
+        mapa.romperLinea(mapa.indice(0, 0), 1, 3);
+
+        assertEquals(MapaNivel.VACIO, mapa.getTipo(0, 0));
+        assertEquals(MapaNivel.VACIO, mapa.getTipo(0, 1));
+        assertTrue(mapa.esCeldaIglu(1, 3));
+        assertTrue(mapa.esBaseIglu(0, 2));
+        assertEquals(0, mapa.getBloquesJugador().getCantidad());
+    }
+
+    /**
+     * Verifica que un enemigo controlado por jugador no atraviese muros.
+     */
+    @Test
+    public void enemigoControladoNoDebeAtravesarMuros() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsP);
+        Enemigo troll = nivel.getEnemigos().get(0);
+        int fila = troll.getPosicion().getFila();
+
+        nivel.moverEnemigoJugador(0, Direccion.ABAJO);
+
+        assertEquals(fila, troll.getPosicion().getFila());
+    }
+
+    /**
+     * Verifica que la versión del mapa cambie con cada modificación
+     * y se mantenga cuando la operación no altera nada.
+     */
+    @Test
+    public void versionDebeCambiarSoloAlModificarElMapa() {
+        MapaNivel mapa = new MapaNivel(3, 6);
+        int inicial = mapa.getVersion();
+
+        assertTrue(mapa.colocarBloqueJugador(1, 1));
+        int trasColocar = mapa.getVersion();
+        assertNotEquals(inicial, trasColocar);
+
+        assertFalse(mapa.colocarBloqueJugador(1, 1));
+        assertFalse(mapa.quitarBloqueJugador(2, 2));
+        assertEquals(trasColocar, mapa.getVersion());
+
+        mapa.construirLinea(mapa.indice(2, 0), 1, 0);
+        mapa.construirLinea(mapa.indice(1, 1), 1, 1);
+        mapa.romperLinea(mapa.indice(2, 0), 1, 0);
+        assertEquals(trasColocar, mapa.getVersion());
+
+        mapa.romperLinea(mapa.indice(1, 0), 1, 3);
+        assertNotEquals(trasColocar, mapa.getVersion());
+    }
+
+    /**
+     * Verifica que la vista de bloques de jugador devuelva las mismas
+     * posiciones por índice y por iterador, también después de modificar
+     * el mapa.
+     */
+    @Test
+    public void vistaBloquesDebeRecorrerseEnOrden() {
+        MapaNivel mapa = new MapaNivel(6, 8);
+        mapa.colocarBloqueJugador(0, 3);
+        mapa.colocarBloqueJugador(2, 1);
+        mapa.colocarBloqueJugador(5, 7);
+        List<Posicion> vista = mapa.getVistaBloquesJugador();
+
+        int[][] esperadas = {{0, 3}, {2, 1}, {5, 7}};
+        assertEquals(esperadas.length, vista.size());
+        int i = 0;
+        for (Posicion posicion : vista) {
+            assertEquals(esperadas[i][0], posicion.getFila());
+            assertEquals(esperadas[i][1], vista.get(i).getColumna());
+            assertEquals(esperadas[i][1], posicion.getColumna());
+            i++;
+        }
+        assertEquals(esperadas.length, i);
+
+        assertEquals(5, vista.get(2).getFila());
+        mapa.quitarBloqueJugador(2, 1);
+        assertEquals(5, vista.get(1).getFila());
+        assertEquals(7, vista.get(1).getColumna());
+        assertEquals(0, vista.get(0).getFila());
+    }
+}
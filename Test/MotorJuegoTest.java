@@ -0,0 +1,40 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase MotorJuego.
+ * Verifican que una partida pueda simularse completa sin interfaz gráfica.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class MotorJuegoTest {
+
+    /**
+     * Verifica que una partida MvsM termine antes del límite de ticks
+     * y que el motor lleve la cuenta de los ticks ejecutados.
+     */
+    @Test
+    public void partidaMvsMDebeTerminarSinInterfaz() {
+        MotorJuego motor = new MotorJuego("vainilla", ModalidadJuego.MvsM);
+
+        int ticks = motor.ejecutarHastaTerminar(MotorJuego.MAX_TICKS_POR_DEFECTO);
+
+        assertTrue(motor.isTerminado());
+        assertTrue(ticks > 0);
+        assertEquals(ticks, motor.getTicksEjecutados());
+    }
+
+    /**
+     * Verifica que {@code avanzar} no ejecute más ticks de los pedidos.
+     */
+    @Test
+    public void avanzarDebeRespetarElNumeroDeTicks() {
+        MotorJuego motor = new MotorJuego("fresa", ModalidadJuego.PvsP);
+        int tiempoInicial = motor.getJuego().getNivel().getTiempoRestanteSegundos();
+
+        assertEquals(5, motor.avanzar(5));
+        assertEquals(tiempoInicial - 5, motor.getJuego().getNivel().getTiempoRestanteSegundos());
+    }
+}
@@ -23,8 +23,14 @@ public class NivelTest {
         int puntajeInicial = nivel.getPuntajeActual();
         assertEquals(0, puntajeInicial);
 
-        nivel.getHelado().getPosicion().setFila(1);
-        nivel.getHelado().getPosicion().setColumna(1);
+        Helado helado = nivel.getHelado();
+        MapaNivel mapa = nivel.getMapa();
+        while (helado.getPosicion().getFila() > 1) {
+            helado.mover(Direccion.ARRIBA, mapa.getFilas(), mapa.getColumnas());
+        }
+        while (helado.getPosicion().getColumna() > 1) {
+            helado.mover(Direccion.IZQUIERDA, mapa.getFilas(), mapa.getColumnas());
+        }
         nivel.moverHeladoJugador(Direccion.IZQUIERDA);
 
         boolean algunaRecolectada = false;
@@ -73,4 +79,88 @@ public class NivelTest {
         assertTrue(nivel.isPerdido());
         assertTrue(nivel.getTiempoRestanteSegundos() <= 0);
     }
+
+    /**
+     * Verifica que el helado no pueda atravesar los muros del mapa.
+     */
+    @Test
+    public void heladoNoDebeAtravesarMuros() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsM);
+
+        nivel.moverHeladoJugador(Direccion.ARRIBA);
+
+        assertEquals(1, nivel.getHelado().getPosicion().getFila());
+        assertEquals(7, nivel.getHelado().getPosicion().getColumna());
+    }
+
+    /**
+     * Verifica que la acción de hielo construya una fila de bloques
+     * y que una segunda acción la destruya.
+     */
+    @Test
+    public void accionHieloDebeConstruirYDestruirBloques() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsP);
+        nivel.moverHeladoJugador(Direccion.ABAJO);
+        nivel.moverHeladoJugador(Direccion.IZQUIERDA);
+
+        nivel.accionHielo();
+        assertEquals(MapaNivel.BLOQUE_JUGADOR, nivel.getMapa().getTipo(2, 5));
+        assertFalse(nivel.getBloquesJugador().isEmpty());
+
+        nivel.accionHielo();
+        assertEquals(MapaNivel.VACIO, nivel.getMapa().getTipo(2, 5));
+        assertTrue(nivel.getBloquesJugador().isEmpty());
+    }
+
+    /**
+     * Verifica que los contadores por tipo de fruta se actualicen
+     * al recolectar frutas, sin recorrer la lista.
+     */
+    @Test
+    public void contadoresDeFrutasDebenActualizarseAlRecolectar() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsM);
+        assertEquals(8, nivel.getTotalFrutas(TipoFruta.UVA));
+        assertEquals(8, nivel.getTotalFrutas(TipoFruta.PLATANO));
+        assertEquals(16, nivel.getFrutasRestantes());
+
+        for (Fruta f : nivel.getFrutas()) {
+            if (f.getTipo() == TipoFruta.PLATANO) {
+                f.recolectar();
+                f.recolectar();
+            }
+        }
+
+        assertEquals(8, nivel.getFrutasRecolectadas(TipoFruta.PLATANO));
+        assertEquals(0, nivel.getFrutasRecolectadas(TipoFruta.UVA));
+        assertEquals(8, nivel.getFrutasRestantes());
+    }
+
+    /**
+     * Verifica que una copia del nivel empiece en el mismo estado y que
+     * avanzarla no modifique el original.
+     */
+    @Test
+    public void copiaDebeSerIndependienteDelOriginal() {
+        Nivel original = new Nivel("vainilla", ModalidadJuego.MvsM, 9L);
+        for (int i = 0; i < 3; i++) {
+            original.actualizarUnTick();
+        }
+        Nivel copia = new Nivel(original);
+        assertEquals(original.getHelado().getPosicion().getCelda(), copia.getHelado().getPosicion().getCelda());
+        assertEquals(original.getPuntajeActual(), copia.getPuntajeActual());
+        assertEquals(original.getFrutasRestantes(), copia.getFrutasRestantes());
+
+        int celdaHelado = original.getHelado().getPosicion().getCelda();
+        int celdaEnemigo = original.getEnemigos().get(0).getPosicion().getCelda();
+        int versionMapa = original.getMapa().getVersion();
+        copia.accionHielo();
+        for (int i = 0; i < 10 && !copia.isGanado() && !copia.isPerdido(); i++) {
+            copia.actualizarUnTick();
+        }
+
+        assertEquals(celdaHelado, original.getHelado().getPosicion().getCelda());
+        assertEquals(celdaEnemigo, original.getEnemigos().get(0).getPosicion().getCelda());
+        assertEquals(versionMapa, original.getMapa().getVersion());
+        assertEquals(3, original.getTicksTranscurridos());
+    }
 }
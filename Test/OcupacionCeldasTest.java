@@ -0,0 +1,64 @@
+package Test;
+
+import Dominio.*;
+import java.util.Arrays;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase OcupacionCeldas.
+ * Verifican que el índice por celda refleje frutas, enemigos y bloques.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class OcupacionCeldasTest {
+
+    /**
+     * Verifica que las frutas de una misma celda queden encadenadas.
+     */
+    @Test
+    public void indexarFrutasDebeEncadenarFrutasDeLaMismaCelda() {
+        OcupacionCeldas ocupacion = new OcupacionCeldas(new MapaNivel(4, 4));
+        ocupacion.indexarFrutas(Arrays.asList(
+                new Uva(new Posicion(1, 1)),
+                new Platano(new Posicion(2, 2)),
+                new Uva(new Posicion(1, 1))));
+
+        int primera = ocupacion.primeraFrutaEn(1, 1);
+        assertEquals(0, primera);
+        assertEquals(2, ocupacion.siguienteFrutaEnCelda(primera));
+        assertEquals(-1, ocupacion.siguienteFrutaEnCelda(2));
+        assertEquals(1, ocupacion.primeraFrutaEn(2, 2));
+        assertEquals(-1, ocupacion.primeraFrutaEn(0, 0));
+    }
+
+    /**
+     * Verifica que mover un enemigo actualice ambas celdas.
+     */
+    @Test
+    public void moverEnemigoDebeActualizarCeldas() {
+        OcupacionCeldas ocupacion = new OcupacionCeldas(new MapaNivel(4, 4));
+        ocupacion.agregarEnemigo(0, 0);
+
+        ocupacion.moverEnemigo(0, 0, 0, 1);
+
+        assertFalse(ocupacion.hayEnemigoEn(0, 0));
+        assertTrue(ocupacion.hayEnemigoEn(0, 1));
+    }
+
+    /**
+     * Verifica que el nivel mantenga sincronizado el índice al mover trolls.
+     */
+    @Test
+    public void nivelDebeMantenerIndiceDeEnemigosSincronizado() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsM, 1L);
+
+        for (int i = 0; i < 20; i++) {
+            nivel.actualizarUnTick();
+        }
+
+        for (Enemigo e : nivel.getEnemigos()) {
+            Posicion p = e.getPosicion();
+            assertTrue(nivel.hayEnemigoEn(p.getFila(), p.getColumna()));
+        }
+    }
+}
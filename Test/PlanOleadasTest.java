@@ -0,0 +1,83 @@
+package Test;
+
+import Dominio.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase PlanOleadas.
+ * Verifican la activación en bloque de oleadas sucesivas.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class PlanOleadasTest {
+
+    /**
+     * Verifica que con tres oleadas solo la primera empiece activa
+     * y que cada oleada se active al completar la anterior.
+     */
+    @Test
+    public void oleadasDebenActivarseEnOrden() {
+        List<Fruta> frutas = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            frutas.add(new Uva(new Posicion(0, i)));
+        }
+        PlanOleadas plan = new PlanOleadas(new int[]{0, 1, 2, 0, 1, 2}, 3);
+
+        plan.iniciar(frutas);
+        assertEquals(0, plan.getActual());
+        assertTrue(frutas.get(0).estaActiva());
+        assertFalse(frutas.get(1).estaActiva());
+        assertFalse(frutas.get(2).estaActiva());
+
+        assertFalse(plan.frutaRecolectada(0, frutas));
+        assertTrue(plan.frutaRecolectada(3, frutas));
+        assertEquals(1, plan.getActual());
+        assertTrue(frutas.get(1).estaActiva());
+        assertTrue(frutas.get(4).estaActiva());
+        assertFalse(frutas.get(5).estaActiva());
+    }
+
+    /**
+     * Verifica que si la siguiente oleada ya estaba completa
+     * se salte directamente a la posterior.
+     */
+    @Test
+    public void oleadasCompletasDebenSaltarse() {
+        List<Fruta> frutas = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            frutas.add(new Uva(new Posicion(0, i)));
+        }
+        PlanOleadas plan = new PlanOleadas(new int[]{0, 1, 2}, 3);
+        plan.iniciar(frutas);
+
+        plan.frutaRecolectada(1, frutas);
+        assertEquals(0, plan.getActual());
+
+        plan.frutaRecolectada(0, frutas);
+        assertEquals(2, plan.getActual());
+        assertTrue(frutas.get(2).estaActiva());
+    }
+
+    /**
+     * Verifica que el nivel 1 empiece con los plátanos y pase a las uvas.
+     */
+    @Test
+    public void nivelDebeActivarUvasAlRecolectarLosPlatanos() {
+        Nivel nivel = new Nivel("vainilla", ModalidadJuego.PvsM);
+        assertEquals(1, nivel.getOleadaActual());
+        assertEquals(2, nivel.getNumeroOleadas());
+
+        for (Fruta f : nivel.getFrutas()) {
+            if (f.getTipo() == TipoFruta.PLATANO) {
+                f.recolectar();
+            }
+        }
+
+        assertEquals(2, nivel.getOleadaActual());
+        for (Fruta f : nivel.getFrutas()) {
+            assertTrue(f.estaActiva());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase PlanificadorHelado.
+ * Verifican que el helado controlado por máquina recolecte frutas, que los
+ * mapas de distancias se corrijan sin recalcularse y que se respete el
+ * presupuesto de expansiones.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class PlanificadorHeladoTest {
+
+    private static final int PARTIDAS = 20;
+
+    /**
+     * Verifica que, con las mismas semillas, el planificador gane más
+     * partidas MvsM que el control aleatorio.
+     */
+    @Test
+    public void debeGanarMasPartidasQueElControlAleatorio() {
+        int ganadasPlanificador = 0;
+        int ganadasAleatorio = 0;
+        for (long semilla = 0; semilla < PARTIDAS; semilla++) {
+            if (jugar(new PlanificadorHelado(), semilla)) {
+                ganadasPlanificador++;
+            }
+            if (jugar(new ControlAleatorio(), semilla)) {
+                ganadasAleatorio++;
+            }
+        }
+        assertTrue(ganadasPlanificador > ganadasAleatorio);
+    }
+
+    /**
+     * Verifica que, al romperse una línea de hielo, los mapas de distancias
+     * guardados se corrijan de forma incremental y lleven a la misma
+     * decisión que un planificador que los calcula desde cero.
+     */
+    @Test
+    public void romperHieloDebeCorregirLasDistanciasSinRecalcularlas() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.MvsM, 3L);
+        PlanificadorHelado planificador = new PlanificadorHelado();
+
+        nivel.accionHielo();
+        planificador.decidir(nivel);
+        long completas = planificador.getBusquedasCompletas();
+        nivel.accionHielo();
+        Direccion decision = planificador.decidir(nivel);
+
+        assertEquals(completas, planificador.getBusquedasCompletas());
+        assertTrue(planificador.getParchesIncrementales() > 0);
+        assertEquals(new PlanificadorHelado().decidir(nivel), decision);
+    }
+
+    /**
+     * Verifica que una decisión no expanda más estados que su presupuesto.
+     */
+    @Test
+    public void debeRespetarElPresupuestoDeExpansiones() {
+        Nivel nivel = new Nivel("fresa", ModalidadJuego.MvsM, 5L);
+        PlanificadorHelado planificador = new PlanificadorHelado(2);
+
+        planificador.decidir(nivel);
+
+        assertTrue(planificador.getExpansionesUltima() <= 3);
+        assertEquals(1, planificador.getBusquedasAgotadas());
+    }
+
+    private static boolean jugar(ControlHelado control, long semilla) {
+        Juego juego = new Juego("vainilla", ModalidadJuego.MvsM, semilla);
+        juego.getNivel().setControlMaquina(control);
+        while (!juego.isTerminado()) {
+            juego.tick();
+        }
+        return juego.getNivel().isGanado();
+    }
+}
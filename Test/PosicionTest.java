@@ -1,5 +1,8 @@
 package Test;
 
+import Dominio.Celda;
+import Dominio.Direccion;
+import Dominio.Helado;
 import Dominio.Posicion;
 import org.junit.Test;
 import static org.junit.Assert.*;
@@ -23,16 +26,24 @@ public class PosicionTest {
     }
 
     /**
-     * Verifica que los setters actualicen correctamente
-     * la fila y la columna.
+     * Verifica que la posición sea un valor: dos posiciones con las mismas
+     * coordenadas son iguales, y la posición entregada por un helado no
+     * cambia cuando el helado se mueve.
      */
     @Test
-    public void debePermitirActualizarFilaYColumna() {
-        Posicion p = new Posicion(0, 0);
-        p.setFila(7);
-        p.setColumna(9);
-        assertEquals(7, p.getFila());
-        assertEquals(9, p.getColumna());
+    public void posicionDebeSerUnValorInmutable() {
+        assertEquals(new Posicion(7, 9), Posicion.deCelda(Celda.de(7, 9)));
+        assertEquals(new Posicion(7, 9).hashCode(), new Posicion(7, 9).hashCode());
+        assertNotEquals(new Posicion(7, 9), new Posicion(9, 7));
+
+        Posicion inicial = new Posicion(4, 4);
+        Helado helado = new Helado(inicial, "vainilla");
+        Posicion antes = helado.getPosicion();
+        helado.mover(Direccion.DERECHA, 10, 10);
+
+        assertEquals(new Posicion(4, 4), antes);
+        assertEquals(new Posicion(4, 4), inicial);
+        assertEquals(new Posicion(4, 5), helado.getPosicion());
     }
 
     /**
@@ -0,0 +1,68 @@
+package Test;
+
+import Dominio.*;
+import Presentacion.RegionesSucias;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase RegionesSucias.
+ * Verifican qué zonas se repintan entre dos fotogramas.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class RegionesSuciasTest {
+
+    /**
+     * Verifica que dos fotogramas iguales no generen ninguna zona.
+     */
+    @Test
+    public void fotogramasIgualesNoDebenRepintarNada() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsP, 5L);
+        FotogramaJuego a = FotogramaJuego.capturar(juego, 0);
+        FotogramaJuego b = FotogramaJuego.capturar(juego, 1, a);
+        RegionesSucias regiones = new RegionesSucias(Nivel.FILAS, Nivel.COLUMNAS);
+
+        regiones.calcular(a, b);
+
+        assertFalse(regiones.isCompleta());
+        assertEquals(0, regiones.emitir((x, y, w, h) -> fail("zona inesperada")));
+    }
+
+    /**
+     * Verifica que mover el helado una celda repinte solo las dos celdas
+     * afectadas, agrupadas si están en la misma fila.
+     */
+    @Test
+    public void moverHeladoDebeRepintarSoloSusCeldas() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsP, 5L);
+        FotogramaJuego a = FotogramaJuego.capturar(juego, 0);
+        Direccion dir = juego.getNivel().puedeMoverHelado(Direccion.IZQUIERDA)
+                ? Direccion.IZQUIERDA : Direccion.DERECHA;
+        juego.moverHeladoJugador(dir);
+        FotogramaJuego b = FotogramaJuego.capturar(juego, 1, a);
+        RegionesSucias regiones = new RegionesSucias(Nivel.FILAS, Nivel.COLUMNAS);
+
+        regiones.calcular(a, b);
+        int[] areaCeldas = {0};
+        regiones.emitir((x, y, w, h) -> {
+            if (y > 0) {
+                areaCeldas[0] += w * h;
+            }
+        });
+
+        assertEquals(2 * 40 * 40, areaCeldas[0]);
+    }
+
+    /**
+     * Verifica que sin fotograma previo se pida un repintado completo.
+     */
+    @Test
+    public void sinFotogramaPrevioDebeRepintarTodo() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsP, 5L);
+        RegionesSucias regiones = new RegionesSucias(Nivel.FILAS, Nivel.COLUMNAS);
+
+        regiones.calcular(null, FotogramaJuego.capturar(juego, 0));
+
+        assertTrue(regiones.isCompleta());
+    }
+}
@@ -0,0 +1,66 @@
+package Test;
+
+import Dominio.*;
+import Presentacion.RenderizadorJuego;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Pruebas unitarias para la clase RenderizadorJuego.
+ * Verifican que dibujar un fotograma en régimen estable no reserve memoria.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class RenderizadorJuegoTest {
+
+    private static final int FOTOGRAMAS_POR_TANDA = 200;
+    private static final int TANDAS_CALENTAMIENTO = 200;
+    private static final int TANDAS_MEDIDAS = 20;
+
+    /**
+     * Dibuja tandas del mismo fotograma midiendo los bytes reservados por el
+     * hilo. Las primeras tandas, que no se miden, reservan memoria mientras
+     * el compilador JIT optimiza el código; en régimen estable cada una de
+     * las tandas medidas debe reservar cero bytes.
+     */
+    @Test
+    public void dibujarFotogramaEstableNoDebeReservarMemoria() {
+        com.sun.management.ThreadMXBean hilos =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assertTrue(hilos.isThreadAllocatedMemorySupported());
+        hilos.setThreadAllocatedMemoryEnabled(true);
+
+        Juego juego = new Juego("fresa", ModalidadJuego.PvsM, 11L);
+        FotogramaJuego fotograma = FotogramaJuego.capturar(juego, 0);
+        juego.alternarPausa();
+        FotogramaJuego pausado = FotogramaJuego.capturar(juego, 1, fotograma);
+
+        RenderizadorJuego renderizador = new RenderizadorJuego("fresa");
+        BufferedImage destino = new BufferedImage(
+                RenderizadorJuego.ANCHO, RenderizadorJuego.ALTO, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g2d = destino.createGraphics();
+        renderizador.dibujar(g2d, pausado);
+
+        for (int i = 0; i < TANDAS_CALENTAMIENTO * FOTOGRAMAS_POR_TANDA; i++) {
+            renderizador.dibujar(g2d, fotograma);
+        }
+
+        long id = Thread.currentThread().getId();
+        long[] reservados = new long[TANDAS_MEDIDAS];
+        for (int tanda = 0; tanda < TANDAS_MEDIDAS; tanda++) {
+            long antes = hilos.getThreadAllocatedBytes(id);
+            for (int i = 0; i < FOTOGRAMAS_POR_TANDA; i++) {
+                renderizador.dibujar(g2d, fotograma);
+            }
+            reservados[tanda] = hilos.getThreadAllocatedBytes(id) - antes;
+        }
+        g2d.dispose();
+
+        for (int tanda = 0; tanda < TANDAS_MEDIDAS; tanda++) {
+            assertEquals("Bytes reservados en la tanda " + tanda, 0, reservados[tanda]);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package Test;
+
+import Dominio.*;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+/**
+ * Pruebas unitarias para Repeticion, GrabadorRepeticion y ReproductorRepeticion.
+ * Verifican que reproducir una partida grabada llegue exactamente al mismo
+ * estado, que el formato sea compacto y que la reproducción en un
+ * {@link HiloSimulacion} respete la velocidad y no acepte entradas.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class RepeticionTest {
+
+    private static final int TICKS_POR_SEGUNDO = 30;
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    /**
+     * Verifica que la repetición de una partida con movimientos y acciones
+     * de hielo, pasada por su formato binario, termine en el mismo estado.
+     */
+    @Test
+    public void reproducirDebeLlegarAlMismoEstado() {
+        Juego juego = new Juego("fresa", ModalidadJuego.PvsM, 11L);
+        juego.setTicksPorSegundo(TICKS_POR_SEGUNDO);
+        Random azar = new Random(5);
+        while (!juego.isTerminado()) {
+            if (azar.nextInt(8) == 0) {
+                juego.moverHeladoJugador(Direccion.values()[azar.nextInt(4)]);
+            }
+            if (azar.nextInt(40) == 0) {
+                juego.accionHielo();
+            }
+            juego.tick();
+        }
+
+        Repeticion repeticion = Repeticion.leer(juego.getRepeticion().aBytes());
+        Juego reproducido = repeticion.reproducir();
+
+        assertTrue(repeticion.getCantidadEventos() > 0);
+        assertEquals(TICKS_POR_SEGUNDO, repeticion.getTicksPorSegundo());
+        assertEquals(new EstadoNivel(juego.getNivel()), new EstadoNivel(reproducido.getNivel()));
+    }
+
+    /**
+     * Verifica que una partida de tres minutos, con un movimiento del
+     * helado cada pocos ticks y movimientos de enemigos, ocupe menos de un
+     * kilobyte y se reproduzca igual.
+     */
+    @Test
+    public void partidaDeTresMinutosDebeOcuparPocosCientosDeBytes() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsP, 2L);
+        juego.setTicksPorSegundo(TICKS_POR_SEGUNDO);
+        Random azar = new Random(9);
+        for (int tick = 0; !juego.isTerminado(); tick++) {
+            if (tick % 8 == 0) {
+                juego.moverHeladoJugador(Direccion.values()[azar.nextInt(4)]);
+            }
+            if (tick % 90 == 0) {
+                juego.moverEnemigoJugador(azar.nextInt(2), Direccion.values()[azar.nextInt(4)]);
+                juego.accionHielo();
+            }
+            juego.tick();
+        }
+
+        byte[] datos = juego.getRepeticion().aBytes();
+        Juego reproducido = Repeticion.leer(datos).reproducir();
+
+        assertEquals(3 * 60 * TICKS_POR_SEGUNDO, juego.getNivel().getTicksTranscurridos());
+        assertTrue("Ocupa " + datos.length + " bytes", datos.length < 1024);
+        assertEquals(new EstadoNivel(juego.getNivel()), new EstadoNivel(reproducido.getNivel()));
+    }
+
+    /**
+     * Verifica que las entradas en pausa no se graben y que las esperas
+     * largas y las entradas en el mismo tick se conserven.
+     */
+    @Test
+    public void debeConservarEsperasLargasYOmitirPausas() {
+        Juego juego = new Juego("vainilla", ModalidadJuego.PvsP, 4L);
+        juego.accionHielo();
+        juego.accionHielo();
+        juego.alternarPausa();
+        juego.moverHeladoJugador(Direccion.IZQUIERDA);
+        juego.alternarPausa();
+        for (int i = 0; i < 100; i++) {
+            juego.tick();
+        }
+        juego.moverHeladoJugador(Direccion.DERECHA);
+
+        Repeticion repeticion = Repeticion.leer(juego.getRepeticion().aBytes());
+        ReproductorRepeticion reproductor = repeticion.crearReproductor();
+        while (!reproductor.isTerminado()) {
+            reproductor.avanzarTick();
+        }
+
+        assertEquals(3, repeticion.getCantidadEventos());
+        assertEquals(juego.getNivel().getTicksTranscurridos(),
+                reproductor.getJuego().getNivel().getTicksTranscurridos());
+        assertEquals(new EstadoNivel(juego.getNivel()), new EstadoNivel(reproductor.getJuego().getNivel()));
+    }
+
+    /**
+     * Verifica que datos que no son una repetición se rechacen.
+     */
+    @Test
+    public void leerDebeRechazarDatosInvalidos() {
+        byte[][] invalidos = {{'B', 'D', 'C'}, {'X', 'X', 'X', 'X', 1}, {'B', 'D', 'C', 'R', 99}};
+        for (byte[] datos : invalidos) {
+            try {
+                Repeticion.leer(datos);
+                fail("Se esperaba IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // esperado
+            }
+        }
+    }
+
+    /**
+     * Verifica que al reproducir en un hilo de simulación al doble de
+     * velocidad se ejecuten el doble de ticks y se ignoren los movimientos.
+     */
+    @Test
+    public void hiloDebeReproducirALaVelocidadPedida() {
+        Juego original = new Juego("vainilla", ModalidadJuego.PvsM, 3L);
+        original.setTicksPorSegundo(TICKS_POR_SEGUNDO);
+        for (int i = 0; i < 100; i++) {
+            original.tick();
+        }
+        Repeticion repeticion = original.getRepeticion();
+
+        ReproductorRepeticion reproductor = repeticion.crearReproductor();
+        HiloSimulacion simulacion = new HiloSimulacion(reproductor, 2);
+        simulacion.paso(0);
+        int celda = reproductor.getJuego().getNivel().getHelado().getPosicion().getCelda();
+        for (Direccion dir : Direccion.values()) {
+            simulacion.enviar(ComandoJuego.mover(dir));
+        }
+        simulacion.paso(SEGUNDO / 20);
+
+        assertTrue(simulacion.isRepeticion());
+        assertEquals(2, simulacion.getVelocidad());
+        assertEquals(3, simulacion.getFotograma().getTick());
+        assertEquals(celda, reproductor.getJuego().getNivel().getHelado().getPosicion().getCelda());
+    }
+}
@@ -0,0 +1,64 @@
+package Test;
+
+import Dominio.TableroBits;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas unitarias para la clase TableroBits.
+ * Verifican las operaciones por celda y por línea sobre el conjunto de bits.
+ * Autores: Santiago Andres Gomez Rojas y Miguel Angel Sandoval
+ */
+public class TableroBitsTest {
+
+    /**
+     * Verifica que marcar y limpiar una celda informen si hubo cambio.
+     */
+    @Test
+    public void marcarYLimpiarDebenInformarCambios() {
+        TableroBits bits = new TableroBits(168);
+
+        assertTrue(bits.marcar(100));
+        assertFalse(bits.marcar(100));
+        assertTrue(bits.contiene(100));
+        assertEquals(1, bits.getCantidad());
+
+        assertTrue(bits.limpiar(100));
+        assertFalse(bits.limpiar(100));
+        assertEquals(0, bits.getCantidad());
+    }
+
+    /**
+     * Verifica que una línea horizontal que cruza dos palabras se marque completa.
+     */
+    @Test
+    public void rellenarLineaDebeCruzarPalabras() {
+        TableroBits bits = new TableroBits(168);
+
+        bits.rellenarLinea(60, 1, 10);
+
+        assertEquals(10, bits.getCantidad());
+        assertFalse(bits.contiene(59));
+        assertTrue(bits.contiene(60));
+        assertTrue(bits.contiene(69));
+        assertFalse(bits.contiene(70));
+        assertEquals(60, bits.siguienteMarcada(0));
+        assertEquals(64, bits.siguienteMarcada(64));
+    }
+
+    /**
+     * Verifica que una línea vertical se limpie celda por celda.
+     */
+    @Test
+    public void limpiarLineaVerticalDebeQuitarSoloEsasCeldas() {
+        TableroBits bits = new TableroBits(168);
+        bits.rellenarLinea(3, 14, 5);
+        bits.marcar(4);
+
+        bits.limpiarLinea(3, 14, 5);
+
+        assertEquals(1, bits.getCantidad());
+        assertTrue(bits.contiene(4));
+        assertEquals(-1, bits.siguienteMarcada(5));
+    }
+}